@@ -0,0 +1,14 @@
+package model;
+
+/**
+ * enumeration of the kinds of inventory events a subscription can filter on.
+ */
+public enum EventKind {
+    ITEM_ADDED,             // a new item was added to the inventory
+    STOCK_CHANGED,          // an item's quantity changed
+    LOW_STOCK,              // an item reached its reorder threshold and a reorder was raised
+    ORDER_CREATED,          // a purchase order was created
+    ORDER_STATUS_CHANGED,   // a purchase order changed status
+    LOT_EXPIRING,           // a stock lot is close to its expiry date
+    ALERT                   // an alert rule fired
+}
@@ -32,7 +32,23 @@ public class InventoryItem {
      * @param type            category type of the item.
      */
     public InventoryItem(String name, int quantity, int reorderThreshold, double unitPrice, String supplier, CategoryType type) {
-        this.uniqueID = IdentificationGenerator.generateUniqueID(); // Generates unique UUID
+        this(IdentificationGenerator.generateUniqueID(), name, quantity, reorderThreshold, unitPrice, supplier, type); // Generates unique UUID
+    }
+
+    /**
+     * constructor to restore an existing inventory item with a known unique ID,
+     * e.g. when decoding a stored snapshot.
+     *
+     * @param uniqueID        existing unique ID of the item.
+     * @param name            name of the item.
+     * @param quantity        stock quantity.
+     * @param reorderThreshold reorder threshold for low stock.
+     * @param unitPrice       unit price of the item.
+     * @param supplier        supplier name.
+     * @param type            category type of the item.
+     */
+    public InventoryItem(String uniqueID, String name, int quantity, int reorderThreshold, double unitPrice, String supplier, CategoryType type) {
+        this.uniqueID = uniqueID;
         this.name = name;
         this.type = type;
         this.reorderThreshold = reorderThreshold;
@@ -0,0 +1,74 @@
+package model;
+
+/**
+ * model class representing an event delivered to filtered subscriptions.
+ *
+ * each NotificationEvent has a kind and a message, and carries the item name,
+ * category and supplier it concerns where those are known (otherwise null).
+ */
+public class NotificationEvent {
+    private final EventKind kind;          // kind of event
+    private final String itemName;         // item concerned, may be null
+    private final CategoryType category;   // category of the item, may be null
+    private final String supplier;         // supplier concerned, may be null
+    private final String message;          // human-readable description
+
+    /**
+     * constructor to create a new NotificationEvent instance.
+     *
+     * @param kind     kind of event.
+     * @param itemName item concerned, or null.
+     * @param category category of the item, or null.
+     * @param supplier supplier concerned, or null.
+     * @param message  human-readable description.
+     */
+    public NotificationEvent(EventKind kind, String itemName, CategoryType category, String supplier, String message) {
+        this.kind = kind;
+        this.itemName = itemName;
+        this.category = category;
+        this.supplier = supplier;
+        this.message = message;
+    }
+
+    // ======= Getters =======
+
+    /**
+     * returns the kind of event.
+     */
+    public EventKind getKind() {
+        return kind;
+    }
+
+    /**
+     * returns the name of the item concerned, or null.
+     */
+    public String getItemName() {
+        return itemName;
+    }
+
+    /**
+     * returns the category of the item concerned, or null.
+     */
+    public CategoryType getCategory() {
+        return category;
+    }
+
+    /**
+     * returns the supplier concerned, or null.
+     */
+    public String getSupplier() {
+        return supplier;
+    }
+
+    /**
+     * returns the human-readable description of the event.
+     */
+    public String getMessage() {
+        return message;
+    }
+
+    @Override
+    public String toString() {
+        return kind + ": " + message;
+    }
+}
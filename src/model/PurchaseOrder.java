@@ -15,6 +15,8 @@ public class PurchaseOrder {
     private final Supplier supplier;  // supplier details
     private final Date orderDate;     // date the order was created
     private String status;            // current status of the order (e.g. Pending, Completed)
+    private Date receivedDate;        // date the goods were received, null until then
+    private int receivedQuantity;     // quantity actually delivered
 
     /**
      * Constructor to create a new PurchaseOrder instance.
@@ -79,6 +81,20 @@ public class PurchaseOrder {
         return status;
     }
 
+    /**
+     * returns the date the goods were received, or null if not received yet.
+     */
+    public Date getReceivedDate() {
+        return receivedDate;
+    }
+
+    /**
+     * returns the quantity actually delivered (0 until received).
+     */
+    public int getReceivedQuantity() {
+        return receivedQuantity;
+    }
+
     // ======= Setter =======
 
     /**
@@ -90,6 +106,17 @@ public class PurchaseOrder {
         this.status = status;
     }
 
+    /**
+     * records the delivery of the order.
+     *
+     * @param receivedDate     date the goods were received.
+     * @param receivedQuantity quantity actually delivered.
+     */
+    public void markReceived(Date receivedDate, int receivedQuantity) {
+        this.receivedDate = receivedDate;
+        this.receivedQuantity = receivedQuantity;
+    }
+
     // ======= String Representation =======
 
     @Override
@@ -0,0 +1,56 @@
+package model;
+
+/**
+ * model class representing a client request ID, used to apply a retried mutation only once.
+ *
+ * a distinct type rather than a plain String, so a request ID cannot be passed where an
+ * item name is expected, or the other way round.
+ */
+public final class RequestID {
+    private final String value;   // ID as sent by the client
+
+    /**
+     * constructor to create a new RequestID instance.
+     *
+     * @param value ID as sent by the client.
+     */
+    public RequestID(String value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Request ID must not be null.");
+        }
+        this.value = value;
+    }
+
+    /**
+     * returns a RequestID for the given value, or null if the value is null.
+     *
+     * @param value ID as sent by the client, or null.
+     */
+    public static RequestID of(String value) {
+        return value == null ? null : new RequestID(value);
+    }
+
+    // ======= Getters =======
+
+    /**
+     * returns the ID as sent by the client.
+     */
+    public String getValue() {
+        return value;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof RequestID && value.equals(((RequestID) other).value);
+    }
+
+    @Override
+    public int hashCode() {
+        return value.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return value;
+    }
+}
@@ -0,0 +1,49 @@
+package model;
+
+/**
+ * model class representing a single sale (or consumption) line from a point of sale.
+ *
+ * each SaleEvent names the item sold, the quantity consumed and the time of the sale.
+ * a negative quantity represents a return.
+ */
+public class SaleEvent {
+    private final String itemName;   // name of the item sold
+    private final int quantity;      // quantity consumed by the sale
+    private final long timestamp;    // time of the sale in epoch milliseconds
+
+    /**
+     * constructor to create a new SaleEvent instance.
+     *
+     * @param itemName  name of the item sold.
+     * @param quantity  quantity consumed by the sale.
+     * @param timestamp time of the sale in epoch milliseconds.
+     */
+    public SaleEvent(String itemName, int quantity, long timestamp) {
+        this.itemName = itemName;
+        this.quantity = quantity;
+        this.timestamp = timestamp;
+    }
+
+    // ======= Getters =======
+
+    /**
+     * returns the name of the item sold.
+     */
+    public String getItemName() {
+        return itemName;
+    }
+
+    /**
+     * returns the quantity consumed by the sale.
+     */
+    public int getQuantity() {
+        return quantity;
+    }
+
+    /**
+     * returns the time of the sale in epoch milliseconds.
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+}
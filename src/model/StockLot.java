@@ -0,0 +1,84 @@
+package model;
+
+import java.time.LocalDate;
+
+/**
+ * model class representing a single lot (batch) of an inventory item.
+ *
+ * each lot carries its own quantity and expiry date so that perishable
+ * stock can be picked first-expired-first-out (FEFO).
+ * the item's overall quantity is the sum of the quantities of its lots plus
+ * any stock not received as a lot.
+ */
+public class StockLot {
+    private final String lotID;          // unique identifier for the lot
+    private final String itemName;       // name of the item this lot belongs to
+    private final LocalDate expiryDate;  // date the lot expires
+    private int quantity;                // remaining quantity in this lot
+
+    /**
+     * constructor to create a new StockLot instance.
+     *
+     * @param lotID      unique identifier for the lot.
+     * @param itemName   name of the item the lot belongs to.
+     * @param quantity   quantity received in this lot.
+     * @param expiryDate date the lot expires.
+     */
+    public StockLot(String lotID, String itemName, int quantity, LocalDate expiryDate) {
+        this.lotID = lotID;
+        this.itemName = itemName;
+        this.quantity = quantity;
+        this.expiryDate = expiryDate;
+    }
+
+    // ======= Getters =======
+
+    /**
+     * returns the unique ID of the lot.
+     */
+    public String getLotID() {
+        return lotID;
+    }
+
+    /**
+     * returns the name of the item this lot belongs to.
+     */
+    public String getItemName() {
+        return itemName;
+    }
+
+    /**
+     * returns the remaining quantity in this lot.
+     */
+    public int getQuantity() {
+        return quantity;
+    }
+
+    /**
+     * returns the expiry date of the lot.
+     */
+    public LocalDate getExpiryDate() {
+        return expiryDate;
+    }
+
+    // ======= Setter =======
+
+    /**
+     * updates the remaining quantity in this lot.
+     *
+     * @param quantity new remaining quantity.
+     */
+    public void setQuantity(int quantity) {
+        this.quantity = quantity;
+    }
+
+    // ======= String Representation =======
+
+    @Override
+    public String toString() {
+        return "Lot ID: " + lotID +
+                ", Item: " + itemName +
+                ", Quantity: " + quantity +
+                ", Expires: " + expiryDate;
+    }
+}
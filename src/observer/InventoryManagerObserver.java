@@ -1,6 +1,7 @@
 package observer;
 
 import model.UserRole;
+import service.EventLog;
 
 /**
  * concrete Observer class for the Inventory Manager role.
@@ -19,7 +20,7 @@ public class InventoryManagerObserver implements StockObserver {
      */
     @Override
     public void update(String message) {
-        System.out.println("Inventory Manager Alert: " + message);
+        EventLog.getInstance().info(() -> "Inventory Manager Alert: " + message);
     }
 
     /**
@@ -1,5 +1,6 @@
 package observer;
 
+import model.NotificationEvent;
 import model.UserRole;
 
 /**
@@ -21,6 +22,16 @@ public interface StockObserver {
      */
     void update(String message);
 
+    /**
+     * called for each event matching one of the observer's filtered subscriptions
+     * (see NotificationHandler.subscribe). by default the event's message is passed to update.
+     *
+     * @param event the matching event.
+     */
+    default void onEvent(NotificationEvent event) {
+        update(event.getMessage());
+    }
+
     /**
      * returns the user role associated with the observer.
      * used to filter and direct notifications to the correct recipients.
@@ -1,6 +1,7 @@
 package observer;
 
 import model.UserRole;
+import service.EventLog;
 
 /**
  * concrete Observer class for the Supplier role.
@@ -14,13 +15,13 @@ public class SupplierObserver implements StockObserver {
 
     /**
      * handles the notification message when stock changes or orders are placed.
-     * displays an alert message specifically for suppliers.
+     * logs an alert message specifically for suppliers.
      *
      * @param message the notification message.
      */
     @Override
     public void update(String message) {
-        System.out.println("Supplier Alert: " + message);
+        EventLog.getInstance().info(() -> "Supplier Alert: " + message);
     }
 
     /**
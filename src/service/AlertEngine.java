@@ -0,0 +1,233 @@
+package service;
+
+import model.CategoryType;
+import model.EventKind;
+import model.InventoryItem;
+import model.PurchaseOrder;
+
+import java.util.*;
+
+/**
+ * rule-based alerting over stock levels and purchase orders.
+ *
+ * rules are indexed by their scope (item, category, supplier) and input (stock, orders).
+ * a stock change only evaluates the rules registered for that item, its category
+ * and its supplier; an order change only evaluates the order rules of its supplier.
+ * evaluation cost per update therefore depends on the rules in scope, not on the
+ * total number of rules.
+ *
+ * the aggregates rules depend on (pending orders per supplier, highest quantity per
+ * item) are maintained incrementally from the changes; stock value per category is
+ * read from the DerivedViewCache, which must see a stock change before the engine does.
+ * alerts are routed through NotificationHandler to each rule's UserRole.
+ */
+public class AlertEngine {
+    private static final String PENDING = "Pending";
+
+    private final Map<String, List<AlertRule>> itemStockRules = new HashMap<>();
+    private final Map<CategoryType, List<AlertRule>> categoryStockRules = new EnumMap<>(CategoryType.class);
+    private final Map<String, List<AlertRule>> supplierStockRules = new HashMap<>();
+    private final Map<String, List<AlertRule>> supplierOrderRules = new HashMap<>();
+    private int ruleCount;
+
+    private final Map<String, Integer> pendingOrders = new HashMap<>();              // pending orders per supplier
+    private final Map<String, Integer> maxQuantity = new HashMap<>();                // highest quantity per item
+    private final Set<String> firing = new HashSet<>();                              // rule/subject pairs currently alerting
+
+    private final NotificationHandler notificationHandler;   // notification handler instance
+    private final DerivedViewCache viewCache;                 // source of the category stock values
+
+    /**
+     * read-only view of the current change and the maintained aggregates,
+     * passed to rule conditions and message builders.
+     */
+    public final class Context {
+        private final InventoryItem item;   // item that changed, null for order changes
+
+        private Context(InventoryItem item) {
+            this.item = item;
+        }
+
+        /**
+         * returns the item that changed, or null when evaluating order rules.
+         */
+        public InventoryItem getItem() {
+            return item;
+        }
+
+        /**
+         * returns the total stock value (quantity x unit price) of a category.
+         */
+        public double getCategoryValue(CategoryType category) {
+            return viewCache.getCategoryValue(category);
+        }
+
+        /**
+         * returns the number of pending purchase orders for a supplier.
+         */
+        public int getPendingOrders(String supplier) {
+            return pendingOrders.getOrDefault(supplier, 0);
+        }
+
+        /**
+         * returns the highest quantity an item has held.
+         */
+        public int getMaxQuantity(String itemName) {
+            return maxQuantity.getOrDefault(itemName, 0);
+        }
+    }
+
+    /**
+     * constructor initializes the engine with the notification handler.
+     *
+     * @param viewCache view cache maintaining the stock value per category.
+     */
+    public AlertEngine(DerivedViewCache viewCache) {
+        this.notificationHandler = NotificationHandler.getInstance(); // singleton
+        this.viewCache = viewCache;
+    }
+
+    // ======= Rule Registration =======
+
+    /**
+     * registers a rule in the index for its scope and input.
+     *
+     * @param rule AlertRule to add.
+     */
+    public synchronized void addRule(AlertRule rule) {
+        index(rule).add(rule);
+        ruleCount++;
+    }
+
+    /**
+     * removes a previously registered rule.
+     *
+     * @param rule AlertRule to remove.
+     */
+    public synchronized void removeRule(AlertRule rule) {
+        if (index(rule).remove(rule)) {
+            ruleCount--;
+            firing.removeIf(key -> key.startsWith(rule.getRuleID()));
+        }
+    }
+
+    /**
+     * returns the number of registered rules.
+     */
+    public synchronized int getRuleCount() {
+        return ruleCount;
+    }
+
+    // ======= Change Notifications =======
+
+    /**
+     * records an item's quantity change and evaluates the stock rules in its scope.
+     *
+     * @param item             the item after the change.
+     * @param previousQuantity quantity before the change (0 for a new item).
+     */
+    public synchronized void onStockChanged(InventoryItem item, int previousQuantity) {
+        maxQuantity.merge(item.getName(), item.getQuantity(), Math::max);
+
+        Context context = new Context(item);
+        evaluate(itemStockRules.get(item.getName()), context, item, item.getSupplier());
+        if (item.getType() != null) {
+            evaluate(categoryStockRules.get(item.getType()), context, item, item.getSupplier());
+        }
+        evaluate(supplierStockRules.get(item.getSupplier()), context, item, item.getSupplier());
+    }
+
+    /**
+     * records a newly created purchase order and evaluates its supplier's order rules.
+     *
+     * @param order the new PurchaseOrder.
+     */
+    public synchronized void onOrderCreated(PurchaseOrder order) {
+        if (PENDING.equals(order.getStatus())) {
+            changePending(order, 1);
+        }
+    }
+
+    /**
+     * records a purchase order status change and evaluates its supplier's order rules.
+     *
+     * @param order          the PurchaseOrder after the change.
+     * @param previousStatus status before the change.
+     */
+    public synchronized void onOrderStatusChanged(PurchaseOrder order, String previousStatus) {
+        boolean wasPending = PENDING.equals(previousStatus);
+        boolean isPending = PENDING.equals(order.getStatus());
+        if (wasPending != isPending) {
+            changePending(order, isPending ? 1 : -1);
+        }
+    }
+
+    // ======= Aggregates =======
+
+    /**
+     * returns the total stock value of a category, as maintained by the view cache.
+     */
+    public double getCategoryValue(CategoryType category) {
+        return viewCache.getCategoryValue(category);
+    }
+
+    /**
+     * returns the number of pending orders for a supplier, as maintained by the engine.
+     */
+    public synchronized int getPendingOrders(String supplier) {
+        return pendingOrders.getOrDefault(supplier, 0);
+    }
+
+    // ======= Evaluation =======
+
+    private void changePending(PurchaseOrder order, int delta) {
+        if (order.getSupplier() == null) {
+            return;
+        }
+        String supplier = order.getSupplier().getName();
+        pendingOrders.merge(supplier, delta, Integer::sum);
+        evaluate(supplierOrderRules.get(supplier), new Context(null), null, supplier);
+    }
+
+    /**
+     * evaluates rules, alerting on rules that have just become true and re-arming
+     * rules that have become false.
+     */
+    private void evaluate(List<AlertRule> rules, Context context, InventoryItem item, String supplier) {
+        if (rules == null) {
+            return;
+        }
+        for (AlertRule rule : rules) {
+            String key = rule.isPerItem() && item != null ? rule.getRuleID() + "|" + item.getName() : rule.getRuleID();
+            if (rule.test(context)) {
+                if (firing.add(key)) {
+                    notificationHandler.notifyUserRole("Alert: " + rule.message(context), rule.getRole());
+                    notificationHandler.publish(EventKind.ALERT, item != null ? item.getName() : null,
+                            item != null ? item.getType() : null, supplier, () -> "Alert: " + rule.message(context));
+                }
+            } else {
+                firing.remove(key);
+            }
+        }
+    }
+
+    /**
+     * returns the rule list a rule belongs in, creating it if needed.
+     */
+    private List<AlertRule> index(AlertRule rule) {
+        if (rule.getInput() == AlertRule.Input.ORDERS) {
+            if (rule.getScope() != AlertRule.Scope.SUPPLIER) {
+                throw new IllegalArgumentException("Order rules must be registered against a supplier.");
+            }
+            return supplierOrderRules.computeIfAbsent((String) rule.getScopeKey(), k -> new ArrayList<>());
+        }
+        switch (rule.getScope()) {
+            case ITEM:
+                return itemStockRules.computeIfAbsent((String) rule.getScopeKey(), k -> new ArrayList<>());
+            case CATEGORY:
+                return categoryStockRules.computeIfAbsent((CategoryType) rule.getScopeKey(), k -> new ArrayList<>());
+            default:
+                return supplierStockRules.computeIfAbsent((String) rule.getScopeKey(), k -> new ArrayList<>());
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package service;
+
+import model.CategoryType;
+import model.UserRole;
+
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * an alerting rule evaluated by the AlertEngine.
+ *
+ * each rule is registered against a scope (a single item, a category or a supplier)
+ * and declares which input it depends on (stock levels or purchase orders), so the
+ * engine only evaluates it when that input changes within its scope. the condition
+ * is a predicate compiled once when the rule is created.
+ *
+ * per-item rules are tracked per item in scope; aggregate rules are tracked once
+ * for the whole scope. a rule alerts its UserRole when it becomes true and re-arms
+ * once it becomes false again.
+ */
+public class AlertRule {
+
+    /**
+     * what a rule is registered against.
+     */
+    public enum Scope {
+        ITEM,       // a single item, keyed by name
+        CATEGORY,   // every item of a CategoryType
+        SUPPLIER    // every item or order of a supplier, keyed by supplier name
+    }
+
+    /**
+     * which changes cause a rule to be evaluated.
+     */
+    public enum Input {
+        STOCK,      // item quantity changes
+        ORDERS      // purchase order creation and status changes
+    }
+
+    private final String ruleID;                                      // unique identifier for the rule
+    private final Scope scope;                                        // what the rule is registered against
+    private final Object scopeKey;                                    // item name, CategoryType or supplier name
+    private final Input input;                                        // changes that trigger evaluation
+    private final boolean perItem;                                    // tracked per item rather than per scope
+    private final Predicate<AlertEngine.Context> condition;           // compiled alert condition
+    private final Function<AlertEngine.Context, String> message;      // alert message builder
+    private final UserRole role;                                      // role that receives the alert
+
+    /**
+     * constructor to create a custom rule.
+     *
+     * @param scope     what the rule is registered against.
+     * @param scopeKey  item name, CategoryType or supplier name matching the scope.
+     * @param input     changes that trigger evaluation.
+     * @param perItem   whether the rule is tracked per item in scope.
+     * @param condition alert condition.
+     * @param message   alert message builder, only called when the rule fires.
+     * @param role      role that receives the alert.
+     */
+    public AlertRule(Scope scope, Object scopeKey, Input input, boolean perItem,
+                     Predicate<AlertEngine.Context> condition, Function<AlertEngine.Context, String> message, UserRole role) {
+        this.ruleID = IdentificationGenerator.generateUniqueID();
+        this.scope = scope;
+        this.scopeKey = scopeKey;
+        this.input = input;
+        this.perItem = perItem;
+        this.condition = condition;
+        this.message = message;
+        this.role = role;
+    }
+
+    // ======= Common Rules =======
+
+    /**
+     * alerts when the total stock value (quantity x unit price) of a category falls below a minimum.
+     */
+    public static AlertRule categoryValueBelow(CategoryType category, double minimumValue, UserRole role) {
+        return new AlertRule(Scope.CATEGORY, category, Input.STOCK, false,
+                ctx -> ctx.getCategoryValue(category) < minimumValue,
+                ctx -> "Stock value of " + category.getCategoryName() + " below " + minimumValue +
+                        " (Value: " + String.format("%.2f", ctx.getCategoryValue(category)) + ")",
+                role);
+    }
+
+    /**
+     * alerts when any item of a category falls below a percentage of the highest quantity it has held.
+     */
+    public static AlertRule categoryItemBelowPercentOfMax(CategoryType category, double percent, UserRole role) {
+        return new AlertRule(Scope.CATEGORY, category, Input.STOCK, true,
+                ctx -> ctx.getItem().getQuantity() < ctx.getMaxQuantity(ctx.getItem().getName()) * percent / 100.0,
+                ctx -> ctx.getItem().getName() + " below " + percent + "% of max stock (Qty: " +
+                        ctx.getItem().getQuantity() + ", Max: " + ctx.getMaxQuantity(ctx.getItem().getName()) + ")",
+                role);
+    }
+
+    /**
+     * alerts when a single item falls below a minimum quantity.
+     */
+    public static AlertRule itemQuantityBelow(String itemName, int minimumQuantity, UserRole role) {
+        return new AlertRule(Scope.ITEM, itemName, Input.STOCK, true,
+                ctx -> ctx.getItem().getQuantity() < minimumQuantity,
+                ctx -> itemName + " below " + minimumQuantity + " (Qty: " + ctx.getItem().getQuantity() + ")",
+                role);
+    }
+
+    /**
+     * alerts when a supplier has more than the given number of pending purchase orders.
+     */
+    public static AlertRule supplierPendingOrdersAbove(String supplier, int maximumPending, UserRole role) {
+        return new AlertRule(Scope.SUPPLIER, supplier, Input.ORDERS, false,
+                ctx -> ctx.getPendingOrders(supplier) > maximumPending,
+                ctx -> supplier + " has more than " + maximumPending + " pending orders (Pending: " +
+                        ctx.getPendingOrders(supplier) + ")",
+                role);
+    }
+
+    // ======= Getters =======
+
+    /**
+     * returns the unique ID of the rule.
+     */
+    public String getRuleID() {
+        return ruleID;
+    }
+
+    /**
+     * returns what the rule is registered against.
+     */
+    public Scope getScope() {
+        return scope;
+    }
+
+    /**
+     * returns the item name, CategoryType or supplier name the rule is registered against.
+     */
+    public Object getScopeKey() {
+        return scopeKey;
+    }
+
+    /**
+     * returns which changes trigger evaluation of the rule.
+     */
+    public Input getInput() {
+        return input;
+    }
+
+    /**
+     * returns whether the rule is tracked per item in scope.
+     */
+    public boolean isPerItem() {
+        return perItem;
+    }
+
+    /**
+     * returns the role that receives the rule's alerts.
+     */
+    public UserRole getRole() {
+        return role;
+    }
+
+    /**
+     * evaluates the rule's condition.
+     */
+    boolean test(AlertEngine.Context context) {
+        return condition.test(context);
+    }
+
+    /**
+     * builds the rule's alert message.
+     */
+    String message(AlertEngine.Context context) {
+        return message.apply(context);
+    }
+}
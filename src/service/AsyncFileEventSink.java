@@ -0,0 +1,177 @@
+package service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * event sink that hands lines to a background writer through a fixed-size ring buffer.
+ *
+ * callers only claim a slot and store a reference, so logging never waits on disk
+ * or terminal speed. the writer thread drains the ring into a direct buffer and
+ * writes it to a file channel in batches. if the ring is full the line is dropped
+ * and counted rather than blocking the caller.
+ */
+public class AsyncFileEventSink implements EventSink {
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1); // writer idle wait
+    private static final byte[] LINE_SEPARATOR = System.lineSeparator().getBytes(StandardCharsets.UTF_8);
+
+    private final AtomicReferenceArray<String> ring;   // pending lines, indexed by sequence & mask
+    private final int mask;                            // ring capacity - 1
+    private final AtomicLong claimed = new AtomicLong(); // next sequence to be claimed by a producer
+    private final AtomicLong dropped = new AtomicLong(); // lines dropped because the ring was full
+    private volatile long consumed;                    // next sequence the writer will read
+    private volatile boolean running = true;           // cleared on close
+
+    private final FileChannel channel;                 // destination file
+    private final ByteBuffer buffer;                   // batch buffer written to the channel
+    private final Thread writer;                       // background writer thread
+
+    /**
+     * opens (or creates) the file for appending and starts the writer thread.
+     *
+     * @param file         file to append log lines to.
+     * @param ringCapacity number of lines that may be pending (rounded up to a power of two).
+     * @param bufferBytes  size of the batch buffer flushed to the file.
+     */
+    public AsyncFileEventSink(Path file, int ringCapacity, int bufferBytes) throws IOException {
+        int capacity = Integer.highestOneBit(Math.max(2, ringCapacity - 1)) << 1;
+        this.ring = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        this.buffer = ByteBuffer.allocateDirect(bufferBytes);
+        this.writer = new Thread(this::drain, "event-log-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * opens the file with a 64K-line ring and a 256 KB batch buffer.
+     *
+     * @param file file to append log lines to.
+     */
+    public AsyncFileEventSink(Path file) throws IOException {
+        this(file, 1 << 16, 1 << 18);
+    }
+
+    /**
+     * claims a ring slot for the line, or drops it if the ring is full.
+     *
+     * @param line the log line.
+     */
+    @Override
+    public void write(String line) {
+        while (running) {
+            long sequence = claimed.get();
+            if (sequence - consumed > mask) {
+                dropped.incrementAndGet();
+                return;
+            }
+            if (claimed.compareAndSet(sequence, sequence + 1)) {
+                ring.set((int) (sequence & mask), line);
+                return;
+            }
+        }
+    }
+
+    /**
+     * returns the number of lines dropped because the ring was full.
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    /**
+     * stops the writer after it has written every pending line, then closes the file.
+     */
+    @Override
+    public void close() {
+        running = false;
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            channel.force(false);
+            channel.close();
+        } catch (IOException ignored) {
+            // nothing more can be done with a failed log file
+        }
+    }
+
+    // ======= Writer =======
+
+    /**
+     * writer loop: copy published lines into the batch buffer and flush it when
+     * it fills up or when no more lines are waiting.
+     */
+    private void drain() {
+        long next = 0;
+        while (running || next < claimed.get()) {
+            int index = (int) (next & mask);
+            String line = ring.get(index);
+            if (line == null) {
+                // nothing published at this slot yet: flush the batch and wait
+                flush();
+                if (next == claimed.get()) {
+                    LockSupport.parkNanos(IDLE_PARK_NANOS);
+                } else {
+                    Thread.onSpinWait(); // a producer has claimed the slot but not stored yet
+                }
+                continue;
+            }
+            ring.set(index, null);
+            consumed = ++next;
+            append(line.getBytes(StandardCharsets.UTF_8));
+            append(LINE_SEPARATOR);
+        }
+        flush();
+    }
+
+    /**
+     * appends bytes to the batch buffer, flushing first if they do not fit.
+     */
+    private void append(byte[] bytes) {
+        if (bytes.length > buffer.remaining()) {
+            flush();
+            if (bytes.length > buffer.capacity()) {
+                writeFully(ByteBuffer.wrap(bytes));
+                return;
+            }
+        }
+        buffer.put(bytes);
+    }
+
+    /**
+     * writes the batch buffer to the file channel.
+     */
+    private void flush() {
+        if (buffer.position() == 0) {
+            return;
+        }
+        buffer.flip();
+        writeFully(buffer);
+        buffer.clear();
+    }
+
+    /**
+     * writes all remaining bytes of the given buffer to the file channel.
+     */
+    private void writeFully(ByteBuffer source) {
+        try {
+            while (source.hasRemaining()) {
+                channel.write(source);
+            }
+        } catch (IOException e) {
+            source.position(source.limit()); // discard the batch rather than stall the writer
+        }
+    }
+}
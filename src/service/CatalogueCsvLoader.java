@@ -0,0 +1,568 @@
+package service;
+
+import model.CategoryType;
+import model.UserRole;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * bulk loader for catalogue CSV exports with the columns
+ * name, category, quantity, threshold, price, supplier.
+ *
+ * the file is memory-mapped and split into newline-aligned chunks that are parsed in
+ * parallel straight from the mapped bytes: numbers are parsed without allocation,
+ * categories are resolved through a precomputed byte-level hash table (enum names and
+ * display names, case-insensitive), and name and supplier strings are materialised once
+ * per distinct value in each chunk. parsed rows are kept in primitive columns per chunk.
+ *
+ * rows are then added to the Inventory in file order on the calling thread, with the
+ * same semantics as Inventory.addItem (an existing item's quantity is increased).
+ * malformed lines, including negative quantities or thresholds, are counted and
+ * reported with their line numbers; they do not stop the load. one summary notification is sent instead of one per row.
+ *
+ * names and suppliers may be quoted ("a, b" or "say ""hi"""). a header line starting
+ * with "name," is skipped.
+ */
+public class CatalogueCsvLoader {
+    private static final long CHUNK_BYTES = 64L << 20;      // nominal bytes per parallel chunk
+    private static final int MAX_LINE_BYTES = 64 * 1024;    // longer lines are reported as malformed
+    private static final int MAX_REPORTED = 100;            // malformed lines listed in the report
+    private static final int FIELDS = 6;
+
+    private static final CategoryLookup CATEGORY_LOOKUP = new CategoryLookup();
+
+    private final Inventory inventory;                       // reference to Inventory
+    private final NotificationHandler notificationHandler;   // notification handler instance
+
+    /**
+     * outcome of a load.
+     */
+    public static final class LoadReport {
+        private final long rowsLoaded;
+        private final long malformedLines;
+        private final List<String> malformedSamples;
+        private final long parseMillis;
+        private final long applyMillis;
+
+        private LoadReport(long rowsLoaded, long malformedLines, List<String> malformedSamples, long parseMillis, long applyMillis) {
+            this.rowsLoaded = rowsLoaded;
+            this.malformedLines = malformedLines;
+            this.malformedSamples = Collections.unmodifiableList(malformedSamples);
+            this.parseMillis = parseMillis;
+            this.applyMillis = applyMillis;
+        }
+
+        /**
+         * returns the number of rows added to the inventory.
+         */
+        public long getRowsLoaded() {
+            return rowsLoaded;
+        }
+
+        /**
+         * returns the number of malformed lines skipped.
+         */
+        public long getMalformedLines() {
+            return malformedLines;
+        }
+
+        /**
+         * returns up to 100 malformed lines as "line N: reason", in file order.
+         */
+        public List<String> getMalformedSamples() {
+            return malformedSamples;
+        }
+
+        /**
+         * returns the time spent mapping and parsing, in milliseconds.
+         */
+        public long getParseMillis() {
+            return parseMillis;
+        }
+
+        /**
+         * returns the time spent adding the parsed rows to the inventory, in milliseconds.
+         */
+        public long getApplyMillis() {
+            return applyMillis;
+        }
+    }
+
+    /**
+     * constructor initializes the loader for the given inventory.
+     *
+     * @param inventory Reference to Inventory instance.
+     */
+    public CatalogueCsvLoader(Inventory inventory) {
+        this.inventory = inventory;
+        this.notificationHandler = NotificationHandler.getInstance();
+    }
+
+    // ======= Loading =======
+
+    /**
+     * loads a catalogue file. must be called on the thread that owns Inventory mutations.
+     *
+     * @param file CSV file to load.
+     * @return LoadReport with row counts, malformed lines and timings.
+     */
+    public LoadReport load(Path file) throws IOException {
+        long begin = System.nanoTime();
+        List<Chunk> chunks = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            int parallelism = ForkJoinPool.getCommonPoolParallelism();
+            long chunkBytes = Math.max(1, Math.min(CHUNK_BYTES, (size + parallelism - 1) / Math.max(1, parallelism)));
+            for (long start = 0; start < size; start += chunkBytes) {
+                chunks.add(new Chunk(channel, start, Math.min(size, start + chunkBytes), size));
+            }
+            List<Future<Chunk>> parsed = ForkJoinPool.commonPool().invokeAll(new ArrayList<Callable<Chunk>>(chunks));
+            for (Future<Chunk> future : parsed) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Catalogue load interrupted.", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Catalogue parse failed: " + e.getCause(), e.getCause());
+        }
+        long parsedAt = System.nanoTime();
+
+        long rows = 0;
+        long malformed = 0;
+        long linesBefore = 0;
+        List<String> samples = new ArrayList<>();
+        for (Chunk chunk : chunks) {
+            for (int i = 0; i < chunk.rows; i++) {
+                inventory.addItem(InventoryItemFactory.createItem(chunk.names[i], chunk.quantities[i], chunk.thresholds[i],
+                        chunk.prices[i], chunk.suppliers[i], chunk.categories[i]));
+            }
+            rows += chunk.rows;
+            malformed += chunk.malformed;
+            for (int i = 0; i < chunk.malformedLines.size() && samples.size() < MAX_REPORTED; i++) {
+                samples.add("line " + (linesBefore + chunk.malformedLines.get(i)) + ": " + chunk.malformedReasons.get(i));
+            }
+            linesBefore += chunk.lines;
+        }
+        long appliedAt = System.nanoTime();
+
+        notificationHandler.notifyUserRole("Catalogue loaded: " + rows + " rows from " + file.getFileName() +
+                (malformed > 0 ? " (" + malformed + " malformed lines skipped)" : ""), UserRole.INVENTORY_MANAGER);
+        return new LoadReport(rows, malformed, samples, (parsedAt - begin) / 1_000_000, (appliedAt - parsedAt) / 1_000_000);
+    }
+
+    // ======= Parsing =======
+
+    /**
+     * one newline-aligned region of the file and the rows parsed from it.
+     * a line belongs to the chunk in which its first byte lies.
+     */
+    private static final class Chunk implements Callable<Chunk> {
+        private final FileChannel channel;
+        private final long start;          // nominal start (inclusive)
+        private final long end;            // nominal end (exclusive)
+        private final long fileSize;
+
+        // parsed rows, as columns
+        private int rows;
+        private String[] names = new String[1024];
+        private CategoryType[] categories = new CategoryType[1024];
+        private int[] quantities = new int[1024];
+        private int[] thresholds = new int[1024];
+        private double[] prices = new double[1024];
+        private String[] suppliers = new String[1024];
+
+        private int lines;                                           // lines starting in this chunk
+        private long malformed;
+        private final List<Integer> malformedLines = new ArrayList<>();   // 1-based within the chunk
+        private final List<String> malformedReasons = new ArrayList<>();
+
+        private final Interner interner = new Interner();
+        private final int[] fieldStart = new int[FIELDS];
+        private final int[] fieldEnd = new int[FIELDS];
+
+        private Chunk(FileChannel channel, long start, long end, long fileSize) {
+            this.channel = channel;
+            this.start = start;
+            this.end = end;
+            this.fileSize = fileSize;
+        }
+
+        @Override
+        public Chunk call() throws IOException {
+            // map one byte before the chunk (to see whether it starts mid-line) and enough after it to finish the last line
+            long mapStart = Math.max(0, start - 1);
+            long mapEnd = Math.min(fileSize, end + MAX_LINE_BYTES);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, mapStart, mapEnd - mapStart);
+            int limit = (int) (mapEnd - mapStart);
+            int chunkEnd = (int) (end - mapStart);
+            int position = (int) (start - mapStart);
+            if (start > 0 && buffer.get(position - 1) != '\n') {
+                // starts mid-line: that line belongs to the previous chunk
+                while (position < limit && buffer.get(position) != '\n') {
+                    position++;
+                }
+                position++;
+            }
+            while (position < chunkEnd) {
+                int lineEnd = position;
+                while (lineEnd < limit && buffer.get(lineEnd) != '\n') {
+                    lineEnd++;
+                }
+                lines++;
+                if (lineEnd == limit && mapEnd < fileSize) {
+                    reject("line longer than " + MAX_LINE_BYTES + " bytes");
+                    break;
+                }
+                int contentEnd = (lineEnd > position && buffer.get(lineEnd - 1) == '\r') ? lineEnd - 1 : lineEnd;
+                if (contentEnd > position) {
+                    parseLine(buffer, position, contentEnd, start == 0 && lines == 1);
+                }
+                position = lineEnd + 1;
+            }
+            return this;
+        }
+
+        /**
+         * parses one line into the columns, or records why it is malformed.
+         */
+        private void parseLine(MappedByteBuffer buffer, int from, int to, boolean firstLine) {
+            int field = 0;
+            int position = from;
+            while (true) {
+                if (field == FIELDS) {
+                    reject("more than " + FIELDS + " fields");
+                    return;
+                }
+                if (position < to && buffer.get(position) == '"') {
+                    // quoted field: runs to the closing quote; "" is an escaped quote
+                    int close = position + 1;
+                    while (true) {
+                        while (close < to && buffer.get(close) != '"') {
+                            close++;
+                        }
+                        if (close + 1 < to && buffer.get(close + 1) == '"') {
+                            close += 2;
+                            continue;
+                        }
+                        break;
+                    }
+                    if (close >= to || (close + 1 < to && buffer.get(close + 1) != ',')) {
+                        reject("unterminated quoted field " + (field + 1));
+                        return;
+                    }
+                    fieldStart[field] = position;   // keep the quotes so the value can be unescaped
+                    fieldEnd[field] = close + 1;
+                    position = close + 1;
+                } else {
+                    fieldStart[field] = position;
+                    while (position < to && buffer.get(position) != ',') {
+                        position++;
+                    }
+                    fieldEnd[field] = position;
+                }
+                field++;
+                if (position >= to) {
+                    break;
+                }
+                position++; // skip the comma
+            }
+            if (field != FIELDS) {
+                if (firstLine && isHeader(buffer, from, to)) {
+                    return;
+                }
+                reject("expected " + FIELDS + " fields, found " + field);
+                return;
+            }
+
+            CategoryType category = CATEGORY_LOOKUP.find(buffer, fieldStart[1], fieldEnd[1]);
+            long quantity = parseInt(buffer, fieldStart[2], fieldEnd[2]);
+            long threshold = parseInt(buffer, fieldStart[3], fieldEnd[3]);
+            double price = parsePrice(buffer, fieldStart[4], fieldEnd[4]);
+            if (category == null || quantity == Long.MIN_VALUE || threshold == Long.MIN_VALUE || Double.isNaN(price)
+                    || fieldEnd[0] == fieldStart[0]) {
+                if (firstLine && isHeader(buffer, from, to)) {
+                    return;
+                }
+                reject(fieldEnd[0] == fieldStart[0] ? "empty name"
+                        : category == null ? "unknown category"
+                        : quantity == Long.MIN_VALUE ? "invalid quantity"
+                        : threshold == Long.MIN_VALUE ? "invalid threshold" : "invalid price");
+                return;
+            }
+            if (quantity < 0 || threshold < 0) {
+                reject(quantity < 0 ? "negative quantity" : "negative threshold");
+                return;
+            }
+
+            ensureCapacity();
+            names[rows] = interner.intern(buffer, fieldStart[0], fieldEnd[0]);
+            categories[rows] = category;
+            quantities[rows] = (int) quantity;
+            thresholds[rows] = (int) threshold;
+            prices[rows] = price;
+            suppliers[rows] = interner.intern(buffer, fieldStart[5], fieldEnd[5]);
+            rows++;
+        }
+
+        private void reject(String reason) {
+            malformed++;
+            if (malformedLines.size() < MAX_REPORTED) {
+                malformedLines.add(lines);
+                malformedReasons.add(reason);
+            }
+        }
+
+        private void ensureCapacity() {
+            if (rows == names.length) {
+                int capacity = rows * 2;
+                names = Arrays.copyOf(names, capacity);
+                categories = Arrays.copyOf(categories, capacity);
+                quantities = Arrays.copyOf(quantities, capacity);
+                thresholds = Arrays.copyOf(thresholds, capacity);
+                prices = Arrays.copyOf(prices, capacity);
+                suppliers = Arrays.copyOf(suppliers, capacity);
+            }
+        }
+    }
+
+    /**
+     * returns whether a line is the header row, i.e. starts with "name,".
+     */
+    private static boolean isHeader(MappedByteBuffer buffer, int from, int to) {
+        String prefix = "name,";
+        if (to - from < prefix.length()) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length(); i++) {
+            if (Character.toLowerCase((char) buffer.get(from + i)) != prefix.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * parses a signed decimal integer without allocating; callers reject negative values.
+     *
+     * @return the value, or Long.MIN_VALUE if the field is not a valid int.
+     */
+    private static long parseInt(MappedByteBuffer buffer, int from, int to) {
+        while (from < to && buffer.get(from) == ' ') {
+            from++;
+        }
+        while (to > from && buffer.get(to - 1) == ' ') {
+            to--;
+        }
+        boolean negative = from < to && buffer.get(from) == '-';
+        if (negative) {
+            from++;
+        }
+        if (from == to || to - from > 10) {
+            return Long.MIN_VALUE;
+        }
+        long value = 0;
+        for (int i = from; i < to; i++) {
+            int digit = buffer.get(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return Long.MIN_VALUE;
+            }
+            value = value * 10 + digit;
+        }
+        value = negative ? -value : value;
+        return (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) ? Long.MIN_VALUE : value;
+    }
+
+    /**
+     * parses a decimal price such as 12, 12.5 or 12.50 without allocating.
+     *
+     * @return the price, or NaN if the field is not a valid decimal.
+     */
+    private static double parsePrice(MappedByteBuffer buffer, int from, int to) {
+        while (from < to && buffer.get(from) == ' ') {
+            from++;
+        }
+        while (to > from && buffer.get(to - 1) == ' ') {
+            to--;
+        }
+        if (from == to || to - from > 18) {
+            return Double.NaN;
+        }
+        long mantissa = 0;
+        int decimals = -1;
+        for (int i = from; i < to; i++) {
+            byte b = buffer.get(i);
+            if (b == '.' && decimals < 0) {
+                decimals = 0;
+                continue;
+            }
+            if (b < '0' || b > '9') {
+                return Double.NaN;
+            }
+            mantissa = mantissa * 10 + (b - '0');
+            if (decimals >= 0) {
+                decimals++;
+            }
+        }
+        double value = mantissa;
+        for (int i = 0; i < decimals; i++) {
+            value /= 10;
+        }
+        return value;
+    }
+
+    // ======= Lookups =======
+
+    /**
+     * open-addressing table from category bytes (enum name or display name, ASCII
+     * case-insensitive) to CategoryType, probed directly with the mapped bytes.
+     */
+    private static final class CategoryLookup {
+        private final byte[][] keys = new byte[256][];
+        private final CategoryType[] values = new CategoryType[256];
+
+        private CategoryLookup() {
+            for (CategoryType category : CategoryType.values()) {
+                put(category.name(), category);
+                put(category.getCategoryName(), category);
+            }
+        }
+
+        private void put(String key, CategoryType category) {
+            byte[] bytes = key.toUpperCase(Locale.ROOT).getBytes(StandardCharsets.UTF_8);
+            int slot = hash(bytes, 0, bytes.length) & 255;
+            while (keys[slot] != null && !Arrays.equals(keys[slot], bytes)) {
+                slot = (slot + 1) & 255;
+            }
+            keys[slot] = bytes;
+            values[slot] = category;
+        }
+
+        private CategoryType find(MappedByteBuffer buffer, int from, int to) {
+            while (from < to && buffer.get(from) == ' ') {
+                from++;
+            }
+            while (to > from && buffer.get(to - 1) == ' ') {
+                to--;
+            }
+            int hash = 0x811c9dc5;
+            for (int i = from; i < to; i++) {
+                hash = (hash ^ upper(buffer.get(i))) * 0x01000193;
+            }
+            for (int slot = hash & 255; keys[slot] != null; slot = (slot + 1) & 255) {
+                byte[] key = keys[slot];
+                if (key.length == to - from && matches(key, buffer, from)) {
+                    return values[slot];
+                }
+            }
+            return null;
+        }
+
+        private static boolean matches(byte[] key, MappedByteBuffer buffer, int from) {
+            for (int i = 0; i < key.length; i++) {
+                if (key[i] != upper(buffer.get(from + i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static int hash(byte[] bytes, int from, int to) {
+            int hash = 0x811c9dc5;
+            for (int i = from; i < to; i++) {
+                hash = (hash ^ bytes[i]) * 0x01000193;
+            }
+            return hash;
+        }
+
+        private static byte upper(byte b) {
+            return (b >= 'a' && b <= 'z') ? (byte) (b - 32) : b;
+        }
+    }
+
+    /**
+     * per-chunk table of strings materialised from the mapped bytes, so each distinct
+     * name or supplier is decoded once per chunk and repeats reuse the same String.
+     */
+    private static final class Interner {
+        private byte[][] keys = new byte[1024][];
+        private String[] values = new String[1024];
+        private int size;
+
+        private String intern(MappedByteBuffer buffer, int from, int to) {
+            int hash = 0x811c9dc5;
+            for (int i = from; i < to; i++) {
+                hash = (hash ^ buffer.get(i)) * 0x01000193;
+            }
+            int mask = keys.length - 1;
+            int slot = (hash ^ (hash >>> 16)) & mask;
+            while (keys[slot] != null) {
+                byte[] key = keys[slot];
+                if (key.length == to - from && matches(key, buffer, from)) {
+                    return values[slot];
+                }
+                slot = (slot + 1) & mask;
+            }
+            byte[] bytes = new byte[to - from];
+            buffer.get(from, bytes);
+            String value = decode(bytes);
+            keys[slot] = bytes;
+            values[slot] = value;
+            if (++size * 2 > keys.length) {
+                grow();
+            }
+            return value;
+        }
+
+        private static boolean matches(byte[] key, MappedByteBuffer buffer, int from) {
+            for (int i = 0; i < key.length; i++) {
+                if (key[i] != buffer.get(from + i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * decodes a field, removing surrounding quotes and unescaping doubled quotes.
+         */
+        private static String decode(byte[] bytes) {
+            if (bytes.length >= 2 && bytes[0] == '"') {
+                return new String(bytes, 1, bytes.length - 2, StandardCharsets.UTF_8).replace("\"\"", "\"");
+            }
+            return new String(bytes, StandardCharsets.UTF_8).trim();
+        }
+
+        private void grow() {
+            byte[][] oldKeys = keys;
+            String[] oldValues = values;
+            keys = new byte[oldKeys.length * 2][];
+            values = new String[oldKeys.length * 2];
+            int mask = keys.length - 1;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != null) {
+                    int hash = 0x811c9dc5;
+                    for (byte b : oldKeys[i]) {
+                        hash = (hash ^ b) * 0x01000193;
+                    }
+                    int slot = (hash ^ (hash >>> 16)) & mask;
+                    while (keys[slot] != null) {
+                        slot = (slot + 1) & mask;
+                    }
+                    keys[slot] = oldKeys[i];
+                    values[slot] = oldValues[i];
+                }
+            }
+        }
+    }
+}
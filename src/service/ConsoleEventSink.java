@@ -0,0 +1,20 @@
+package service;
+
+/**
+ * event sink that writes each line straight to the console.
+ *
+ * this is the default sink and keeps the system's original console output.
+ * every write blocks on System.out, so it is not suited to hot paths under load.
+ */
+public class ConsoleEventSink implements EventSink {
+
+    /**
+     * prints the line to standard output.
+     *
+     * @param line the log line.
+     */
+    @Override
+    public void write(String line) {
+        System.out.println(line);
+    }
+}
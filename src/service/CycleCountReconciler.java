@@ -0,0 +1,500 @@
+package service;
+
+import model.InventoryItem;
+import model.UserRole;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * reconciles physical cycle counts against the live inventory.
+ *
+ * a count file lists (sku, countedQty) lines; repeated SKUs (e.g. counted in several
+ * bins) are summed, failing rather than wrapping if a total exceeds the int range.
+ * as in CatalogueCsvLoader, the file is memory-mapped and its newline-aligned chunks
+ * are parsed in parallel; negative counts are rejected as malformed lines.
+ *
+ * {@link #reconcile} takes a consistent snapshot of every item's quantity and diffs
+ * the counts against it in parallel, splitting the counts into partitions on the
+ * common fork/join pool. the result is a variance report sorted by value impact
+ * (|counted - expected| x unit price), largest first.
+ *
+ * {@link #apply} then posts the approved variances as one atomic batch. each item is
+ * adjusted by counted - expected, relative to the snapshot, so stock movements made
+ * by live traffic since the snapshot are kept; quantities stop at zero. reorders are
+ * evaluated once per adjusted item after the batch, and one summary notification is
+ * sent instead of one per line.
+ */
+public class CycleCountReconciler {
+    private static final int PARTITION_SIZE = 8_192;   // count lines diffed per fork/join leaf
+    private static final long CHUNK_BYTES = 16L << 20;  // nominal bytes per parallel parse chunk
+    private static final int MAX_LINE_BYTES = 4 * 1024; // longer lines are reported as malformed
+    private static final int MAX_REPORTED = 100;        // malformed lines logged per file
+
+    private final Inventory inventory;                       // reference to Inventory
+    private final NotificationHandler notificationHandler;   // notification handler instance
+    private final EventLog eventLog;                         // event log instance
+
+    /**
+     * difference between the counted and the expected quantity of one item.
+     */
+    public static final class Variance {
+        private final String itemName;
+        private final int expectedQuantity;
+        private final int countedQuantity;
+        private final double unitPrice;
+
+        private Variance(String itemName, int expectedQuantity, int countedQuantity, double unitPrice) {
+            this.itemName = itemName;
+            this.expectedQuantity = expectedQuantity;
+            this.countedQuantity = countedQuantity;
+            this.unitPrice = unitPrice;
+        }
+
+        /**
+         * returns the name of the item.
+         */
+        public String getItemName() {
+            return itemName;
+        }
+
+        /**
+         * returns the quantity the inventory held at the snapshot.
+         */
+        public int getExpectedQuantity() {
+            return expectedQuantity;
+        }
+
+        /**
+         * returns the physically counted quantity.
+         */
+        public int getCountedQuantity() {
+            return countedQuantity;
+        }
+
+        /**
+         * returns counted - expected (negative for shrinkage).
+         */
+        public int getDifference() {
+            return countedQuantity - expectedQuantity;
+        }
+
+        /**
+         * returns the value of the difference (difference x unit price).
+         */
+        public double getValueImpact() {
+            return getDifference() * unitPrice;
+        }
+
+        @Override
+        public String toString() {
+            return itemName + ": expected " + expectedQuantity + ", counted " + countedQuantity +
+                    String.format(" (%+.2f)", getValueImpact());
+        }
+    }
+
+    /**
+     * outcome of a reconciliation: the variances and the lines that could not be matched.
+     */
+    public static final class VarianceReport {
+        private final List<Variance> variances;
+        private final List<String> unknownItems;
+        private final int countedItems;
+        private final long snapshotTime;
+
+        private VarianceReport(List<Variance> variances, List<String> unknownItems, int countedItems, long snapshotTime) {
+            this.variances = Collections.unmodifiableList(variances);
+            this.unknownItems = Collections.unmodifiableList(unknownItems);
+            this.countedItems = countedItems;
+            this.snapshotTime = snapshotTime;
+        }
+
+        /**
+         * returns the variances, largest absolute value impact first.
+         */
+        public List<Variance> getVariances() {
+            return variances;
+        }
+
+        /**
+         * returns the counted SKUs that are not in the inventory.
+         */
+        public List<String> getUnknownItems() {
+            return unknownItems;
+        }
+
+        /**
+         * returns the number of distinct SKUs counted.
+         */
+        public int getCountedItems() {
+            return countedItems;
+        }
+
+        /**
+         * returns when the snapshot was taken, in epoch milliseconds.
+         */
+        public long getSnapshotTime() {
+            return snapshotTime;
+        }
+
+        /**
+         * returns the net value of all variances (negative for a net loss).
+         */
+        public double getNetValueImpact() {
+            double total = 0;
+            for (Variance variance : variances) {
+                total += variance.getValueImpact();
+            }
+            return total;
+        }
+    }
+
+    /**
+     * fork/join task diffing a range of count lines against the snapshot.
+     */
+    private static final class DiffTask extends RecursiveTask<DiffTask> {
+        private static final long serialVersionUID = 1L;   // never serialized; tasks only run in-process
+
+        private final String[] skus;
+        private final int[] counted;
+        private final transient Map<String, Integer> snapshotIndex;
+        private final transient List<InventoryItem> snapshotItems;
+        private final int[] snapshotQuantities;
+        private final int from;
+        private final int to;
+        private final transient List<Variance> variances = new ArrayList<>();
+        private final transient List<String> unknownItems = new ArrayList<>();
+
+        private DiffTask(String[] skus, int[] counted, Map<String, Integer> snapshotIndex, List<InventoryItem> snapshotItems,
+                         int[] snapshotQuantities, int from, int to) {
+            this.skus = skus;
+            this.counted = counted;
+            this.snapshotIndex = snapshotIndex;
+            this.snapshotItems = snapshotItems;
+            this.snapshotQuantities = snapshotQuantities;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected DiffTask compute() {
+            if (to - from > PARTITION_SIZE) {
+                int middle = (from + to) >>> 1;
+                DiffTask left = new DiffTask(skus, counted, snapshotIndex, snapshotItems, snapshotQuantities, from, middle);
+                DiffTask right = new DiffTask(skus, counted, snapshotIndex, snapshotItems, snapshotQuantities, middle, to);
+                left.fork();
+                right.compute();
+                left.join();
+                variances.addAll(left.variances);
+                variances.addAll(right.variances);
+                unknownItems.addAll(left.unknownItems);
+                unknownItems.addAll(right.unknownItems);
+                return this;
+            }
+            for (int i = from; i < to; i++) {
+                Integer position = snapshotIndex.get(skus[i]);
+                if (position == null) {
+                    unknownItems.add(skus[i]);
+                } else if (snapshotQuantities[position] != counted[i]) {
+                    variances.add(new Variance(skus[i], snapshotQuantities[position], counted[i],
+                            snapshotItems.get(position).getUnitPrice()));
+                }
+            }
+            return this;
+        }
+    }
+
+    /**
+     * constructor initializes the reconciler for the given inventory.
+     *
+     * @param inventory Reference to Inventory instance.
+     */
+    public CycleCountReconciler(Inventory inventory) {
+        this.inventory = inventory;
+        this.notificationHandler = NotificationHandler.getInstance();
+        this.eventLog = EventLog.getInstance();
+    }
+
+    // ======= Reconciliation =======
+
+    /**
+     * reads a count file of "sku,countedQty" lines and reconciles it. a header line and
+     * blank lines are skipped; other malformed lines, including negative counts, are
+     * logged with their reason and skipped.
+     *
+     * @param countFile count file to read.
+     * @return VarianceReport sorted by value impact.
+     * @throws IOException if the file cannot be read or an SKU's total count exceeds the int range.
+     */
+    public VarianceReport reconcile(Path countFile) throws IOException {
+        List<CountChunk> chunks = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(countFile, StandardOpenOption.READ)) {
+            long size = channel.size();
+            int parallelism = ForkJoinPool.getCommonPoolParallelism();
+            long chunkBytes = Math.max(1, Math.min(CHUNK_BYTES, (size + parallelism - 1) / Math.max(1, parallelism)));
+            for (long start = 0; start < size; start += chunkBytes) {
+                chunks.add(new CountChunk(channel, start, Math.min(size, start + chunkBytes), size));
+            }
+            for (Future<CountChunk> future : ForkJoinPool.commonPool().invokeAll(new ArrayList<Callable<CountChunk>>(chunks))) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Count file read interrupted.", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Count file parse failed: " + e.getCause().getMessage(), e.getCause());
+        }
+
+        Map<String, Integer> counts = new HashMap<>();
+        long linesBefore = 0;
+        long malformed = 0;
+        for (CountChunk chunk : chunks) {
+            for (Map.Entry<String, Integer> count : chunk.counts.entrySet()) {
+                try {
+                    counts.merge(count.getKey(), count.getValue(), Math::addExact);
+                } catch (ArithmeticException e) {
+                    throw new IOException("Total count of " + count.getKey() + " exceeds " + Integer.MAX_VALUE + ".", e);
+                }
+            }
+            for (int i = 0; i < chunk.malformedLines.size(); i++) {
+                long line = linesBefore + chunk.malformedLines.get(i);
+                String reason = chunk.malformedReasons.get(i);
+                if (malformed + i < MAX_REPORTED) {
+                    eventLog.warn(() -> "Skipping malformed count line " + line + " in " + countFile.getFileName() + ": " + reason);
+                }
+            }
+            malformed += chunk.malformed;
+            linesBefore += chunk.lines;
+        }
+        if (malformed > MAX_REPORTED) {
+            long total = malformed;
+            eventLog.warn(() -> total + " malformed count lines skipped in " + countFile.getFileName());
+        }
+
+        String[] skus = new String[counts.size()];
+        int[] counted = new int[counts.size()];
+        int i = 0;
+        for (Map.Entry<String, Integer> count : counts.entrySet()) {
+            skus[i] = count.getKey();
+            counted[i++] = count.getValue();
+        }
+        return reconcile(skus, counted);
+    }
+
+    /**
+     * reconciles counted quantities against a consistent snapshot of the inventory.
+     *
+     * @param skus    distinct counted item names.
+     * @param counted counted quantity of each item.
+     * @return VarianceReport sorted by value impact.
+     * @throws IllegalArgumentException if a counted quantity is negative.
+     */
+    public VarianceReport reconcile(String[] skus, int[] counted) {
+        for (int i = 0; i < counted.length; i++) {
+            if (counted[i] < 0) {
+                throw new IllegalArgumentException("Counted quantity of " + skus[i] + " is negative: " + counted[i]);
+            }
+        }
+        List<InventoryItem> snapshotItems = new ArrayList<>();
+        long snapshotTime = System.currentTimeMillis();
+        int[] snapshotQuantities = inventory.snapshotQuantities(snapshotItems);
+        Map<String, Integer> snapshotIndex = new HashMap<>(snapshotItems.size() * 2);
+        for (int i = 0; i < snapshotItems.size(); i++) {
+            snapshotIndex.put(snapshotItems.get(i).getName(), i);
+        }
+
+        DiffTask diff = ForkJoinPool.commonPool().invoke(
+                new DiffTask(skus, counted, snapshotIndex, snapshotItems, snapshotQuantities, 0, skus.length));
+        List<Variance> variances = diff.variances;
+        variances.sort(Comparator.comparingDouble((Variance v) -> -Math.abs(v.getValueImpact()))
+                .thenComparing(Variance::getItemName));
+        eventLog.info(() -> "Cycle count reconciled: " + skus.length + " items counted, " + variances.size() +
+                " variances, " + diff.unknownItems.size() + " unknown items.");
+        return new VarianceReport(variances, diff.unknownItems, skus.length, snapshotTime);
+    }
+
+    // ======= Parsing =======
+
+    /**
+     * one newline-aligned region of a count file and the counts summed from it.
+     * a line belongs to the chunk in which its first byte lies.
+     */
+    private static final class CountChunk implements Callable<CountChunk> {
+        private final FileChannel channel;
+        private final long start;          // nominal start (inclusive)
+        private final long end;            // nominal end (exclusive)
+        private final long fileSize;
+
+        private final Map<String, Integer> counts = new HashMap<>();
+        private int lines;                                                // lines starting in this chunk
+        private long malformed;
+        private final List<Integer> malformedLines = new ArrayList<>();   // 1-based within the chunk
+        private final List<String> malformedReasons = new ArrayList<>();
+
+        private CountChunk(FileChannel channel, long start, long end, long fileSize) {
+            this.channel = channel;
+            this.start = start;
+            this.end = end;
+            this.fileSize = fileSize;
+        }
+
+        @Override
+        public CountChunk call() throws IOException {
+            // map one byte before the chunk (to see whether it starts mid-line) and enough after it to finish the last line
+            long mapStart = Math.max(0, start - 1);
+            long mapEnd = Math.min(fileSize, end + MAX_LINE_BYTES);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, mapStart, mapEnd - mapStart);
+            int limit = (int) (mapEnd - mapStart);
+            int chunkEnd = (int) (end - mapStart);
+            int position = (int) (start - mapStart);
+            if (start > 0 && buffer.get(position - 1) != '\n') {
+                // starts mid-line: that line belongs to the previous chunk
+                while (position < limit && buffer.get(position) != '\n') {
+                    position++;
+                }
+                position++;
+            }
+            while (position < chunkEnd) {
+                int lineEnd = position;
+                while (lineEnd < limit && buffer.get(lineEnd) != '\n') {
+                    lineEnd++;
+                }
+                lines++;
+                if (lineEnd == limit && mapEnd < fileSize) {
+                    reject("line longer than " + MAX_LINE_BYTES + " bytes");
+                    break;
+                }
+                int contentEnd = (lineEnd > position && buffer.get(lineEnd - 1) == '\r') ? lineEnd - 1 : lineEnd;
+                parseLine(buffer, position, contentEnd, start == 0 && lines == 1);
+                position = lineEnd + 1;
+            }
+            return this;
+        }
+
+        /**
+         * adds one "sku,countedQty" line to the counts, or records why it is malformed.
+         * a first line whose count is not a number is the header.
+         */
+        private void parseLine(MappedByteBuffer buffer, int from, int to, boolean firstLine) {
+            while (from < to && buffer.get(from) == ' ') {
+                from++;
+            }
+            while (to > from && buffer.get(to - 1) == ' ') {
+                to--;
+            }
+            if (from == to) {
+                return; // blank line
+            }
+            int comma = to - 1;
+            while (comma >= from && buffer.get(comma) != ',') {
+                comma--;
+            }
+            if (comma < from) {
+                if (!firstLine) {
+                    reject("expected sku,countedQty");
+                }
+                return;
+            }
+            int countFrom = comma + 1;
+            while (countFrom < to && buffer.get(countFrom) == ' ') {
+                countFrom++;
+            }
+            boolean negative = countFrom < to && buffer.get(countFrom) == '-';
+            long count = 0;
+            int digits = 0;
+            for (int i = negative ? countFrom + 1 : countFrom; i < to; i++, digits++) {
+                int digit = buffer.get(i) - '0';
+                if (digit < 0 || digit > 9 || digits == 10) {
+                    count = -1;
+                    break;
+                }
+                count = count * 10 + digit;
+            }
+            if (digits == 0 || count < 0) {
+                if (!firstLine) {
+                    reject("invalid count");
+                }
+                return;
+            }
+            if (negative) {
+                reject("negative count");
+                return;
+            }
+            if (count > Integer.MAX_VALUE) {
+                reject("count exceeds " + Integer.MAX_VALUE);
+                return;
+            }
+            int skuEnd = comma;
+            while (skuEnd > from && buffer.get(skuEnd - 1) == ' ') {
+                skuEnd--;
+            }
+            if (skuEnd == from) {
+                reject("empty SKU");
+                return;
+            }
+            byte[] bytes = new byte[skuEnd - from];
+            buffer.get(from, bytes);
+            String sku = new String(bytes, StandardCharsets.UTF_8);
+            try {
+                counts.merge(sku, (int) count, Math::addExact);
+            } catch (ArithmeticException e) {
+                throw new ArithmeticException("Total count of " + sku + " exceeds " + Integer.MAX_VALUE + ".");
+            }
+        }
+
+        private void reject(String reason) {
+            malformed++;
+            if (malformedLines.size() < MAX_REPORTED) {
+                malformedLines.add(lines);
+                malformedReasons.add(reason);
+            }
+        }
+    }
+
+    // ======= Adjustment =======
+
+    /**
+     * posts approved variances to the inventory as one atomic batch, relative to the
+     * snapshot they were computed from. items removed since the snapshot are skipped.
+     *
+     * @param approved variances to apply, typically a filtered VarianceReport.getVariances().
+     * @return number of items adjusted.
+     */
+    public int apply(List<Variance> approved) {
+        List<String> itemNames = new ArrayList<>(approved.size());
+        List<Integer> deltas = new ArrayList<>(approved.size());
+        Set<String> seen = new HashSet<>();
+        for (Variance variance : approved) {
+            if (variance.getDifference() != 0 && inventory.findItemByName(variance.getItemName()) != null
+                    && seen.add(variance.getItemName())) {
+                itemNames.add(variance.getItemName());
+                deltas.add(variance.getDifference());
+            }
+        }
+        if (itemNames.isEmpty()) {
+            return 0;
+        }
+        int[] deltaArray = new int[deltas.size()];
+        for (int i = 0; i < deltaArray.length; i++) {
+            deltaArray[i] = deltas.get(i);
+        }
+        String failure = inventory.commitTransaction(itemNames.toArray(new String[0]), deltaArray, true);
+        if (failure != null) {
+            eventLog.warn(() -> "Cycle count adjustments rejected: " + failure);
+            return 0;
+        }
+        notificationHandler.notifyUserRole("Cycle count adjustments applied to " + itemNames.size() + " items.",
+                UserRole.INVENTORY_MANAGER);
+        return itemNames.size();
+    }
+}
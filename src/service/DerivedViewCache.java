@@ -0,0 +1,360 @@
+package service;
+
+import model.CategoryType;
+import model.InventoryItem;
+import model.PurchaseOrder;
+
+import java.util.*;
+
+/**
+ * cache of the derived views dashboards ask for repeatedly:
+ * per-category totals, open order quantity per supplier and the low-stock list.
+ * it is the single place the category totals and low-stock list are kept: alert
+ * rules read category values from here and Inventory serves its low-stock list from here.
+ *
+ * category totals and low-stock membership are maintained from every stock change,
+ * so reading them never scans the inventory; the returned snapshot is only rebuilt
+ * when a change actually affected it. per-supplier open order quantities are computed
+ * on first request from the orders, under OrderService's monitor so no concurrent order
+ * change is missed or counted twice, kept in a bounded LRU map and delta-updated when
+ * an order for a cached supplier is created or leaves the Pending status.
+ *
+ * hit and miss counts are kept per view. changes made outside Inventory and
+ * OrderService (e.g. setting an item's price directly) are not seen; call
+ * {@link #invalidateAll()} after such changes.
+ */
+public class DerivedViewCache {
+    private static final String PENDING = "Pending";
+    private static final CategoryType[] CATEGORIES = CategoryType.values();
+    private static final int DEFAULT_SUPPLIER_CAPACITY = 1024;
+
+    /**
+     * views served by the cache, used to report statistics.
+     */
+    public enum View {
+        CATEGORY_TOTALS,
+        SUPPLIER_OPEN_QUANTITY,
+        LOW_STOCK
+    }
+
+    /**
+     * item count, total quantity and total stock value of one category.
+     */
+    public static final class CategoryTotal {
+        private final int itemCount;
+        private final long quantity;
+        private final double value;
+
+        private CategoryTotal(int itemCount, long quantity, double value) {
+            this.itemCount = itemCount;
+            this.quantity = quantity;
+            this.value = value;
+        }
+
+        /**
+         * returns the number of items in the category.
+         */
+        public int getItemCount() {
+            return itemCount;
+        }
+
+        /**
+         * returns the total quantity in stock across the category.
+         */
+        public long getQuantity() {
+            return quantity;
+        }
+
+        /**
+         * returns the total stock value (quantity x unit price) of the category.
+         */
+        public double getValue() {
+            return value;
+        }
+    }
+
+    private final Inventory inventory;   // reference to Inventory
+
+    // ======= Category totals (maintained on every stock change) =======
+    private final int[] categoryItems = new int[CATEGORIES.length];
+    private final long[] categoryQuantity = new long[CATEGORIES.length];
+    private final long[] categoryValueMinor = new long[CATEGORIES.length];   // in hundredths
+    private Map<CategoryType, CategoryTotal> categorySnapshot;               // null when stale
+
+    // ======= Low stock (maintained on every stock change) =======
+    private final TreeMap<String, InventoryItem> lowStock = new TreeMap<>(); // ordered by name
+    private List<InventoryItem> lowStockSnapshot;                             // null when stale
+
+    // ======= Supplier open order quantity (bounded LRU) =======
+    private final LinkedHashMap<String, long[]> supplierOpenQuantity;
+    private long evictions;
+
+    private final long[] hits = new long[View.values().length];
+    private final long[] misses = new long[View.values().length];
+
+    /**
+     * constructor creates a cache holding up to 1024 per-supplier views.
+     *
+     * @param inventory Reference to Inventory instance.
+     */
+    public DerivedViewCache(Inventory inventory) {
+        this(inventory, DEFAULT_SUPPLIER_CAPACITY);
+    }
+
+    /**
+     * constructor creates a cache with a bound on the number of per-supplier views.
+     *
+     * @param inventory         Reference to Inventory instance.
+     * @param supplierCapacity  maximum number of suppliers cached at once.
+     */
+    public DerivedViewCache(Inventory inventory, int supplierCapacity) {
+        this.inventory = inventory;
+        this.supplierOpenQuantity = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, long[]> eldest) {
+                if (size() > supplierCapacity) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    // ======= Views =======
+
+    /**
+     * returns the item count, quantity and stock value of every category that has items.
+     *
+     * @return unmodifiable Map of CategoryType to CategoryTotal.
+     */
+    public synchronized Map<CategoryType, CategoryTotal> getCategoryTotals() {
+        if (categorySnapshot != null) {
+            hits[View.CATEGORY_TOTALS.ordinal()]++;
+            return categorySnapshot;
+        }
+        misses[View.CATEGORY_TOTALS.ordinal()]++;
+        Map<CategoryType, CategoryTotal> totals = new EnumMap<>(CategoryType.class);
+        for (CategoryType category : CATEGORIES) {
+            int i = category.ordinal();
+            if (categoryItems[i] > 0) {
+                totals.put(category, new CategoryTotal(categoryItems[i], categoryQuantity[i], categoryValueMinor[i] / 100.0));
+            }
+        }
+        categorySnapshot = Collections.unmodifiableMap(totals);
+        return categorySnapshot;
+    }
+
+    /**
+     * returns the total stock value of one category, without building the snapshot.
+     *
+     * @param category category to value.
+     * @return total stock value (quantity x unit price).
+     */
+    public synchronized double getCategoryValue(CategoryType category) {
+        return categoryValueMinor[category.ordinal()] / 100.0;
+    }
+
+    /**
+     * returns the items at or below their reorder threshold, ordered by name.
+     * served to callers through {@link Inventory#getLowStockItems()}.
+     *
+     * @return unmodifiable List of InventoryItem objects.
+     */
+    synchronized List<InventoryItem> getLowStockItems() {
+        if (lowStockSnapshot != null) {
+            hits[View.LOW_STOCK.ordinal()]++;
+            return lowStockSnapshot;
+        }
+        misses[View.LOW_STOCK.ordinal()]++;
+        lowStockSnapshot = Collections.unmodifiableList(new ArrayList<>(lowStock.values()));
+        return lowStockSnapshot;
+    }
+
+    /**
+     * returns the total quantity on Pending purchase orders for a supplier.
+     * a miss is computed by OrderService, which stores the result here while holding
+     * its monitor (taken before this cache's, as when it reports order changes).
+     *
+     * @param supplier Supplier name.
+     * @return open order quantity.
+     */
+    public long getOpenOrderQuantity(String supplier) {
+        synchronized (this) {
+            long[] cached = supplierOpenQuantity.get(supplier);
+            if (cached != null) {
+                hits[View.SUPPLIER_OPEN_QUANTITY.ordinal()]++;
+                return cached[0];
+            }
+            misses[View.SUPPLIER_OPEN_QUANTITY.ordinal()]++;
+        }
+        return inventory.getOrderService().cacheOpenQuantity(supplier);
+    }
+
+    /**
+     * stores a supplier's open order quantity computed by OrderService.
+     *
+     * @param supplier Supplier name.
+     * @param open     open order quantity.
+     */
+    synchronized void putOpenOrderQuantity(String supplier, long open) {
+        supplierOpenQuantity.put(supplier, new long[]{open});
+    }
+
+    // ======= Change Notifications =======
+
+    /**
+     * records a newly added item.
+     *
+     * @param item the item, before its initial quantity is reported through onStockChanged.
+     */
+    public synchronized void onItemAdded(InventoryItem item) {
+        if (item.getType() != null) {
+            categoryItems[item.getType().ordinal()]++;
+            categorySnapshot = null;
+        }
+    }
+
+    /**
+     * applies an item's quantity change to the category totals and low-stock list.
+     *
+     * @param item             the item after the change.
+     * @param previousQuantity quantity before the change (0 for a new item).
+     */
+    public void onStockChanged(InventoryItem item, int previousQuantity) {
+        onStockChanged(item, previousQuantity, item.getQuantity());
+    }
+
+    /**
+     * applies a quantity change as above, given explicitly because the item may have
+     * changed again since. low-stock membership follows the item's current quantity.
+     *
+     * @param item             the changed item.
+     * @param previousQuantity quantity before the change.
+     * @param quantity         quantity after the change.
+     */
+    public synchronized void onStockChanged(InventoryItem item, int previousQuantity, int quantity) {
+        int delta = quantity - previousQuantity;
+        if (item.getType() != null && delta != 0) {
+            int i = item.getType().ordinal();
+            categoryQuantity[i] += delta;
+            categoryValueMinor[i] += delta * Math.round(item.getUnitPrice() * 100.0);
+            categorySnapshot = null;
+        }
+        boolean low = item.getQuantity() <= item.getReorderThreshold();
+        if (low ? lowStock.put(item.getName(), item) == null : lowStock.remove(item.getName()) != null) {
+            lowStockSnapshot = null;
+        }
+    }
+
+    /**
+     * removes an item from the category totals and low-stock list.
+     *
+     * @param item the removed item.
+     */
+    public synchronized void onItemRemoved(InventoryItem item) {
+        if (item.getType() != null) {
+            int i = item.getType().ordinal();
+            categoryItems[i]--;
+            categoryQuantity[i] -= item.getQuantity();
+            categoryValueMinor[i] -= item.getQuantity() * Math.round(item.getUnitPrice() * 100.0);
+            categorySnapshot = null;
+        }
+        if (lowStock.remove(item.getName()) != null) {
+            lowStockSnapshot = null;
+        }
+    }
+
+    /**
+     * adds a new Pending order to its supplier's open quantity, if that supplier is cached.
+     *
+     * @param order the new PurchaseOrder.
+     */
+    public synchronized void onOrderCreated(PurchaseOrder order) {
+        if (PENDING.equals(order.getStatus())) {
+            adjustOpenQuantity(order, order.getQuantity());
+        }
+    }
+
+    /**
+     * adjusts a cached supplier's open quantity when an order enters or leaves Pending.
+     *
+     * @param order          the PurchaseOrder after the change.
+     * @param previousStatus status before the change.
+     */
+    public synchronized void onOrderStatusChanged(PurchaseOrder order, String previousStatus) {
+        boolean wasPending = PENDING.equals(previousStatus);
+        boolean isPending = PENDING.equals(order.getStatus());
+        if (wasPending != isPending) {
+            adjustOpenQuantity(order, isPending ? order.getQuantity() : -order.getQuantity());
+        }
+    }
+
+    // ======= Invalidation =======
+
+    /**
+     * resets the maintained totals when every item has been removed.
+     */
+    public synchronized void clear() {
+        Arrays.fill(categoryItems, 0);
+        Arrays.fill(categoryQuantity, 0);
+        Arrays.fill(categoryValueMinor, 0);
+        lowStock.clear();
+        supplierOpenQuantity.clear();
+        categorySnapshot = null;
+        lowStockSnapshot = null;
+    }
+
+    /**
+     * rebuilds every view from the inventory, after changes the cache could not observe.
+     */
+    public synchronized void invalidateAll() {
+        clear();
+        for (InventoryItem item : inventory.getAllItems()) {
+            onItemAdded(item);
+            onStockChanged(item, 0);
+        }
+    }
+
+    // ======= Statistics =======
+
+    /**
+     * returns the number of requests for a view served from the cache.
+     */
+    public synchronized long getHitCount(View view) {
+        return hits[view.ordinal()];
+    }
+
+    /**
+     * returns the number of requests for a view that had to be rebuilt.
+     */
+    public synchronized long getMissCount(View view) {
+        return misses[view.ordinal()];
+    }
+
+    /**
+     * returns the number of per-supplier views evicted to stay within capacity.
+     */
+    public synchronized long getEvictionCount() {
+        return evictions;
+    }
+
+    /**
+     * returns the number of per-supplier views currently cached.
+     */
+    public synchronized int getCachedSupplierCount() {
+        return supplierOpenQuantity.size();
+    }
+
+    // ======= Helpers =======
+
+    private void adjustOpenQuantity(PurchaseOrder order, long delta) {
+        if (order.getSupplier() == null) {
+            return;
+        }
+        long[] cached = supplierOpenQuantity.get(order.getSupplier().getName());
+        if (cached != null) {
+            cached[0] += delta;
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package service;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * singleton event log used in place of System.out on the system's hot paths.
+ *
+ * messages are passed as suppliers and are only formatted when their level is
+ * enabled, so a disabled level costs a single comparison. formatted lines are
+ * handed to a pluggable EventSink (console by default, or an asynchronous file sink).
+ * warnings that can repeat on every event are counted by a RepeatedWarning and
+ * written as one summary line per interval.
+ */
+public class EventLog {
+    private static final EventLog instance = new EventLog();   // singleton instance
+
+    private volatile LogLevel level = LogLevel.INFO;            // minimum level written
+    private volatile EventSink sink = new ConsoleEventSink();   // destination for log lines
+
+    /**
+     * private constructor to enforce Singleton pattern.
+     */
+    private EventLog() { }
+
+    /**
+     * returns the singleton instance of EventLog.
+     *
+     * @return EventLog instance.
+     */
+    public static EventLog getInstance() {
+        return instance;
+    }
+
+    // ======= Configuration =======
+
+    /**
+     * sets the minimum level that is written. LogLevel.OFF disables logging.
+     *
+     * @param level new minimum level.
+     */
+    public void setLevel(LogLevel level) {
+        this.level = level;
+    }
+
+    /**
+     * returns the current minimum level.
+     */
+    public LogLevel getLevel() {
+        return level;
+    }
+
+    /**
+     * replaces the sink and closes the previous one, flushing any buffered lines.
+     *
+     * @param newSink sink to write to from now on.
+     */
+    public void setSink(EventSink newSink) {
+        EventSink previous = this.sink;
+        this.sink = newSink;
+        if (previous != newSink) {
+            previous.close();
+        }
+    }
+
+    /**
+     * returns the current sink.
+     */
+    public EventSink getSink() {
+        return sink;
+    }
+
+    /**
+     * returns whether messages of the given level are currently written.
+     *
+     * @param messageLevel level of the message.
+     */
+    public boolean isEnabled(LogLevel messageLevel) {
+        LogLevel current = level;
+        return current != LogLevel.OFF && messageLevel.ordinal() >= current.ordinal();
+    }
+
+    // ======= Logging =======
+
+    /**
+     * logs a message, formatting it only if the level is enabled.
+     *
+     * @param messageLevel level of the message.
+     * @param message      supplier producing the formatted message.
+     */
+    public void log(LogLevel messageLevel, Supplier<String> message) {
+        if (isEnabled(messageLevel)) {
+            sink.write(message.get());
+        }
+    }
+
+    /**
+     * logs a DEBUG message.
+     */
+    public void debug(Supplier<String> message) {
+        log(LogLevel.DEBUG, message);
+    }
+
+    /**
+     * logs an INFO message.
+     */
+    public void info(Supplier<String> message) {
+        log(LogLevel.INFO, message);
+    }
+
+    /**
+     * logs a WARN message.
+     */
+    public void warn(Supplier<String> message) {
+        log(LogLevel.WARN, message);
+    }
+
+    /**
+     * returns a counter for a warning that may occur on every event, which writes at
+     * most one WARN summary per interval.
+     *
+     * @param what           what is counted, e.g. "transactions rejected".
+     * @param intervalMillis minimum time between two summaries.
+     */
+    public RepeatedWarning repeatedWarning(String what, long intervalMillis) {
+        return new RepeatedWarning(what, intervalMillis);
+    }
+
+    // ======= Repeated Warnings =======
+
+    /**
+     * counts occurrences of one kind of warning. the first occurrence is written at
+     * once; later ones are summed and written as one line, with the latest detail,
+     * when the interval has passed. every occurrence is still written at DEBUG.
+     */
+    public final class RepeatedWarning {
+        private final String what;                               // what is counted
+        private final long intervalMillis;                       // minimum time between summaries
+        private final AtomicLong pending = new AtomicLong();     // occurrences not yet reported
+        private final AtomicLong lastReport = new AtomicLong(Long.MIN_VALUE); // time of the last summary
+        private final AtomicLong total = new AtomicLong();       // occurrences since creation
+
+        private RepeatedWarning(String what, long intervalMillis) {
+            this.what = what;
+            this.intervalMillis = intervalMillis;
+        }
+
+        /**
+         * counts one occurrence and writes a summary if the interval has passed.
+         *
+         * @param detail supplier describing this occurrence.
+         */
+        public void record(Supplier<String> detail) {
+            pending.incrementAndGet();
+            total.incrementAndGet();
+            debug(detail);
+            long now = System.currentTimeMillis();
+            long last = lastReport.get();
+            if ((last == Long.MIN_VALUE || now - last >= intervalMillis) && lastReport.compareAndSet(last, now)) {
+                report(detail);
+            }
+        }
+
+        /**
+         * writes a summary of the occurrences not yet reported, if any.
+         */
+        public void flush() {
+            lastReport.set(System.currentTimeMillis());
+            report(null);
+        }
+
+        /**
+         * returns the number of occurrences since the warning was created.
+         */
+        public long getTotal() {
+            return total.get();
+        }
+
+        private void report(Supplier<String> latest) {
+            long count = pending.getAndSet(0);
+            if (count > 0) {
+                warn(() -> count + " " + what + (latest == null ? "" : ", latest: " + latest.get()));
+            }
+        }
+    }
+}
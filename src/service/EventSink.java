@@ -0,0 +1,23 @@
+package service;
+
+/**
+ * destination for formatted event log lines.
+ *
+ * implementations decide how and when lines are written (console, file, discarded).
+ * write may be called concurrently from any thread.
+ */
+public interface EventSink {
+
+    /**
+     * writes a single formatted log line.
+     *
+     * @param line the log line, without a trailing line separator.
+     */
+    void write(String line);
+
+    /**
+     * flushes and releases any resources held by the sink.
+     * the default implementation does nothing.
+     */
+    default void close() { }
+}
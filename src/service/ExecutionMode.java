@@ -0,0 +1,13 @@
+package service;
+
+/**
+ * enumeration of the ways inventory mutations can be executed.
+ *
+ * DIRECT calls Inventory on the caller's thread (the original behaviour).
+ * COMMAND_QUEUE submits every mutation to a single writer thread through an
+ * InventoryCommandQueue, so Inventory's HashMap logic never needs locking.
+ */
+public enum ExecutionMode {
+    DIRECT,         // mutations run on the calling thread
+    COMMAND_QUEUE   // mutations run on a single writer thread
+}
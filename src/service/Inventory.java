@@ -1,26 +1,77 @@
 package service;
 
+import model.EventKind;
 import model.InventoryItem;
+import model.RequestID;
 import model.CategoryType;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BooleanSupplier;
 
 /**
  * singleton class responsible for managing inventory items,
  * handling stock updates, and triggering automatic purchase orders
  * when stock levels fall below the reorder threshold.
+ *
+ * items are added, updated and removed by one owning thread (the caller in DIRECT
+ * mode, the writer thread in COMMAND_QUEUE mode). multi-item transactions
+ * ({@link #beginTransaction}) may additionally be committed from any thread: quantity
+ * changes are guarded by striped item locks and reorders are serialised, so they
+ * interleave safely with the owner's mutations. services that change stock relative
+ * to its current level (lot receipts and picks, order receipts, sales) must use
+ * {@link #adjustQuantity}, which reads and writes under the item's lock; reading the
+ * quantity and writing back an absolute value would overwrite a concurrent commit.
  */
 public class Inventory {
+    private static final int SCAN_BUDGET_PAGES = 64;   // rows examined per page request, in page sizes
+    private static final int LOCK_STRIPES = 1024;      // item lock stripes (power of two)
+
     private static Inventory instance;
     private final Map<String, InventoryItem> items;
+    private final ItemTable itemTable;
+    private final Collection<InventoryItem> allItems;
     private final NotificationHandler notificationHandler;
     private final OrderService orderService;
+    private final LotService lotService;
+    private final SearchIndex itemSearchIndex;
+    private final SearchIndex supplierSearchIndex;
+    private final EventLog eventLog;
+    private final AlertEngine alertEngine;
+    private final StockHistory stockHistory;
+    private final DerivedViewCache viewCache;
+    private final RequestDeduplicator requestDeduplicator;
+    private final KitService kitService;
+    private final SupplierScorecards supplierScorecards;
+    private volatile ReplicationLog replicationLog;   // set on a replication primary, otherwise null
+    private volatile InventoryCommandQueue commandQueue; // single writer, once started
+    private final ReentrantLock[] itemLocks;          // striped by item name; guard quantity changes
+    private final ReentrantReadWriteLock structureLock = new ReentrantReadWriteLock(); // write-held while items are added or removed
+    private final Object reorderLock = new Object();  // serialises reorder checks and order creation
 
     // private constructor to enforce Singleton pattern
     private Inventory() {
-        items = new HashMap<>();
+        items = new ConcurrentHashMap<>();
+        itemTable = new ItemTable();
+        allItems = new AllItemsView();
         notificationHandler = NotificationHandler.getInstance();
         orderService = new OrderService(this);
+        lotService = new LotService(this);
+        itemSearchIndex = new SearchIndex();
+        supplierSearchIndex = new SearchIndex();
+        eventLog = EventLog.getInstance();
+        stockHistory = new StockHistory();
+        viewCache = new DerivedViewCache(this);
+        alertEngine = new AlertEngine(viewCache);
+        requestDeduplicator = new RequestDeduplicator();
+        kitService = new KitService(this);
+        supplierScorecards = new SupplierScorecards();
+        itemLocks = new ReentrantLock[LOCK_STRIPES];
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            itemLocks[i] = new ReentrantLock();
+        }
     }
 
     /**
@@ -38,32 +89,100 @@ public class Inventory {
      * adds a new item to the inventory or updates quantity if item already exists.
      * triggers reorder evaluation after addition.
      *
+     * a new item's values are copied into the item table; the inventory then holds
+     * a table-backed view of the item, returned by findItemByName.
+     *
      * @param item The InventoryItem to be added or updated.
      */
     public void addItem(InventoryItem item) {
-        if (items.containsKey(item.getName())) {
-            // if item exists, increase its quantity
-            InventoryItem existing = items.get(item.getName());
-            existing.setQuantity(existing.getQuantity() + item.getQuantity());
-
-            // reset pendingOrder flag if stock is healthy
-            if (existing.getQuantity() > item.getReorderThreshold()) {
-                existing.setPendingOrder(false);
+        InventoryItem stored = null;
+        // if item exists, increase its quantity; otherwise insert it, retrying if another
+        // thread inserted the same name first
+        while (!addToExisting(item)) {
+            stored = insertItem(item);
+            if (stored != null) {
+                break;
             }
+        }
+        if (stored == null) {
+            return;
+        }
+
+        // add new item to inventory
+        InventoryItem added = stored;
+        notificationHandler.publish(EventKind.ITEM_ADDED, added,
+                () -> "Item added: " + added.getName() + " (Qty: " + added.getQuantity() + ")");
 
-            // prevent duplicate reorders
-            if (!existing.isPendingOrder() && existing.getQuantity() <= item.getReorderThreshold()) {
-                checkReorder(existing);
+        // check if reorder is needed immediately
+        if (!added.isPendingOrder() && added.getQuantity() <= reorderPoint(added)) {
+            checkReorder(added);
+        }
+
+        // evaluate alert rules and record the change in the stock history
+        onStockChanged(added, 0);
+        kitService.checkReorders(added.getName());
+    }
+
+    /**
+     * increases an existing item's quantity by the added item's quantity. the lookup and
+     * the change happen under the structure read lock and the item's lock, so the item
+     * cannot be removed or its table row moved meanwhile.
+     *
+     * @return false if no item with that name exists.
+     */
+    private boolean addToExisting(InventoryItem item) {
+        InventoryItem existing;
+        int previousQuantity;
+        int quantity;
+        structureLock.readLock().lock();
+        try {
+            existing = items.get(item.getName());
+            if (existing == null) {
+                return false;
             }
-        } else {
-            // add new item to inventory
-            items.put(item.getName(), item);
+            ReentrantLock lock = lockFor(existing.getName());
+            lock.lock();
+            try {
+                previousQuantity = existing.getQuantity();
+                existing.setQuantity(existing.getQuantity() + item.getQuantity());
+                quantity = existing.getQuantity();
 
-            // check if reorder is needed immediately
-            if (!item.isPendingOrder() && item.getQuantity() <= item.getReorderThreshold()) {
-                checkReorder(item);
+                // reset pendingOrder flag if stock is healthy
+                if (isReplenished(existing)) {
+                    existing.setPendingOrder(false);
+                }
+
+                // prevent duplicate reorders
+                if (!existing.isPendingOrder() && existing.getQuantity() <= reorderPoint(existing)) {
+                    checkReorder(existing);
+                }
+
+                // evaluate alert rules and record the change in the stock history
+                onStockChanged(existing, previousQuantity);
+                kitService.checkReorders(existing.getName());
+            } finally {
+                lock.unlock();
             }
+        } finally {
+            structureLock.readLock().unlock();
         }
+        publishStockChanged(existing, previousQuantity, quantity);
+        return true;
+    }
+
+    /**
+     * adds an item as above, unless a mutation with the same client request ID was already applied.
+     * used by at-least-once feeds, whose retries would otherwise add the quantity twice.
+     *
+     * @param requestID Client request ID; null disables deduplication.
+     * @param item      The InventoryItem to be added or updated.
+     * @return true if applied, false if dropped as a duplicate.
+     */
+    public boolean addItem(RequestID requestID, InventoryItem item) {
+        return applyOnce(requestID, () -> {
+            addItem(item);
+            return true;
+        });
     }
 
     /**
@@ -75,39 +194,482 @@ public class Inventory {
      * @param newQuantity New stock quantity.
      */
     public void updateItemQuantity(String itemName, int newQuantity) {
-        InventoryItem item = findItemByName(itemName);
+        InventoryItem item;
+        int previousQuantity;
+        structureLock.readLock().lock();
+        try {
+            item = items.get(itemName);
+            if (item == null) {
+                return;
+            }
+            ReentrantLock lock = lockFor(itemName);
+            lock.lock();
+            try {
+                previousQuantity = item.getQuantity();
+                setQuantityLocked(item, newQuantity);
+            } finally {
+                lock.unlock();
+            }
+        } finally {
+            structureLock.readLock().unlock();
+        }
+        publishStockChanged(item, previousQuantity, newQuantity);
+    }
+
+    /**
+     * adds a quantity change to an item's current stock, stopping at zero.
+     * the lookup, read and write happen under the structure read lock and the item's lock,
+     * so concurrent transaction commits are never overwritten. resets or evaluates the reorder condition like
+     * {@link #updateItemQuantity(String, int)}.
+     *
+     * @param itemName Name of the item to update.
+     * @param delta    Quantity to add (negative to remove stock).
+     * @return the quantity before the change, or -1 if the item does not exist.
+     */
+    public int adjustQuantity(String itemName, int delta) {
+        InventoryItem item;
+        int previousQuantity;
+        int quantity;
+        structureLock.readLock().lock();
+        try {
+            item = items.get(itemName);
+            if (item == null) {
+                return -1;
+            }
+            ReentrantLock lock = lockFor(itemName);
+            lock.lock();
+            try {
+                previousQuantity = item.getQuantity();
+                quantity = (int) Math.max(0, Math.min(Integer.MAX_VALUE, (long) previousQuantity + delta));
+                setQuantityLocked(item, quantity);
+            } finally {
+                lock.unlock();
+            }
+        } finally {
+            structureLock.readLock().unlock();
+        }
+        publishStockChanged(item, previousQuantity, quantity);
+        return previousQuantity;
+    }
+
+    /**
+     * sets an item's quantity and runs the reorder check, alert rules, stock history
+     * and kit updates. the caller holds the structure read lock and the item's lock.
+     */
+    private void setQuantityLocked(InventoryItem item, int newQuantity) {
+        int previousQuantity = item.getQuantity();
+        item.setQuantity(newQuantity);
+
+        // reset reorder flag if stock is healthy
+        if (isReplenished(item)) {
+            item.setPendingOrder(false);
+        }
+
+        // re-evaluate reorder condition
+        if (!item.isPendingOrder() && item.getQuantity() <= reorderPoint(item)) {
+            checkReorder(item);
+        }
+
+        // evaluate alert rules and record the change in the stock history
+        onStockChanged(item, previousQuantity);
+        kitService.checkReorders(item.getName());
+    }
+
+    /**
+     * updates an item's quantity as above, unless a mutation with the same client request ID
+     * was already applied.
+     *
+     * @param requestID   Client request ID; null disables deduplication.
+     * @param itemName    Name of the item to update.
+     * @param newQuantity New stock quantity.
+     * @return true if applied, false if dropped as a duplicate or the item does not exist.
+     */
+    public boolean updateItemQuantity(RequestID requestID, String itemName, int newQuantity) {
+        return applyOnce(requestID, () -> {
+            if (findItemByName(itemName) == null) {
+                return false;
+            }
+            updateItemQuantity(itemName, newQuantity);
+            return true;
+        });
+    }
+
+    /**
+     * applies an item state shipped from a replication primary. the item is added or its
+     * quantity, price and pending-order flag are overwritten; no reorder check runs and no
+     * notification is published, as the primary's orders are replicated separately.
+     *
+     * @param state InventoryItem decoded from the replication log.
+     */
+    void applyReplicatedItem(InventoryItem state) {
+        if (items.get(state.getName()) == null) {
+            InventoryItem stored = insertItem(state);
+            if (stored != null) {
+                onStockChanged(stored, 0);
+                return;
+            }
+        }
+        structureLock.readLock().lock();
+        try {
+            InventoryItem existing = items.get(state.getName());
+            ReentrantLock lock = lockFor(state.getName());
+            lock.lock();
+            try {
+                int previousQuantity = existing.getQuantity();
+                existing.setQuantity(state.getQuantity());
+                existing.setUnitPrice(state.getUnitPrice());
+                existing.setPendingOrder(state.isPendingOrder());
+                onStockChanged(existing, previousQuantity);
+            } finally {
+                lock.unlock();
+            }
+        } finally {
+            structureLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * removes an item whose removal was shipped from a replication primary.
+     *
+     * @param itemName name decoded from the replication log's tombstone.
+     */
+    void applyReplicatedRemoval(String itemName) {
+        InventoryItem item = items.get(itemName);
         if (item != null) {
-            item.setQuantity(newQuantity);
+            removeItem(item);
+        }
+    }
 
-            // reset reorder flag if stock is healthy
-            if (newQuantity > item.getReorderThreshold()) {
-                item.setPendingOrder(false);
+    /**
+     * starts a transaction that adjusts several items' quantities all-or-nothing,
+     * e.g. for a pick list or a transfer between locations.
+     *
+     * @return a new open InventoryTransaction.
+     */
+    public InventoryTransaction beginTransaction() {
+        return new InventoryTransaction(this);
+    }
+
+    /**
+     * applies a transaction's adjustments atomically.
+     *
+     * the touched items' lock stripes are taken in ascending order, so concurrent
+     * transactions never deadlock and transactions on disjoint items commit in parallel.
+     * every adjustment is validated before any is applied: if an item is unknown or
+     * would go below zero (unless clamped), nothing changes. items cannot be added or removed while a
+     * commit is in progress. the view cache, alert, history, kit and replication listeners,
+     * which each have a single lock of their own, are told after the item locks are
+     * released, so a commit never holds its item locks while waiting for them. reorder
+     * checks and their notifications run after all locks are released.
+     *
+     * @param itemNames distinct item names.
+     * @param deltas      quantity change for each item.
+     * @param clampAtZero true to stop quantities at zero instead of rejecting the batch.
+     * @return null if committed, otherwise the reason nothing was applied.
+     */
+    String commitTransaction(String[] itemNames, int[] deltas, boolean clampAtZero) {
+        int count = itemNames.length;
+        InventoryItem[] touched = new InventoryItem[count];
+        int[] previousQuantities = new int[count];
+        structureLock.readLock().lock();
+        try {
+            int[] stripes = new int[count];
+            for (int i = 0; i < count; i++) {
+                touched[i] = items.get(itemNames[i]);
+                if (touched[i] == null) {
+                    return "Item not found: " + itemNames[i];
+                }
+                stripes[i] = stripeOf(itemNames[i]);
             }
+            Arrays.sort(stripes);
+            int locked = 0;
+            try {
+                for (int i = 0; i < count; i++) {
+                    if (i == 0 || stripes[i] != stripes[i - 1]) {
+                        itemLocks[stripes[i]].lock();
+                        stripes[locked++] = stripes[i];
+                    }
+                }
+
+                // validate everything before changing anything
+                for (int i = 0; i < count; i++) {
+                    long quantity = (long) touched[i].getQuantity() + deltas[i];
+                    if (quantity < 0 && clampAtZero) {
+                        deltas[i] = -touched[i].getQuantity();
+                    } else if (quantity < 0) {
+                        return "Insufficient stock for " + itemNames[i] + " (Qty: " + touched[i].getQuantity() +
+                                ", adjustment: " + deltas[i] + ")";
+                    }
+                    if (quantity > Integer.MAX_VALUE) {
+                        return "Quantity overflow for " + itemNames[i];
+                    }
+                }
+
+                for (int i = 0; i < count; i++) {
+                    InventoryItem item = touched[i];
+                    previousQuantities[i] = item.getQuantity();
+                    item.setQuantity(previousQuantities[i] + deltas[i]);
+                    if (isReplenished(item)) {
+                        item.setPendingOrder(false);
+                    }
+                }
+            } finally {
+                while (locked > 0) {
+                    itemLocks[stripes[--locked]].unlock();
+                }
+            }
+
+            // still under the structure read lock, so no touched item has been removed
+            for (int i = 0; i < count; i++) {
+                onStockChanged(touched[i], previousQuantities[i], previousQuantities[i] + deltas[i]);
+            }
+        } finally {
+            structureLock.readLock().unlock();
+        }
 
-            // re-evaluate reorder condition
-            if (!item.isPendingOrder() && item.getQuantity() <= item.getReorderThreshold()) {
+        // committed: now raise reorders and notifications
+        for (int i = 0; i < count; i++) {
+            InventoryItem item = touched[i];
+            publishStockChanged(item, previousQuantities[i], previousQuantities[i] + deltas[i]);
+            if (!item.isPendingOrder() && item.getQuantity() <= reorderPoint(item)) {
                 checkReorder(item);
             }
+            kitService.checkReorders(item.getName());
+        }
+        return null;
+    }
+
+    /**
+     * copies every item and its quantity at a single point in time. all item lock
+     * stripes are held while copying, so no quantity change or transaction is half
+     * visible; mutations wait for the copy, which is a plain array walk.
+     *
+     * @param itemsOut receives the items, in the same order as the returned quantities.
+     * @return the quantity of each item at the time of the snapshot.
+     */
+    int[] snapshotQuantities(List<InventoryItem> itemsOut) {
+        structureLock.readLock().lock();
+        try {
+            for (ReentrantLock lock : itemLocks) {
+                lock.lock();
+            }
+            try {
+                int[] quantities = new int[items.size()];
+                int i = 0;
+                for (InventoryItem item : items.values()) {
+                    itemsOut.add(item);
+                    quantities[i++] = item.getQuantity();
+                }
+                return quantities;
+            } finally {
+                for (int i = itemLocks.length - 1; i >= 0; i--) {
+                    itemLocks[i].unlock();
+                }
+            }
+        } finally {
+            structureLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * runs a mutation unless one with the same client request ID was applied within the
+     * deduplication window. the ID is claimed before the mutation runs, so a concurrent
+     * retry is dropped, and released if the mutation does not apply or throws, so a later
+     * retry is accepted. duplicates are logged at debug level.
+     *
+     * @param requestID Client request ID, or null to always apply.
+     * @param mutation  Mutation returning whether it applied.
+     * @return true if the mutation ran and applied.
+     */
+    boolean applyOnce(RequestID requestID, BooleanSupplier mutation) {
+        String id = requestID == null ? null : requestID.getValue();
+        if (!requestDeduplicator.markSeen(id)) {
+            eventLog.debug(() -> "Duplicate request dropped: " + id);
+            return false;
+        }
+        boolean applied = false;
+        try {
+            applied = mutation.getAsBoolean();
+            return applied;
+        } finally {
+            if (!applied) {
+                requestDeduplicator.forget(id);
+            }
+        }
+    }
+
+    /**
+     * passes a quantity change to the view cache, the alert engine (which reads category
+     * values from the cache), the stock history, the kit service and, on a replication
+     * primary, the replication log.
+     *
+     * @param item             the item after the change.
+     * @param previousQuantity quantity before the change (0 for a new item).
+     */
+    private void onStockChanged(InventoryItem item, int previousQuantity) {
+        onStockChanged(item, previousQuantity, item.getQuantity());
+    }
+
+    /**
+     * passes a quantity change as above, for a change whose item lock has already been
+     * released: the view cache applies the given change rather than the item's current
+     * quantity, which a later change may already have moved on. the other listeners
+     * record the current state, so they end at the latest quantity whatever the order.
+     *
+     * @param item             the changed item.
+     * @param previousQuantity quantity before the change.
+     * @param quantity         quantity after the change.
+     */
+    private void onStockChanged(InventoryItem item, int previousQuantity, int quantity) {
+        viewCache.onStockChanged(item, previousQuantity, quantity);
+        alertEngine.onStockChanged(item, previousQuantity);
+        stockHistory.record(item.getName(), item.getQuantity(), System.currentTimeMillis());
+        kitService.onStockChanged(item);
+        ReplicationLog log = replicationLog;
+        if (log != null) {
+            log.append(item);
         }
     }
 
     /**
-     * checks if an item's stock is below the reorder threshold.
+     * checks if an item's stock is below the reorder point.
      * if so, triggers a purchase order and sends notifications.
      * ensures reorder happens only once per low stock event.
      *
+     * the reorder point is the item's reorder threshold, raised for suppliers whose
+     * scorecards show slow or short deliveries (see {@link SupplierScorecards#reorderPoint}).
+     *
      * @param item InventoryItem to check.
      */
     private void checkReorder(InventoryItem item) {
-        if (item.isPendingOrder()) {
-            return; // reorder already triggered
+        synchronized (reorderLock) { // committing transactions reorder from their own threads
+            if (item.isPendingOrder()) {
+                return; // reorder already triggered
+            }
+            int reorderPoint = reorderPoint(item);
+            if (item.getQuantity() <= reorderPoint) {
+                eventLog.info(() -> "Stock for " + item.getName() + " is at or below threshold.");
+                notificationHandler.sendNotification("Low stock: " + item.getName() + " (Qty: " + item.getQuantity() + ")");
+                notificationHandler.publish(EventKind.LOW_STOCK, item,
+                        () -> "Low stock: " + item.getName() + " (Qty: " + item.getQuantity() + ")");
+                orderService.createOrder(item.getName(), (reorderPoint * 2)); // auto reorder logic
+                item.setPendingOrder(true); // Prevent further reorders until stock is replenished
+            }
+        }
+    }
+
+    /**
+     * returns the stock level at which an item is reordered.
+     */
+    private int reorderPoint(InventoryItem item) {
+        return supplierScorecards.reorderPoint(item.getSupplier(), item.getReorderThreshold());
+    }
+
+    /**
+     * returns whether an item's stock is above its reorder point and, for a kit component,
+     * above the level at which any kit using it is low, so a pending order can be cleared.
+     */
+    private boolean isReplenished(InventoryItem item) {
+        return item.getQuantity() > reorderPoint(item)
+                && item.getQuantity() > kitService.getComponentLowLevel(item.getName());
+    }
+
+    /**
+     * reorders a kit's limiting component, unless it already has a pending order, and marks
+     * it pending so neither another kit nor its own reorder check orders it again until it
+     * is replenished. called by KitService when a kit's buildable quantity falls to its
+     * threshold; KitService keeps a kit from reordering again until it has recovered.
+     *
+     * @param component limiting component item.
+     * @param quantity  quantity to order.
+     */
+    void reorderComponent(InventoryItem component, int quantity) {
+        synchronized (reorderLock) {
+            if (component.isPendingOrder()) {
+                return; // reorder already triggered
+            }
+            eventLog.info(() -> "Kit availability limited by " + component.getName() + ".");
+            notificationHandler.sendNotification("Low kit availability: " + component.getName() +
+                    " (Qty: " + component.getQuantity() + ")");
+            orderService.createOrder(component.getName(), quantity);
+            component.setPendingOrder(true); // Prevent further reorders until stock is replenished
         }
-        if (item.getQuantity() <= item.getReorderThreshold()) {
-            System.out.println("Stock for " + item.getName() + " is at or below threshold.");
-            notificationHandler.sendNotification("Low stock: " + item.getName() + " (Qty: " + item.getQuantity() + ")");
-            orderService.createOrder(item.getName(), (item.getReorderThreshold() * 2)); // auto reorder logic
-            item.setPendingOrder(true); // Prevent further reorders until stock is replenished
+    }
+
+    /**
+     * publishes a stock-changed event to the filtered subscriptions.
+     */
+    private void publishStockChanged(InventoryItem item, int previousQuantity, int quantity) {
+        notificationHandler.publish(EventKind.STOCK_CHANGED, item,
+                () -> "Stock changed: " + item.getName() + " (Qty: " + previousQuantity + " -> " + quantity + ")");
+    }
+
+    /**
+     * stores a new item in the item table and the name map (excluding concurrent
+     * transaction commits) and registers it with the search indexes and view cache.
+     *
+     * @param item item whose values initialise the new row.
+     * @return the table-backed view now stored in the inventory, or null if an item with
+     * that name was inserted first.
+     */
+    private InventoryItem insertItem(InventoryItem item) {
+        InventoryItem stored;
+        structureLock.writeLock().lock();
+        try {
+            if (items.containsKey(item.getName())) {
+                return null;
+            }
+            stored = itemTable.add(item);
+            items.put(stored.getName(), stored);
+        } finally {
+            structureLock.writeLock().unlock();
         }
+        itemSearchIndex.add(stored.getName());
+        supplierSearchIndex.add(stored.getSupplier());
+        viewCache.onItemAdded(stored);
+        return stored;
+    }
+
+    /**
+     * removes an item from the view cache, kits, lots, stock history and search indexes,
+     * then from the name map and the item table. on a replication primary a tombstone is
+     * appended under the structure write lock, so it follows the item's last stock change.
+     *
+     * @param item the stored item to remove.
+     */
+    private void removeItem(InventoryItem item) {
+        viewCache.onItemRemoved(item);
+        kitService.onQuantityChanged(item.getName(), 0);
+        lotService.onItemRemoved(item.getName());
+        stockHistory.remove(item.getName());
+        itemSearchIndex.remove(item.getName());
+        supplierSearchIndex.remove(item.getSupplier());
+        structureLock.writeLock().lock();
+        try {
+            if (items.remove(item.getName(), item)) {
+                itemTable.remove(item);
+                ReplicationLog log = replicationLog;
+                if (log != null) {
+                    log.appendRemoval(item.getName());
+                }
+            }
+        } finally {
+            structureLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * returns the lock stripe guarding an item's quantity.
+     */
+    private static int stripeOf(String itemName) {
+        return (itemName.hashCode() * 0x9E3779B9) >>> (32 - Integer.numberOfTrailingZeros(LOCK_STRIPES));
+    }
+
+    /**
+     * returns the lock guarding an item's quantity.
+     */
+    private ReentrantLock lockFor(String itemName) {
+        return itemLocks[stripeOf(itemName)];
     }
 
     /**
@@ -120,6 +682,143 @@ public class Inventory {
         return items.get(name);
     }
 
+    /**
+     * searches item names with a free-text query.
+     * matching is case-insensitive and supports prefixes and small typos, e.g. "hp lap".
+     *
+     * @param query Free-text query.
+     * @param limit Maximum number of results.
+     * @return List of matching InventoryItem objects, best match first.
+     */
+    public List<InventoryItem> searchItems(String query, int limit) {
+        List<InventoryItem> results = new ArrayList<>();
+        for (String name : itemSearchIndex.search(query, limit)) {
+            InventoryItem item = items.get(name);
+            if (item != null) {
+                results.add(item);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * searches supplier names with a free-text query.
+     *
+     * @param query Free-text query.
+     * @param limit Maximum number of results.
+     * @return List of matching supplier names, best match first.
+     */
+    public List<String> searchSuppliers(String query, int limit) {
+        return supplierSearchIndex.search(query, limit);
+    }
+
+    /**
+     * returns one page of the items matching a query, in stable insertion order.
+     * the filters are evaluated inside the item table scan, and at most 64 page sizes
+     * of items are examined per call, so a page costs O(page size) regardless of the
+     * catalogue size. a selective filter may therefore return a short (or empty) page
+     * with a continuation token.
+     *
+     * continuation tokens stay valid while the inventory changes: items present
+     * throughout are returned once, removed items are skipped, and items added meanwhile
+     * may or may not be returned. a token from before getAllItems().clear() is rejected,
+     * as the caller would otherwise silently start over. the scan runs under the structure
+     * read lock, so it may be called from any thread.
+     *
+     * @param query             filters and page size.
+     * @param continuationToken token from the previous page, or null for the first page.
+     * @return Page of InventoryItem objects.
+     * @throws IllegalArgumentException if the token is malformed or predates a clear().
+     */
+    public Page<InventoryItem> findItems(ItemQuery query, String continuationToken) {
+        int generation = itemTable.getGeneration();
+        int from = 0;
+        if (continuationToken != null) {
+            // token: handle '.' table generation, both base 36
+            int dot = continuationToken.indexOf('.');
+            if (dot < 0) {
+                throw new IllegalArgumentException("Invalid continuation token: " + continuationToken);
+            }
+            if (parseToken(continuationToken.substring(dot + 1)) != generation) {
+                throw new IllegalArgumentException("Stale continuation token: " + continuationToken);
+            }
+            from = parseToken(continuationToken.substring(0, dot));
+        }
+        List<InventoryItem> results = new ArrayList<>(query.getPageSize());
+        int next;
+        structureLock.readLock().lock();
+        try {
+            next = itemTable.scan(from, query.getCategory(), query.getSupplier(), query.getMinQuantity(),
+                    query.getMaxQuantity(), query.getPageSize(), query.getPageSize() * SCAN_BUDGET_PAGES, results);
+        } finally {
+            structureLock.readLock().unlock();
+        }
+        return new Page<>(results, next < 0 ? null : Integer.toString(next, 36) + "." + Integer.toString(generation, 36));
+    }
+
+    /**
+     * returns a lazy iterator over every item matching a query, in stable insertion order.
+     * items are fetched one page at a time, so memory stays bounded by the page size.
+     * hasNext() throws ConcurrentModificationException if getAllItems().clear() ran
+     * since the previous page was fetched.
+     *
+     * @param query filters and page size.
+     * @return Iterator of InventoryItem objects.
+     */
+    public Iterator<InventoryItem> iterateItems(ItemQuery query) {
+        return new Iterator<>() {
+            private Page<InventoryItem> page = findItems(query, null);
+            private int position;
+
+            @Override
+            public boolean hasNext() {
+                while (position == page.getItems().size() && page.hasMore()) {
+                    try {
+                        page = findItems(query, page.getContinuationToken());
+                    } catch (IllegalArgumentException e) {
+                        throw new ConcurrentModificationException("Inventory was cleared during iteration.");
+                    }
+                    position = 0;
+                }
+                return position < page.getItems().size();
+            }
+
+            @Override
+            public InventoryItem next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return page.getItems().get(position++);
+            }
+        };
+    }
+
+    /**
+     * decodes a continuation token produced by a paginated query.
+     */
+    static int parseToken(String continuationToken) {
+        long position = parseLongToken(continuationToken);
+        if (position > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Invalid continuation token: " + continuationToken);
+        }
+        return (int) position;
+    }
+
+    /**
+     * decodes a continuation token holding a long position, such as an order sequence number.
+     */
+    static long parseLongToken(String continuationToken) {
+        try {
+            long position = Long.parseLong(continuationToken, 36);
+            if (position < 0) {
+                throw new NumberFormatException();
+            }
+            return position;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid continuation token: " + continuationToken);
+        }
+    }
+
     /**
      * retrieves the category type of a specific item.
      *
@@ -133,10 +832,234 @@ public class Inventory {
 
     /**
      * returns a collection of all inventory items.
+     * for listings and filtered reads prefer {@link #findItems}, which pages lazily.
+     * removing items through the collection also removes them from the item table.
      *
      * @return Collection of InventoryItem objects.
      */
     public Collection<InventoryItem> getAllItems() {
-        return items.values();
+        return allItems;
+    }
+
+    /**
+     * returns the items at or below their reorder threshold, ordered by name.
+     * the list is maintained by the view cache, so reading it does not scan the items.
+     *
+     * @return unmodifiable List of InventoryItem objects.
+     */
+    public List<InventoryItem> getLowStockItems() {
+        return viewCache.getLowStockItems();
+    }
+
+    /**
+     * returns the total stock value (quantity x unit price) of the inventory.
+     *
+     * @return total value.
+     */
+    public double getTotalValue() {
+        return itemTable.totalValueMinor() / 100.0;
+    }
+
+    /**
+     * returns the number of items in each category.
+     *
+     * @return Map of CategoryType to item count (categories without items are omitted).
+     */
+    public Map<CategoryType, Integer> getCategoryCounts() {
+        int[] counts = itemTable.categoryCounts();
+        Map<CategoryType, Integer> result = new EnumMap<>(CategoryType.class);
+        for (CategoryType category : CategoryType.values()) {
+            if (counts[category.ordinal()] > 0) {
+                result.put(category, counts[category.ordinal()]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * returns the struct-of-arrays table holding the items' numeric state.
+     *
+     * @return ItemTable instance.
+     */
+    public ItemTable getItemTable() {
+        return itemTable;
+    }
+
+    /**
+     * returns the order service used for automatic reorders.
+     *
+     * @return OrderService instance.
+     */
+    public OrderService getOrderService() {
+        return orderService;
+    }
+
+    /**
+     * returns the alert engine that evaluates rule-based stock and order alerts.
+     *
+     * @return AlertEngine instance.
+     */
+    public AlertEngine getAlertEngine() {
+        return alertEngine;
+    }
+
+    /**
+     * returns the time-series store of every quantity change.
+     *
+     * @return StockHistory instance.
+     */
+    public StockHistory getStockHistory() {
+        return stockHistory;
+    }
+
+    /**
+     * returns the cache of derived dashboard views (category totals, supplier open orders, low stock).
+     *
+     * @return DerivedViewCache instance.
+     */
+    public DerivedViewCache getViewCache() {
+        return viewCache;
+    }
+
+    /**
+     * returns the service maintaining kit (bill of materials) availability.
+     *
+     * @return KitService instance.
+     */
+    public KitService getKitService() {
+        return kitService;
+    }
+
+    /**
+     * returns the per-supplier delivery scorecards that adjust reorder points.
+     *
+     * @return SupplierScorecards instance.
+     */
+    public SupplierScorecards getSupplierScorecards() {
+        return supplierScorecards;
+    }
+
+    /**
+     * returns the single-writer command queue of this inventory, starting it on first use
+     * (or again after it was shut down). there is one queue per inventory, so every
+     * COMMAND_QUEUE facade, request server and pipeline shares the same writer thread.
+     *
+     * @return the running InventoryCommandQueue.
+     */
+    public synchronized InventoryCommandQueue getCommandQueue() {
+        if (commandQueue == null || !commandQueue.isRunning()) {
+            commandQueue = InventoryCommandQueue.start(this);
+        }
+        return commandQueue;
+    }
+
+    /**
+     * returns the command queue if it has been started and is still running, without starting it.
+     *
+     * @return the running InventoryCommandQueue, or null.
+     */
+    InventoryCommandQueue getRunningCommandQueue() {
+        InventoryCommandQueue queue = commandQueue;
+        return queue != null && queue.isRunning() ? queue : null;
+    }
+
+    /**
+     * returns the deduplicator of client request IDs used by the idempotent mutations.
+     *
+     * @return RequestDeduplicator instance.
+     */
+    public RequestDeduplicator getRequestDeduplicator() {
+        return requestDeduplicator;
+    }
+
+    /**
+     * starts recording every item and order change in a replication log, making this
+     * inventory a replication primary. pass null to stop recording.
+     *
+     * @param replicationLog log to append to, or null.
+     */
+    public void setReplicationLog(ReplicationLog replicationLog) {
+        this.replicationLog = replicationLog;
+    }
+
+    /**
+     * returns the replication log changes are recorded in.
+     *
+     * @return ReplicationLog, or null if this inventory is not a replication primary.
+     */
+    public ReplicationLog getReplicationLog() {
+        return replicationLog;
+    }
+
+    /**
+     * returns the lot service used for lot and expiry-date tracking.
+     *
+     * @return LotService instance.
+     */
+    public LotService getLotService() {
+        return lotService;
+    }
+
+    /**
+     * live view of the stored items that keeps the item table, view cache, lots, stock history
+     * and search indexes in step
+     * when items are removed through it (e.g. getAllItems().clear()).
+     */
+    private class AllItemsView extends AbstractCollection<InventoryItem> {
+        @Override
+        public Iterator<InventoryItem> iterator() {
+            Iterator<InventoryItem> delegate = items.values().iterator();
+            return new Iterator<>() {
+                private InventoryItem last;
+
+                @Override
+                public boolean hasNext() {
+                    return delegate.hasNext();
+                }
+
+                @Override
+                public InventoryItem next() {
+                    last = delegate.next();
+                    return last;
+                }
+
+                @Override
+                public void remove() {
+                    if (last == null) {
+                        throw new IllegalStateException();
+                    }
+                    removeItem(last);
+                    last = null;
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return items.size();
+        }
+
+        @Override
+        public void clear() {
+            structureLock.writeLock().lock();
+            try {
+                ReplicationLog log = replicationLog;
+                if (log != null) {
+                    for (String name : items.keySet()) {
+                        log.appendRemoval(name);
+                    }
+                }
+                items.clear();
+                itemTable.clear();
+            } finally {
+                structureLock.writeLock().unlock();
+            }
+            viewCache.clear();
+            kitService.onItemsCleared();
+            lotService.onItemsCleared();
+            stockHistory.clear();
+            itemSearchIndex.clear();
+            supplierSearchIndex.clear();
+        }
     }
 }
\ No newline at end of file
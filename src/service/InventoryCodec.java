@@ -0,0 +1,798 @@
+package service;
+
+import model.CategoryType;
+import model.InventoryItem;
+import model.PurchaseOrder;
+import model.Supplier;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * compact, schema-versioned binary codec for InventoryItem, PurchaseOrder and Supplier,
+ * plus item removal records (the removed item's name) for replication.
+ *
+ * every record starts with a schema version byte and a record type byte. UUID
+ * identifiers are stored as two 64-bit numbers, numeric identifiers as varints,
+ * categories as CategoryType ordinals, quantities as zig-zag varints and dates as
+ * epoch milliseconds. strings are length-prefixed UTF-8.
+ *
+ * schema version 2 precedes the order date with a presence byte, so a missing date
+ * decodes as null rather than the epoch. version 3 appends the order's received date
+ * (with a presence byte) and received quantity. version 1 and 2 records are still decoded.
+ *
+ * encoding writes straight into the caller's ByteBuffer without intermediate objects.
+ * decoding is lazy: a view reads each field from the buffer only when it is asked for.
+ * a BufferOverflowException is thrown if the target buffer is too small.
+ */
+public class InventoryCodec {
+    public static final byte SCHEMA_VERSION = 3;   // current binary schema version
+    private static final byte SCHEMA_V1 = 1;       // order date always present, null written as 0
+    private static final byte SCHEMA_V2 = 2;       // orders without received date and quantity
+
+    public static final byte ITEM = 1;             // record type: InventoryItem
+    public static final byte ORDER = 2;            // record type: PurchaseOrder
+    public static final byte SUPPLIER = 3;         // record type: Supplier
+    public static final byte ITEM_REMOVED = 4;     // record type: removal of an item, by name
+
+    private static final byte ID_NULL = 0;         // identifier tag: null
+    private static final byte ID_UUID = 1;         // identifier tag: canonical UUID, two longs
+    private static final byte ID_NUMBER = 2;       // identifier tag: decimal number, varint
+    private static final byte ID_TEXT = 3;         // identifier tag: any other string
+
+    // field kinds, used to skip over fields when decoding lazily
+    private static final byte FIELD_ID = 0;
+    private static final byte FIELD_STRING = 1;
+    private static final byte FIELD_VARINT = 2;
+    private static final byte FIELD_DOUBLE = 3;
+    private static final byte FIELD_BYTE = 4;
+    private static final byte FIELD_OPTIONAL_VARINT = 5;   // presence byte, then a varint if present
+
+    private static final byte[] ITEM_LAYOUT = {FIELD_ID, FIELD_STRING, FIELD_VARINT, FIELD_VARINT, FIELD_VARINT, FIELD_DOUBLE, FIELD_STRING, FIELD_BYTE};
+    private static final byte[] SUPPLIER_LAYOUT = {FIELD_ID, FIELD_STRING, FIELD_STRING};
+    private static final byte[] REMOVAL_LAYOUT = {FIELD_STRING};
+    private static final byte[] ORDER_LAYOUT = {FIELD_ID, FIELD_STRING, FIELD_VARINT, FIELD_OPTIONAL_VARINT, FIELD_STRING, FIELD_ID, FIELD_STRING, FIELD_STRING, FIELD_OPTIONAL_VARINT, FIELD_VARINT};
+    private static final byte[] ORDER_LAYOUT_V2 = {FIELD_ID, FIELD_STRING, FIELD_VARINT, FIELD_OPTIONAL_VARINT, FIELD_STRING, FIELD_ID, FIELD_STRING, FIELD_STRING};
+    private static final byte[] ORDER_LAYOUT_V1 = {FIELD_ID, FIELD_STRING, FIELD_VARINT, FIELD_VARINT, FIELD_STRING, FIELD_ID, FIELD_STRING, FIELD_STRING};
+
+    private static final CategoryType[] CATEGORIES = CategoryType.values();
+
+    // ======= Encoding =======
+
+    /**
+     * encodes an inventory item at the buffer's position.
+     *
+     * @param out  target buffer.
+     * @param item item to encode.
+     */
+    public static void writeItem(ByteBuffer out, InventoryItem item) {
+        out.put(SCHEMA_VERSION).put(ITEM);
+        writeID(out, item.getUniqueID());
+        writeString(out, item.getName());
+        writeVarint(out, item.getType() == null ? 0 : item.getType().ordinal() + 1);
+        writeSignedVarint(out, item.getQuantity());
+        writeSignedVarint(out, item.getReorderThreshold());
+        out.putDouble(item.getUnitPrice());
+        writeString(out, item.getSupplier());
+        out.put((byte) (item.isPendingOrder() ? 1 : 0));
+    }
+
+    /**
+     * encodes a supplier at the buffer's position.
+     *
+     * @param out      target buffer.
+     * @param supplier supplier to encode.
+     */
+    public static void writeSupplier(ByteBuffer out, Supplier supplier) {
+        out.put(SCHEMA_VERSION).put(SUPPLIER);
+        writeSupplierFields(out, supplier);
+    }
+
+    /**
+     * encodes a purchase order, including its supplier and delivery, at the buffer's position.
+     *
+     * @param out   target buffer.
+     * @param order order to encode.
+     */
+    public static void writeOrder(ByteBuffer out, PurchaseOrder order) {
+        out.put(SCHEMA_VERSION).put(ORDER);
+        writeID(out, order.getOrderID());
+        writeString(out, order.getItemName());
+        writeSignedVarint(out, order.getQuantity());
+        writeOptionalDate(out, order.getOrderDate());
+        writeString(out, order.getStatus());
+        writeSupplierFields(out, order.getSupplier());
+        writeOptionalDate(out, order.getReceivedDate());
+        writeSignedVarint(out, order.getReceivedQuantity());
+    }
+
+    /**
+     * encodes the removal of an item at the buffer's position.
+     *
+     * @param out      target buffer.
+     * @param itemName name of the removed item.
+     */
+    public static void writeItemRemoval(ByteBuffer out, String itemName) {
+        out.put(SCHEMA_VERSION).put(ITEM_REMOVED);
+        writeString(out, itemName);
+    }
+
+    // ======= Decoding =======
+
+    /**
+     * decodes an inventory item at the buffer's position and advances past it.
+     *
+     * @param in source buffer.
+     * @return the decoded InventoryItem.
+     */
+    public static InventoryItem readItem(ByteBuffer in) {
+        ItemView view = viewItem(in);
+        InventoryItem item = view.toItem();
+        in.position(view.end());
+        return item;
+    }
+
+    /**
+     * decodes a supplier at the buffer's position and advances past it.
+     *
+     * @param in source buffer.
+     * @return the decoded Supplier.
+     */
+    public static Supplier readSupplier(ByteBuffer in) {
+        SupplierView view = viewSupplier(in);
+        Supplier supplier = view.toSupplier();
+        in.position(view.end());
+        return supplier;
+    }
+
+    /**
+     * decodes a purchase order at the buffer's position and advances past it.
+     *
+     * @param in source buffer.
+     * @return the decoded PurchaseOrder.
+     */
+    public static PurchaseOrder readOrder(ByteBuffer in) {
+        OrderView view = viewOrder(in);
+        PurchaseOrder order = view.toOrder();
+        in.position(view.end());
+        return order;
+    }
+
+    /**
+     * decodes an item removal at the buffer's position and advances past it.
+     *
+     * @param in source buffer.
+     * @return the name of the removed item.
+     */
+    public static String readItemRemoval(ByteBuffer in) {
+        RemovalView view = viewItemRemoval(in);
+        String itemName = view.getName();
+        in.position(view.end());
+        return itemName;
+    }
+
+    /**
+     * returns a lazy view of the item record at the buffer's position.
+     * the buffer's position is not changed; use {@link RecordView#end()} to find the next record.
+     *
+     * @param in source buffer.
+     * @return ItemView over the record.
+     */
+    public static ItemView viewItem(ByteBuffer in) {
+        return new ItemView(in, checkHeader(in, ITEM));
+    }
+
+    /**
+     * returns a lazy view of the supplier record at the buffer's position.
+     *
+     * @param in source buffer.
+     * @return SupplierView over the record.
+     */
+    public static SupplierView viewSupplier(ByteBuffer in) {
+        return new SupplierView(in, checkHeader(in, SUPPLIER));
+    }
+
+    /**
+     * returns a lazy view of the purchase order record at the buffer's position.
+     *
+     * @param in source buffer.
+     * @return OrderView over the record.
+     */
+    public static OrderView viewOrder(ByteBuffer in) {
+        byte version = in.get(in.position());
+        return new OrderView(in, checkHeader(in, ORDER), version);
+    }
+
+    /**
+     * returns a lazy view of the item removal record at the buffer's position.
+     *
+     * @param in source buffer.
+     * @return RemovalView over the record.
+     */
+    public static RemovalView viewItemRemoval(ByteBuffer in) {
+        return new RemovalView(in, checkHeader(in, ITEM_REMOVED));
+    }
+
+    /**
+     * returns the record type at the buffer's position without consuming it.
+     *
+     * @param in source buffer.
+     * @return ITEM, ORDER, SUPPLIER or ITEM_REMOVED.
+     */
+    public static byte peekType(ByteBuffer in) {
+        return in.get(in.position() + 1);
+    }
+
+    // ======= Lazy Views =======
+
+    /**
+     * base class for lazy record views.
+     *
+     * field offsets are resolved on demand by skipping over the preceding fields,
+     * and are remembered so each field is located at most once.
+     */
+    public abstract static class RecordView {
+        private final ByteBuffer buffer;   // buffer holding the record
+        private final byte[] layout;       // field kinds in record order
+        private final int[] offsets;       // absolute offsets of fields resolved so far
+        private int resolved;              // index of the last resolved offset
+
+        private RecordView(ByteBuffer buffer, int start, byte[] layout) {
+            this.buffer = buffer;
+            this.layout = layout;
+            this.offsets = new int[layout.length + 1];
+            this.offsets[0] = start;
+        }
+
+        /**
+         * returns the absolute offset just past the end of the record.
+         */
+        public int end() {
+            return offset(layout.length);
+        }
+
+        private int offset(int field) {
+            while (resolved < field) {
+                offsets[resolved + 1] = skip(buffer, layout[resolved], offsets[resolved]);
+                resolved++;
+            }
+            return offsets[field];
+        }
+
+        String idField(int field) {
+            return idAt(buffer, offset(field));
+        }
+
+        String stringField(int field) {
+            return stringAt(buffer, offset(field));
+        }
+
+        long varintField(int field) {
+            return varintAt(buffer, offset(field));
+        }
+
+        long signedField(int field) {
+            return unZigZag(varintField(field));
+        }
+
+        boolean isPresent(int field) {
+            return buffer.get(offset(field)) != 0;
+        }
+
+        long optionalSignedField(int field) {
+            return unZigZag(varintAt(buffer, offset(field) + 1));
+        }
+
+        private static long unZigZag(long raw) {
+            return (raw >>> 1) ^ -(raw & 1);
+        }
+
+        double doubleField(int field) {
+            return buffer.getDouble(offset(field));
+        }
+
+        byte byteField(int field) {
+            return buffer.get(offset(field));
+        }
+    }
+
+    /**
+     * lazy view of an encoded InventoryItem.
+     */
+    public static final class ItemView extends RecordView {
+        private ItemView(ByteBuffer buffer, int start) {
+            super(buffer, start, ITEM_LAYOUT);
+        }
+
+        /**
+         * returns the unique ID of the item.
+         */
+        public String getUniqueID() {
+            return idField(0);
+        }
+
+        /**
+         * returns the name of the item.
+         */
+        public String getName() {
+            return stringField(1);
+        }
+
+        /**
+         * returns the category type of the item.
+         */
+        public CategoryType getType() {
+            int ordinal = (int) varintField(2);
+            return ordinal == 0 ? null : CATEGORIES[ordinal - 1];
+        }
+
+        /**
+         * returns the current quantity of the item.
+         */
+        public int getQuantity() {
+            return (int) signedField(3);
+        }
+
+        /**
+         * returns the reorder threshold for the item.
+         */
+        public int getReorderThreshold() {
+            return (int) signedField(4);
+        }
+
+        /**
+         * returns the unit price of the item.
+         */
+        public double getUnitPrice() {
+            return doubleField(5);
+        }
+
+        /**
+         * returns the supplier name of the item.
+         */
+        public String getSupplier() {
+            return stringField(6);
+        }
+
+        /**
+         * returns whether a reorder was pending for the item.
+         */
+        public boolean isPendingOrder() {
+            return byteField(7) != 0;
+        }
+
+        /**
+         * decodes every field into a new InventoryItem.
+         */
+        public InventoryItem toItem() {
+            InventoryItem item = new InventoryItem(getUniqueID(), getName(), getQuantity(), getReorderThreshold(),
+                    getUnitPrice(), getSupplier(), getType());
+            item.setPendingOrder(isPendingOrder());
+            return item;
+        }
+    }
+
+    /**
+     * lazy view of an encoded Supplier.
+     */
+    public static final class SupplierView extends RecordView {
+        private SupplierView(ByteBuffer buffer, int start) {
+            super(buffer, start, SUPPLIER_LAYOUT);
+        }
+
+        /**
+         * returns the unique ID of the supplier.
+         */
+        public String getSupplierID() {
+            return idField(0);
+        }
+
+        /**
+         * returns the name of the supplier.
+         */
+        public String getName() {
+            return stringField(1);
+        }
+
+        /**
+         * returns the contact information of the supplier.
+         */
+        public String getContactInfo() {
+            return stringField(2);
+        }
+
+        /**
+         * decodes every field into a new Supplier.
+         */
+        public Supplier toSupplier() {
+            return new Supplier(getSupplierID(), getName(), getContactInfo());
+        }
+    }
+
+    /**
+     * lazy view of an encoded item removal.
+     */
+    public static final class RemovalView extends RecordView {
+        private RemovalView(ByteBuffer buffer, int start) {
+            super(buffer, start, REMOVAL_LAYOUT);
+        }
+
+        /**
+         * returns the name of the removed item.
+         */
+        public String getName() {
+            return stringField(0);
+        }
+    }
+
+    /**
+     * lazy view of an encoded PurchaseOrder.
+     */
+    public static final class OrderView extends RecordView {
+        private final boolean v1;         // schema version 1: the order date has no presence byte
+        private final boolean delivery;   // schema version 3 or later: received date and quantity follow
+
+        private OrderView(ByteBuffer buffer, int start, byte version) {
+            super(buffer, start, version == SCHEMA_V1 ? ORDER_LAYOUT_V1 : version == SCHEMA_V2 ? ORDER_LAYOUT_V2 : ORDER_LAYOUT);
+            this.v1 = version == SCHEMA_V1;
+            this.delivery = version > SCHEMA_V2;
+        }
+
+        /**
+         * returns the unique ID of the purchase order.
+         */
+        public String getOrderID() {
+            return idField(0);
+        }
+
+        /**
+         * returns the name of the item being ordered.
+         */
+        public String getItemName() {
+            return stringField(1);
+        }
+
+        /**
+         * returns the quantity of item ordered.
+         */
+        public int getQuantity() {
+            return (int) signedField(2);
+        }
+
+        /**
+         * returns whether the order has a date.
+         */
+        public boolean hasOrderDate() {
+            return v1 || isPresent(3);
+        }
+
+        /**
+         * returns the order date as epoch milliseconds, or 0 if the order has no date
+         * (see {@link #hasOrderDate()}).
+         */
+        public long getOrderDateMillis() {
+            if (v1) {
+                return signedField(3);
+            }
+            return hasOrderDate() ? optionalSignedField(3) : 0;
+        }
+
+        /**
+         * returns the status of the purchase order.
+         */
+        public String getStatus() {
+            return stringField(4);
+        }
+
+        /**
+         * returns the unique ID of the supplier.
+         */
+        public String getSupplierID() {
+            return idField(5);
+        }
+
+        /**
+         * returns the name of the supplier.
+         */
+        public String getSupplierName() {
+            return stringField(6);
+        }
+
+        /**
+         * returns the contact information of the supplier.
+         */
+        public String getSupplierContactInfo() {
+            return stringField(7);
+        }
+
+        /**
+         * returns whether the order has a received date (never for records before version 3).
+         */
+        public boolean hasReceivedDate() {
+            return delivery && isPresent(8);
+        }
+
+        /**
+         * returns the received date as epoch milliseconds, or 0 if the order has none
+         * (see {@link #hasReceivedDate()}).
+         */
+        public long getReceivedDateMillis() {
+            return hasReceivedDate() ? optionalSignedField(8) : 0;
+        }
+
+        /**
+         * returns the quantity actually delivered (0 for records before version 3).
+         */
+        public int getReceivedQuantity() {
+            return delivery ? (int) signedField(9) : 0;
+        }
+
+        /**
+         * decodes every field into a new PurchaseOrder.
+         */
+        public PurchaseOrder toOrder() {
+            Supplier supplier = new Supplier(getSupplierID(), getSupplierName(), getSupplierContactInfo());
+            PurchaseOrder order = new PurchaseOrder(getOrderID(), getItemName(), getQuantity(), supplier,
+                    hasOrderDate() ? new Date(getOrderDateMillis()) : null, getStatus());
+            if (hasReceivedDate() || getReceivedQuantity() != 0) {
+                order.markReceived(hasReceivedDate() ? new Date(getReceivedDateMillis()) : null, getReceivedQuantity());
+            }
+            return order;
+        }
+    }
+
+    // ======= Field Encoding =======
+
+    private static void writeSupplierFields(ByteBuffer out, Supplier supplier) {
+        writeID(out, supplier == null ? null : supplier.getSupplierID());
+        writeString(out, supplier == null ? null : supplier.getName());
+        writeString(out, supplier == null ? null : supplier.getContactInfo());
+    }
+
+    /**
+     * writes a presence byte, then the date as epoch milliseconds if it is not null.
+     */
+    private static void writeOptionalDate(ByteBuffer out, Date date) {
+        if (date == null) {
+            out.put((byte) 0);
+        } else {
+            out.put((byte) 1);
+            writeSignedVarint(out, date.getTime());
+        }
+    }
+
+    /**
+     * writes an identifier: canonical UUIDs as two longs, plain decimal numbers
+     * as a varint, anything else as a string.
+     */
+    private static void writeID(ByteBuffer out, String id) {
+        if (id == null) {
+            out.put(ID_NULL);
+        } else if (isCanonicalUUID(id)) {
+            out.put(ID_UUID);
+            out.putLong(parseHex(id, 0, 18));
+            out.putLong(parseHex(id, 19, 36));
+        } else if (isCanonicalNumber(id)) {
+            out.put(ID_NUMBER);
+            writeVarint(out, parseDecimal(id));
+        } else {
+            out.put(ID_TEXT);
+            writeString(out, id);
+        }
+    }
+
+    /**
+     * writes a string as a varint of (UTF-8 length + 1) followed by its UTF-8 bytes;
+     * a null string is written as a single zero. characters are encoded directly
+     * into the buffer without an intermediate byte array.
+     */
+    private static void writeString(ByteBuffer out, String value) {
+        if (value == null) {
+            writeVarint(out, 0);
+            return;
+        }
+        writeVarint(out, utf8Length(value) + 1);
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                out.put((byte) c);
+            } else if (c < 0x800) {
+                out.put((byte) (0xC0 | (c >> 6)));
+                out.put((byte) (0x80 | (c & 0x3F)));
+            } else if (Character.isSurrogate(c)) {
+                if (Character.isHighSurrogate(c) && i + 1 < value.length() && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                    out.put((byte) (0xF0 | (codePoint >> 18)));
+                    out.put((byte) (0x80 | ((codePoint >> 12) & 0x3F)));
+                    out.put((byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+                    out.put((byte) (0x80 | (codePoint & 0x3F)));
+                } else {
+                    out.put((byte) '?'); // unpaired surrogate, same replacement as String.getBytes
+                }
+            } else {
+                out.put((byte) (0xE0 | (c >> 12)));
+                out.put((byte) (0x80 | ((c >> 6) & 0x3F)));
+                out.put((byte) (0x80 | (c & 0x3F)));
+            }
+        }
+    }
+
+    private static int utf8Length(String value) {
+        int length = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                length += 1;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isSurrogate(c)) {
+                if (Character.isHighSurrogate(c) && i + 1 < value.length() && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    length += 4;
+                    i++;
+                } else {
+                    length += 1;
+                }
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+
+    private static void writeVarint(ByteBuffer out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.put((byte) value);
+    }
+
+    private static void writeSignedVarint(ByteBuffer out, long value) {
+        writeVarint(out, (value << 1) ^ (value >> 63)); // zig-zag so small negatives stay small
+    }
+
+    // ======= Field Decoding =======
+
+    private static int checkHeader(ByteBuffer in, byte expectedType) {
+        int position = in.position();
+        byte version = in.get(position);
+        if (version < 1 || version > SCHEMA_VERSION) {
+            throw new IllegalArgumentException("Unsupported schema version: " + version);
+        }
+        byte type = in.get(position + 1);
+        if (type != expectedType) {
+            throw new IllegalArgumentException("Expected record type " + expectedType + " but found " + type);
+        }
+        return position + 2;
+    }
+
+    private static int skip(ByteBuffer in, byte kind, int position) {
+        switch (kind) {
+            case FIELD_ID: {
+                byte tag = in.get(position);
+                if (tag == ID_UUID) {
+                    return position + 17;
+                } else if (tag == ID_NUMBER) {
+                    return skipVarint(in, position + 1);
+                } else if (tag == ID_TEXT) {
+                    return skip(in, FIELD_STRING, position + 1);
+                }
+                return position + 1;
+            }
+            case FIELD_STRING: {
+                long header = varintAt(in, position);
+                return skipVarint(in, position) + (header == 0 ? 0 : (int) header - 1);
+            }
+            case FIELD_VARINT:
+                return skipVarint(in, position);
+            case FIELD_DOUBLE:
+                return position + 8;
+            case FIELD_OPTIONAL_VARINT:
+                return in.get(position) == 0 ? position + 1 : skipVarint(in, position + 1);
+            default:
+                return position + 1;
+        }
+    }
+
+    private static String idAt(ByteBuffer in, int position) {
+        byte tag = in.get(position);
+        switch (tag) {
+            case ID_UUID:
+                return new UUID(in.getLong(position + 1), in.getLong(position + 9)).toString();
+            case ID_NUMBER:
+                return Long.toString(varintAt(in, position + 1));
+            case ID_TEXT:
+                return stringAt(in, position + 1);
+            default:
+                return null;
+        }
+    }
+
+    private static String stringAt(ByteBuffer in, int position) {
+        long header = varintAt(in, position);
+        if (header == 0) {
+            return null;
+        }
+        byte[] bytes = new byte[(int) header - 1];
+        in.get(skipVarint(in, position), bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static long varintAt(ByteBuffer in, int position) {
+        long value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = in.get(position++);
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+
+    private static int skipVarint(ByteBuffer in, int position) {
+        while ((in.get(position++) & 0x80) != 0) {
+            // continuation bit set, keep going
+        }
+        return position;
+    }
+
+    // ======= Identifier Parsing =======
+
+    /**
+     * returns whether the string is a lower-case canonical UUID, the form produced
+     * by IdentificationGenerator and by UUID.toString, so it round-trips exactly.
+     */
+    private static boolean isCanonicalUUID(String id) {
+        if (id.length() != 36) {
+            return false;
+        }
+        for (int i = 0; i < 36; i++) {
+            char c = id.charAt(i);
+            if (i == 8 || i == 13 || i == 18 || i == 23) {
+                if (c != '-') {
+                    return false;
+                }
+            } else if (!((c >= '0' && c <= '9') || (c >= 'a' && c <= 'f'))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * returns whether the string is a decimal number without leading zeros that fits in a long.
+     */
+    private static boolean isCanonicalNumber(String id) {
+        if (id.isEmpty() || id.length() > 18 || (id.length() > 1 && id.charAt(0) == '0')) {
+            return false;
+        }
+        for (int i = 0; i < id.length(); i++) {
+            if (id.charAt(i) < '0' || id.charAt(i) > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long parseHex(String id, int from, int to) {
+        long value = 0;
+        for (int i = from; i < to; i++) {
+            char c = id.charAt(i);
+            if (c != '-') {
+                value = (value << 4) | Character.digit(c, 16);
+            }
+        }
+        return value;
+    }
+
+    private static long parseDecimal(String id) {
+        long value = 0;
+        for (int i = 0; i < id.length(); i++) {
+            value = value * 10 + (id.charAt(i) - '0');
+        }
+        return value;
+    }
+}
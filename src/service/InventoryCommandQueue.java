@@ -0,0 +1,347 @@
+package service;
+
+import model.InventoryItem;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+
+/**
+ * single-writer execution of inventory mutations.
+ *
+ * any number of threads submit commands through a lock-free queue; one writer
+ * thread drains them in batches and applies them to Inventory in submission order,
+ * so Inventory's single-threaded HashMap logic is used without any locking.
+ *
+ * after each batch the writer publishes an immutable snapshot of every item the
+ * batch touched, then completes the callers' futures. readers use the published
+ * snapshots and never touch Inventory's internal state.
+ *
+ * there is one queue per Inventory, obtained from {@link Inventory#getCommandQueue()},
+ * so there is only ever one writer. a command submitted from the writer thread itself
+ * (e.g. an observer calling back into the facade) is run inline instead of queued,
+ * as queuing it and waiting would deadlock the writer.
+ */
+public class InventoryCommandQueue {
+    private static final int MAX_BATCH = 256;   // max commands applied before publishing
+
+    private final Inventory inventory;                                         // reference to Inventory
+    private final Queue<Command<?>> commands = new ConcurrentLinkedQueue<>();  // pending commands (lock-free)
+    private final Map<String, ItemState> snapshots = new ConcurrentHashMap<>(); // published item states
+    private Thread writer;                                                     // the single writer thread, set by start
+    private volatile boolean running = true;                                   // cleared on shutdown
+    private volatile boolean sleeping;                                         // writer is parked waiting for work
+
+    /**
+     * immutable view of an item as of the last published batch.
+     */
+    public static final class ItemState {
+        private final int quantity;
+        private final boolean pendingOrder;
+
+        private ItemState(int quantity, boolean pendingOrder) {
+            this.quantity = quantity;
+            this.pendingOrder = pendingOrder;
+        }
+
+        /**
+         * returns the published quantity of the item.
+         */
+        public int getQuantity() {
+            return quantity;
+        }
+
+        /**
+         * returns whether a reorder was pending when the state was published.
+         */
+        public boolean isPendingOrder() {
+            return pendingOrder;
+        }
+    }
+
+    /**
+     * a submitted mutation together with the future completed once it is applied.
+     */
+    private static final class Command<T> {
+        private final Collection<String> itemNames;    // items touched by the command (republished afterwards)
+        private final Function<Inventory, T> action;   // mutation to apply
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+
+        private Command(Collection<String> itemNames, Function<Inventory, T> action) {
+            this.itemNames = itemNames;
+            this.action = action;
+        }
+    }
+
+    /**
+     * constructor creates the queue without starting it; see {@link #start(Inventory)}.
+     *
+     * @param inventory Reference to Inventory instance.
+     */
+    private InventoryCommandQueue(Inventory inventory) {
+        this.inventory = inventory;
+    }
+
+    /**
+     * creates a queue for an inventory, starts its writer thread and publishes the
+     * current items. called by {@link Inventory#getCommandQueue()}, which keeps one
+     * queue per inventory.
+     *
+     * @param inventory Reference to Inventory instance.
+     * @return the running queue.
+     */
+    static InventoryCommandQueue start(Inventory inventory) {
+        InventoryCommandQueue queue = new InventoryCommandQueue(inventory);
+        queue.writer = new Thread(queue::runWriter, "inventory-writer");
+        queue.writer.setDaemon(true);
+        queue.submit(null, inv -> {
+            for (InventoryItem item : inv.getAllItems()) {
+                queue.publish(item);
+            }
+            return null;
+        });
+        queue.writer.start();
+        return queue;
+    }
+
+    // ======= Mutations =======
+
+    /**
+     * submits an item addition (or stock increase if it already exists).
+     *
+     * @param item InventoryItem to add.
+     * @return future completed once the item has been added.
+     */
+    public CompletableFuture<Void> addItem(InventoryItem item) {
+        return submit(item.getName(), inv -> {
+            inv.addItem(item);
+            return null;
+        });
+    }
+
+    /**
+     * submits a quantity update, which also re-evaluates the reorder condition.
+     *
+     * @param itemName    Name of the item.
+     * @param newQuantity New stock quantity.
+     * @return future completed once the update has been applied.
+     */
+    public CompletableFuture<Void> updateItemQuantity(String itemName, int newQuantity) {
+        return submit(itemName, inv -> {
+            inv.updateItemQuantity(itemName, newQuantity);
+            return null;
+        });
+    }
+
+    /**
+     * submits a purchase order for an item.
+     *
+     * @param itemName Name of the item to reorder.
+     * @param quantity Quantity to be ordered.
+     * @return future completed once the order has been created.
+     */
+    public CompletableFuture<Void> createOrder(String itemName, int quantity) {
+        return submit(itemName, inv -> {
+            inv.getOrderService().createOrder(itemName, quantity);
+            return null;
+        });
+    }
+
+    /**
+     * submits an arbitrary mutation to be run on the writer thread. called from the
+     * writer thread itself, the mutation runs immediately and the returned future is
+     * already complete.
+     *
+     * @param itemName Name of the item the mutation touches (republished afterwards), or null.
+     * @param action   Mutation to apply to the Inventory.
+     * @return future completed with the action's result once it has been applied.
+     */
+    public <T> CompletableFuture<T> submit(String itemName, Function<Inventory, T> action) {
+        return submitAll(itemName == null ? Collections.emptyList() : Collections.singletonList(itemName), action);
+    }
+
+    /**
+     * submits a mutation touching several items, e.g. a batch of sales; each named item
+     * is republished once the mutation has been applied.
+     *
+     * @param itemNames Names of the items the mutation touches.
+     * @param action    Mutation to apply to the Inventory.
+     * @return future completed with the action's result once it has been applied.
+     */
+    public <T> CompletableFuture<T> submitAll(Collection<String> itemNames, Function<Inventory, T> action) {
+        Command<T> command = new Command<>(itemNames, action);
+        if (isWriterThread()) {
+            // re-entrant call from a command being applied: run it now, as waiting for it would deadlock
+            Throwable failure = null;
+            Object result = null;
+            try {
+                result = action.apply(inventory);
+            } catch (Throwable e) {
+                failure = e;
+            }
+            for (String name : itemNames) {
+                republish(name);
+            }
+            complete(command, result, failure);
+            return command.future;
+        }
+        if (!running) {
+            command.future.completeExceptionally(new IllegalStateException("Command queue is shut down."));
+            return command.future;
+        }
+        commands.offer(command);
+        if (!running && commands.remove(command)) {
+            // shutdown raced past the check above and the writer may have exited without
+            // seeing the command; if it is no longer queued, the writer or shutdown has it
+            command.future.completeExceptionally(new IllegalStateException("Command queue is shut down."));
+            return command.future;
+        }
+        if (sleeping) {
+            LockSupport.unpark(writer);
+        }
+        return command.future;
+    }
+
+    // ======= Reads =======
+
+    /**
+     * returns the published state of an item.
+     *
+     * @param itemName Name of the item.
+     * @return ItemState if the item exists, otherwise null.
+     */
+    public ItemState getItemState(String itemName) {
+        return snapshots.get(itemName);
+    }
+
+    /**
+     * returns whether the writer is accepting commands.
+     */
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * returns whether the calling thread is the writer, i.e. whether it is applying a command.
+     */
+    public boolean isWriterThread() {
+        return Thread.currentThread() == writer;
+    }
+
+    /**
+     * stops the writer thread once all submitted commands have been applied.
+     */
+    public void shutdown() {
+        running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        // fail anything that raced past the running check after the writer exited
+        Command<?> late;
+        while ((late = commands.poll()) != null) {
+            late.future.completeExceptionally(new IllegalStateException("Command queue is shut down."));
+        }
+    }
+
+    // ======= Writer =======
+
+    /**
+     * writer loop: drain a batch, apply it, publish touched items, complete futures.
+     * a command that throws (including an Error) fails only its own future; if the
+     * writer itself dies, every pending command is failed rather than left waiting.
+     */
+    private void runWriter() {
+        List<Command<?>> batch = new ArrayList<>(MAX_BATCH);
+        try {
+            writeBatches(batch);
+        } finally {
+            running = false;
+            IllegalStateException stopped = new IllegalStateException("Command queue writer has stopped.");
+            for (Command<?> pending : batch) {
+                pending.future.completeExceptionally(stopped); // no-op for commands already completed
+            }
+            Command<?> late;
+            while ((late = commands.poll()) != null) {
+                late.future.completeExceptionally(stopped);
+            }
+        }
+    }
+
+    private void writeBatches(List<Command<?>> batch) {
+        Set<String> touched = new HashSet<>();
+        while (running || !commands.isEmpty()) {
+            Command<?> command;
+            while (batch.size() < MAX_BATCH && (command = commands.poll()) != null) {
+                batch.add(command);
+            }
+            if (batch.isEmpty()) {
+                sleeping = true;
+                if (commands.isEmpty() && running) {
+                    LockSupport.park(this);
+                }
+                sleeping = false;
+                continue;
+            }
+
+            Object[] results = new Object[batch.size()];
+            Throwable[] failures = new Throwable[batch.size()];
+            for (int i = 0; i < batch.size(); i++) {
+                Command<?> next = batch.get(i);
+                try {
+                    results[i] = next.action.apply(inventory);
+                } catch (Throwable e) {
+                    failures[i] = e;
+                }
+                touched.addAll(next.itemNames);
+            }
+
+            // publish before completing, so a caller that sees its future done also sees its write
+            for (String name : touched) {
+                republish(name);
+            }
+            for (int i = 0; i < batch.size(); i++) {
+                complete(batch.get(i), results[i], failures[i]);
+            }
+            batch.clear();
+            touched.clear();
+        }
+    }
+
+    /**
+     * publishes the current state of an item, or withdraws it if the item was removed.
+     */
+    private void republish(String itemName) {
+        InventoryItem item = inventory.findItemByName(itemName);
+        if (item != null) {
+            publish(item);
+        } else {
+            snapshots.remove(itemName);
+        }
+    }
+
+    /**
+     * publishes an immutable snapshot of an item.
+     */
+    private void publish(InventoryItem item) {
+        snapshots.put(item.getName(), new ItemState(item.getQuantity(), item.isPendingOrder()));
+    }
+
+    /**
+     * completes a command's future with its result or failure.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> void complete(Command<T> command, Object result, Throwable failure) {
+        if (failure != null) {
+            command.future.completeExceptionally(failure);
+        } else {
+            command.future.complete((T) result);
+        }
+    }
+}
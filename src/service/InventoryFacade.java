@@ -2,9 +2,17 @@ package service;
 
 import model.CategoryType;
 import model.InventoryItem;
+import model.RequestID;
+import model.StockLot;
 import observer.InventoryManagerObserver;
 import observer.SupplierObserver;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+
 /**
  * facade class providing a simplified interface for inventory operations.
  *
@@ -16,14 +24,38 @@ import observer.SupplierObserver;
 public class InventoryFacade {
     private final Inventory inventory;                           // reference to Inventory (Singleton)
     private final NotificationHandler notificationHandler;       // notification handler instance
+    private final ExecutionMode mode;                            // how mutations are executed
+    private final EventLog eventLog;                             // event log instance
 
     /**
      * constructor initializes Inventory and NotificationHandler.
      * also registers observers for role-based notifications.
+     * mutations run directly on the calling thread.
      */
     public InventoryFacade() {
+        this(ExecutionMode.DIRECT);
+    }
+
+    /**
+     * constructor initializes Inventory and NotificationHandler with the given execution mode.
+     * also registers observers for role-based notifications.
+     *
+     * in COMMAND_QUEUE mode every mutation is applied by the inventory's single writer
+     * thread (shared by all facades); the calling thread waits for its mutation to be
+     * applied, so behaviour is the same as DIRECT mode without any locking in Inventory.
+     * while that writer is running, DIRECT facades route their mutations through it too,
+     * so there is never a second writer.
+     *
+     * @param mode execution mode for mutations.
+     */
+    public InventoryFacade(ExecutionMode mode) {
         this.inventory = Inventory.getInstance();
         this.notificationHandler = NotificationHandler.getInstance();
+        this.eventLog = EventLog.getInstance();
+        this.mode = mode;
+        if (mode == ExecutionMode.COMMAND_QUEUE) {
+            inventory.getCommandQueue();
+        }
 
         // register observers for notifications
         notificationHandler.addObserver(new InventoryManagerObserver());
@@ -43,29 +75,93 @@ public class InventoryFacade {
      * @param supplier         supplier name.
      */
     public void addItem(String name, CategoryType category, int quantity, int reorderThreshold, double unitPrice, String supplier) {
-        InventoryItem existing = inventory.findItemByName(name);
-        if (existing != null) {
-            // if item already exists then increase quantity
-            updateItemQuantity(name, existing.getQuantity() + quantity);
-            notificationHandler.sendNotification("Stock updated for: " + name);
-        } else {
-            // if new item then create and add
-            InventoryItem item = InventoryItemFactory.createItem(name, quantity, reorderThreshold, unitPrice, supplier, category);
-            inventory.addItem(item);
-            notificationHandler.sendNotification("Item added: " + name);
-        }
+        execute(name, () -> applyAddItem(name, category, quantity, reorderThreshold, unitPrice, supplier));
+    }
+
+    /**
+     * adds an item as above, unless a mutation with the same client request ID was already
+     * applied, so a retried delivery does not add the quantity twice.
+     *
+     * @param requestID        client request ID; null disables deduplication.
+     * @param name             name of the item.
+     * @param category         category type of the item.
+     * @param quantity         quantity to be added.
+     * @param reorderThreshold reorder threshold for the item.
+     * @param unitPrice        unit price of the item.
+     * @param supplier         supplier name.
+     * @return true if applied, false if dropped as a duplicate.
+     */
+    public boolean addItem(RequestID requestID, String name, CategoryType category, int quantity, int reorderThreshold, double unitPrice, String supplier) {
+        boolean[] applied = new boolean[1];
+        execute(name, () -> applied[0] = inventory.applyOnce(requestID, () -> {
+            applyAddItem(name, category, quantity, reorderThreshold, unitPrice, supplier);
+            return true;
+        }));
+        return applied[0];
     }
 
     /**
      * updates the quantity of an existing inventory item.
-     * also prints an update message.
+     * also logs an update message.
      *
      * @param itemName Name of the item.
      * @param quantity New quantity value.
      */
     public void updateItemQuantity(String itemName, int quantity) {
-        inventory.updateItemQuantity(itemName, quantity);
-        System.out.println("Item updated: " + itemName + " Qty: " + quantity);
+        execute(itemName, () -> applyQuantityUpdate(itemName, quantity));
+    }
+
+    /**
+     * updates an item's quantity as above, unless a mutation with the same client request ID
+     * was already applied.
+     *
+     * @param requestID client request ID; null disables deduplication.
+     * @param itemName  Name of the item.
+     * @param quantity  New quantity value.
+     * @return true if applied, false if dropped as a duplicate or the item does not exist.
+     */
+    public boolean updateItemQuantity(RequestID requestID, String itemName, int quantity) {
+        boolean[] applied = new boolean[1];
+        execute(itemName, () -> applied[0] = inventory.applyOnce(requestID, () -> {
+            if (inventory.findItemByName(itemName) == null) {
+                return false;
+            }
+            applyQuantityUpdate(itemName, quantity);
+            return true;
+        }));
+        return applied[0];
+    }
+
+    /**
+     * receives a new lot of an existing item with its expiry date.
+     *
+     * @param itemName   Name of the item.
+     * @param quantity   Quantity received.
+     * @param expiryDate Expiry date of the lot.
+     */
+    public void receiveLot(String itemName, int quantity, LocalDate expiryDate) {
+        execute(itemName, () -> {
+            StockLot lot = inventory.getLotService().receiveLot(itemName, quantity, expiryDate);
+            if (lot != null) {
+                eventLog.info(() -> "Lot received: " + itemName + " Qty: " + quantity + " Expires: " + expiryDate);
+            }
+        });
+    }
+
+    /**
+     * picks stock of an item first-expired-first-out.
+     *
+     * @param itemName Name of the item.
+     * @param quantity Quantity to pick.
+     * @return the quantity actually picked.
+     */
+    public int pickItem(String itemName, int quantity) {
+        int[] picked = new int[1];
+        execute(itemName, () -> {
+            picked[0] = inventory.getLotService().pick(itemName, quantity);
+            eventLog.info(() -> "Item picked: " + itemName + " Qty: " + picked[0]);
+        });
+        return picked[0];
     }
 
     /**
@@ -74,9 +170,104 @@ public class InventoryFacade {
      */
     public void showAllItems() {
         System.out.println("Inventory Items:");
-        for (InventoryItem item : inventory.getAllItems()) {
+        Iterator<InventoryItem> items = inventory.iterateItems(new ItemQuery());
+        while (items.hasNext()) {
+            InventoryItem item = items.next();
             System.out.println("Name: " + item.getName() + " | Qty: " + item.getQuantity() +
                     " | Category: " + item.getType() + " | ID: " + item.getUniqueID());
         }
     }
+
+    /**
+     * returns one page of the items matching a query, in stable insertion order.
+     * the page is read on the calling thread, not queued behind mutations, and holds
+     * copies of the items: a snapshot of their values at the time of the call.
+     *
+     * @param query             filters and page size.
+     * @param continuationToken token from the previous page, or null for the first page.
+     * @return Page of InventoryItem copies.
+     */
+    public Page<InventoryItem> listItems(ItemQuery query, String continuationToken) {
+        Page<InventoryItem> page = inventory.findItems(query, continuationToken);
+        List<InventoryItem> copies = new ArrayList<>(page.getItems().size());
+        for (InventoryItem item : page.getItems()) {
+            InventoryItem copy = new InventoryItem(item.getUniqueID(), item.getName(), item.getQuantity(),
+                    item.getReorderThreshold(), item.getUnitPrice(), item.getSupplier(), item.getType());
+            copy.setPendingOrder(item.isPendingOrder());
+            copies.add(copy);
+        }
+        return new Page<>(copies, page.getContinuationToken());
+    }
+
+    /**
+     * returns the inventory's command queue in COMMAND_QUEUE mode, for callers that
+     * want to submit mutations asynchronously.
+     *
+     * @return InventoryCommandQueue, or null in DIRECT mode.
+     */
+    public InventoryCommandQueue getCommandQueue() {
+        return (mode == ExecutionMode.COMMAND_QUEUE) ? inventory.getCommandQueue() : null;
+    }
+
+    /**
+     * adds a new item, or increases the quantity of an existing one, and sends a notification.
+     * must run on the thread that owns mutations (caller in DIRECT mode, writer otherwise).
+     */
+    private void applyAddItem(String name, CategoryType category, int quantity, int reorderThreshold, double unitPrice, String supplier) {
+        InventoryItem existing = inventory.findItemByName(name);
+        if (existing != null) {
+            // if item already exists then increase quantity, under the item's lock so
+            // concurrent DIRECT callers never overwrite each other's changes
+            int previous = inventory.adjustQuantity(name, quantity);
+            eventLog.info(() -> "Item updated: " + name + " Qty: " + (previous + quantity));
+            notificationHandler.sendNotification("Stock updated for: " + name);
+        } else {
+            // if new item then create and add
+            InventoryItem item = InventoryItemFactory.createItem(name, quantity, reorderThreshold, unitPrice, supplier, category);
+            inventory.addItem(item);
+            notificationHandler.sendNotification("Item added: " + name);
+        }
+    }
+
+    /**
+     * applies a quantity update and logs an update message.
+     * must run on the thread that owns mutations (caller in DIRECT mode, writer otherwise).
+     */
+    private void applyQuantityUpdate(String itemName, int quantity) {
+        inventory.updateItemQuantity(itemName, quantity);
+        eventLog.info(() -> "Item updated: " + itemName + " Qty: " + quantity);
+    }
+
+    /**
+     * runs a mutation according to the execution mode: on the writer thread while the
+     * caller waits, or directly on the calling thread in DIRECT mode when no writer is
+     * running. a mutation issued from the writer thread itself runs inline (see
+     * {@link InventoryCommandQueue#submit}). a failure is rethrown as thrown by the
+     * mutation, as in DIRECT mode.
+     *
+     * @param itemName Name of the item the mutation touches.
+     * @param mutation Mutation to run.
+     */
+    private void execute(String itemName, Runnable mutation) {
+        InventoryCommandQueue queue = (mode == ExecutionMode.COMMAND_QUEUE)
+                ? inventory.getCommandQueue() : inventory.getRunningCommandQueue();
+        if (queue == null) {
+            mutation.run();
+            return;
+        }
+        try {
+            queue.submit(itemName, inv -> {
+                mutation.run();
+                return null;
+            }).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,267 @@
+package service;
+
+import model.CategoryType;
+import model.InventoryItem;
+
+import java.io.*;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+
+/**
+ * request-serving front end for InventoryFacade.
+ *
+ * every request and every client session runs on its own virtual thread, so
+ * thousands of blocking clients (scanner handhelds, POS terminals) can be served
+ * by a handful of carrier threads. the facade must be in COMMAND_QUEUE mode:
+ * mutations (including their console and observer output) then run on the
+ * writer thread, and sessions only wait on the writer's futures, which unmounts
+ * the virtual thread instead of pinning its carrier. no session holds a monitor
+ * while waiting.
+ *
+ * two transports are provided: in-process requests via {@link #submit}, and a
+ * line-based protocol over a loopback socket (see {@link #start}).
+ */
+public class InventoryRequestServer implements AutoCloseable {
+    private final InventoryFacade facade;                 // facade in COMMAND_QUEUE mode
+    private final InventoryCommandQueue commandQueue;     // writer queue behind the facade
+    private final ExecutorService executor;               // one virtual thread per task
+    private final Set<Socket> sessions = ConcurrentHashMap.newKeySet(); // open client connections
+    private ServerSocket serverSocket;                    // loopback listener, if started
+
+    /**
+     * constructor creates a virtual-thread executor in front of the facade.
+     *
+     * @param facade InventoryFacade created with ExecutionMode.COMMAND_QUEUE.
+     */
+    public InventoryRequestServer(InventoryFacade facade) {
+        if (facade.getCommandQueue() == null) {
+            throw new IllegalArgumentException("InventoryRequestServer requires a facade in COMMAND_QUEUE mode.");
+        }
+        this.facade = facade;
+        this.commandQueue = facade.getCommandQueue();
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    // ======= In-Process Transport =======
+
+    /**
+     * runs a request against the facade on a new virtual thread.
+     *
+     * @param request Request to run.
+     * @return future completed with the request's result.
+     */
+    public <T> CompletableFuture<T> submit(Function<InventoryFacade, T> request) {
+        return CompletableFuture.supplyAsync(() -> request.apply(facade), executor);
+    }
+
+    /**
+     * adds an item (or increases its stock) asynchronously.
+     *
+     * @return future completed once the item has been added.
+     */
+    public CompletableFuture<Void> addItem(String name, CategoryType category, int quantity, int reorderThreshold, double unitPrice, String supplier) {
+        return submit(f -> {
+            f.addItem(name, category, quantity, reorderThreshold, unitPrice, supplier);
+            return null;
+        });
+    }
+
+    /**
+     * updates the quantity of an item asynchronously.
+     *
+     * @return future completed once the update has been applied.
+     */
+    public CompletableFuture<Void> updateItemQuantity(String itemName, int quantity) {
+        return submit(f -> {
+            f.updateItemQuantity(itemName, quantity);
+            return null;
+        });
+    }
+
+    /**
+     * returns the last published quantity of an item without touching the writer.
+     *
+     * @param itemName Name of the item.
+     * @return quantity, or null if the item is unknown.
+     */
+    public Integer getQuantity(String itemName) {
+        InventoryCommandQueue.ItemState state = commandQueue.getItemState(itemName);
+        return (state != null) ? state.getQuantity() : null;
+    }
+
+    // ======= Socket Transport =======
+
+    /**
+     * starts listening on the loopback interface. each accepted connection is a
+     * client session served on its own virtual thread with a line-based protocol:
+     *
+     * <pre>
+     * ADD name|CATEGORY|quantity|threshold|price|supplier
+     * UPDATE name|quantity
+     * GET name
+     * SEARCH query
+     * QUIT
+     * </pre>
+     *
+     * every command is answered with a single line starting with OK or ERR, including
+     * commands whose mutation fails.
+     *
+     * @param port Port to listen on (0 picks a free port).
+     * @return the port actually bound.
+     */
+    public synchronized int start(int port) throws IOException {
+        if (serverSocket != null) {
+            return serverSocket.getLocalPort();
+        }
+        serverSocket = new ServerSocket(port, 1024, InetAddress.getLoopbackAddress());
+        ServerSocket listener = serverSocket;
+        executor.submit(() -> acceptLoop(listener));
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * stops accepting connections, disconnects open sessions and shuts down the executor.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (serverSocket != null) {
+                closeQuietly(serverSocket);
+                serverSocket = null;
+            }
+        }
+        for (Socket session : sessions) {
+            closeQuietly(session); // unblocks the session's read, which then ends
+        }
+        executor.shutdown();
+    }
+
+    /**
+     * returns the number of client sessions currently connected.
+     */
+    public int getOpenSessions() {
+        return sessions.size();
+    }
+
+    /**
+     * accepts connections until the listener is closed.
+     */
+    private void acceptLoop(ServerSocket listener) {
+        while (!listener.isClosed()) {
+            try {
+                Socket socket = listener.accept();
+                sessions.add(socket);
+                if (listener.isClosed()) {
+                    closeQuietly(socket); // close() ran while this connection was being accepted
+                }
+                try {
+                    executor.submit(() -> serveSession(socket));
+                } catch (RejectedExecutionException e) {
+                    sessions.remove(socket); // close() shut the executor down after this accept
+                    closeQuietly(socket);
+                    return;
+                }
+            } catch (SocketException e) {
+                return; // listener closed
+            } catch (IOException e) {
+                EventLog.getInstance().warn(() -> "Accept failed: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * serves one client session until it sends QUIT or disconnects.
+     */
+    private void serveSession(Socket socket) {
+        try (socket;
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+             PrintWriter out = new PrintWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8), true)) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (line.trim().equalsIgnoreCase("QUIT")) {
+                    out.println("OK bye");
+                    return;
+                }
+                out.println(handle(line));
+            }
+        } catch (IOException ignored) {
+            // client disconnected
+        } finally {
+            sessions.remove(socket);
+        }
+    }
+
+    /**
+     * parses and runs a single protocol command.
+     *
+     * @param line Command line sent by the client.
+     * @return response line.
+     */
+    private String handle(String line) {
+        int space = line.indexOf(' ');
+        String command = (space < 0 ? line : line.substring(0, space)).trim().toUpperCase();
+        String argument = space < 0 ? "" : line.substring(space + 1).trim();
+        try {
+            switch (command) {
+                case "ADD": {
+                    String[] parts = argument.split("\\|");
+                    if (parts.length != 6) {
+                        return "ERR usage: ADD name|CATEGORY|quantity|threshold|price|supplier";
+                    }
+                    facade.addItem(parts[0], CategoryType.valueOf(parts[1].trim()), Integer.parseInt(parts[2].trim()),
+                            Integer.parseInt(parts[3].trim()), Double.parseDouble(parts[4].trim()), parts[5]);
+                    return "OK " + getQuantity(parts[0]);
+                }
+                case "UPDATE": {
+                    String[] parts = argument.split("\\|");
+                    if (parts.length != 2) {
+                        return "ERR usage: UPDATE name|quantity";
+                    }
+                    if (!facade.updateItemQuantity(null, parts[0], Integer.parseInt(parts[1].trim()))) {
+                        return "ERR not found";
+                    }
+                    return "OK " + getQuantity(parts[0]);
+                }
+                case "GET": {
+                    Integer quantity = getQuantity(argument);
+                    return (quantity != null) ? "OK " + quantity : "ERR not found";
+                }
+                case "SEARCH": {
+                    // read on the writer thread so quantities are consistent with pending mutations
+                    return commandQueue.submit(null, inv -> {
+                        StringBuilder response = new StringBuilder("OK");
+                        for (InventoryItem item : inv.searchItems(argument, 10)) {
+                            response.append(' ').append(item.getName()).append('=').append(item.getQuantity()).append(';');
+                        }
+                        return response.toString();
+                    }).join();
+                }
+                default:
+                    return "ERR unknown command: " + command;
+            }
+        } catch (CompletionException e) {
+            return "ERR " + e.getCause().getMessage();
+        } catch (RuntimeException e) {
+            return "ERR " + e.getMessage();
+        }
+    }
+
+    private static void closeQuietly(Closeable closeable) {
+        try {
+            closeable.close();
+        } catch (IOException ignored) {
+            // already closed
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package service;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * all-or-nothing adjustment of several items' quantities, e.g. a pick list or an
+ * inter-location transfer. obtained from {@link Inventory#beginTransaction()}.
+ *
+ * adjustments are buffered (several adjustments to the same item are combined) and
+ * nothing is visible until {@link #commit()}. a commit either applies every adjustment
+ * or none: it fails if an item does not exist or would go below zero. reorder checks
+ * and low-stock notifications run only after a successful commit.
+ *
+ * a transaction is used by one thread; different transactions may be committed
+ * concurrently, and those touching disjoint items do not wait for each other.
+ *
+ * <pre>
+ * try (InventoryTransaction tx = inventory.beginTransaction()) {
+ *     tx.adjust("Laptop", -2).adjust("Mouse", -2);
+ *     if (!tx.commit()) { ... tx.getFailureReason() ... }
+ * }
+ * </pre>
+ */
+public class InventoryTransaction implements AutoCloseable {
+    // rejections are routine under load, so they are summarised rather than logged one by one
+    private static final EventLog.RepeatedWarning REJECTIONS =
+            EventLog.getInstance().repeatedWarning("transactions rejected", 10_000);
+
+    private final Inventory inventory;                                   // inventory the adjustments apply to
+    private final EventLog eventLog;                                     // event log instance
+    private final Map<String, Integer> adjustments = new LinkedHashMap<>(); // item name -> combined delta
+    private boolean open = true;                                         // false once committed or aborted
+    private String failureReason;                                        // why the commit was rejected, if it was
+
+    /**
+     * constructor for a transaction against the given inventory.
+     *
+     * @param inventory Reference to Inventory instance.
+     */
+    InventoryTransaction(Inventory inventory) {
+        this.inventory = inventory;
+        this.eventLog = EventLog.getInstance();
+    }
+
+    /**
+     * adds a quantity change for an item to the transaction.
+     *
+     * @param itemName Name of the item.
+     * @param delta    Quantity to add (negative to remove stock).
+     * @return this transaction, for chaining.
+     */
+    public InventoryTransaction adjust(String itemName, int delta) {
+        ensureOpen();
+        if (itemName == null) {
+            throw new IllegalArgumentException("Item name must not be null.");
+        }
+        adjustments.merge(itemName, delta, Math::addExact);
+        return this;
+    }
+
+    /**
+     * applies every adjustment atomically, then runs reorder checks.
+     *
+     * @return true if committed, false if nothing was applied (see {@link #getFailureReason()}).
+     */
+    public boolean commit() {
+        ensureOpen();
+        open = false;
+        if (adjustments.isEmpty()) {
+            return true;
+        }
+        String[] itemNames = new String[adjustments.size()];
+        int[] deltas = new int[adjustments.size()];
+        int i = 0;
+        for (Map.Entry<String, Integer> adjustment : adjustments.entrySet()) {
+            itemNames[i] = adjustment.getKey();
+            deltas[i++] = adjustment.getValue();
+        }
+        failureReason = inventory.commitTransaction(itemNames, deltas, false);
+        if (failureReason != null) {
+            REJECTIONS.record(() -> "Transaction rejected: " + failureReason);
+            return false;
+        }
+        eventLog.debug(() -> "Transaction committed: " + adjustments);
+        return true;
+    }
+
+    /**
+     * discards the adjustments without applying them.
+     */
+    public void abort() {
+        ensureOpen();
+        open = false;
+        adjustments.clear();
+    }
+
+    /**
+     * aborts the transaction if it was neither committed nor aborted.
+     */
+    @Override
+    public void close() {
+        if (open) {
+            abort();
+        }
+    }
+
+    /**
+     * returns whether the transaction can still be adjusted and committed.
+     */
+    public boolean isOpen() {
+        return open;
+    }
+
+    /**
+     * returns why the commit was rejected, or null if it was not.
+     */
+    public String getFailureReason() {
+        return failureReason;
+    }
+
+    /**
+     * returns the buffered adjustments, one combined delta per item.
+     */
+    public Map<String, Integer> getAdjustments() {
+        return Collections.unmodifiableMap(adjustments);
+    }
+
+    private void ensureOpen() {
+        if (!open) {
+            throw new IllegalStateException("Transaction has already been committed or aborted.");
+        }
+    }
+}
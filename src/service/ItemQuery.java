@@ -0,0 +1,95 @@
+package service;
+
+import model.CategoryType;
+
+/**
+ * filter and page size for paginated item queries.
+ *
+ * the filters are pushed down into the item table scan, so non-matching items are
+ * skipped without being materialised. unset filters match every item.
+ *
+ * example: {@code new ItemQuery().category(CategoryType.ELECTRONICS).quantityBetween(0, 10).pageSize(25)}
+ */
+public class ItemQuery {
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 1_000;
+
+    private CategoryType category;                  // category to match, null for any
+    private String supplier;                        // supplier to match, null for any
+    private int minQuantity = Integer.MIN_VALUE;    // lowest matching quantity
+    private int maxQuantity = Integer.MAX_VALUE;    // highest matching quantity
+    private int pageSize = DEFAULT_PAGE_SIZE;       // results per page
+
+    /**
+     * restricts the query to one category.
+     */
+    public ItemQuery category(CategoryType category) {
+        this.category = category;
+        return this;
+    }
+
+    /**
+     * restricts the query to one supplier.
+     */
+    public ItemQuery supplier(String supplier) {
+        this.supplier = supplier;
+        return this;
+    }
+
+    /**
+     * restricts the query to quantities within a range (inclusive).
+     */
+    public ItemQuery quantityBetween(int minQuantity, int maxQuantity) {
+        this.minQuantity = minQuantity;
+        this.maxQuantity = maxQuantity;
+        return this;
+    }
+
+    /**
+     * sets the number of results per page (1 to 1000).
+     */
+    public ItemQuery pageSize(int pageSize) {
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE + ".");
+        }
+        this.pageSize = pageSize;
+        return this;
+    }
+
+    // ======= Getters =======
+
+    /**
+     * returns the category to match, or null for any.
+     */
+    public CategoryType getCategory() {
+        return category;
+    }
+
+    /**
+     * returns the supplier to match, or null for any.
+     */
+    public String getSupplier() {
+        return supplier;
+    }
+
+    /**
+     * returns the lowest matching quantity.
+     */
+    public int getMinQuantity() {
+        return minQuantity;
+    }
+
+    /**
+     * returns the highest matching quantity.
+     */
+    public int getMaxQuantity() {
+        return maxQuantity;
+    }
+
+    /**
+     * returns the number of results per page.
+     */
+    public int getPageSize() {
+        return pageSize;
+    }
+}
@@ -0,0 +1,317 @@
+package service;
+
+import model.CategoryType;
+import model.InventoryItem;
+
+import java.util.*;
+
+/**
+ * struct-of-arrays storage for the numeric state of inventory items.
+ *
+ * every item gets a dense integer handle, and its quantity, reorder threshold,
+ * unit price (in minor units, i.e. pence/cents), category ordinal and pending-order
+ * flag live at that index in parallel primitive arrays. full-catalogue scans such
+ * as valuation and per-category counts are then linear loops over contiguous
+ * arrays instead of pointer chasing through item objects.
+ *
+ * suppliers are dictionary-encoded into an int column, so filtered paging
+ * ({@link #scan}) compares category, supplier and quantity without touching item objects.
+ *
+ * for API compatibility each item is exposed as a flyweight InventoryItem whose
+ * numeric getters and setters read and write the arrays directly. when its row is
+ * removed the view is detached: it keeps its last values on the object, so a stale
+ * view never reads or writes the row of an item that later reuses the handle.
+ *
+ * handles of removed rows are kept on a free list and reused by later adds. clear()
+ * drops every row, resets the handles and trims the arrays; it also advances the
+ * table's generation, so a scan position taken before it can be recognised as stale.
+ */
+public class ItemTable {
+    private static final int INITIAL_CAPACITY = 64;
+    private static final CategoryType[] CATEGORIES = CategoryType.values();
+    private static final byte NO_CATEGORY = (byte) CATEGORIES.length; // removed rows and items without a category
+    private static final int NO_SUPPLIER = -1;                          // removed rows
+    private static final int ANY = -2;                                  // scan filter matching every code
+
+    private int[] quantities = new int[INITIAL_CAPACITY];
+    private int[] thresholds = new int[INITIAL_CAPACITY];
+    private long[] pricesMinor = new long[INITIAL_CAPACITY];
+    private byte[] categories = new byte[INITIAL_CAPACITY];
+    private int[] suppliers = new int[INITIAL_CAPACITY];                 // supplier dictionary codes
+    private final Map<String, Integer> supplierCodes = new HashMap<>();  // supplier name -> code
+    private boolean[] pendingOrders = new boolean[INITIAL_CAPACITY];     // one element per row, so rows can be written concurrently
+    private Row[] rows = new Row[INITIAL_CAPACITY];
+    private int size;                                                    // number of handles issued
+    private int[] freeHandles = new int[INITIAL_CAPACITY];               // handles of removed rows, reused first
+    private int freeCount;
+    private int generation;                                              // advanced by clear()
+
+    /**
+     * flyweight InventoryItem backed by a row of the table.
+     * name, ID, supplier and category are immutable and kept on the object;
+     * the numeric state is read from and written to the table.
+     */
+    private static final class Row extends InventoryItem {
+        private final ItemTable table;
+        private final int handle;
+        private boolean detached;   // set when the row is removed; the values then live on the object
+
+        private Row(ItemTable table, int handle, InventoryItem source) {
+            super(source.getUniqueID(), source.getName(), 0, source.getReorderThreshold(), 0,
+                    source.getSupplier(), source.getType());
+            this.table = table;
+            this.handle = handle;
+        }
+
+        /**
+         * copies the row's values onto the object before the handle is released.
+         */
+        private void detach() {
+            super.setQuantity(getQuantity());
+            super.setUnitPrice(getUnitPrice());
+            super.setPendingOrder(isPendingOrder());
+            detached = true;
+        }
+
+        @Override
+        public int getQuantity() {
+            return detached ? super.getQuantity() : table.quantities[handle];
+        }
+
+        @Override
+        public void setQuantity(int quantity) {
+            if (detached) {
+                super.setQuantity(quantity);
+            } else {
+                table.quantities[handle] = quantity;
+            }
+        }
+
+        @Override
+        public int getReorderThreshold() {
+            return detached ? super.getReorderThreshold() : table.thresholds[handle];
+        }
+
+        @Override
+        public double getUnitPrice() {
+            return detached ? super.getUnitPrice() : table.pricesMinor[handle] / 100.0;
+        }
+
+        @Override
+        public void setUnitPrice(double unitPrice) {
+            if (detached) {
+                super.setUnitPrice(unitPrice);
+            } else {
+                table.pricesMinor[handle] = toMinor(unitPrice);
+            }
+        }
+
+        @Override
+        public boolean isPendingOrder() {
+            return detached ? super.isPendingOrder() : table.pendingOrders[handle];
+        }
+
+        @Override
+        public void setPendingOrder(boolean pendingOrder) {
+            if (detached) {
+                super.setPendingOrder(pendingOrder);
+            } else {
+                table.pendingOrders[handle] = pendingOrder;
+            }
+        }
+    }
+
+    // ======= Rows =======
+
+    /**
+     * copies an item into a new row and returns the flyweight view of that row.
+     * the view, not the source item, should be stored and used from then on.
+     *
+     * @param source item whose values initialise the row.
+     * @return InventoryItem view backed by the table.
+     */
+    public InventoryItem add(InventoryItem source) {
+        int handle;
+        if (freeCount > 0) {
+            handle = freeHandles[--freeCount];
+        } else {
+            handle = size;
+            ensureCapacity(handle + 1);
+            size++;
+        }
+        quantities[handle] = source.getQuantity();
+        thresholds[handle] = source.getReorderThreshold();
+        pricesMinor[handle] = toMinor(source.getUnitPrice());
+        categories[handle] = source.getType() == null ? NO_CATEGORY : (byte) source.getType().ordinal();
+        suppliers[handle] = supplierCodes.computeIfAbsent(source.getSupplier(), k -> supplierCodes.size());
+        pendingOrders[handle] = source.isPendingOrder();
+        Row row = new Row(this, handle, source);
+        rows[handle] = row;
+        return row;
+    }
+
+    /**
+     * removes an item's row from the scans, detaches its view and frees the handle for reuse.
+     *
+     * @param item view previously returned by {@link #add}.
+     */
+    public void remove(InventoryItem item) {
+        int handle = handleOf(item);
+        if (handle < 0) {
+            return;
+        }
+        rows[handle].detach();
+        if (freeCount == freeHandles.length) {
+            freeHandles = Arrays.copyOf(freeHandles, freeCount * 2);
+        }
+        freeHandles[freeCount++] = handle;
+        // neutral values keep the scan loops free of liveness checks
+        quantities[handle] = 0;
+        thresholds[handle] = -1;
+        pricesMinor[handle] = 0;
+        categories[handle] = NO_CATEGORY;
+        suppliers[handle] = NO_SUPPLIER;
+        pendingOrders[handle] = false;
+        rows[handle] = null;
+    }
+
+    /**
+     * removes every row: the views are detached, the handles reset, the arrays trimmed
+     * to their initial capacity and the generation advanced.
+     */
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            if (rows[i] != null) {
+                rows[i].detach();
+            }
+        }
+        quantities = new int[INITIAL_CAPACITY];
+        thresholds = new int[INITIAL_CAPACITY];
+        pricesMinor = new long[INITIAL_CAPACITY];
+        categories = new byte[INITIAL_CAPACITY];
+        suppliers = new int[INITIAL_CAPACITY];
+        pendingOrders = new boolean[INITIAL_CAPACITY];
+        rows = new Row[INITIAL_CAPACITY];
+        freeHandles = new int[INITIAL_CAPACITY];
+        freeCount = 0;
+        supplierCodes.clear();
+        size = 0;
+        generation++;
+    }
+
+    /**
+     * returns the dense handle of an item view, or -1 if it is not a row of this table.
+     */
+    public int handleOf(InventoryItem item) {
+        if (item instanceof Row && ((Row) item).table == this && rows[((Row) item).handle] == item) {
+            return ((Row) item).handle;
+        }
+        return -1;
+    }
+
+    // ======= Scans =======
+
+    /**
+     * returns the total stock value (quantity x unit price) in minor units.
+     */
+    public long totalValueMinor() {
+        int[] q = quantities;
+        long[] p = pricesMinor;
+        long total = 0;
+        for (int i = 0; i < size; i++) {
+            total += q[i] * p[i];
+        }
+        return total;
+    }
+
+    /**
+     * returns the number of items in each category, indexed by CategoryType ordinal.
+     */
+    public int[] categoryCounts() {
+        byte[] c = categories;
+        int[] counts = new int[CATEGORIES.length + 1];
+        for (int i = 0; i < size; i++) {
+            counts[c[i]]++;
+        }
+        return Arrays.copyOf(counts, CATEGORIES.length);
+    }
+
+    /**
+     * collects live rows in handle order, starting at a handle, that match the filters.
+     * rows present throughout a sequence of scans are each collected once; a row added
+     * meanwhile may reuse a freed handle before the continuation point and be missed.
+     * a handle returned before {@link #clear} must not be continued from (see {@link #getGeneration}).
+     *
+     * @param fromHandle  first handle to examine.
+     * @param category    category to match, or null for any.
+     * @param supplier    supplier to match, or null for any.
+     * @param minQuantity lowest matching quantity (inclusive).
+     * @param maxQuantity highest matching quantity (inclusive).
+     * @param limit       maximum number of rows to collect.
+     * @param maxScanned  maximum number of rows to examine, bounding the cost of selective filters.
+     * @param out         list receiving the matching item views.
+     * @return handle to continue from, or -1 if every row has been examined.
+     */
+    public int scan(int fromHandle, CategoryType category, String supplier, int minQuantity, int maxQuantity,
+                    int limit, int maxScanned, List<InventoryItem> out) {
+        int categoryCode = category == null ? ANY : category.ordinal();
+        int supplierCode = supplier == null ? ANY : supplierCodes.getOrDefault(supplier, NO_SUPPLIER);
+        if (supplierCode == NO_SUPPLIER) {
+            return -1; // unknown supplier: nothing can match
+        }
+        int[] q = quantities;
+        byte[] c = categories;
+        int[] s = suppliers;
+        int end = (int) Math.min(size, (long) fromHandle + maxScanned);
+        int collected = 0;
+        for (int i = Math.max(0, fromHandle); i < end; i++) {
+            if ((categoryCode == ANY || c[i] == categoryCode)
+                    && (supplierCode == ANY || s[i] == supplierCode)
+                    && q[i] >= minQuantity && q[i] <= maxQuantity
+                    && rows[i] != null) {
+                out.add(rows[i]);
+                if (++collected == limit) {
+                    return (i + 1 < size) ? i + 1 : -1;
+                }
+            }
+        }
+        return (end < size) ? end : -1;
+    }
+
+    /**
+     * returns the number of handles issued, including free ones.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * returns the generation, advanced by every {@link #clear}.
+     */
+    public int getGeneration() {
+        return generation;
+    }
+
+    // ======= Helpers =======
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= quantities.length) {
+            return;
+        }
+        int newCapacity = Math.max(capacity, quantities.length * 2);
+        quantities = Arrays.copyOf(quantities, newCapacity);
+        thresholds = Arrays.copyOf(thresholds, newCapacity);
+        pricesMinor = Arrays.copyOf(pricesMinor, newCapacity);
+        categories = Arrays.copyOf(categories, newCapacity);
+        suppliers = Arrays.copyOf(suppliers, newCapacity);
+        pendingOrders = Arrays.copyOf(pendingOrders, newCapacity);
+        rows = Arrays.copyOf(rows, newCapacity);
+    }
+
+    /**
+     * converts a unit price to minor units (hundredths), rounding to the nearest unit.
+     */
+    private static long toMinor(double price) {
+        return Math.round(price * 100.0);
+    }
+}
@@ -0,0 +1,310 @@
+package service;
+
+import model.InventoryItem;
+
+import java.util.*;
+
+/**
+ * service class for kits (bundles and assemblies) defined by a bill of materials.
+ *
+ * a kit lists its components and the quantity of each needed per kit; its buildable
+ * quantity is the minimum over components of stock / quantity per kit. kits are not
+ * stocked themselves, so a bundle such as laptop + bag + mouse is always as available
+ * as its scarcest component.
+ *
+ * buildable quantities are maintained incrementally: a reverse dependency graph maps
+ * each component to the kits using it, and a component's stock change only updates
+ * those kits. each kit caches the capacity of every component and which one limits
+ * it, so a change is O(1) per dependent kit unless the limiting component's capacity
+ * rises, which rescans that kit's components.
+ *
+ * when a kit's buildable quantity falls to its reorder threshold, the limiting
+ * component is reordered through OrderService, once until the kit is above its
+ * threshold again, and not if the component already has a pending order. the order
+ * marks the component as pending, and Inventory keeps it pending while the component
+ * is low for any kit using it (see {@link #getComponentLowLevel}), so kits sharing a
+ * component and the component's own reorder check raise one order between them.
+ */
+public class KitService {
+    private final Inventory inventory;                                  // reference to Inventory
+    private final EventLog eventLog;                                    // event log instance
+    private final Map<String, Kit> kits = new HashMap<>();              // kit name -> definition and state
+    private final Map<String, List<Usage>> dependents = new HashMap<>(); // component name -> kits using it
+
+    /**
+     * a kit definition and its derived availability.
+     */
+    private static final class Kit {
+        private final String name;
+        private final String[] components;   // component item names
+        private final int[] perKit;          // quantity of each component per kit
+        private final int[] capacity;        // kits each component's stock could build
+        private final int reorderThreshold;  // buildable quantity at which the limiting component is reordered
+        private int buildable;               // min over capacity
+        private int limiting;                // index of the component with the smallest capacity
+        private boolean reorderPending;      // a reorder was raised since the kit was last above its threshold
+
+        private Kit(String name, String[] components, int[] perKit, int reorderThreshold) {
+            this.name = name;
+            this.components = components;
+            this.perKit = perKit;
+            this.capacity = new int[components.length];
+            this.reorderThreshold = reorderThreshold;
+        }
+
+        private void recompute() {
+            buildable = Integer.MAX_VALUE;
+            for (int i = 0; i < capacity.length; i++) {
+                if (capacity[i] < buildable) {
+                    buildable = capacity[i];
+                    limiting = i;
+                }
+            }
+        }
+    }
+
+    /**
+     * an edge of the reverse dependency graph: a kit and the component's position in it.
+     */
+    private static final class Usage {
+        private final Kit kit;
+        private final int position;
+
+        private Usage(Kit kit, int position) {
+            this.kit = kit;
+            this.position = position;
+        }
+    }
+
+    /**
+     * constructor initializes the kit service for the given inventory.
+     *
+     * @param inventory Reference to Inventory instance.
+     */
+    public KitService(Inventory inventory) {
+        this.inventory = inventory;
+        this.eventLog = EventLog.getInstance();
+    }
+
+    // ======= Definitions =======
+
+    /**
+     * defines (or redefines) a kit from its bill of materials.
+     *
+     * @param kitName          Name of the kit.
+     * @param components       Component item names mapped to the quantity needed per kit.
+     * @param reorderThreshold Buildable quantity at or below which the limiting component is reordered.
+     */
+    public synchronized void defineKit(String kitName, Map<String, Integer> components, int reorderThreshold) {
+        if (components.isEmpty()) {
+            throw new IllegalArgumentException("A kit needs at least one component.");
+        }
+        removeKit(kitName);
+        String[] names = new String[components.size()];
+        int[] perKit = new int[components.size()];
+        int i = 0;
+        for (Map.Entry<String, Integer> component : components.entrySet()) {
+            if (component.getValue() <= 0) {
+                throw new IllegalArgumentException("Quantity per kit must be positive for " + component.getKey() + ".");
+            }
+            names[i] = component.getKey();
+            perKit[i++] = component.getValue();
+        }
+
+        Kit kit = new Kit(kitName, names, perKit, reorderThreshold);
+        for (i = 0; i < names.length; i++) {
+            InventoryItem item = inventory.findItemByName(names[i]);
+            kit.capacity[i] = item == null ? 0 : Math.max(0, item.getQuantity()) / perKit[i];
+            dependents.computeIfAbsent(names[i], k -> new ArrayList<>()).add(new Usage(kit, i));
+        }
+        kit.recompute();
+        kits.put(kitName, kit);
+        eventLog.info(() -> "Kit defined: " + kitName + " (Buildable: " + kit.buildable + ")");
+    }
+
+    /**
+     * removes a kit definition.
+     *
+     * @param kitName Name of the kit.
+     * @return true if the kit existed.
+     */
+    public synchronized boolean removeKit(String kitName) {
+        Kit kit = kits.remove(kitName);
+        if (kit == null) {
+            return false;
+        }
+        for (String component : kit.components) {
+            List<Usage> usages = dependents.get(component);
+            usages.removeIf(usage -> usage.kit == kit);
+            if (usages.isEmpty()) {
+                dependents.remove(component);
+            }
+        }
+        return true;
+    }
+
+    // ======= Queries =======
+
+    /**
+     * returns how many kits can be built from current component stock.
+     *
+     * @param kitName Name of the kit.
+     * @return buildable quantity, or -1 if the kit is not defined.
+     */
+    public synchronized int getBuildableQuantity(String kitName) {
+        Kit kit = kits.get(kitName);
+        return kit == null ? -1 : kit.buildable;
+    }
+
+    /**
+     * returns the component that limits how many kits can be built.
+     *
+     * @param kitName Name of the kit.
+     * @return component item name, or null if the kit is not defined.
+     */
+    public synchronized String getLimitingComponent(String kitName) {
+        Kit kit = kits.get(kitName);
+        return kit == null ? null : kit.components[kit.limiting];
+    }
+
+    /**
+     * returns the names of the kits that use a component.
+     *
+     * @param componentName Name of the component item.
+     * @return List of kit names.
+     */
+    public synchronized List<String> getKitsUsing(String componentName) {
+        List<String> names = new ArrayList<>();
+        for (Usage usage : dependents.getOrDefault(componentName, Collections.emptyList())) {
+            names.add(usage.kit.name);
+        }
+        return names;
+    }
+
+    /**
+     * returns the highest stock of a component at which some kit using it is at or below
+     * its reorder threshold on account of that component alone.
+     *
+     * @param componentName Name of the component item.
+     * @return the stock level, or -1 if no kit uses the component.
+     */
+    public synchronized int getComponentLowLevel(String componentName) {
+        List<Usage> usages = dependents.get(componentName);
+        if (usages == null) {
+            return -1;
+        }
+        long level = -1;
+        for (Usage usage : usages) {
+            Kit kit = usage.kit;
+            level = Math.max(level, ((long) kit.reorderThreshold + 1) * kit.perKit[usage.position] - 1);
+        }
+        return (int) Math.min(Integer.MAX_VALUE, level);
+    }
+
+    /**
+     * returns the names of the kits whose buildable quantity is at or below their reorder threshold.
+     *
+     * @return List of kit names.
+     */
+    public synchronized List<String> getLowKits() {
+        List<String> low = new ArrayList<>();
+        for (Kit kit : kits.values()) {
+            if (kit.buildable <= kit.reorderThreshold) {
+                low.add(kit.name);
+            }
+        }
+        return low;
+    }
+
+    // ======= Change Notifications =======
+
+    /**
+     * updates the kits that use an item after its quantity changed.
+     *
+     * @param item the item after the change.
+     */
+    public void onStockChanged(InventoryItem item) {
+        onQuantityChanged(item.getName(), item.getQuantity());
+    }
+
+    /**
+     * updates the kits that use a component after its quantity changed (0 if it was removed).
+     *
+     * @param componentName Name of the component item.
+     * @param quantity      Its new quantity.
+     */
+    public synchronized void onQuantityChanged(String componentName, int quantity) {
+        List<Usage> usages = dependents.get(componentName);
+        if (usages == null) {
+            return;
+        }
+        for (Usage usage : usages) {
+            Kit kit = usage.kit;
+            int i = usage.position;
+            int previous = kit.capacity[i];
+            int capacity = Math.max(0, quantity) / kit.perKit[i];
+            kit.capacity[i] = capacity;
+            if (capacity < kit.buildable) {
+                kit.buildable = capacity;
+                kit.limiting = i;
+            } else if (i == kit.limiting && capacity > previous) {
+                kit.recompute(); // the limiting component grew: another may limit now
+            }
+            if (kit.buildable > kit.reorderThreshold) {
+                kit.reorderPending = false;
+            }
+        }
+    }
+
+    /**
+     * resets every component's capacity to zero, e.g. after all items were removed.
+     */
+    public synchronized void onItemsCleared() {
+        for (Kit kit : kits.values()) {
+            Arrays.fill(kit.capacity, 0);
+            kit.buildable = 0;
+            kit.limiting = 0;
+            kit.reorderPending = false;
+        }
+    }
+
+    /**
+     * reorders the limiting component of each low kit that uses a component, through
+     * OrderService, unless the kit was already reordered. called by Inventory after
+     * the component's stock change is complete.
+     *
+     * @param componentName Name of the component whose stock changed.
+     */
+    void checkReorders(String componentName) {
+        List<String> limitingComponents = new ArrayList<>();
+        List<Integer> quantities = new ArrayList<>();
+        synchronized (this) {
+            List<Usage> usages = dependents.get(componentName);
+            if (usages == null) {
+                return;
+            }
+            for (Usage usage : usages) {
+                Kit kit = usage.kit;
+                if (kit.buildable <= kit.reorderThreshold && !kit.reorderPending) {
+                    kit.reorderPending = true;
+                    // order enough of the limiting component for twice the threshold, like single items
+                    int limiting = kit.limiting;
+                    int target = Math.max(1, kit.reorderThreshold * 2) * kit.perKit[limiting];
+                    int have = kit.capacity[limiting] * kit.perKit[limiting];
+                    limitingComponents.add(kit.components[limiting]);
+                    quantities.add(Math.max(kit.perKit[limiting], target - have));
+                    String kitName = kit.name;
+                    int buildable = kit.buildable;
+                    eventLog.debug(() -> "Kit " + kitName + " is low (Buildable: " + buildable + ")");
+                }
+            }
+        }
+        // outside this service's lock: reordering notifies observers and updates other services
+        for (int i = 0; i < limitingComponents.size(); i++) {
+            InventoryItem component = inventory.findItemByName(limitingComponents.get(i));
+            if (component != null) {
+                inventory.reorderComponent(component, quantities.get(i));
+            }
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package service;
+
+/**
+ * enumeration of event log levels, from most to least verbose.
+ *
+ * setting the EventLog level to OFF disables all output.
+ */
+public enum LogLevel {
+    DEBUG,  // detailed diagnostic events
+    INFO,   // normal operational events (stock updates, orders, alerts)
+    WARN,   // unexpected but recoverable events
+    OFF     // no events are logged
+}
@@ -0,0 +1,351 @@
+package service;
+
+import model.EventKind;
+import model.InventoryItem;
+import model.StockLot;
+import model.UserRole;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * service class responsible for lot (batch) and expiry-date tracking.
+ *
+ * lots for each item are held in a priority queue ordered by expiry date so
+ * that picking always consumes the first-expired lot first (FEFO). lots past their
+ * expiry date are quarantined: picking skips them, and the expiry scan reports them.
+ *
+ * stock that is not in any lot (e.g. added with the item or by updateItemQuantity)
+ * is the item's untracked remainder, so the lots plus the remainder always make up
+ * the item's quantity. picking takes lot stock first, then the remainder. when the
+ * quantity drops below the lot total by another path (e.g. sales), the lots are
+ * reduced first-expired-first before they are next used or reported by a scan.
+ *
+ * a global index buckets every lot by its expiry day, so finding lots that
+ * expire within N days only visits the affected buckets rather than every item.
+ */
+public class LotService {
+    private static final Comparator<StockLot> BY_EXPIRY = Comparator.comparing(StockLot::getExpiryDate);
+
+    private final Map<String, PriorityQueue<StockLot>> lotsByItem;     // lots per item, soonest expiry first
+    private final TreeMap<Long, List<StockLot>> expiryIndex;          // epoch day -> lots expiring that day
+    private final Inventory inventory;                                // reference to Inventory
+    private final NotificationHandler notificationHandler;            // notification handler instance
+    private ScheduledExecutorService expiryScanner;                   // background expiry scan, if started
+
+    /**
+     * constructor initializes lot service with inventory and notification handler.
+     *
+     * @param inventory Reference to Inventory instance.
+     */
+    public LotService(Inventory inventory) {
+        this.lotsByItem = new HashMap<>();
+        this.expiryIndex = new TreeMap<>();
+        this.inventory = inventory;
+        this.notificationHandler = NotificationHandler.getInstance(); // singleton
+    }
+
+    /**
+     * receives a new lot of an existing item.
+     * the item's stock is increased by the lot quantity.
+     *
+     * @param itemName   Name of the item.
+     * @param quantity   Quantity received in the lot.
+     * @param expiryDate Expiry date of the lot.
+     * @return the created StockLot, or null if the item does not exist.
+     */
+    public synchronized StockLot receiveLot(String itemName, int quantity, LocalDate expiryDate) {
+        InventoryItem item = inventory.findItemByName(itemName);
+        if (item == null || quantity <= 0) {
+            return null;
+        }
+        reconcile(itemName, item.getQuantity(), LocalDate.now());
+
+        StockLot lot = new StockLot(IdentificationGenerator.generateUniqueID(), itemName, quantity, expiryDate);
+        lotsByItem.computeIfAbsent(itemName, k -> new PriorityQueue<>(BY_EXPIRY)).add(lot);
+        expiryIndex.computeIfAbsent(expiryDate.toEpochDay(), k -> new ArrayList<>()).add(lot);
+
+        inventory.adjustQuantity(itemName, quantity);
+        return lot;
+    }
+
+    /**
+     * picks stock of an item as of today.
+     *
+     * @param itemName Name of the item.
+     * @param quantity Quantity to pick.
+     * @return the quantity actually picked.
+     */
+    public int pick(String itemName, int quantity) {
+        return pick(itemName, quantity, LocalDate.now());
+    }
+
+    /**
+     * picks stock of an item, consuming the first-expiring unexpired lots first and
+     * then the untracked remainder. expired lots are skipped. exhausted lots are
+     * removed and the item's stock is reduced by the amount picked, which
+     * re-evaluates the reorder condition.
+     *
+     * @param itemName Name of the item.
+     * @param quantity Quantity to pick.
+     * @param today    Reference date; lots expiring before it are not picked.
+     * @return the quantity actually picked (less than requested if stock runs out).
+     */
+    public synchronized int pick(String itemName, int quantity, LocalDate today) {
+        InventoryItem item = inventory.findItemByName(itemName);
+        if (item == null || quantity <= 0) {
+            return 0;
+        }
+
+        int untracked = reconcile(itemName, item.getQuantity(), today);
+        int fromLots = consume(itemName, quantity, today, false);
+        int picked = fromLots + Math.min(quantity - fromLots, untracked);
+        if (picked == 0) {
+            return 0;
+        }
+        int previousQuantity = inventory.adjustQuantity(itemName, -picked);
+        return Math.max(0, Math.min(picked, previousQuantity));
+    }
+
+    /**
+     * returns the lots currently held for an item, soonest expiry first.
+     *
+     * @param itemName Name of the item.
+     * @return List of StockLot objects (empty if none).
+     */
+    public synchronized List<StockLot> getLots(String itemName) {
+        InventoryItem item = inventory.findItemByName(itemName);
+        if (item != null) {
+            reconcile(itemName, item.getQuantity(), LocalDate.now());
+        }
+        PriorityQueue<StockLot> lots = lotsByItem.get(itemName);
+        if (lots == null) {
+            return Collections.emptyList();
+        }
+        List<StockLot> sorted = new ArrayList<>(lots);
+        sorted.sort(BY_EXPIRY);
+        return sorted;
+    }
+
+    /**
+     * returns the part of an item's quantity that is not in any lot.
+     *
+     * @param itemName Name of the item.
+     * @return the untracked quantity, or 0 if the item does not exist.
+     */
+    public synchronized int getUntrackedQuantity(String itemName) {
+        InventoryItem item = inventory.findItemByName(itemName);
+        return item == null ? 0 : reconcile(itemName, item.getQuantity(), LocalDate.now());
+    }
+
+    /**
+     * finds all lots across the catalogue that expire within the given number of days from today.
+     *
+     * @param days Number of days to look ahead.
+     * @return List of StockLot objects, soonest expiry first.
+     */
+    public List<StockLot> findLotsExpiringWithin(int days) {
+        return findLotsExpiringWithin(days, LocalDate.now());
+    }
+
+    /**
+     * finds all lots across the catalogue that expire from {@code today} to {@code today + days}.
+     * lots that have already expired are not included (see {@link #findExpiredLots}).
+     * only the expiry buckets in range are visited; the lots of the items found there are
+     * first reconciled with the items' quantities, so stock sold since is not reported.
+     *
+     * @param days  Number of days to look ahead.
+     * @param today Reference date for the scan.
+     * @return List of StockLot objects, soonest expiry first.
+     */
+    public synchronized List<StockLot> findLotsExpiringWithin(int days, LocalDate today) {
+        NavigableMap<Long, List<StockLot>> range =
+                expiryIndex.subMap(today.toEpochDay(), true, today.plusDays(days).toEpochDay(), true);
+        reconcileAll(range.values(), today);
+        List<StockLot> expiring = new ArrayList<>();
+        for (List<StockLot> bucket : range.values()) {
+            expiring.addAll(bucket);
+        }
+        return expiring;
+    }
+
+    /**
+     * finds all quarantined lots: those that expired before {@code today}.
+     * the lots are first reconciled with their items' quantities, as above.
+     *
+     * @param today Reference date for the scan.
+     * @return List of StockLot objects, soonest expiry first.
+     */
+    public synchronized List<StockLot> findExpiredLots(LocalDate today) {
+        NavigableMap<Long, List<StockLot>> range = expiryIndex.headMap(today.toEpochDay(), false);
+        reconcileAll(range.values(), today);
+        List<StockLot> expired = new ArrayList<>();
+        for (List<StockLot> bucket : range.values()) {
+            expired.addAll(bucket);
+        }
+        return expired;
+    }
+
+    /**
+     * starts a background scan that periodically looks for lots expiring within
+     * the given number of days and alerts Inventory Managers about them.
+     *
+     * @param days        Number of days to look ahead.
+     * @param periodHours Interval between scans in hours.
+     */
+    public synchronized void startExpiryScan(int days, long periodHours) {
+        stopExpiryScan();
+        expiryScanner = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "expiry-scan");
+            thread.setDaemon(true);
+            return thread;
+        });
+        expiryScanner.scheduleAtFixedRate(() -> {
+            for (StockLot lot : findExpiredLots(LocalDate.now())) {
+                notificationHandler.notifyUserRole("Lot expired and quarantined: " + lot.getItemName() +
+                        " (Lot: " + lot.getLotID() + ", Qty: " + lot.getQuantity() +
+                        ", Expired: " + lot.getExpiryDate() + ")", UserRole.INVENTORY_MANAGER);
+            }
+            for (StockLot lot : findLotsExpiringWithin(days)) {
+                notificationHandler.notifyUserRole("Lot expiring: " + lot.getItemName() +
+                        " (Lot: " + lot.getLotID() + ", Qty: " + lot.getQuantity() +
+                        ", Expires: " + lot.getExpiryDate() + ")", UserRole.INVENTORY_MANAGER);
+                InventoryItem item = inventory.findItemByName(lot.getItemName());
+                notificationHandler.publish(EventKind.LOT_EXPIRING, lot.getItemName(), item != null ? item.getType() : null,
+                        item != null ? item.getSupplier() : null,
+                        () -> "Lot expiring: " + lot.getItemName() + " (Lot: " + lot.getLotID() + ", Expires: " + lot.getExpiryDate() + ")");
+            }
+        }, 0, periodHours, TimeUnit.HOURS);
+    }
+
+    /**
+     * stops the background expiry scan if it is running.
+     */
+    public synchronized void stopExpiryScan() {
+        if (expiryScanner != null) {
+            expiryScanner.shutdownNow();
+            expiryScanner = null;
+        }
+    }
+
+    /**
+     * drops the lots of an item removed from the inventory.
+     *
+     * @param itemName Name of the removed item.
+     */
+    synchronized void onItemRemoved(String itemName) {
+        PriorityQueue<StockLot> lots = lotsByItem.remove(itemName);
+        if (lots != null) {
+            for (StockLot lot : lots) {
+                removeFromIndex(lot);
+            }
+        }
+    }
+
+    /**
+     * drops every lot when all items are removed from the inventory.
+     */
+    synchronized void onItemsCleared() {
+        lotsByItem.clear();
+        expiryIndex.clear();
+    }
+
+    // ======= Helpers =======
+
+    /**
+     * reconciles every item that has a lot in the given expiry buckets. the item names
+     * are collected first, as reconciling may empty and remove buckets.
+     */
+    private void reconcileAll(Collection<List<StockLot>> buckets, LocalDate today) {
+        Set<String> itemNames = new HashSet<>();
+        for (List<StockLot> bucket : buckets) {
+            for (StockLot lot : bucket) {
+                itemNames.add(lot.getItemName());
+            }
+        }
+        for (String itemName : itemNames) {
+            InventoryItem item = inventory.findItemByName(itemName);
+            if (item != null) {
+                reconcile(itemName, item.getQuantity(), today);
+            }
+        }
+    }
+
+    /**
+     * reduces the lots of an item when its quantity has dropped below their total,
+     * unexpired lots first-expired-first, then expired ones.
+     *
+     * @return the item's untracked remainder.
+     */
+    private int reconcile(String itemName, int quantity, LocalDate today) {
+        PriorityQueue<StockLot> lots = lotsByItem.get(itemName);
+        long tracked = 0;
+        if (lots != null) {
+            for (StockLot lot : lots) {
+                tracked += lot.getQuantity();
+            }
+        }
+        if (tracked > quantity) {
+            int excess = (int) (tracked - quantity);
+            excess -= consume(itemName, excess, today, false);
+            consume(itemName, excess, today, true);
+            tracked = quantity;
+        }
+        return (int) (quantity - tracked);
+    }
+
+    /**
+     * takes up to the given quantity from an item's lots, soonest expiry first,
+     * removing exhausted lots. the item's own quantity is not changed.
+     *
+     * @param includeExpired false to skip lots that expired before today.
+     * @return the quantity taken.
+     */
+    private int consume(String itemName, int quantity, LocalDate today, boolean includeExpired) {
+        PriorityQueue<StockLot> lots = lotsByItem.get(itemName);
+        if (lots == null) {
+            return 0;
+        }
+        List<StockLot> kept = new ArrayList<>();
+        int remaining = quantity;
+        while (remaining > 0 && !lots.isEmpty()) {
+            StockLot lot = lots.poll();
+            if (!includeExpired && lot.getExpiryDate().isBefore(today)) {
+                kept.add(lot); // quarantined
+                continue;
+            }
+            int taken = Math.min(remaining, lot.getQuantity());
+            lot.setQuantity(lot.getQuantity() - taken);
+            remaining -= taken;
+            if (lot.getQuantity() == 0) {
+                removeFromIndex(lot);
+            } else {
+                kept.add(lot);
+            }
+        }
+        lots.addAll(kept);
+        if (lots.isEmpty()) {
+            lotsByItem.remove(itemName);
+        }
+        return quantity - remaining;
+    }
+
+    /**
+     * removes an exhausted lot from the global expiry index.
+     *
+     * @param lot StockLot to remove.
+     */
+    private void removeFromIndex(StockLot lot) {
+        long day = lot.getExpiryDate().toEpochDay();
+        List<StockLot> bucket = expiryIndex.get(day);
+        if (bucket != null) {
+            bucket.remove(lot);
+            if (bucket.isEmpty()) {
+                expiryIndex.remove(day);
+            }
+        }
+    }
+}
@@ -1,19 +1,84 @@
 package service;
 
+import model.CategoryType;
+import model.EventKind;
+import model.InventoryItem;
+import model.NotificationEvent;
 import model.UserRole;
 import observer.StockObserver;
 
 import java.util.*;
+import java.util.function.Supplier;
 
 /**
  * singleton class responsible for managing notifications in the Inventory Management System.
  *
  * implements the **Observer Pattern** to notify subscribed observers (Inventory Managers, Suppliers)
  * about stock level changes, purchase orders, and other events.
+ *
+ * observers can also subscribe to typed events with filters on item, category, supplier
+ * and event kind ({@link #subscribe}). each subscription is indexed under its most
+ * selective filter (item, then supplier, then category, then kind), so publishing an
+ * event looks up a handful of buckets and only tests the subscriptions found there,
+ * instead of evaluating every subscriber's filter.
  */
 public class NotificationHandler {
     private static NotificationHandler instance;            // singleton instance
     private final List<StockObserver> observers = new ArrayList<>(); // list of registered observers
+    private final List<Registration> registrations = new ArrayList<>(); // filtered subscriptions, guarded by this
+    private volatile SubscriptionIndex index = new SubscriptionIndex(Collections.emptyList()); // rebuilt on change
+
+    /**
+     * a subscribed observer together with a frozen copy of its filter.
+     */
+    private static final class Registration {
+        private final StockObserver observer;
+        private final Subscription filter;
+
+        private Registration(StockObserver observer, Subscription filter) {
+            this.observer = observer;
+            this.filter = filter;
+        }
+    }
+
+    /**
+     * immutable lookup structure over the registrations, replaced whenever they change
+     * so that publishing never takes a lock.
+     */
+    private static final class SubscriptionIndex {
+        private final Map<String, List<Registration>> byItem = new HashMap<>();
+        private final Map<String, List<Registration>> bySupplier = new HashMap<>();
+        private final Map<CategoryType, List<Registration>> byCategory = new EnumMap<>(CategoryType.class);
+        private final Map<EventKind, List<Registration>> byKind = new EnumMap<>(EventKind.class);
+        private final List<Registration> unfiltered = new ArrayList<>();
+        private final int size;
+
+        private SubscriptionIndex(List<Registration> registrations) {
+            for (Registration registration : registrations) {
+                Subscription filter = registration.filter;
+                if (!filter.getItems().isEmpty()) {
+                    for (String item : filter.getItems()) {
+                        byItem.computeIfAbsent(item, k -> new ArrayList<>()).add(registration);
+                    }
+                } else if (!filter.getSuppliers().isEmpty()) {
+                    for (String supplier : filter.getSuppliers()) {
+                        bySupplier.computeIfAbsent(supplier, k -> new ArrayList<>()).add(registration);
+                    }
+                } else if (!filter.getCategories().isEmpty()) {
+                    for (CategoryType category : filter.getCategories()) {
+                        byCategory.computeIfAbsent(category, k -> new ArrayList<>()).add(registration);
+                    }
+                } else if (!filter.getKinds().isEmpty()) {
+                    for (EventKind kind : filter.getKinds()) {
+                        byKind.computeIfAbsent(kind, k -> new ArrayList<>()).add(registration);
+                    }
+                } else {
+                    unfiltered.add(registration);
+                }
+            }
+            this.size = registrations.size();
+        }
+    }
 
     /**
      * private constructor to enforce Singleton pattern.
@@ -86,4 +151,99 @@ public class NotificationHandler {
             }
         }
     }
-}
\ No newline at end of file
+
+    // ======= Filtered Subscriptions =======
+
+    /**
+     * subscribes an observer to the events matching a filter. the observer's
+     * {@link StockObserver#onEvent} is called for each matching event. the filter is
+     * copied, so changing it afterwards does not affect the subscription.
+     *
+     * @param observer Observer to receive the events.
+     * @param filter   Subscription filter.
+     */
+    public synchronized void subscribe(StockObserver observer, Subscription filter) {
+        registrations.add(new Registration(observer, filter.copy()));
+        index = new SubscriptionIndex(registrations);
+    }
+
+    /**
+     * removes every filtered subscription of an observer.
+     *
+     * @param observer Observer to unsubscribe.
+     */
+    public synchronized void unsubscribe(StockObserver observer) {
+        if (registrations.removeIf(registration -> registration.observer == observer)) {
+            index = new SubscriptionIndex(registrations);
+        }
+    }
+
+    /**
+     * returns the number of filtered subscriptions.
+     */
+    public int getSubscriptionCount() {
+        return index.size;
+    }
+
+    /**
+     * publishes an event about an item to the matching subscriptions.
+     *
+     * @param kind    Kind of event.
+     * @param item    Item concerned.
+     * @param message Supplies the message; only called if a subscription matches.
+     */
+    public void publish(EventKind kind, InventoryItem item, Supplier<String> message) {
+        publish(kind, item.getName(), item.getType(), item.getSupplier(), message);
+    }
+
+    /**
+     * publishes an event to the matching subscriptions. the event is only created
+     * if at least one subscription matches, so publishing to no subscribers is cheap.
+     *
+     * @param kind     Kind of event.
+     * @param itemName Item concerned, or null.
+     * @param category Category of the item, or null.
+     * @param supplier Supplier concerned, or null.
+     * @param message  Supplies the message; only called if a subscription matches.
+     */
+    public void publish(EventKind kind, String itemName, CategoryType category, String supplier, Supplier<String> message) {
+        SubscriptionIndex current = index;
+        if (current.size == 0) {
+            return;
+        }
+        NotificationEvent event = null;
+        if (itemName != null) {
+            event = deliver(current.byItem.get(itemName), kind, itemName, category, supplier, message, event);
+        }
+        if (supplier != null) {
+            event = deliver(current.bySupplier.get(supplier), kind, itemName, category, supplier, message, event);
+        }
+        if (category != null) {
+            event = deliver(current.byCategory.get(category), kind, itemName, category, supplier, message, event);
+        }
+        event = deliver(current.byKind.get(kind), kind, itemName, category, supplier, message, event);
+        deliver(current.unfiltered, kind, itemName, category, supplier, message, event);
+    }
+
+    /**
+     * delivers an event to the registrations of one index bucket that pass their
+     * remaining filters, creating the event on the first match.
+     *
+     * @return the event, or null if it has not been needed yet.
+     */
+    private static NotificationEvent deliver(List<Registration> bucket, EventKind kind, String itemName, CategoryType category,
+                                             String supplier, Supplier<String> message, NotificationEvent event) {
+        if (bucket == null) {
+            return event;
+        }
+        for (Registration registration : bucket) {
+            if (registration.filter.matches(kind, itemName, category, supplier)) {
+                if (event == null) {
+                    event = new NotificationEvent(kind, itemName, category, supplier, message.get());
+                }
+                registration.observer.onEvent(event);
+            }
+        }
+        return event;
+    }
+}
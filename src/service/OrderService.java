@@ -2,8 +2,7 @@ package service;
 
 import model.*;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.*;
 
 /**
  * service class responsible for managing Purchase Orders.
@@ -12,11 +11,23 @@ import java.util.Map;
  *
  * integrates with Inventory and NotificationHandler to automate reorders
  * and notify relevant stakeholders.
+ *
+ * orders are created both by the inventory's owning thread and by threads committing
+ * transactions (automatic reorders), so order state is changed under this service's
+ * monitor. notifications are sent after the monitor is released.
  */
 public class OrderService {
+    private static final int SCAN_BUDGET_PAGES = 64;            // orders examined per page request, in page sizes
+    private static final String PENDING = "Pending";
+    private static final String COMPLETED = "Completed";
+    private static final String CANCELLED = "Cancelled";
+
     private final Map<String, PurchaseOrder> purchaseOrders;    // stores purchase orders by order ID
+    private final TreeMap<Long, PurchaseOrder> ordersBySequence; // creation order, for stable paging
+    private long nextSequence;                                  // sequence number of the next order
     private final Inventory inventory;                         // reference to Inventory
     private final NotificationHandler notificationHandler;      // notification handler instance
+    private final EventLog eventLog;                           // event log instance
 
     /**
      * constructor initializes order service with inventory and notification handler.
@@ -25,8 +36,10 @@ public class OrderService {
      */
     public OrderService(Inventory inventory) {
         this.purchaseOrders = new HashMap<>();
+        this.ordersBySequence = new TreeMap<>();
         this.inventory = inventory;
         this.notificationHandler = NotificationHandler.getInstance(); // singleton
+        this.eventLog = EventLog.getInstance(); // singleton
     }
 
     /**
@@ -39,7 +52,7 @@ public class OrderService {
     public void createOrder(String itemName, int quantity) {
         InventoryItem item = inventory.findItemByName(itemName);
         if (item == null) {
-            System.out.println("Item not found in inventory.");
+            eventLog.warn(() -> "Item not found in inventory.");
             return;
         }
 
@@ -53,11 +66,40 @@ public class OrderService {
         // generate unique order ID and create purchase order
         String orderId = IdentificationGenerator.generateUniqueID();
         PurchaseOrder order = PurchaseOrderFactory.createPurchaseOrder(orderId, itemName, quantity, supplier);
-        purchaseOrders.put(orderId, order);
+        synchronized (this) {
+            purchaseOrders.put(orderId, order);
+            ordersBySequence.put(nextSequence++, order);
+            inventory.getAlertEngine().onOrderCreated(order);
+            inventory.getViewCache().onOrderCreated(order);
+            inventory.getSupplierScorecards().onOrderCreated(order);
+            replicate(order);
+        }
 
         // notify relevant user roles
         notificationHandler.notifyUserRole("Order created for: " + itemName + " Quantity: " + quantity, UserRole.SUPPLIER);
         notificationHandler.notifyUserRole("Order created for: " + itemName + " Quantity: " + quantity, UserRole.INVENTORY_MANAGER);
+        notificationHandler.publish(EventKind.ORDER_CREATED, item,
+                () -> "Order created for: " + itemName + " Quantity: " + quantity + " (Order: " + orderId + ")");
+    }
+
+    /**
+     * creates a purchase order as above, unless a mutation with the same client request ID
+     * was already applied.
+     *
+     * @param requestID Client request ID; null disables deduplication.
+     * @param itemName  Name of the item to reorder.
+     * @param quantity  Quantity to be ordered.
+     * @return true if applied, false if dropped as a duplicate or the item does not exist.
+     */
+    public boolean createOrder(RequestID requestID, String itemName, int quantity) {
+        return inventory.applyOnce(requestID, () -> {
+            if (inventory.findItemByName(itemName) == null) {
+                eventLog.warn(() -> "Item not found in inventory.");
+                return false;
+            }
+            createOrder(itemName, quantity);
+            return true;
+        });
     }
 
     /**
@@ -66,26 +108,201 @@ public class OrderService {
      * @param orderID unique ID of the order.
      * @return PurchaseOrder object if found, otherwise null.
      */
-    public PurchaseOrder getOrder(String orderID) {
+    public synchronized PurchaseOrder getOrder(String orderID) {
         return purchaseOrders.get(orderID);
     }
 
+    /**
+     * changes the status of a purchase order, e.g. from Pending to Completed.
+     * status changes should go through here so alert rules, cached views and supplier
+     * scorecards see them. a Pending order completed without {@link #receiveOrder} is
+     * recorded as delivered in full today.
+     *
+     * @param orderID unique ID of the order.
+     * @param status  new status.
+     * @return true if the order exists, otherwise false.
+     */
+    public boolean updateOrderStatus(String orderID, String status) {
+        PurchaseOrder order;
+        String previousStatus;
+        synchronized (this) {
+            order = purchaseOrders.get(orderID);
+            if (order == null) {
+                eventLog.warn(() -> "Order not found: " + orderID);
+                return false;
+            }
+            previousStatus = order.getStatus();
+            order.setStatus(status);
+            inventory.getAlertEngine().onOrderStatusChanged(order, previousStatus);
+            inventory.getViewCache().onOrderStatusChanged(order, previousStatus);
+            if (PENDING.equals(previousStatus) && CANCELLED.equals(status)) {
+                inventory.getSupplierScorecards().onOrderCancelled(order);
+            } else if (PENDING.equals(previousStatus) && COMPLETED.equals(status)) {
+                if (order.getReceivedDate() == null) {
+                    order.markReceived(new Date(), order.getQuantity());
+                }
+                inventory.getSupplierScorecards().onOrderReceived(order);
+            }
+            replicate(order);
+        }
+
+        InventoryItem item = inventory.findItemByName(order.getItemName());
+        notificationHandler.publish(EventKind.ORDER_STATUS_CHANGED, order.getItemName(), item != null ? item.getType() : null,
+                order.getSupplier() != null ? order.getSupplier().getName() : null,
+                () -> "Order " + orderID + " for " + order.getItemName() + ": " + previousStatus + " -> " + status);
+        return true;
+    }
+
+    /**
+     * records the delivery of a pending purchase order: the received quantity is added
+     * to stock, then the order is marked Completed and the supplier's scorecard records
+     * the lead time, fill and on-time delivery. the received date is set first, under
+     * the monitor, and claims the order, so a second receive of it is refused.
+     *
+     * @param orderID          unique ID of the order.
+     * @param receivedQuantity quantity actually delivered (may be less than ordered).
+     * @return true if the order was pending and is now received, otherwise false.
+     */
+    public boolean receiveOrder(String orderID, int receivedQuantity) {
+        if (receivedQuantity < 0) {
+            throw new IllegalArgumentException("Received quantity must not be negative.");
+        }
+        PurchaseOrder order;
+        synchronized (this) {
+            order = purchaseOrders.get(orderID);
+            if (order == null || !PENDING.equals(order.getStatus()) || order.getReceivedDate() != null) {
+                eventLog.warn(() -> "Order not pending: " + orderID);
+                return false;
+            }
+            order.markReceived(new Date(), receivedQuantity);
+        }
+
+        if (receivedQuantity > 0) {
+            inventory.adjustQuantity(order.getItemName(), receivedQuantity);
+        }
+        updateOrderStatus(orderID, COMPLETED);
+        return true;
+    }
+
+    /**
+     * applies an order state shipped from a replication primary, without notifications:
+     * a new order is stored, a known one has its status and delivery updated in place so
+     * it keeps its position in {@link #findOrders}.
+     *
+     * @param order PurchaseOrder decoded from the replication log.
+     */
+    synchronized void applyReplicatedOrder(PurchaseOrder order) {
+        PurchaseOrder stored = purchaseOrders.get(order.getOrderID());
+        if (stored == null) {
+            purchaseOrders.put(order.getOrderID(), order);
+            ordersBySequence.put(nextSequence++, order);
+            inventory.getAlertEngine().onOrderCreated(order);
+            inventory.getViewCache().onOrderCreated(order);
+            replicate(order);
+            return;
+        }
+        String previousStatus = stored.getStatus();
+        stored.setStatus(order.getStatus());
+        if (order.getReceivedDate() != null) {
+            stored.markReceived(order.getReceivedDate(), order.getReceivedQuantity());
+        }
+        inventory.getAlertEngine().onOrderStatusChanged(stored, previousStatus);
+        inventory.getViewCache().onOrderStatusChanged(stored, previousStatus);
+        replicate(stored);
+    }
+
+    /**
+     * removes every order, e.g. before a replica reloads the primary's state.
+     */
+    synchronized void clear() {
+        purchaseOrders.clear();
+        ordersBySequence.clear();
+    }
+
+    /**
+     * sums the quantity on Pending orders for a supplier and stores it in the view cache.
+     * both happen under this service's monitor, so each order change is either counted
+     * here or applied to the cached value afterwards, never both.
+     *
+     * @param supplier Supplier name.
+     * @return open order quantity.
+     */
+    synchronized long cacheOpenQuantity(String supplier) {
+        long open = 0;
+        for (PurchaseOrder order : purchaseOrders.values()) {
+            if (PENDING.equals(order.getStatus()) && order.getSupplier() != null
+                    && supplier.equals(order.getSupplier().getName())) {
+                open += order.getQuantity();
+            }
+        }
+        inventory.getViewCache().putOpenOrderQuantity(supplier, open);
+        return open;
+    }
+
+    /**
+     * returns one page of purchase orders in creation order, optionally filtered by
+     * supplier and status. at most 64 page sizes of orders are examined per call.
+     *
+     * @param supplier          supplier name to match, or null for any.
+     * @param status            status to match (e.g. Pending), or null for any.
+     * @param pageSize          maximum number of orders on the page.
+     * @param continuationToken token from the previous page, or null for the first page.
+     * @return Page of PurchaseOrder objects.
+     */
+    public synchronized Page<PurchaseOrder> findOrders(String supplier, String status, int pageSize, String continuationToken) {
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("Page size must be positive.");
+        }
+        long from = continuationToken == null ? 0 : Inventory.parseLongToken(continuationToken);
+        List<PurchaseOrder> results = new ArrayList<>(pageSize);
+        int budget = pageSize * SCAN_BUDGET_PAGES;
+        Iterator<Map.Entry<Long, PurchaseOrder>> entries = ordersBySequence.tailMap(from, true).entrySet().iterator();
+        while (entries.hasNext()) {
+            Map.Entry<Long, PurchaseOrder> entry = entries.next();
+            PurchaseOrder order = entry.getValue();
+            if (purchaseOrders.get(order.getOrderID()) != order) {
+                entries.remove(); // removed through getAllOrders()
+                continue;
+            }
+            if (results.size() == pageSize || budget-- == 0) {
+                return new Page<>(results, Long.toString(entry.getKey(), 36));
+            }
+            if ((supplier == null || (order.getSupplier() != null && supplier.equals(order.getSupplier().getName())))
+                    && (status == null || status.equals(order.getStatus()))) {
+                results.add(order);
+            }
+        }
+        return new Page<>(results, null);
+    }
+
+    /**
+     * appends an order's state to the replication log, if the inventory has one.
+     */
+    private void replicate(PurchaseOrder order) {
+        ReplicationLog log = inventory.getReplicationLog();
+        if (log != null) {
+            log.append(order);
+        }
+    }
+
     /**
      * lists all existing purchase orders.
-     * prints details of each order to the console.
+     * writes details of each order to the event log.
      */
-    public void listOrders() {
+    public synchronized void listOrders() {
         if (purchaseOrders.isEmpty()) {
-            System.out.println("No purchase orders available.");
+            eventLog.info(() -> "No purchase orders available.");
             return;
         }
         for (PurchaseOrder order : purchaseOrders.values()) {
-            System.out.println(order);
+            eventLog.info(order::toString);
         }
     }
 
     /**
      * returns all purchase orders.
+     * for listings prefer {@link #findOrders}, which pages in a stable order. the map is
+     * not a copy: read it only while no orders are being created.
      *
      * @return Map of order ID to PurchaseOrder.
      */
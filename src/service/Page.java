@@ -0,0 +1,47 @@
+package service;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * one page of results from a paginated query, with the token to fetch the next page.
+ *
+ * @param <T> type of the results.
+ */
+public class Page<T> {
+    private final List<T> items;                 // results on this page
+    private final String continuationToken;      // token for the next page, null when exhausted
+
+    /**
+     * constructor to create a page.
+     *
+     * @param items             results on this page.
+     * @param continuationToken token for the next page, or null if there are no more results.
+     */
+    public Page(List<T> items, String continuationToken) {
+        this.items = Collections.unmodifiableList(items);
+        this.continuationToken = continuationToken;
+    }
+
+    /**
+     * returns the results on this page. a page may hold fewer results than the page
+     * size (even none) while more remain, when a selective filter hit its scan budget.
+     */
+    public List<T> getItems() {
+        return items;
+    }
+
+    /**
+     * returns the token to pass to the same query for the next page, or null if there are no more results.
+     */
+    public String getContinuationToken() {
+        return continuationToken;
+    }
+
+    /**
+     * returns whether more results may follow this page.
+     */
+    public boolean hasMore() {
+        return continuationToken != null;
+    }
+}
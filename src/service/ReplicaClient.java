@@ -0,0 +1,280 @@
+package service;
+
+import model.InventoryItem;
+import model.PurchaseOrder;
+
+import java.io.*;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * replica side of inventory replication: a hot standby that applies the primary's
+ * ReplicationLog to this process's Inventory and serves read-only queries.
+ *
+ * a receiver thread connects to the primary, asks for entries from the offset it
+ * has applied so far, applies each frame in offset order and acknowledges it. if
+ * the connection drops it reconnects and catches up from the same offset, so no
+ * entry is applied twice or skipped. if the primary has already truncated that
+ * offset, the replica discards its state and reloads the primary's compacted state
+ * before continuing; fragments of entries larger than a frame are reassembled.
+ *
+ * replicated state is applied without reorder checks or notifications; the orders
+ * the primary raised arrive as entries of their own. frames are applied under a
+ * write lock and queries run under a read lock, so reads see whole frames only.
+ * items returned by queries are detached copies.
+ */
+public class ReplicaClient implements AutoCloseable {
+    private static final long RETRY_MILLIS = 500;
+
+    private final Inventory inventory;                        // this process's Inventory
+    private final EventLog eventLog;                          // event log instance
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final int port;                                   // primary's loopback port
+    private final Thread receiver;                            // background receiving thread
+    private volatile long appliedOffset;                      // next offset to apply
+    private volatile boolean running = true;
+    private volatile Socket socket;
+
+    /**
+     * constructor starts replicating from the primary listening on the given loopback port.
+     *
+     * @param port primary's replication port.
+     */
+    public ReplicaClient(int port) {
+        this.inventory = Inventory.getInstance();
+        this.eventLog = EventLog.getInstance();
+        this.port = port;
+        this.receiver = new Thread(this::runReceiver, "replication-receiver");
+        this.receiver.setDaemon(true);
+        this.receiver.start();
+    }
+
+    // ======= Read-Only Queries =======
+
+    /**
+     * finds an item by name in the replicated state.
+     *
+     * @param name Name of the item.
+     * @return a copy of the InventoryItem if found, otherwise null.
+     */
+    public InventoryItem findItemByName(String name) {
+        lock.readLock().lock();
+        try {
+            InventoryItem item = inventory.findItemByName(name);
+            return item == null ? null : copy(item);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * returns the items at or below their reorder threshold in the replicated state.
+     *
+     * @return List of InventoryItem copies.
+     */
+    public List<InventoryItem> getLowStockItems() {
+        lock.readLock().lock();
+        try {
+            List<InventoryItem> low = new ArrayList<>();
+            for (InventoryItem item : inventory.getLowStockItems()) {
+                low.add(copy(item));
+            }
+            return low;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * returns the total stock value of the replicated state.
+     */
+    public double getTotalValue() {
+        lock.readLock().lock();
+        try {
+            return inventory.getTotalValue();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * returns the number of replicated items.
+     */
+    public int getItemCount() {
+        lock.readLock().lock();
+        try {
+            return inventory.getAllItems().size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * returns the number of replicated purchase orders.
+     */
+    public int getOrderCount() {
+        lock.readLock().lock();
+        try {
+            return inventory.getOrderService().getAllOrders().size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * returns the offset of the next log entry to apply, i.e. the number of entries applied.
+     */
+    public long getAppliedOffset() {
+        return appliedOffset;
+    }
+
+    /**
+     * stops replicating and disconnects from the primary.
+     */
+    @Override
+    public void close() {
+        running = false;
+        Socket current = socket;
+        if (current != null) {
+            try {
+                current.close();
+            } catch (IOException ignored) {
+                // already closed
+            }
+        }
+        try {
+            receiver.join(1_000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // ======= Receiving =======
+
+    /**
+     * connect, stream and apply frames; on failure reconnect and resume from the applied offset.
+     */
+    private void runReceiver() {
+        byte[] payload = new byte[64 * 1024];
+        ByteArrayOutputStream fragments = new ByteArrayOutputStream();
+        long resumeOffset = 0;
+        while (running) {
+            fragments.reset();
+            try (Socket connection = new Socket(InetAddress.getLoopbackAddress(), port)) {
+                socket = connection;
+                connection.setTcpNoDelay(true);
+                DataInputStream in = new DataInputStream(new BufferedInputStream(connection.getInputStream(), 256 * 1024));
+                DataOutputStream out = new DataOutputStream(new BufferedOutputStream(connection.getOutputStream()));
+                out.writeLong(appliedOffset);
+                out.flush();
+                while (running) {
+                    long firstOffset = in.readLong();
+                    int count = in.readInt();
+                    int length = in.readInt();
+                    if (firstOffset >= 0 && firstOffset != appliedOffset) {
+                        throw new IOException("Expected offset " + appliedOffset + " but received " + firstOffset);
+                    }
+                    if (length > payload.length) {
+                        payload = new byte[Math.max(length, payload.length * 2)];
+                    }
+                    in.readFully(payload, 0, length);
+                    if (firstOffset == ReplicationPrimary.RESYNC) {
+                        resumeOffset = ByteBuffer.wrap(payload, 0, length).getLong();
+                        long from = appliedOffset;
+                        eventLog.warn(() -> "Replica is behind the primary's log at offset " + from + ", resyncing");
+                        resetState();
+                        continue;
+                    }
+                    if (firstOffset == ReplicationPrimary.SNAPSHOT_END) {
+                        appliedOffset = resumeOffset;
+                        out.writeLong(appliedOffset);
+                        out.flush();
+                        continue;
+                    }
+                    if (count == 0) {
+                        fragments.write(payload, 0, length); // more pieces of one large entry follow
+                        continue;
+                    }
+                    ByteBuffer entries = ByteBuffer.wrap(payload, 0, length);
+                    if (fragments.size() > 0) {
+                        fragments.write(payload, 0, length);
+                        entries = ByteBuffer.wrap(fragments.toByteArray());
+                        fragments.reset();
+                    }
+                    if (firstOffset == ReplicationPrimary.SNAPSHOT) {
+                        apply(entries, count, false);
+                        continue;
+                    }
+                    apply(entries, count, true);
+                    out.writeLong(appliedOffset);
+                    out.flush();
+                }
+            } catch (IOException e) {
+                if (running) {
+                    eventLog.warn(() -> "Replication connection lost at offset " + appliedOffset + ": " + e.getMessage());
+                    try {
+                        Thread.sleep(RETRY_MILLIS);
+                    } catch (InterruptedException interrupted) {
+                        return;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * discards the replicated state before a resync; until the snapshot is complete
+     * the replica counts as having applied nothing.
+     */
+    private void resetState() {
+        lock.writeLock().lock();
+        try {
+            appliedOffset = 0;
+            inventory.getAllItems().clear();
+            inventory.getOrderService().clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * applies one frame of entries under the write lock.
+     *
+     * @param advance true for log entries, false for snapshot entries, which have no offset.
+     */
+    private void apply(ByteBuffer entries, int count, boolean advance) {
+        lock.writeLock().lock();
+        try {
+            for (int i = 0; i < count; i++) {
+                int length = entries.getInt();
+                int end = entries.position() + length;
+                byte type = InventoryCodec.peekType(entries);
+                if (type == InventoryCodec.ITEM) {
+                    inventory.applyReplicatedItem(InventoryCodec.readItem(entries));
+                } else if (type == InventoryCodec.ORDER) {
+                    PurchaseOrder order = InventoryCodec.readOrder(entries);
+                    inventory.getOrderService().applyReplicatedOrder(order);
+                } else if (type == InventoryCodec.ITEM_REMOVED) {
+                    inventory.applyReplicatedRemoval(InventoryCodec.readItemRemoval(entries));
+                }
+                entries.position(end);
+            }
+            if (advance) {
+                appliedOffset += count;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static InventoryItem copy(InventoryItem item) {
+        InventoryItem copy = new InventoryItem(item.getUniqueID(), item.getName(), item.getQuantity(),
+                item.getReorderThreshold(), item.getUnitPrice(), item.getSupplier(), item.getType());
+        copy.setPendingOrder(item.isPendingOrder());
+        return copy;
+    }
+}
@@ -0,0 +1,291 @@
+package service;
+
+import model.InventoryItem;
+import model.PurchaseOrder;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ordered, append-only log of inventory mutations for replication.
+ *
+ * after every stock change the item's new state is appended, after every removal a
+ * tombstone naming the item, and after every order creation or status change the
+ * order's new state, each as an InventoryCodec record. entries are numbered from offset 0 in the order the
+ * mutations were applied, so a replica that applies them in offset order reaches
+ * the primary's state and can resume from the offset it has reached.
+ *
+ * entries are packed into large byte segments (a 4-byte length followed by the
+ * record) with a compact offset index, rather than one object per entry.
+ *
+ * once every replica has applied a prefix of the log, {@link #truncate} drops the
+ * whole segments in that prefix. their entries are compacted to the latest state of
+ * each item and order, dropping removed items, so memory stays proportional to the inventory rather than to
+ * its history, and a replica that is behind the start of the log can resync from
+ * the compacted state followed by the log from {@link #getStartOffset}.
+ */
+public class ReplicationLog {
+    private static final int SEGMENT_BYTES = 1 << 20;
+
+    private final List<byte[]> segments = new ArrayList<>();
+    private final List<Long> segmentStarts = new ArrayList<>();    // offset of each segment's first entry
+    private final Map<String, byte[]> compacted = new LinkedHashMap<>(); // key -> latest truncated entry
+    private long[] index = new long[1024];   // (offset - startOffset) -> segment number << 32 | position in segment
+    private long startOffset;                // offset of the oldest retained entry
+    private int firstSegment;                // segment number of segments.get(0)
+    private long endOffset;                  // offset of the next entry
+    private int segmentPosition = SEGMENT_BYTES;
+    private ByteBuffer scratch = ByteBuffer.allocate(512);
+
+    // ======= Appending =======
+
+    /**
+     * appends the current state of an item.
+     *
+     * @param item the item after a change.
+     * @return offset of the new entry.
+     */
+    public synchronized long append(InventoryItem item) {
+        while (true) {
+            scratch.clear();
+            try {
+                InventoryCodec.writeItem(scratch, item);
+                return appendScratch();
+            } catch (BufferOverflowException e) {
+                scratch = ByteBuffer.allocate(scratch.capacity() * 2);
+            }
+        }
+    }
+
+    /**
+     * appends the current state of a purchase order.
+     *
+     * @param order the order after creation or a status change.
+     * @return offset of the new entry.
+     */
+    public synchronized long append(PurchaseOrder order) {
+        while (true) {
+            scratch.clear();
+            try {
+                InventoryCodec.writeOrder(scratch, order);
+                return appendScratch();
+            } catch (BufferOverflowException e) {
+                scratch = ByteBuffer.allocate(scratch.capacity() * 2);
+            }
+        }
+    }
+
+    /**
+     * appends a tombstone for a removed item.
+     *
+     * @param itemName name of the removed item.
+     * @return offset of the new entry.
+     */
+    public synchronized long appendRemoval(String itemName) {
+        while (true) {
+            scratch.clear();
+            try {
+                InventoryCodec.writeItemRemoval(scratch, itemName);
+                return appendScratch();
+            } catch (BufferOverflowException e) {
+                scratch = ByteBuffer.allocate(scratch.capacity() * 2);
+            }
+        }
+    }
+
+    // ======= Reading =======
+
+    /**
+     * returns the offset of the oldest entry still held; earlier entries have been compacted.
+     */
+    public synchronized long getStartOffset() {
+        return startOffset;
+    }
+
+    /**
+     * returns the offset the next appended entry will get.
+     */
+    public synchronized long getEndOffset() {
+        return endOffset;
+    }
+
+    /**
+     * waits until the log holds an entry at the given offset, or the timeout expires.
+     *
+     * @param offset        offset to wait for.
+     * @param timeoutMillis maximum time to wait.
+     * @return true if the entry exists.
+     */
+    public synchronized boolean awaitEntry(long offset, long timeoutMillis) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        while (endOffset <= offset) {
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                return false;
+            }
+            wait(remaining);
+        }
+        return true;
+    }
+
+    /**
+     * copies consecutive entries, each as a 4-byte length followed by the record,
+     * into a buffer until the buffer is full or maxEntries have been copied.
+     *
+     * @param fromOffset offset of the first entry to copy.
+     * @param maxEntries maximum number of entries to copy.
+     * @param out        target buffer.
+     * @return number of entries copied; 0 if the first entry alone does not fit (see {@link #readEntry}).
+     */
+    public synchronized int read(long fromOffset, int maxEntries, ByteBuffer out) {
+        checkOffset(fromOffset, endOffset);
+        int count = 0;
+        for (long offset = fromOffset; offset < endOffset && count < maxEntries; offset++, count++) {
+            long location = index[(int) (offset - startOffset)];
+            byte[] segment = segments.get((int) (location >>> 32) - firstSegment);
+            int position = (int) location;
+            int length = lengthAt(segment, position);
+            if (out.remaining() < 4 + length) {
+                break;
+            }
+            out.put(segment, position, 4 + length);
+        }
+        return count;
+    }
+
+    /**
+     * returns one entry, as a 4-byte length followed by the record, e.g. one too
+     * large for the buffers passed to {@link #read}.
+     *
+     * @param offset offset of the entry.
+     * @return a copy of the entry.
+     */
+    public synchronized byte[] readEntry(long offset) {
+        checkOffset(offset, endOffset - 1);
+        long location = index[(int) (offset - startOffset)];
+        byte[] segment = segments.get((int) (location >>> 32) - firstSegment);
+        int position = (int) location;
+        return Arrays.copyOfRange(segment, position, position + 4 + lengthAt(segment, position));
+    }
+
+    /**
+     * copies the compacted state of every truncated entry: the latest entry of each
+     * item and order, each as a 4-byte length followed by the record. applying them
+     * and then the log from the returned offset rebuilds the primary's state.
+     *
+     * @param out list the entries are added to.
+     * @return the start offset the compacted state is consistent with.
+     */
+    public synchronized long copyCompacted(List<byte[]> out) {
+        out.addAll(compacted.values());
+        return startOffset;
+    }
+
+    // ======= Truncation =======
+
+    /**
+     * drops the whole segments whose entries all lie before the given offset, e.g.
+     * the lowest offset every replica has acknowledged, and compacts their entries
+     * into the latest state per item and order; a tombstone drops the item's state.
+     * the segment being appended to is kept.
+     *
+     * @param offset offset below which entries are no longer needed.
+     * @return the new start offset.
+     */
+    public synchronized long truncate(long offset) {
+        int dropped = 0;
+        while (dropped + 1 < segments.size() && segmentStarts.get(dropped + 1) <= offset) {
+            dropped++;
+        }
+        if (dropped == 0) {
+            return startOffset;
+        }
+        long newStart = segmentStarts.get(dropped);
+        for (long entry = startOffset; entry < newStart; entry++) {
+            long location = index[(int) (entry - startOffset)];
+            byte[] segment = segments.get((int) (location >>> 32) - firstSegment);
+            int position = (int) location;
+            byte[] copy = Arrays.copyOfRange(segment, position, position + 4 + lengthAt(segment, position));
+            String key = keyOf(copy);
+            compacted.remove(key); // re-insert, so the map stays in order of the latest change
+            if (!isRemoval(copy)) {
+                compacted.put(key, copy);
+            }
+        }
+        System.arraycopy(index, (int) (newStart - startOffset), index, 0, (int) (endOffset - newStart));
+        segments.subList(0, dropped).clear();
+        segmentStarts.subList(0, dropped).clear();
+        firstSegment += dropped;
+        startOffset = newStart;
+        return startOffset;
+    }
+
+    // ======= Helpers =======
+
+    /**
+     * copies the encoded record in the scratch buffer into the current segment.
+     */
+    private long appendScratch() {
+        int length = scratch.position();
+        if (segmentPosition + 4 + length > SEGMENT_BYTES) {
+            segments.add(new byte[Math.max(SEGMENT_BYTES, 4 + length)]);
+            segmentStarts.add(endOffset);
+            segmentPosition = 0;
+        }
+        byte[] segment = segments.get(segments.size() - 1);
+        segment[segmentPosition] = (byte) (length >>> 24);
+        segment[segmentPosition + 1] = (byte) (length >>> 16);
+        segment[segmentPosition + 2] = (byte) (length >>> 8);
+        segment[segmentPosition + 3] = (byte) length;
+        System.arraycopy(scratch.array(), 0, segment, segmentPosition + 4, length);
+
+        if (endOffset - startOffset == index.length) {
+            index = Arrays.copyOf(index, index.length * 2);
+        }
+        index[(int) (endOffset - startOffset)] = ((long) (firstSegment + segments.size() - 1) << 32) | segmentPosition;
+        segmentPosition += 4 + length;
+        long offset = endOffset++;
+        notifyAll();
+        return offset;
+    }
+
+    private void checkOffset(long offset, long last) {
+        if (offset < startOffset || offset > last) {
+            throw new IllegalArgumentException("Offset " + offset + " is outside the log (start " + startOffset
+                    + ", end " + endOffset + ").");
+        }
+    }
+
+    private static int lengthAt(byte[] segment, int position) {
+        return ((segment[position] & 0xFF) << 24) | ((segment[position + 1] & 0xFF) << 16)
+                | ((segment[position + 2] & 0xFF) << 8) | (segment[position + 3] & 0xFF);
+    }
+
+    private static boolean isRemoval(byte[] entry) {
+        return InventoryCodec.peekType(ByteBuffer.wrap(entry, 4, entry.length - 4)) == InventoryCodec.ITEM_REMOVED;
+    }
+
+    /**
+     * returns the compaction key of an entry: its record type and the item name or order ID.
+     * a tombstone has the key of the item it removes.
+     */
+    private static String keyOf(byte[] entry) {
+        ByteBuffer record = ByteBuffer.wrap(entry, 4, entry.length - 4);
+        byte type = InventoryCodec.peekType(record);
+        if (type == InventoryCodec.ITEM) {
+            return "I:" + InventoryCodec.viewItem(record).getName();
+        }
+        if (type == InventoryCodec.ITEM_REMOVED) {
+            return "I:" + InventoryCodec.viewItemRemoval(record).getName();
+        }
+        if (type == InventoryCodec.ORDER) {
+            return "O:" + InventoryCodec.viewOrder(record).getOrderID();
+        }
+        return "S:" + InventoryCodec.viewSupplier(record).getName();
+    }
+}
@@ -0,0 +1,323 @@
+package service;
+
+import java.io.*;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * primary side of inventory replication: ships the ReplicationLog to replicas
+ * over a loopback TCP socket.
+ *
+ * a replica connects and sends the offset it wants to continue from (0 for a new
+ * replica). the primary then streams frames of consecutive entries, each frame
+ * being the first offset, the entry count, the payload length and the entries.
+ * frames are pipelined: the primary keeps sending while up to MAX_IN_FLIGHT entries
+ * are unacknowledged. after applying a frame the replica acknowledges the offset
+ * it has reached; {@link #awaitAcknowledged} lets the primary wait for a mutation
+ * to be safe on a replica before reporting it as durable.
+ *
+ * the log is truncated to the lowest offset the connected replicas have acknowledged
+ * (or, with none connected, the highest one acknowledged). a replica asking for an
+ * offset before the start of the log is resynced: it discards its state, receives the
+ * log's compacted state as SNAPSHOT frames, and continues from the start offset.
+ *
+ * an entry larger than a frame is sent as fragments: frames with count 0 carry
+ * consecutive pieces of it, and the frame with count 1 carries the last piece.
+ *
+ * wire format (big-endian):
+ * <pre>
+ * replica -> primary: long fromOffset, then a long ack after every applied log frame
+ * primary -> replica: repeated { long firstOffset, int count, int length, byte[length] entries }
+ *                     firstOffset RESYNC: payload is the long offset to resume from
+ *                     firstOffset SNAPSHOT: entries of the compacted state
+ *                     firstOffset SNAPSHOT_END: snapshot complete, continue from the resume offset
+ * </pre>
+ */
+public class ReplicationPrimary implements AutoCloseable {
+    private static final int MAX_BATCH = 512;              // entries per frame
+    private static final int FRAME_BYTES = 256 * 1024;     // payload bytes per frame
+    private static final long MAX_IN_FLIGHT = 8_192;       // unacknowledged entries per replica
+
+    static final long RESYNC = -1;                         // frame marker: discard state, snapshot follows
+    static final long SNAPSHOT = -2;                       // frame marker: compacted-state entries
+    static final long SNAPSHOT_END = -3;                   // frame marker: snapshot complete
+
+    private final ReplicationLog log;                      // log being shipped
+    private final EventLog eventLog;                       // event log instance
+    private final Set<Session> sessions = ConcurrentHashMap.newKeySet();
+    private final Object ackMonitor = new Object();        // signalled whenever a replica acknowledges
+    private volatile long acknowledged;                    // highest offset acknowledged by any replica
+    private ServerSocket serverSocket;
+    private volatile boolean running = true;
+
+    /**
+     * connection to one replica.
+     */
+    private final class Session {
+        private final Socket socket;
+        private volatile long acked;   // next offset the replica still needs
+
+        private Session(Socket socket) {
+            this.socket = socket;
+        }
+    }
+
+    /**
+     * constructor for a primary shipping the given log.
+     *
+     * @param log ReplicationLog the primary's Inventory appends to.
+     */
+    public ReplicationPrimary(ReplicationLog log) {
+        this.log = log;
+        this.eventLog = EventLog.getInstance();
+    }
+
+    /**
+     * starts listening for replicas on the loopback interface.
+     *
+     * @param port Port to listen on (0 picks a free port).
+     * @return the port actually bound.
+     */
+    public synchronized int start(int port) throws IOException {
+        if (serverSocket == null) {
+            serverSocket = new ServerSocket(port, 16, InetAddress.getLoopbackAddress());
+            Thread acceptor = new Thread(this::acceptLoop, "replication-accept");
+            acceptor.setDaemon(true);
+            acceptor.start();
+        }
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * waits until some replica has applied every entry before the given offset.
+     *
+     * @param offset        offset that must be acknowledged (typically log.getEndOffset()).
+     * @param timeoutMillis maximum time to wait.
+     * @return true if acknowledged in time.
+     */
+    public boolean awaitAcknowledged(long offset, long timeoutMillis) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        synchronized (ackMonitor) {
+            while (acknowledged < offset) {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    return false;
+                }
+                ackMonitor.wait(remaining);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * returns the highest offset acknowledged by any replica.
+     */
+    public long getAcknowledgedOffset() {
+        return acknowledged;
+    }
+
+    /**
+     * returns the number of connected replicas.
+     */
+    public int getReplicaCount() {
+        return sessions.size();
+    }
+
+    /**
+     * stops accepting replicas and disconnects the connected ones.
+     */
+    @Override
+    public void close() {
+        running = false;
+        synchronized (this) {
+            if (serverSocket != null) {
+                try {
+                    serverSocket.close();
+                } catch (IOException ignored) {
+                    // already closed
+                }
+            }
+        }
+        for (Session session : sessions) {
+            try {
+                session.socket.close();
+            } catch (IOException ignored) {
+                // already closed
+            }
+        }
+    }
+
+    // ======= Sessions =======
+
+    private void acceptLoop() {
+        while (running) {
+            try {
+                Socket socket = serverSocket.accept();
+                socket.setTcpNoDelay(true);
+                Thread sender = new Thread(() -> serve(new Session(socket)), "replication-sender");
+                sender.setDaemon(true);
+                sender.start();
+            } catch (SocketException e) {
+                return; // listener closed
+            } catch (IOException e) {
+                eventLog.warn(() -> "Replica accept failed: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * reads the replica's start offset, then streams frames while a second thread reads acks.
+     */
+    private void serve(Session session) {
+        sessions.add(session);
+        try (Socket socket = session.socket;
+             DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream(), FRAME_BYTES + 16))) {
+            long next = in.readLong();
+            session.acked = next;
+            eventLog.info(() -> "Replica connected from offset " + session.acked);
+
+            Thread ackReader = new Thread(() -> readAcks(session, in), "replication-acks");
+            ackReader.setDaemon(true);
+            ackReader.start();
+
+            ByteBuffer frame = ByteBuffer.allocate(FRAME_BYTES);
+            while (running && !socket.isClosed()) {
+                if (next < log.getStartOffset()) {
+                    next = sendSnapshot(out, frame);
+                    continue;
+                }
+                if (next - session.acked >= MAX_IN_FLIGHT) {
+                    synchronized (session) {
+                        session.wait(100); // flow control: let the replica catch up
+                    }
+                    continue;
+                }
+                if (!log.awaitEntry(next, 100)) {
+                    continue;
+                }
+                frame.clear();
+                int count = log.read(next, MAX_BATCH, frame);
+                if (count == 0) {
+                    sendFragmented(out, next, log.readEntry(next));
+                    next++;
+                    continue;
+                }
+                writeFrame(out, next, count, frame);
+                next += count;
+            }
+        } catch (IOException | InterruptedException e) {
+            eventLog.info(() -> "Replica disconnected: " + e.getMessage());
+        } finally {
+            sessions.remove(session);
+            truncateAcknowledged();
+        }
+    }
+
+    /**
+     * tells the replica to discard its state, sends the log's compacted state and
+     * returns the offset to continue streaming from.
+     */
+    private long sendSnapshot(DataOutputStream out, ByteBuffer frame) throws IOException {
+        List<byte[]> entries = new ArrayList<>();
+        long resumeOffset = log.copyCompacted(entries);
+        eventLog.info(() -> "Resyncing replica: " + entries.size() + " compacted entries, resuming at " + resumeOffset);
+        frame.clear();
+        frame.putLong(resumeOffset);
+        writeFrame(out, RESYNC, 0, frame);
+
+        frame.clear();
+        int count = 0;
+        for (byte[] entry : entries) {
+            if (entry.length > frame.remaining()) {
+                if (count > 0) {
+                    writeFrame(out, SNAPSHOT, count, frame);
+                    frame.clear();
+                    count = 0;
+                }
+                if (entry.length > frame.capacity()) {
+                    sendFragmented(out, SNAPSHOT, entry);
+                    continue;
+                }
+            }
+            frame.put(entry);
+            count++;
+        }
+        if (count > 0) {
+            writeFrame(out, SNAPSHOT, count, frame);
+        }
+        frame.clear();
+        writeFrame(out, SNAPSHOT_END, 0, frame);
+        return resumeOffset;
+    }
+
+    /**
+     * sends one entry larger than a frame as consecutive fragments.
+     */
+    private static void sendFragmented(DataOutputStream out, long firstOffset, byte[] entry) throws IOException {
+        for (int from = 0; from < entry.length; from += FRAME_BYTES) {
+            int length = Math.min(FRAME_BYTES, entry.length - from);
+            boolean last = from + length == entry.length;
+            out.writeLong(firstOffset);
+            out.writeInt(last ? 1 : 0);
+            out.writeInt(length);
+            out.write(entry, from, length);
+        }
+        out.flush();
+    }
+
+    private static void writeFrame(DataOutputStream out, long firstOffset, int count, ByteBuffer frame) throws IOException {
+        out.writeLong(firstOffset);
+        out.writeInt(count);
+        out.writeInt(frame.position());
+        out.write(frame.array(), 0, frame.position());
+        out.flush();
+    }
+
+    /**
+     * truncates the log to the lowest offset the connected replicas still need, or
+     * to the highest acknowledged offset when none is connected.
+     */
+    private void truncateAcknowledged() {
+        long needed = Long.MAX_VALUE;
+        for (Session session : sessions) {
+            needed = Math.min(needed, session.acked);
+        }
+        log.truncate(needed == Long.MAX_VALUE ? acknowledged : needed);
+    }
+
+    /**
+     * records the replica's acknowledgements until it disconnects.
+     */
+    private void readAcks(Session session, DataInputStream in) {
+        try {
+            while (true) {
+                long ack = in.readLong();
+                session.acked = ack;
+                synchronized (session) {
+                    session.notifyAll();
+                }
+                synchronized (ackMonitor) {
+                    if (ack > acknowledged) {
+                        acknowledged = ack;
+                        ackMonitor.notifyAll();
+                    }
+                }
+                truncateAcknowledged();
+            }
+        } catch (IOException e) {
+            try {
+                session.socket.close();
+            } catch (IOException ignored) {
+                // already closed
+            }
+        }
+    }
+}
@@ -0,0 +1,291 @@
+package service;
+
+import java.util.Arrays;
+
+/**
+ * time-windowed, fixed-memory record of client request IDs, used to drop retried
+ * mutations from at-least-once upstream feeds.
+ *
+ * IDs are kept in two generations, current and previous. each generation has a Bloom
+ * filter in front of an exact open-addressing table of 64-bit ID fingerprints. a new
+ * ID normally misses the Bloom filters, so it is recorded without probing the exact
+ * tables; only Bloom hits (duplicates and rare false positives) are checked exactly.
+ *
+ * the current generation becomes the previous one once it is a window old or its table
+ * reaches its capacity, and the old previous generation's arrays are cleared and reused.
+ * an ID is therefore remembered for at least one window, as long as fewer than capacity
+ * IDs arrive per window, and memory never grows after the first use.
+ *
+ * marking an ID claims it: a caller whose mutation then fails or does not apply calls
+ * {@link #forget}, so a retry of the same request is not dropped.
+ */
+public class RequestDeduplicator {
+    private static final long DEFAULT_WINDOW_MILLIS = 10_000;
+    private static final int DEFAULT_CAPACITY = 1 << 19;      // 50k requests/s for the default window
+    private static final int BLOOM_BITS_PER_ID = 16;
+    private static final int BLOOM_PROBES = 4;
+
+    private final long windowMillis;      // how long an ID is remembered, at least
+    private final int capacity;           // IDs per generation before an early rotation
+    private Generation current;           // allocated on first use
+    private Generation previous;
+    private long h1;                      // hashes of the ID being checked, set by hash()
+    private long h2;
+    private long fingerprint;
+
+    // ======= Statistics =======
+    private long accepted;
+    private long duplicates;
+    private long bloomFalsePositives;
+    private long rotations;
+    private long earlyRotations;
+
+    /**
+     * one generation of recorded IDs.
+     */
+    private static final class Generation {
+        private final long[] bloom;         // Bloom filter bits
+        private final long[] fingerprints;  // open-addressing table, 0 = empty slot
+        private final int mask;
+        private long startedAt;
+        private int size;
+
+        private Generation(int capacity, long now) {
+            int slots = Integer.highestOneBit(Math.max(2, capacity * 2 - 1)) << 1;   // load factor <= 0.5
+            this.fingerprints = new long[slots];
+            this.mask = slots - 1;
+            this.bloom = new long[Math.max(1, (int) ((long) capacity * BLOOM_BITS_PER_ID / 64))];
+            this.startedAt = now;
+        }
+
+        private boolean mightContain(long h1, long h2) {
+            long bits = (long) bloom.length * 64;
+            for (int i = 0; i < BLOOM_PROBES; i++) {
+                long bit = Math.floorMod(h1 + i * h2, bits);
+                if ((bloom[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private boolean contains(long fingerprint) {
+            for (int slot = (int) fingerprint & mask; fingerprints[slot] != 0; slot = (slot + 1) & mask) {
+                if (fingerprints[slot] == fingerprint) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private void add(long h1, long h2, long fingerprint) {
+            long bits = (long) bloom.length * 64;
+            for (int i = 0; i < BLOOM_PROBES; i++) {
+                long bit = Math.floorMod(h1 + i * h2, bits);
+                bloom[(int) (bit >>> 6)] |= 1L << bit;
+            }
+            int slot = (int) fingerprint & mask;
+            while (fingerprints[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            fingerprints[slot] = fingerprint;
+            size++;
+        }
+
+        private boolean remove(long fingerprint) {
+            int slot = (int) fingerprint & mask;
+            while (fingerprints[slot] != fingerprint) {
+                if (fingerprints[slot] == 0) {
+                    return false;
+                }
+                slot = (slot + 1) & mask;
+            }
+            // backward-shift deletion keeps every later entry reachable from its home slot
+            fingerprints[slot] = 0;
+            size--;
+            for (int next = (slot + 1) & mask; fingerprints[next] != 0; next = (next + 1) & mask) {
+                int home = (int) fingerprints[next] & mask;
+                if (((next - home) & mask) >= ((next - slot) & mask)) {
+                    fingerprints[slot] = fingerprints[next];
+                    fingerprints[next] = 0;
+                    slot = next;
+                }
+            }
+            return true;
+        }
+
+        private void reset(long now) {
+            Arrays.fill(bloom, 0);
+            Arrays.fill(fingerprints, 0);
+            startedAt = now;
+            size = 0;
+        }
+    }
+
+    /**
+     * constructor with a 10 second window and room for 524,288 IDs per window.
+     */
+    public RequestDeduplicator() {
+        this(DEFAULT_WINDOW_MILLIS, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * constructor with an explicit window and capacity.
+     * capacity should be at least the peak request rate times the window.
+     *
+     * @param windowMillis minimum time an ID is remembered.
+     * @param capacity     IDs recorded per generation before it rotates early.
+     */
+    public RequestDeduplicator(long windowMillis, int capacity) {
+        if (windowMillis <= 0 || capacity <= 0) {
+            throw new IllegalArgumentException("Window and capacity must be positive.");
+        }
+        this.windowMillis = windowMillis;
+        this.capacity = capacity;
+    }
+
+    // ======= Deduplication =======
+
+    /**
+     * records a request ID and reports whether it is new.
+     *
+     * @param requestID client request ID; null IDs are never deduplicated.
+     * @return true if the request should be applied, false if it is a duplicate.
+     */
+    public boolean markSeen(String requestID) {
+        return markSeen(requestID, System.currentTimeMillis());
+    }
+
+    /**
+     * records a request ID at the given time and reports whether it is new.
+     *
+     * @param requestID client request ID; null IDs are never deduplicated.
+     * @param now       current time in epoch milliseconds.
+     * @return true if the request should be applied, false if it is a duplicate.
+     */
+    public synchronized boolean markSeen(String requestID, long now) {
+        if (requestID == null) {
+            return true;
+        }
+        if (current == null) {
+            current = new Generation(capacity, now);
+            previous = new Generation(capacity, now);
+        }
+        if (now - current.startedAt >= windowMillis) {
+            rotate(now);
+        }
+
+        hash(requestID);
+
+        boolean maybeCurrent = current.mightContain(h1, h2);
+        boolean maybePrevious = previous.mightContain(h1, h2);
+        if (maybeCurrent || maybePrevious) {
+            if ((maybeCurrent && current.contains(fingerprint)) || (maybePrevious && previous.contains(fingerprint))) {
+                duplicates++;
+                return false;
+            }
+            bloomFalsePositives++;
+        }
+
+        if (current.size >= capacity) {
+            earlyRotations++;
+            rotate(now);
+        }
+        current.add(h1, h2, fingerprint);
+        accepted++;
+        return true;
+    }
+
+    /**
+     * releases a request ID claimed by {@link #markSeen} whose mutation failed or did not
+     * apply, so a retry is accepted. its Bloom bits stay set, which only costs the retry
+     * an exact check.
+     *
+     * @param requestID client request ID; null is ignored.
+     */
+    public synchronized void forget(String requestID) {
+        if (requestID == null || current == null) {
+            return;
+        }
+        hash(requestID);
+        if (current.remove(fingerprint) || previous.remove(fingerprint)) {
+            accepted--;
+        }
+    }
+
+    // ======= Statistics =======
+
+    /**
+     * returns the number of request IDs accepted as new.
+     */
+    public synchronized long getAcceptedCount() {
+        return accepted;
+    }
+
+    /**
+     * returns the number of requests dropped as duplicates.
+     */
+    public synchronized long getDuplicateCount() {
+        return duplicates;
+    }
+
+    /**
+     * returns the number of new IDs that passed a Bloom filter and needed an exact check.
+     */
+    public synchronized long getBloomFalsePositiveCount() {
+        return bloomFalsePositives;
+    }
+
+    /**
+     * returns the number of generation rotations.
+     */
+    public synchronized long getRotationCount() {
+        return rotations;
+    }
+
+    /**
+     * returns the number of rotations forced because a generation reached capacity
+     * before its window ended; a growing count means capacity is too small for the traffic.
+     */
+    public synchronized long getEarlyRotationCount() {
+        return earlyRotations;
+    }
+
+    // ======= Helpers =======
+
+    /**
+     * computes two independent 64-bit hashes of the ID in one pass, and its fingerprint.
+     */
+    private void hash(String requestID) {
+        long a = 0xcbf29ce484222325L;
+        long b = 0x9E3779B97F4A7C15L;
+        for (int i = 0; i < requestID.length(); i++) {
+            char c = requestID.charAt(i);
+            a = (a ^ c) * 0x100000001b3L;
+            b = (b + c) * 0xc6a4a7935bd1e995L;
+        }
+        h1 = mix(a);
+        h2 = mix(b) | 1;   // odd, so Bloom probes do not repeat
+        fingerprint = (h1 ^ Long.rotateLeft(h2, 29)) | 1;   // never 0, the empty marker
+    }
+
+    private void rotate(long now) {
+        Generation recycled = previous;
+        previous = current;
+        recycled.reset(now);
+        current = recycled;
+        rotations++;
+    }
+
+    /**
+     * 64-bit finalizer (MurmurHash3 fmix64) spreading the bits of a hash.
+     */
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
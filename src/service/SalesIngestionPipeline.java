@@ -0,0 +1,358 @@
+package service;
+
+import model.SaleEvent;
+import model.UserRole;
+
+import java.util.*;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * ingestion pipeline for point-of-sale events.
+ *
+ * sale events are queued and grouped into micro-batches, closed when either the
+ * batch is full or the oldest event has waited the maximum delay. within a batch
+ * the quantities are summed per item, so each touched item receives one net
+ * quantity update (and therefore one reorder evaluation), and one summary
+ * notification is published per batch instead of one per sale line.
+ *
+ * end-to-end lag (sale timestamp to batch applied) and batch sizes are recorded.
+ * a failing item update only loses that item's sale lines, which are counted; the
+ * rest of the batch is still applied.
+ *
+ * in queue mode each batch is one writer command that republishes every item it
+ * touched, so published quantities (e.g. InventoryRequestServer GET) follow the sales.
+ */
+public class SalesIngestionPipeline implements AutoCloseable {
+    private final Inventory inventory;                       // reference to Inventory
+    private final InventoryCommandQueue commandQueue;        // writer queue, or null to apply directly
+    private final NotificationHandler notificationHandler;   // notification handler instance
+    private final EventLog eventLog;                         // event log instance
+    private final EventLog.RepeatedWarning oversold;         // sales clamped at zero, summarised per interval
+    private final BlockingQueue<SaleEvent> events;           // sale events waiting to be batched
+    private final int maxBatchSize;                          // max events per batch
+    private final long maxBatchDelayNanos;                   // max wait for a batch to fill
+    private final Thread batcher;                            // background batching thread
+    private final ReentrantReadWriteLock acceptLock = new ReentrantReadWriteLock(); // write-held while closing
+    private volatile boolean running = true;                 // cleared on close
+
+    // ======= Metrics (written by the batcher thread only) =======
+    private volatile long eventsApplied;
+    private volatile long batchesApplied;
+    private volatile int lastBatchSize;
+    private volatile int maxBatchSizeSeen;
+    private volatile long lastBatchLagMillis;
+    private volatile long maxLagMillis;
+    private volatile long totalLagMillis;
+    private volatile long unknownItems;
+    private volatile long failedSales;
+
+    /**
+     * constructor creates a pipeline that applies batches directly to the Inventory
+     * from its own thread, as relative adjustments under the items' locks.
+     *
+     * @param inventory          Reference to Inventory instance.
+     * @param maxBatchSize       maximum number of sale events per batch.
+     * @param maxBatchDelayMillis maximum time to wait for a batch to fill.
+     */
+    public SalesIngestionPipeline(Inventory inventory, int maxBatchSize, long maxBatchDelayMillis) {
+        this(inventory, null, maxBatchSize, maxBatchDelayMillis);
+    }
+
+    /**
+     * constructor creates a pipeline that submits each batch to the single-writer queue
+     * as one command, so it can run alongside other mutations.
+     *
+     * @param commandQueue        queue whose writer applies the batches.
+     * @param maxBatchSize        maximum number of sale events per batch.
+     * @param maxBatchDelayMillis maximum time to wait for a batch to fill.
+     */
+    public SalesIngestionPipeline(InventoryCommandQueue commandQueue, int maxBatchSize, long maxBatchDelayMillis) {
+        this(Inventory.getInstance(), commandQueue, maxBatchSize, maxBatchDelayMillis);
+    }
+
+    private SalesIngestionPipeline(Inventory inventory, InventoryCommandQueue commandQueue, int maxBatchSize, long maxBatchDelayMillis) {
+        this.inventory = inventory;
+        this.commandQueue = commandQueue;
+        this.notificationHandler = NotificationHandler.getInstance();
+        this.eventLog = EventLog.getInstance();
+        this.oversold = eventLog.repeatedWarning("sales item updates clamped at zero stock", 10_000);
+        this.events = new LinkedBlockingQueue<>();
+        this.maxBatchSize = maxBatchSize;
+        this.maxBatchDelayNanos = TimeUnit.MILLISECONDS.toNanos(maxBatchDelayMillis);
+        this.batcher = new Thread(this::runBatcher, "sales-ingestion");
+        this.batcher.setDaemon(true);
+        this.batcher.start();
+    }
+
+    /**
+     * accepts a sale event for the next batch.
+     *
+     * @param event the sale event.
+     * @return true if accepted, false if the pipeline is closed.
+     */
+    public boolean accept(SaleEvent event) {
+        acceptLock.readLock().lock();
+        try {
+            return running && events.offer(event);
+        } finally {
+            acceptLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * accepts a sale of the given item, timestamped now.
+     *
+     * @param itemName Name of the item sold.
+     * @param quantity Quantity consumed.
+     * @return true if accepted, false if the pipeline is closed.
+     */
+    public boolean accept(String itemName, int quantity) {
+        return accept(new SaleEvent(itemName, quantity, System.currentTimeMillis()));
+    }
+
+    /**
+     * stops accepting events and waits until every queued event has been applied, then
+     * writes any oversold warnings not yet summarised.
+     * the closed flag is set while no accept is in progress, so every event accepted
+     * before it is queued by the time the batcher drains the queue for the last time.
+     */
+    @Override
+    public void close() {
+        acceptLock.writeLock().lock();
+        try {
+            running = false;
+        } finally {
+            acceptLock.writeLock().unlock();
+        }
+        try {
+            batcher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        oversold.flush();
+    }
+
+    // ======= Metrics =======
+
+    /**
+     * returns the number of sale events in the batches applied so far, including
+     * any counted by {@link #getFailedSales()}.
+     */
+    public long getEventsApplied() {
+        return eventsApplied;
+    }
+
+    /**
+     * returns the number of batches applied so far.
+     */
+    public long getBatchesApplied() {
+        return batchesApplied;
+    }
+
+    /**
+     * returns the number of sale events in the most recent batch.
+     */
+    public int getLastBatchSize() {
+        return lastBatchSize;
+    }
+
+    /**
+     * returns the largest batch applied so far.
+     */
+    public int getMaxBatchSize() {
+        return maxBatchSizeSeen;
+    }
+
+    /**
+     * returns the average number of sale events per batch.
+     */
+    public double getAverageBatchSize() {
+        long batches = batchesApplied;
+        return batches == 0 ? 0 : (double) eventsApplied / batches;
+    }
+
+    /**
+     * returns the lag of the oldest event in the most recent batch, in milliseconds.
+     */
+    public long getLastBatchLagMillis() {
+        return lastBatchLagMillis;
+    }
+
+    /**
+     * returns the largest event lag observed so far, in milliseconds.
+     */
+    public long getMaxLagMillis() {
+        return maxLagMillis;
+    }
+
+    /**
+     * returns the average end-to-end lag per event, in milliseconds.
+     */
+    public double getAverageLagMillis() {
+        long applied = eventsApplied;
+        return applied == 0 ? 0 : (double) totalLagMillis / applied;
+    }
+
+    /**
+     * returns the number of per-item batch updates skipped because the item is not in the inventory.
+     */
+    public long getUnknownItems() {
+        return unknownItems;
+    }
+
+    /**
+     * returns the number of per-item batch updates that sold more than the stock and were clamped at zero.
+     */
+    public long getOversoldUpdates() {
+        return oversold.getTotal();
+    }
+
+    /**
+     * returns the number of sale events lost because their item update, or the whole batch, failed.
+     */
+    public long getFailedSales() {
+        return failedSales;
+    }
+
+    /**
+     * returns the number of sale events waiting to be batched.
+     */
+    public int getQueuedEvents() {
+        return events.size();
+    }
+
+    // ======= Batching =======
+
+    /**
+     * batcher loop: wait for a first event, fill the batch until it is full or the
+     * delay expires, then apply it.
+     */
+    private void runBatcher() {
+        List<SaleEvent> batch = new ArrayList<>(maxBatchSize);
+        while (running || !events.isEmpty()) {
+            try {
+                SaleEvent first = events.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + maxBatchDelayNanos;
+                while (batch.size() < maxBatchSize) {
+                    events.drainTo(batch, maxBatchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= maxBatchSize || remaining <= 0) {
+                        break;
+                    }
+                    SaleEvent next = events.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                applyBatch(batch);
+            } catch (InterruptedException e) {
+                return;
+            } catch (RuntimeException e) {
+                // the batch never reached applyDeltas (e.g. the command queue was shut down)
+                int lost = batch.size();
+                failedSales += lost;
+                eventLog.warn(() -> "Sales batch failed, " + lost + " sale lines lost: " + e);
+            }
+            batch.clear();
+        }
+    }
+
+    /**
+     * aggregates a batch into one net delta per item and applies it.
+     *
+     * @param batch sale events in arrival order.
+     */
+    private void applyBatch(List<SaleEvent> batch) {
+        Map<String, Integer> deltas = new LinkedHashMap<>();
+        Map<String, Integer> lines = new HashMap<>();
+        long oldest = Long.MAX_VALUE;
+        long timestampSum = 0;
+        for (SaleEvent event : batch) {
+            deltas.merge(event.getItemName(), event.getQuantity(), Integer::sum);
+            lines.merge(event.getItemName(), 1, Integer::sum);
+            oldest = Math.min(oldest, event.getTimestamp());
+            timestampSum += event.getTimestamp();
+        }
+
+        BatchOutcome outcome;
+        if (commandQueue == null) {
+            outcome = applyDeltas(deltas, lines, batch.size());
+        } else {
+            outcome = commandQueue.submitAll(deltas.keySet(), inv -> applyDeltas(deltas, lines, batch.size())).join();
+        }
+
+        long now = System.currentTimeMillis();
+        int size = batch.size();
+        long lag = now - oldest;
+        eventsApplied += size;
+        batchesApplied++;
+        lastBatchSize = size;
+        maxBatchSizeSeen = Math.max(maxBatchSizeSeen, size);
+        lastBatchLagMillis = lag;
+        maxLagMillis = Math.max(maxLagMillis, lag);
+        totalLagMillis += now * size - timestampSum;
+        unknownItems += outcome.unknown;
+        failedSales += outcome.failedLines;
+    }
+
+    /**
+     * applies one net quantity update per item, then publishes one batch notification.
+     * runs on the thread that owns Inventory mutations. an item whose update throws
+     * is skipped, so the other items of the batch are neither lost nor applied twice.
+     *
+     * @param deltas    net quantity sold per item.
+     * @param lines     number of sale lines per item.
+     * @param saleLines number of sale lines in the batch.
+     * @return the unknown items and failed sale lines of the batch.
+     */
+    private BatchOutcome applyDeltas(Map<String, Integer> deltas, Map<String, Integer> lines, int saleLines) {
+        BatchOutcome outcome = new BatchOutcome();
+        int failedItems = 0;
+        for (Map.Entry<String, Integer> delta : deltas.entrySet()) {
+            if (delta.getValue() == 0) {
+                if (inventory.findItemByName(delta.getKey()) == null) {
+                    outcome.unknown++;
+                }
+                continue;
+            }
+            int previousQuantity;
+            try {
+                // one update per item: this is also the one reorder evaluation for the item
+                previousQuantity = inventory.adjustQuantity(delta.getKey(), -delta.getValue());
+            } catch (RuntimeException e) {
+                int lost = lines.get(delta.getKey());
+                outcome.failedLines += lost;
+                failedItems++;
+                eventLog.warn(() -> "Sales update failed for " + delta.getKey() + ", " + lost + " sale lines lost: " + e);
+                continue;
+            }
+            if (previousQuantity < 0) {
+                outcome.unknown++;
+                continue;
+            }
+            long shortfall = (long) delta.getValue() - previousQuantity;
+            if (shortfall > 0) {
+                oversold.record(() -> "Sales exceed stock for " + delta.getKey() + ", clamping to 0 (short by " + shortfall + ")");
+            }
+        }
+        notificationHandler.notifyUserRole("Sales batch applied: " + saleLines + " sale lines across " +
+                (deltas.size() - outcome.unknown - failedItems) + " items", UserRole.INVENTORY_MANAGER);
+        return outcome;
+    }
+
+    /**
+     * per-batch counts returned from the thread that applied the batch.
+     */
+    private static final class BatchOutcome {
+        private int unknown;        // items in the batch that do not exist in the inventory
+        private int failedLines;    // sale lines of items whose update threw
+    }
+}
@@ -0,0 +1,373 @@
+package service;
+
+import java.util.*;
+
+/**
+ * in-memory search index over names (item names, supplier names).
+ *
+ * names are split into lower-case tokens. a sorted token map answers exact and
+ * prefix lookups, and a trigram index over the distinct tokens narrows typo-tolerant
+ * lookups down to a handful of candidates before edit distance is checked.
+ * the index is updated incrementally as names are added and removed, so queries never
+ * scan the catalogue.
+ *
+ * each token's postings are kept shortest name first, the order in which results of
+ * equal score are ranked. a query reads the postings of its most selective word only,
+ * best match tier (exact, prefix, fuzzy) first, and stops as soon as no further name
+ * can enter the top results.
+ */
+public class SearchIndex {
+    private static final int EXACT_SCORE = 3;      // token matched exactly
+    private static final int PREFIX_SCORE = 2;     // token matched as a prefix
+    private static final int FUZZY_SCORE = 1;      // token matched within edit distance
+    private static final int MAX_EXPANSIONS = 256; // max index tokens a single query token may expand to
+
+    private static final Comparator<String> NAME_ORDER =
+            Comparator.comparingInt(String::length).thenComparing(Comparator.naturalOrder());
+
+    private final TreeMap<String, TreeSet<String>> postings = new TreeMap<>(); // token -> names containing it, in NAME_ORDER
+    private final Map<String, Set<String>> trigrams = new HashMap<>();         // trigram -> tokens containing it
+    private final Map<String, Integer> indexed = new HashMap<>();              // name -> times added and not yet removed
+
+    /**
+     * adds a name to the index. a name added more than once (e.g. a supplier shared
+     * by several items) stays indexed until it has been removed as many times.
+     *
+     * @param name Name to index.
+     */
+    public synchronized void add(String name) {
+        if (name == null || indexed.merge(name, 1, Integer::sum) > 1) {
+            return;
+        }
+        for (String token : tokenize(name)) {
+            TreeSet<String> names = postings.get(token);
+            if (names == null) {
+                names = new TreeSet<>(NAME_ORDER);
+                postings.put(token, names);
+                for (String gram : trigramsOf(token)) {
+                    trigrams.computeIfAbsent(gram, k -> new HashSet<>()).add(token);
+                }
+            }
+            names.add(name);
+        }
+    }
+
+    /**
+     * removes a name from the index once it has been removed as many times as it was added.
+     * tokens no longer used by any name are dropped from the token and trigram maps.
+     *
+     * @param name Name to remove.
+     */
+    public synchronized void remove(String name) {
+        Integer count = (name == null) ? null : indexed.get(name);
+        if (count == null) {
+            return;
+        }
+        if (count > 1) {
+            indexed.put(name, count - 1);
+            return;
+        }
+        indexed.remove(name);
+        for (String token : tokenize(name)) {
+            TreeSet<String> names = postings.get(token);
+            if (names == null || !names.remove(name) || !names.isEmpty()) {
+                continue;
+            }
+            postings.remove(token);
+            for (String gram : trigramsOf(token)) {
+                Set<String> tokens = trigrams.get(gram);
+                if (tokens != null && tokens.remove(token) && tokens.isEmpty()) {
+                    trigrams.remove(gram);
+                }
+            }
+        }
+    }
+
+    /**
+     * removes every name from the index.
+     */
+    public synchronized void clear() {
+        postings.clear();
+        trigrams.clear();
+        indexed.clear();
+    }
+
+    /**
+     * searches the index with a free-text query such as "hp lap".
+     *
+     * every query token must match a token of the name, either exactly, as a prefix,
+     * or within a small edit distance (case-insensitive). results are ranked by
+     * match quality, then by shorter name.
+     *
+     * candidates are read from the postings of the query token with the fewest matching
+     * names, best tier first; the other query tokens are checked against each candidate's
+     * own tokens. reading stops once no remaining candidate can enter the top limit.
+     *
+     * @param query Free-text query.
+     * @param limit Maximum number of results to return.
+     * @return List of matching names, best match first.
+     */
+    public synchronized List<String> search(String query, int limit) {
+        List<String> tokens = tokenize(query);
+        if (tokens.isEmpty() || limit <= 0) {
+            return Collections.emptyList();
+        }
+
+        // the index tokens each query token matches; a lone token's typo tier is only
+        // looked up if the exact and prefix tiers leave room in the results
+        boolean single = tokens.size() == 1;
+        List<Map<String, Integer>> matches = new ArrayList<>(tokens.size());
+        int driver = 0;
+        long driverNames = Long.MAX_VALUE;
+        for (int i = 0; i < tokens.size(); i++) {
+            Map<String, Integer> matched = matchToken(tokens.get(i), !single);
+            if (matched.isEmpty() && !single) {
+                return Collections.emptyList();
+            }
+            long names = 0;
+            for (String token : matched.keySet()) {
+                names += postings.get(token).size();
+            }
+            if (names < driverNames) {
+                driver = i;
+                driverNames = names;
+            }
+            matches.add(matched);
+        }
+
+        Comparator<Map.Entry<String, Integer>> ranking = Map.Entry.<String, Integer>comparingByValue()
+                .reversed()
+                .thenComparingInt(e -> e.getKey().length())
+                .thenComparing(Map.Entry::getKey);
+        PriorityQueue<Map.Entry<String, Integer>> top = new PriorityQueue<>(ranking.reversed());
+        Set<String> seen = new HashSet<>();
+        Map<String, Integer> driverTokens = matches.get(driver);
+        collect(new ArrayList<>(driverTokens.entrySet()), matches, tokens.size(), limit, ranking, top, seen);
+        if (single && top.size() < limit) {
+            Map<String, Integer> fuzzy = matchFuzzy(tokens.get(0));
+            driverTokens.putAll(fuzzy);
+            collect(new ArrayList<>(fuzzy.entrySet()), matches, 1, limit, ranking, top, seen);
+        }
+
+        List<Map.Entry<String, Integer>> ranked = new ArrayList<>(top);
+        ranked.sort(ranking);
+        List<String> results = new ArrayList<>(ranked.size());
+        for (Map.Entry<String, Integer> entry : ranked) {
+            results.add(entry.getKey());
+        }
+        return results;
+    }
+
+    /**
+     * scores the names in the postings of the driving query token's matches, keeping the
+     * top limit in a bounded heap.
+     *
+     * the matches are visited best score first and each posting in NAME_ORDER. a name can
+     * score at most its match's score plus an exact match for every other query token, so
+     * a posting is left once that bound cannot beat the worst kept result, and the scan
+     * ends once no later match can.
+     *
+     * @param driverTokens index tokens matched by the driving query token, best first.
+     * @param matches      index tokens matched by each query token, with their scores.
+     * @param queryTokens  number of query tokens.
+     */
+    private void collect(List<Map.Entry<String, Integer>> driverTokens, List<Map<String, Integer>> matches,
+                         int queryTokens, int limit, Comparator<Map.Entry<String, Integer>> ranking,
+                         PriorityQueue<Map.Entry<String, Integer>> top, Set<String> seen) {
+        int bonus = EXACT_SCORE * (queryTokens - 1);
+        for (Map.Entry<String, Integer> match : driverTokens) {
+            int bound = match.getValue() + bonus;
+            if (top.size() == limit && top.peek().getValue() > bound) {
+                return;
+            }
+            for (String name : postings.get(match.getKey())) {
+                if (top.size() == limit && ranking.compare(top.peek(), Map.entry(name, bound)) <= 0) {
+                    break; // later names in this posting are longer or sort after it
+                }
+                if (!seen.add(name)) {
+                    continue;
+                }
+                int score = scoreOf(name, matches);
+                if (score > 0) {
+                    top.add(Map.entry(name, score));
+                    if (top.size() > limit) {
+                        top.poll();
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * returns a name's score: the sum over query tokens of the best score any of the
+     * name's tokens gets, or 0 if some query token matches none of them.
+     */
+    private static int scoreOf(String name, List<Map<String, Integer>> matches) {
+        List<String> nameTokens = tokenize(name);
+        int total = 0;
+        for (Map<String, Integer> matched : matches) {
+            int best = 0;
+            for (String token : nameTokens) {
+                best = Math.max(best, matched.getOrDefault(token, 0));
+            }
+            if (best == 0) {
+                return 0;
+            }
+            total += best;
+        }
+        return total;
+    }
+
+    /**
+     * returns the index tokens a query token matches, with their scores, best tier first:
+     * the exact token, then prefix expansions, then (if requested) typo-tolerant matches.
+     *
+     * @param token        Lower-case query token.
+     * @param includeFuzzy true to include the typo-tolerant tier.
+     * @return Map of index token to score, in tier order.
+     */
+    private Map<String, Integer> matchToken(String token, boolean includeFuzzy) {
+        Map<String, Integer> matched = new LinkedHashMap<>();
+        if (postings.containsKey(token)) {
+            matched.put(token, EXACT_SCORE);
+        }
+        int expansions = 0;
+        for (String expansion : postings.subMap(token, false, token + Character.MAX_VALUE, false).keySet()) {
+            matched.put(expansion, PREFIX_SCORE);
+            if (++expansions >= MAX_EXPANSIONS) {
+                break;
+            }
+        }
+        if (includeFuzzy) {
+            matched.putAll(matchFuzzy(token));
+        }
+        return matched;
+    }
+
+    /**
+     * returns the index tokens within the typo tolerance of a query token that are neither
+     * equal to it nor extend it: trigram candidates, verified by bounded edit distance.
+     *
+     * each edit changes at most three of a token's trigrams and an adjacent transposition
+     * at most four, so a candidate must share at least length - 4 * maxEdits of them.
+     *
+     * @param token Lower-case query token.
+     * @return Map of index token to FUZZY_SCORE.
+     */
+    private Map<String, Integer> matchFuzzy(String token) {
+        Map<String, Integer> matched = new LinkedHashMap<>();
+        int maxEdits = maxEdits(token);
+        if (maxEdits == 0) {
+            return matched;
+        }
+        Map<String, Integer> shared = new HashMap<>();
+        for (String gram : trigramsOf(token)) {
+            Set<String> candidates = trigrams.get(gram);
+            if (candidates != null) {
+                for (String candidate : candidates) {
+                    shared.merge(candidate, 1, Integer::sum);
+                }
+            }
+        }
+        int minShared = Math.max(0, token.length() - 4 * maxEdits);
+        for (Map.Entry<String, Integer> entry : shared.entrySet()) {
+            String candidate = entry.getKey();
+            if (entry.getValue() < minShared || Math.abs(candidate.length() - token.length()) > maxEdits
+                    || candidate.startsWith(token)) {
+                continue;
+            }
+            if (editDistance(token, candidate, maxEdits) <= maxEdits) {
+                matched.put(candidate, FUZZY_SCORE);
+                if (matched.size() >= MAX_EXPANSIONS) {
+                    break;
+                }
+            }
+        }
+        return matched;
+    }
+
+    /**
+     * returns the number of typos tolerated for a token of the given length.
+     */
+    private static int maxEdits(String token) {
+        if (token.length() <= 3) {
+            return 0;
+        }
+        return token.length() <= 6 ? 1 : 2;
+    }
+
+    /**
+     * splits text into lower-case alphanumeric tokens.
+     *
+     * @param text Text to tokenize.
+     * @return List of tokens.
+     */
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        StringBuilder current = new StringBuilder();
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                current.append(Character.toLowerCase(c));
+            } else if (current.length() > 0) {
+                tokens.add(current.toString());
+                current.setLength(0);
+            }
+        }
+        if (current.length() > 0) {
+            tokens.add(current.toString());
+        }
+        return tokens;
+    }
+
+    /**
+     * returns the trigrams of a token padded with boundary markers.
+     */
+    private static List<String> trigramsOf(String token) {
+        String padded = "$" + token + "$";
+        List<String> grams = new ArrayList<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            grams.add(padded.substring(i, i + 3));
+        }
+        return grams;
+    }
+
+    /**
+     * computes the edit distance between two strings (insertions, deletions,
+     * substitutions and adjacent transpositions), giving up once it exceeds the limit.
+     *
+     * @return the edit distance, or {@code limit + 1} if it exceeds the limit.
+     */
+    private static int editDistance(String a, String b, int limit) {
+        int[] previous2 = new int[b.length() + 1];
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                int value = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    value = Math.min(value, previous2[j - 2] + 1);
+                }
+                current[j] = value;
+                rowMin = Math.min(rowMin, value);
+            }
+            if (rowMin > limit) {
+                return limit + 1;
+            }
+            int[] recycled = previous2;
+            previous2 = previous;
+            previous = current;
+            current = recycled;
+        }
+        return previous[b.length()];
+    }
+}
@@ -0,0 +1,496 @@
+package service;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * embedded time-series store of every stock quantity change per item.
+ *
+ * raw changes are appended to per-item chunks, compressed with delta-of-delta
+ * timestamps and delta-encoded quantities written as zig-zag varints, so a steady
+ * stream of changes costs a few bytes per sample. hourly and daily rollups
+ * (open, min, max, close) are maintained as samples arrive.
+ *
+ * memory stays bounded through tiered retention: raw chunks are kept for a short
+ * window, hourly rollups for longer and daily rollups for longest. retention is
+ * enforced for an item whenever a sample arrives and its oldest data has expired,
+ * and for every item, including those that stopped changing, the first time a
+ * sample crosses into a new hour. a removed item's history is dropped with it. point-in-time queries use the
+ * finest tier still covering the requested time.
+ */
+public class StockHistory {
+    public static final long HOUR = TimeUnit.HOURS.toMillis(1);
+    public static final long DAY = TimeUnit.DAYS.toMillis(1);
+
+    private static final int MAX_CHUNK_SAMPLES = 1024;   // samples per chunk before it is sealed
+    private static final int INITIAL_CHUNK_BYTES = 64;
+
+    private final Map<String, Series> series = new HashMap<>();   // item name -> history
+    private final long rawRetention;       // how long raw samples are kept
+    private final long hourlyRetention;    // how long hourly rollups are kept
+    private final long dailyRetention;     // how long daily rollups are kept
+    private long nextSweep = Long.MIN_VALUE;   // start of the hour after the last retention run over every item
+
+    /**
+     * a single recorded quantity change.
+     */
+    public static final class Sample {
+        private final long timestamp;
+        private final int quantity;
+
+        private Sample(long timestamp, int quantity) {
+            this.timestamp = timestamp;
+            this.quantity = quantity;
+        }
+
+        /**
+         * returns the time of the change in epoch milliseconds.
+         */
+        public long getTimestamp() {
+            return timestamp;
+        }
+
+        /**
+         * returns the quantity after the change.
+         */
+        public int getQuantity() {
+            return quantity;
+        }
+    }
+
+    /**
+     * open/min/max/close summary of the changes within one hour or day.
+     */
+    public static final class Rollup {
+        private final long start;
+        private final int open;
+        private int min;
+        private int max;
+        private int close;
+        private long closeTime;   // time of the change that set the close
+        private int changes;
+
+        private Rollup(long start, int quantity) {
+            this.start = start;
+            this.open = quantity;
+            this.min = quantity;
+            this.max = quantity;
+            this.close = quantity;
+        }
+
+        private void add(int quantity, long timestamp) {
+            min = Math.min(min, quantity);
+            max = Math.max(max, quantity);
+            close = quantity;
+            closeTime = timestamp;
+            changes++;
+        }
+
+        /**
+         * returns the start of the period in epoch milliseconds.
+         */
+        public long getStart() {
+            return start;
+        }
+
+        /**
+         * returns the first quantity recorded in the period.
+         */
+        public int getOpen() {
+            return open;
+        }
+
+        /**
+         * returns the lowest quantity recorded in the period.
+         */
+        public int getMin() {
+            return min;
+        }
+
+        /**
+         * returns the highest quantity recorded in the period.
+         */
+        public int getMax() {
+            return max;
+        }
+
+        /**
+         * returns the last quantity recorded in the period.
+         */
+        public int getClose() {
+            return close;
+        }
+
+        /**
+         * returns the number of changes recorded in the period.
+         */
+        public int getChanges() {
+            return changes;
+        }
+    }
+
+    /**
+     * constructor with the default retention: raw samples for 7 days,
+     * hourly rollups for 90 days and daily rollups for 2 years.
+     */
+    public StockHistory() {
+        this(7 * DAY, 90 * DAY, 730 * DAY);
+    }
+
+    /**
+     * constructor with explicit retention per tier.
+     *
+     * @param rawRetention    how long raw samples are kept, in milliseconds.
+     * @param hourlyRetention how long hourly rollups are kept, in milliseconds.
+     * @param dailyRetention  how long daily rollups are kept, in milliseconds.
+     */
+    public StockHistory(long rawRetention, long hourlyRetention, long dailyRetention) {
+        this.rawRetention = rawRetention;
+        this.hourlyRetention = hourlyRetention;
+        this.dailyRetention = dailyRetention;
+    }
+
+    // ======= Recording =======
+
+    /**
+     * records an item's quantity at the given time, then drops the item's data that
+     * has outlived its tier's retention. the first sample of a new hour runs retention
+     * over every item, so memory stays bounded without calls to enforceRetention.
+     * timestamps earlier than the item's last sample are treated as simultaneous with it.
+     *
+     * @param itemName  Name of the item.
+     * @param quantity  Quantity after the change.
+     * @param timestamp Time of the change in epoch milliseconds.
+     */
+    public synchronized void record(String itemName, int quantity, long timestamp) {
+        Series history = series.computeIfAbsent(itemName, k -> new Series());
+        Chunk active = history.chunks.isEmpty() ? null : history.chunks.get(history.chunks.size() - 1);
+        if (active != null) {
+            timestamp = Math.max(timestamp, active.lastTime);
+        }
+        if (active == null || active.count >= MAX_CHUNK_SAMPLES) {
+            if (active != null) {
+                active.seal();
+            }
+            active = new Chunk();
+            history.chunks.add(active);
+        }
+        active.append(timestamp, quantity);
+        rollUp(history.hourly, timestamp - Math.floorMod(timestamp, HOUR), quantity, timestamp);
+        rollUp(history.daily, timestamp - Math.floorMod(timestamp, DAY), quantity, timestamp);
+        if (timestamp >= nextSweep) {
+            // amortised: one pass over all items per hour of recorded time
+            enforceRetention(timestamp);
+            nextSweep = timestamp - Math.floorMod(timestamp, HOUR) + HOUR;
+        } else if (hasExpired(history, timestamp)) {
+            enforceRetention(history, timestamp);
+        }
+    }
+
+    /**
+     * drops the history of an item, e.g. when the item is removed from the inventory.
+     *
+     * @param itemName Name of the item.
+     */
+    public synchronized void remove(String itemName) {
+        series.remove(itemName);
+    }
+
+    /**
+     * drops the history of every item.
+     */
+    public synchronized void clear() {
+        series.clear();
+        nextSweep = Long.MIN_VALUE;
+    }
+
+    // ======= Queries =======
+
+    /**
+     * returns the quantity an item held at a point in time, using raw samples where
+     * still retained. otherwise the close of the latest hourly, then daily, rollup
+     * whose close was recorded at or before that time is used, so the answer is
+     * always a quantity the item held at or before it.
+     *
+     * @param itemName  Name of the item.
+     * @param timestamp Time in epoch milliseconds.
+     * @return quantity at that time, or null if nothing is recorded up to that time.
+     */
+    public synchronized Integer quantityAt(String itemName, long timestamp) {
+        Series history = series.get(itemName);
+        if (history == null) {
+            return null;
+        }
+        List<Chunk> chunks = history.chunks;
+        if (!chunks.isEmpty() && chunks.get(0).startTime <= timestamp) {
+            // binary search for the last chunk starting at or before the timestamp
+            int low = 0;
+            int high = chunks.size() - 1;
+            while (low < high) {
+                int mid = (low + high + 1) >>> 1;
+                if (chunks.get(mid).startTime <= timestamp) {
+                    low = mid;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            return chunks.get(low).quantityAt(timestamp);
+        }
+        // raw samples no longer cover this time: use the last close recorded at or before it
+        Integer hourly = closeAtOrBefore(history.hourly, timestamp);
+        return (hourly != null) ? hourly : closeAtOrBefore(history.daily, timestamp);
+    }
+
+    private static Integer closeAtOrBefore(TreeMap<Long, Rollup> rollups, long timestamp) {
+        Map.Entry<Long, Rollup> period = rollups.floorEntry(timestamp);
+        if (period != null && period.getValue().closeTime > timestamp) {
+            // the enclosing period closed later; its earlier changes have no retained times
+            period = rollups.lowerEntry(period.getKey());
+        }
+        return (period != null) ? period.getValue().close : null;
+    }
+
+    /**
+     * returns the raw samples recorded for an item within a time range (inclusive).
+     *
+     * @param itemName Name of the item.
+     * @param from     Start of the range in epoch milliseconds.
+     * @param to       End of the range in epoch milliseconds.
+     * @return List of samples in time order.
+     */
+    public synchronized List<Sample> range(String itemName, long from, long to) {
+        List<Sample> samples = new ArrayList<>();
+        Series history = series.get(itemName);
+        if (history == null) {
+            return samples;
+        }
+        for (Chunk chunk : history.chunks) {
+            if (chunk.lastTime >= from && chunk.startTime <= to) {
+                chunk.collect(from, to, samples);
+            }
+        }
+        return samples;
+    }
+
+    /**
+     * returns the hourly rollups for an item within a time range.
+     *
+     * @param itemName Name of the item.
+     * @param from     Start of the range in epoch milliseconds.
+     * @param to       End of the range in epoch milliseconds.
+     * @return List of rollups in time order (hours without changes are omitted).
+     */
+    public synchronized List<Rollup> hourly(String itemName, long from, long to) {
+        Series history = series.get(itemName);
+        return history == null ? new ArrayList<>() : new ArrayList<>(history.hourly.subMap(from - Math.floorMod(from, HOUR), true, to, true).values());
+    }
+
+    /**
+     * returns the daily rollups for an item within a time range, e.g. for a 90-day trend.
+     *
+     * @param itemName Name of the item.
+     * @param from     Start of the range in epoch milliseconds.
+     * @param to       End of the range in epoch milliseconds.
+     * @return List of rollups in time order (days without changes are omitted).
+     */
+    public synchronized List<Rollup> daily(String itemName, long from, long to) {
+        Series history = series.get(itemName);
+        return history == null ? new ArrayList<>() : new ArrayList<>(history.daily.subMap(from - Math.floorMod(from, DAY), true, to, true).values());
+    }
+
+    // ======= Retention =======
+
+    /**
+     * drops raw chunks and rollups older than their tier's retention for every item.
+     * this also runs automatically: for an item when it records a sample, and for every
+     * item once per hour of recorded samples.
+     *
+     * @param now Current time in epoch milliseconds.
+     */
+    public synchronized void enforceRetention(long now) {
+        for (Series history : series.values()) {
+            enforceRetention(history, now);
+        }
+    }
+
+    /**
+     * returns the approximate number of bytes held by compressed raw samples.
+     */
+    public synchronized long getRawBytes() {
+        long bytes = 0;
+        for (Series history : series.values()) {
+            for (Chunk chunk : history.chunks) {
+                bytes += chunk.data.length;
+            }
+        }
+        return bytes;
+    }
+
+    private boolean hasExpired(Series history, long now) {
+        return (history.chunks.size() > 1 && history.chunks.get(0).lastTime < now - rawRetention)
+                || history.hourly.firstKey() < now - hourlyRetention
+                || history.daily.firstKey() < now - dailyRetention;
+    }
+
+    private void enforceRetention(Series history, long now) {
+        // keep the newest chunk even if it is old, so the latest quantity is always known
+        while (history.chunks.size() > 1 && history.chunks.get(0).lastTime < now - rawRetention) {
+            history.chunks.remove(0);
+        }
+        history.hourly.headMap(now - hourlyRetention, false).clear();
+        history.daily.headMap(now - dailyRetention, false).clear();
+    }
+
+    private static void rollUp(TreeMap<Long, Rollup> rollups, long periodStart, int quantity, long timestamp) {
+        Rollup rollup = rollups.get(periodStart);
+        if (rollup == null) {
+            rollup = new Rollup(periodStart, quantity);
+            rollups.put(periodStart, rollup);
+        }
+        rollup.add(quantity, timestamp);
+    }
+
+    // ======= Storage =======
+
+    /**
+     * history of a single item.
+     */
+    private static final class Series {
+        private final List<Chunk> chunks = new ArrayList<>();            // raw samples, oldest first
+        private final TreeMap<Long, Rollup> hourly = new TreeMap<>();    // hour start -> rollup
+        private final TreeMap<Long, Rollup> daily = new TreeMap<>();     // day start -> rollup
+    }
+
+    /**
+     * append-only block of compressed samples. the first sample is kept in the header;
+     * each further sample is a zig-zag varint timestamp delta-of-delta followed by a
+     * zig-zag varint quantity delta.
+     */
+    private static final class Chunk {
+        private long startTime;
+        private int startQuantity;
+        private long lastTime;
+        private long lastDelta;
+        private int lastQuantity;
+        private int count;
+        private byte[] data = new byte[INITIAL_CHUNK_BYTES];
+        private int length;
+
+        private void append(long timestamp, int quantity) {
+            if (count == 0) {
+                startTime = timestamp;
+                startQuantity = quantity;
+            } else {
+                long delta = timestamp - lastTime;
+                writeVarint(zigZag(delta - lastDelta));
+                writeVarint(zigZag((long) quantity - lastQuantity));
+                lastDelta = delta;
+            }
+            lastTime = timestamp;
+            lastQuantity = quantity;
+            count++;
+        }
+
+        private void seal() {
+            data = Arrays.copyOf(data, length);
+        }
+
+        private int quantityAt(long timestamp) {
+            if (timestamp >= lastTime) {
+                return lastQuantity;
+            }
+            Cursor cursor = new Cursor(this);
+            while (cursor.hasNext() && cursor.peekTime() <= timestamp) {
+                cursor.next();
+            }
+            return cursor.quantity;
+        }
+
+        private void collect(long from, long to, List<Sample> out) {
+            Cursor cursor = new Cursor(this);
+            while (cursor.time <= to) {
+                if (cursor.time >= from) {
+                    out.add(new Sample(cursor.time, cursor.quantity));
+                }
+                if (!cursor.hasNext()) {
+                    break;
+                }
+                cursor.next();
+            }
+        }
+
+        private void writeVarint(long value) {
+            if (length + 10 > data.length) {
+                data = Arrays.copyOf(data, data.length * 2);
+            }
+            while ((value & ~0x7FL) != 0) {
+                data[length++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            data[length++] = (byte) value;
+        }
+
+        private static long zigZag(long value) {
+            return (value << 1) ^ (value >> 63);
+        }
+    }
+
+    /**
+     * sequential decoder over a chunk, positioned on one sample at a time.
+     * the timestamp delta-of-delta of the next sample is decoded ahead so callers
+     * can stop before moving past a point in time.
+     */
+    private static final class Cursor {
+        private final Chunk chunk;
+        private long time;
+        private int quantity;
+        private long delta;
+        private long nextDelta;
+        private int position;
+        private int index;
+
+        private Cursor(Chunk chunk) {
+            this.chunk = chunk;
+            this.time = chunk.startTime;
+            this.quantity = chunk.startQuantity;
+            if (hasNext()) {
+                nextDelta = delta + unZigZag(readVarint());
+            }
+        }
+
+        private boolean hasNext() {
+            return index + 1 < chunk.count;
+        }
+
+        private long peekTime() {
+            return time + nextDelta;
+        }
+
+        private void next() {
+            delta = nextDelta;
+            time += delta;
+            quantity += (int) unZigZag(readVarint());
+            index++;
+            if (hasNext()) {
+                nextDelta = delta + unZigZag(readVarint());
+            }
+        }
+
+        private long readVarint() {
+            byte[] data = chunk.data;
+            long value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data[position++];
+                value |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            return value;
+        }
+
+        private static long unZigZag(long value) {
+            return (value >>> 1) ^ -(value & 1);
+        }
+    }
+}
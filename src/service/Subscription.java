@@ -0,0 +1,115 @@
+package service;
+
+import model.CategoryType;
+import model.EventKind;
+import model.NotificationEvent;
+
+import java.util.*;
+
+/**
+ * filter for a notification subscription.
+ *
+ * an event matches if, for every filter that has been set, its item, category,
+ * supplier or kind is one of the listed values. unset filters match every event;
+ * an event without an item (e.g. a supplier-level alert) only matches subscriptions
+ * without an item or category filter.
+ *
+ * example: {@code new Subscription().categories(CategoryType.ELECTRONICS).kinds(EventKind.LOW_STOCK)}
+ */
+public class Subscription {
+    private final Set<String> items = new HashSet<>();                              // item names, empty for any
+    private final Set<CategoryType> categories = EnumSet.noneOf(CategoryType.class); // categories, empty for any
+    private final Set<String> suppliers = new HashSet<>();                          // supplier names, empty for any
+    private final Set<EventKind> kinds = EnumSet.noneOf(EventKind.class);           // event kinds, empty for any
+
+    /**
+     * restricts the subscription to events about the given items.
+     */
+    public Subscription items(String... itemNames) {
+        items.addAll(Arrays.asList(itemNames));
+        return this;
+    }
+
+    /**
+     * restricts the subscription to events about items in the given categories.
+     */
+    public Subscription categories(CategoryType... categoryTypes) {
+        categories.addAll(Arrays.asList(categoryTypes));
+        return this;
+    }
+
+    /**
+     * restricts the subscription to events about the given suppliers.
+     */
+    public Subscription suppliers(String... supplierNames) {
+        suppliers.addAll(Arrays.asList(supplierNames));
+        return this;
+    }
+
+    /**
+     * restricts the subscription to the given kinds of event.
+     */
+    public Subscription kinds(EventKind... eventKinds) {
+        kinds.addAll(Arrays.asList(eventKinds));
+        return this;
+    }
+
+    /**
+     * returns whether an event passes every filter that has been set.
+     *
+     * @param event the event to test.
+     * @return true if the subscription should receive the event.
+     */
+    public boolean matches(NotificationEvent event) {
+        return matches(event.getKind(), event.getItemName(), event.getCategory(), event.getSupplier());
+    }
+
+    boolean matches(EventKind kind, String itemName, CategoryType category, String supplier) {
+        return (kinds.isEmpty() || kinds.contains(kind))
+                && (categories.isEmpty() || (category != null && categories.contains(category)))
+                && (suppliers.isEmpty() || (supplier != null && suppliers.contains(supplier)))
+                && (items.isEmpty() || (itemName != null && items.contains(itemName)));
+    }
+
+    /**
+     * returns an independent copy, so a registered filter is not affected by later changes.
+     */
+    Subscription copy() {
+        Subscription copy = new Subscription();
+        copy.items.addAll(items);
+        copy.categories.addAll(categories);
+        copy.suppliers.addAll(suppliers);
+        copy.kinds.addAll(kinds);
+        return copy;
+    }
+
+    // ======= Getters =======
+
+    /**
+     * returns the item names to match, empty for any.
+     */
+    public Set<String> getItems() {
+        return Collections.unmodifiableSet(items);
+    }
+
+    /**
+     * returns the categories to match, empty for any.
+     */
+    public Set<CategoryType> getCategories() {
+        return Collections.unmodifiableSet(categories);
+    }
+
+    /**
+     * returns the supplier names to match, empty for any.
+     */
+    public Set<String> getSuppliers() {
+        return Collections.unmodifiableSet(suppliers);
+    }
+
+    /**
+     * returns the event kinds to match, empty for any.
+     */
+    public Set<EventKind> getKinds() {
+        return Collections.unmodifiableSet(kinds);
+    }
+}
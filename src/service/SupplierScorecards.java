@@ -0,0 +1,338 @@
+package service;
+
+import model.PurchaseOrder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * streaming supplier performance scorecards built from purchase order lifecycle events.
+ *
+ * for every supplier the service keeps, in constant memory:
+ * - a lead-time sketch: a fixed array of logarithmic buckets (each 4% wider than the
+ *   previous, from one minute to two years), giving any quantile within about 2%,
+ * - the quantities ordered and delivered on closed orders, for the fill rate,
+ * - the number of deliveries within the supplier's promised lead time, for the on-time rate.
+ *
+ * events are recorded as orders are created, received or cancelled, and a scorecard
+ * query reads one fixed-size array, so it takes microseconds for any number of orders.
+ *
+ * the scorecards also derive a reorder-point factor per supplier, used by Inventory
+ * when deciding to reorder: once a supplier has {@value #MIN_CLOSED_ORDERS} closed
+ * orders, its threshold is scaled by (90th percentile lead time / promised lead time)
+ * and by 1 / fill rate, each capped, so slow or short-shipping suppliers are reordered
+ * from earlier. reorder points are only ever raised.
+ */
+public class SupplierScorecards {
+    public static final long DEFAULT_PROMISED_LEAD_TIME = 7L * 24 * 60 * 60 * 1000; // 7 days in milliseconds
+    static final int MIN_CLOSED_ORDERS = 5;            // closed orders before reorder points are adjusted
+    private static final double MAX_LEAD_FACTOR = 3.0;
+    private static final double MAX_FILL_FACTOR = 2.0;
+    private static final double MAX_FACTOR = 4.0;
+
+    private static final long MINUTE = 60_000L;
+    private static final double GAMMA = 1.04;                       // bucket growth factor
+    private static final double LOG_GAMMA = Math.log(GAMMA);
+    private static final int BUCKETS = 1 + (int) Math.ceil(Math.log(2 * 365 * 24 * 60) / LOG_GAMMA); // up to two years
+
+    private final Map<String, Scorecard> scorecards = new ConcurrentHashMap<>(); // supplier name -> running state
+
+    /**
+     * running statistics of one supplier.
+     */
+    private static final class Scorecard {
+        private final int[] leadTimeBuckets = new int[BUCKETS];
+        private long promisedLeadTime = DEFAULT_PROMISED_LEAD_TIME;
+        private long deliveries;        // received orders (lead-time samples)
+        private long onTime;            // received within the promised lead time
+        private long cancelled;         // closed without delivery
+        private long openOrders;
+        private long orderedQuantity;   // on closed orders
+        private long receivedQuantity;  // on closed orders
+        private volatile double reorderFactor = 1.0;
+
+        private long quantile(double q) {
+            if (deliveries == 0) {
+                return 0;
+            }
+            long rank = Math.max(1, (long) Math.ceil(q * deliveries));
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += leadTimeBuckets[i];
+                if (seen >= rank) {
+                    // midpoint of the bucket (GAMMA^(i-1), GAMMA^i] minutes, relative error ~2%
+                    return Math.round(2 * Math.pow(GAMMA, i) / (GAMMA + 1) * MINUTE);
+                }
+            }
+            return Math.round(Math.pow(GAMMA, BUCKETS - 1) * MINUTE);
+        }
+
+        private double fillRate() {
+            return orderedQuantity == 0 ? 1.0 : (double) receivedQuantity / orderedQuantity;
+        }
+
+        private void updateReorderFactor() {
+            if (deliveries + cancelled < MIN_CLOSED_ORDERS) {
+                return;
+            }
+            double leadFactor = deliveries == 0 ? MAX_LEAD_FACTOR
+                    : Math.min(MAX_LEAD_FACTOR, Math.max(1.0, (double) quantile(0.9) / promisedLeadTime));
+            double fillFactor = Math.min(MAX_FILL_FACTOR, Math.max(1.0, 1.0 / Math.max(fillRate(), 1e-9)));
+            reorderFactor = Math.min(MAX_FACTOR, leadFactor * fillFactor);
+        }
+    }
+
+    /**
+     * point-in-time view of a supplier's scorecard.
+     */
+    public static final class SupplierScorecard {
+        private final String supplier;
+        private final long deliveries;
+        private final long cancelled;
+        private final long openOrders;
+        private final long medianLeadTime;
+        private final long p90LeadTime;
+        private final long p99LeadTime;
+        private final double fillRate;
+        private final double onTimeRate;
+        private final double reorderFactor;
+
+        private SupplierScorecard(String supplier, Scorecard state) {
+            this.supplier = supplier;
+            this.deliveries = state.deliveries;
+            this.cancelled = state.cancelled;
+            this.openOrders = state.openOrders;
+            this.medianLeadTime = state.quantile(0.5);
+            this.p90LeadTime = state.quantile(0.9);
+            this.p99LeadTime = state.quantile(0.99);
+            this.fillRate = state.fillRate();
+            this.onTimeRate = state.deliveries == 0 ? 1.0 : (double) state.onTime / state.deliveries;
+            this.reorderFactor = state.reorderFactor;
+        }
+
+        /**
+         * returns the supplier name.
+         */
+        public String getSupplier() {
+            return supplier;
+        }
+
+        /**
+         * returns the number of orders received.
+         */
+        public long getDeliveries() {
+            return deliveries;
+        }
+
+        /**
+         * returns the number of orders cancelled without delivery.
+         */
+        public long getCancelled() {
+            return cancelled;
+        }
+
+        /**
+         * returns the number of orders not yet received or cancelled.
+         */
+        public long getOpenOrders() {
+            return openOrders;
+        }
+
+        /**
+         * returns the median lead time in milliseconds (0 without deliveries).
+         */
+        public long getMedianLeadTime() {
+            return medianLeadTime;
+        }
+
+        /**
+         * returns the 90th percentile lead time in milliseconds (0 without deliveries).
+         */
+        public long getP90LeadTime() {
+            return p90LeadTime;
+        }
+
+        /**
+         * returns the 99th percentile lead time in milliseconds (0 without deliveries).
+         */
+        public long getP99LeadTime() {
+            return p99LeadTime;
+        }
+
+        /**
+         * returns delivered / ordered quantity over closed orders (1.0 without closed orders).
+         */
+        public double getFillRate() {
+            return fillRate;
+        }
+
+        /**
+         * returns the share of deliveries within the promised lead time (1.0 without deliveries).
+         */
+        public double getOnTimeRate() {
+            return onTimeRate;
+        }
+
+        /**
+         * returns the factor applied to this supplier's reorder thresholds.
+         */
+        public double getReorderFactor() {
+            return reorderFactor;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s: deliveries=%d, cancelled=%d, open=%d, lead p50=%.1fd p90=%.1fd, fill=%.1f%%, on-time=%.1f%%",
+                    supplier, deliveries, cancelled, openOrders, medianLeadTime / 86_400_000.0, p90LeadTime / 86_400_000.0,
+                    fillRate * 100, onTimeRate * 100);
+        }
+    }
+
+    // ======= Lifecycle Events =======
+
+    /**
+     * records a new purchase order.
+     *
+     * @param order the new PurchaseOrder.
+     */
+    public void onOrderCreated(PurchaseOrder order) {
+        Scorecard state = scorecardOf(order);
+        if (state != null) {
+            synchronized (state) {
+                state.openOrders++;
+            }
+        }
+    }
+
+    /**
+     * records the delivery of a purchase order: its lead time (received date - order
+     * date), whether it was on time and how much of the ordered quantity arrived.
+     *
+     * @param order the PurchaseOrder, with its received date and quantity set.
+     */
+    public void onOrderReceived(PurchaseOrder order) {
+        Scorecard state = scorecardOf(order);
+        if (state == null || order.getReceivedDate() == null) {
+            return;
+        }
+        long leadTime = Math.max(0, order.getReceivedDate().getTime() - order.getOrderDate().getTime());
+        synchronized (state) {
+            state.leadTimeBuckets[bucketOf(leadTime)]++;
+            state.deliveries++;
+            if (leadTime <= state.promisedLeadTime) {
+                state.onTime++;
+            }
+            state.openOrders = Math.max(0, state.openOrders - 1);
+            state.orderedQuantity += order.getQuantity();
+            state.receivedQuantity += Math.min(order.getReceivedQuantity(), order.getQuantity());
+            state.updateReorderFactor();
+        }
+    }
+
+    /**
+     * records a purchase order closed without delivery; it counts as unfilled.
+     *
+     * @param order the cancelled PurchaseOrder.
+     */
+    public void onOrderCancelled(PurchaseOrder order) {
+        Scorecard state = scorecardOf(order);
+        if (state == null) {
+            return;
+        }
+        synchronized (state) {
+            state.cancelled++;
+            state.openOrders = Math.max(0, state.openOrders - 1);
+            state.orderedQuantity += order.getQuantity();
+            state.updateReorderFactor();
+        }
+    }
+
+    /**
+     * sets the lead time a supplier has promised, against which on-time delivery and
+     * the reorder-point factor are measured. applies to deliveries recorded from now on.
+     *
+     * @param supplier         Supplier name.
+     * @param promisedLeadTime Promised lead time in milliseconds.
+     */
+    public void setPromisedLeadTime(String supplier, long promisedLeadTime) {
+        if (promisedLeadTime <= 0) {
+            throw new IllegalArgumentException("Promised lead time must be positive.");
+        }
+        Scorecard state = scorecards.computeIfAbsent(supplier, k -> new Scorecard());
+        synchronized (state) {
+            state.promisedLeadTime = promisedLeadTime;
+            state.updateReorderFactor();
+        }
+    }
+
+    // ======= Queries =======
+
+    /**
+     * returns a supplier's scorecard.
+     *
+     * @param supplier Supplier name.
+     * @return SupplierScorecard, or null if no order for the supplier has been recorded.
+     */
+    public SupplierScorecard getScorecard(String supplier) {
+        Scorecard state = scorecards.get(supplier);
+        if (state == null) {
+            return null;
+        }
+        synchronized (state) {
+            return new SupplierScorecard(supplier, state);
+        }
+    }
+
+    /**
+     * returns the scorecards of every supplier with recorded orders.
+     *
+     * @return List of SupplierScorecard objects.
+     */
+    public List<SupplierScorecard> getAllScorecards() {
+        List<SupplierScorecard> all = new ArrayList<>(scorecards.size());
+        for (String supplier : scorecards.keySet()) {
+            all.add(getScorecard(supplier));
+        }
+        return all;
+    }
+
+    /**
+     * returns the reorder point for an item of a supplier: its reorder threshold scaled
+     * by the supplier's reorder factor and rounded up. lock-free, as it is evaluated on
+     * every stock change.
+     *
+     * @param supplier         Supplier name.
+     * @param reorderThreshold The item's reorder threshold.
+     * @return the reorder point, never below the threshold.
+     */
+    public int reorderPoint(String supplier, int reorderThreshold) {
+        Scorecard state = supplier == null ? null : scorecards.get(supplier);
+        if (state == null || reorderThreshold <= 0) {
+            return reorderThreshold;
+        }
+        double factor = state.reorderFactor;
+        return factor == 1.0 ? reorderThreshold : (int) Math.min(Integer.MAX_VALUE, Math.ceil(reorderThreshold * factor));
+    }
+
+    // ======= Helpers =======
+
+    private Scorecard scorecardOf(PurchaseOrder order) {
+        if (order.getSupplier() == null) {
+            return null;
+        }
+        return scorecards.computeIfAbsent(order.getSupplier().getName(), k -> new Scorecard());
+    }
+
+    /**
+     * returns the sketch bucket of a lead time: bucket i holds (GAMMA^(i-1), GAMMA^i] minutes.
+     */
+    private static int bucketOf(long leadTime) {
+        double minutes = (double) leadTime / MINUTE;
+        if (minutes <= 1.0) {
+            return 0;
+        }
+        return Math.min(BUCKETS - 1, (int) Math.ceil(Math.log(minutes) / LOG_GAMMA));
+    }
+}
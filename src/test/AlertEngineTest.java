@@ -0,0 +1,148 @@
+package test;
+
+import model.CategoryType;
+import model.InventoryItem;
+import model.PurchaseOrder;
+import model.Supplier;
+import model.UserRole;
+import observer.StockObserver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import service.AlertEngine;
+import service.AlertRule;
+import service.DerivedViewCache;
+import service.Inventory;
+import service.NotificationHandler;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * unit Test Class for AlertEngine functionality.
+ *
+ * follows the Given-When-Then testing structure and JUnit 5 framework.
+ *
+ * tests category, per-item and supplier rules and their routing by user role.
+ */
+class AlertEngineTest {
+
+    private final List<String> adminAlerts = new ArrayList<>();
+    private final StockObserver adminObserver = new StockObserver() {
+        @Override
+        public void update(String message) {
+            adminAlerts.add(message);
+        }
+
+        @Override
+        public UserRole getRole() {
+            return UserRole.ADMIN;
+        }
+    };
+
+    private DerivedViewCache viewCache;
+    private AlertEngine alertEngine;
+
+    /**
+     * sets up a fresh AlertEngine over its own view cache and an ADMIN observer capturing alerts.
+     */
+    @BeforeEach
+    void setUp() {
+        viewCache = new DerivedViewCache(Inventory.getInstance());
+        alertEngine = new AlertEngine(viewCache);
+        NotificationHandler.getInstance().addObserver(adminObserver);
+    }
+
+    /**
+     * removes the capturing observer after each test.
+     */
+    @AfterEach
+    void tearDown() {
+        NotificationHandler.getInstance().removeObserver(adminObserver);
+    }
+
+    /**
+     * GIVEN a rule on the stock value of CHEMICALS,
+     * WHEN a chemical's stock drops the category value below the minimum,
+     * THEN a single alert should be sent to the rule's role.
+     */
+    @Test
+    void shouldAlertOnceWhenCategoryValueDropsBelowMinimum() {
+        // Given
+        alertEngine.addRule(AlertRule.categoryValueBelow(CategoryType.CHEMICALS, 500.0, UserRole.ADMIN));
+        InventoryItem acid = new InventoryItem("Acid", 100, 5, 10.0, "ChemCo", CategoryType.CHEMICALS);
+        viewCache.onItemAdded(acid);
+        stockChanged(acid, 0);
+
+        // When
+        acid.setQuantity(40);
+        stockChanged(acid, 100);
+        acid.setQuantity(30);
+        stockChanged(acid, 40);
+
+        // Then
+        assertEquals(1, adminAlerts.size());
+        assertTrue(adminAlerts.get(0).contains("Chemicals"));
+        assertEquals(300.0, alertEngine.getCategoryValue(CategoryType.CHEMICALS), 0.001);
+    }
+
+    /**
+     * GIVEN a rule for MEDICATIONS items under 10% of their max stock,
+     * WHEN one medication falls below that level,
+     * THEN only that item should be alerted.
+     */
+    @Test
+    void shouldAlertOnlyForItemBelowPercentOfMax() {
+        // Given
+        alertEngine.addRule(AlertRule.categoryItemBelowPercentOfMax(CategoryType.MEDICATIONS, 10, UserRole.ADMIN));
+        InventoryItem aspirin = new InventoryItem("Aspirin", 200, 5, 2.0, "PharmaCo", CategoryType.MEDICATIONS);
+        InventoryItem insulin = new InventoryItem("Insulin", 100, 5, 20.0, "PharmaCo", CategoryType.MEDICATIONS);
+        alertEngine.onStockChanged(aspirin, 0);
+        alertEngine.onStockChanged(insulin, 0);
+
+        // When
+        aspirin.setQuantity(15);
+        alertEngine.onStockChanged(aspirin, 200);
+
+        // Then
+        assertEquals(1, adminAlerts.size());
+        assertTrue(adminAlerts.get(0).contains("Aspirin"));
+    }
+
+    /**
+     * GIVEN a rule on a supplier's pending orders,
+     * WHEN the supplier exceeds the allowed number of pending orders,
+     * THEN an alert should be sent, and re-armed when an order completes.
+     */
+    @Test
+    void shouldAlertWhenSupplierHasTooManyPendingOrders() {
+        // Given
+        alertEngine.addRule(AlertRule.supplierPendingOrdersAbove("TechSupplier", 1, UserRole.ADMIN));
+        Supplier supplier = new Supplier("S001", "TechSupplier", "contact@techsupplier.com");
+        PurchaseOrder first = new PurchaseOrder("1", "HP Laptop", 10, supplier, new Date(), "Pending");
+        PurchaseOrder second = new PurchaseOrder("2", "Dell Laptop", 10, supplier, new Date(), "Pending");
+
+        // When
+        alertEngine.onOrderCreated(first);
+        alertEngine.onOrderCreated(second);
+
+        // Then
+        assertEquals(1, adminAlerts.size());
+        second.setStatus("Completed");
+        alertEngine.onOrderStatusChanged(second, "Pending");
+        assertEquals(1, alertEngine.getPendingOrders("TechSupplier"));
+    }
+
+    // ======= Helpers =======
+
+    /**
+     * reports a stock change to the view cache, then the engine, as Inventory does.
+     */
+    private void stockChanged(InventoryItem item, int previousQuantity) {
+        viewCache.onStockChanged(item, previousQuantity);
+        alertEngine.onStockChanged(item, previousQuantity);
+    }
+}
@@ -0,0 +1,101 @@
+package test;
+
+import model.CategoryType;
+import model.InventoryItem;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import service.CatalogueCsvLoader;
+import service.Inventory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * unit Test Class for CatalogueCsvLoader functionality.
+ *
+ * follows the Given-When-Then testing structure and JUnit 5 framework.
+ *
+ * tests parsing of well-formed, quoted and malformed lines and how rows are applied.
+ */
+class CatalogueCsvLoaderTest {
+
+    private Inventory inventory;
+    private CatalogueCsvLoader loader;
+
+    /**
+     * sets up a fresh Inventory and a loader for it before each test.
+     */
+    @BeforeEach
+    void setUp() {
+        inventory = Inventory.getInstance();
+        inventory.getAllItems().clear(); // Reset state before each test
+        loader = new CatalogueCsvLoader(inventory);
+    }
+
+    /**
+     * GIVEN a catalogue with a header, quoted fields, CRLF endings and malformed or negative rows,
+     * WHEN it is loaded,
+     * THEN valid rows should be added and malformed lines reported with their line numbers.
+     */
+    @Test
+    void shouldLoadValidRowsAndReportMalformedLines() throws IOException {
+        // Given
+        Path file = write("name,category,quantity,threshold,price,supplier\r\n" +
+                "Laptop,ELECTRONICS,50,10,999.99,TechCorp\r\n" +
+                "\"Desk, Oak\",Furniture,20,5,150,\"Wood \"\"n\"\" Co\"\r\n" +
+                "Broken,ELECTRONICS,ten,5,1.00,TechCorp\r\n" +
+                "Mystery,NOT_A_CATEGORY,1,1,1.00,Nobody\r\n" +
+                "Chair,office supplies,30,8,45.5,OfficeMax\n" +
+                "Lamp,FURNITURE,-3,2,20.00,OfficeMax\n" +
+                "Shelf,FURNITURE,4,-1,60.00,OfficeMax\n");
+
+        // When
+        CatalogueCsvLoader.LoadReport report = loader.load(file);
+
+        // Then
+        assertEquals(3, report.getRowsLoaded());
+        assertEquals(4, report.getMalformedLines());
+        assertEquals("line 4: invalid quantity", report.getMalformedSamples().get(0));
+        assertEquals("line 5: unknown category", report.getMalformedSamples().get(1));
+        assertEquals("line 7: negative quantity", report.getMalformedSamples().get(2));
+        assertEquals("line 8: negative threshold", report.getMalformedSamples().get(3));
+        assertNull(inventory.findItemByName("Lamp"));
+
+        InventoryItem desk = inventory.findItemByName("Desk, Oak");
+        assertNotNull(desk);
+        assertEquals(CategoryType.FURNITURE, desk.getType());
+        assertEquals("Wood \"n\" Co", desk.getSupplier());
+        assertEquals(45.5, inventory.findItemByName("Chair").getUnitPrice(), 0.0001);
+        assertEquals(CategoryType.OFFICE_SUPPLIES, inventory.findItemByName("Chair").getType());
+    }
+
+    /**
+     * GIVEN a catalogue listing the same item twice,
+     * WHEN it is loaded,
+     * THEN the quantities should be combined as with Inventory.addItem.
+     */
+    @Test
+    void shouldCombineRepeatedItemsInFileOrder() throws IOException {
+        // Given
+        Path file = write("Laptop,ELECTRONICS,50,10,999.99,TechCorp\n" +
+                "Laptop,ELECTRONICS,25,10,999.99,TechCorp\n");
+
+        // When
+        CatalogueCsvLoader.LoadReport report = loader.load(file);
+
+        // Then
+        assertEquals(2, report.getRowsLoaded());
+        assertEquals(75, inventory.findItemByName("Laptop").getQuantity());
+    }
+
+    private static Path write(String content) throws IOException {
+        Path file = Files.createTempFile("catalogue", ".csv");
+        file.toFile().deleteOnExit();
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+}
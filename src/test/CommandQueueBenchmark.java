@@ -0,0 +1,110 @@
+package test;
+
+import model.CategoryType;
+import model.InventoryItem;
+import service.Inventory;
+import service.InventoryCommandQueue;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * micro benchmark comparing the single-writer command queue against
+ * a lock around Inventory for concurrent quantity updates.
+ * it is not unit testing.
+ *
+ * usage: CommandQueueBenchmark [threads] [opsPerThread] [items]
+ */
+public class CommandQueueBenchmark {
+    public static void main(String[] args) throws Exception {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : 4;
+        int opsPerThread = args.length > 1 ? Integer.parseInt(args[1]) : 200_000;
+        int itemCount = args.length > 2 ? Integer.parseInt(args[2]) : 1_000;
+
+        Inventory inventory = Inventory.getInstance();
+        inventory.getAllItems().clear();
+        for (int i = 0; i < itemCount; i++) {
+            // quantities stay well above the threshold so no reorders are triggered
+            inventory.addItem(new InventoryItem("Item-" + i, 1_000, 5, 1.0, "BenchSupplier", CategoryType.OTHER));
+        }
+
+        System.out.println("===== COMMAND QUEUE BENCHMARK =====");
+        System.out.println("threads=" + threads + " opsPerThread=" + opsPerThread + " items=" + itemCount);
+
+        for (int round = 0; round < 3; round++) {
+            long locked = runLocked(inventory, threads, opsPerThread, itemCount);
+            long queued = runQueued(inventory, threads, opsPerThread, itemCount);
+            long total = (long) threads * opsPerThread;
+            System.out.println("round " + round +
+                    " | locked: " + (total * 1_000_000_000L / locked) + " ops/s" +
+                    " | command queue: " + (total * 1_000_000_000L / queued) + " ops/s");
+        }
+    }
+
+    /**
+     * every thread updates Inventory directly under a shared lock.
+     */
+    private static long runLocked(Inventory inventory, int threads, int ops, int items) throws InterruptedException {
+        Object lock = new Object();
+        return runThreads(threads, t -> {
+            for (int i = 0; i < ops; i++) {
+                synchronized (lock) {
+                    inventory.updateItemQuantity("Item-" + ((t * 31 + i) % items), 100 + (i & 511));
+                }
+            }
+        });
+    }
+
+    /**
+     * every thread submits updates to the command queue and waits for the last one.
+     */
+    private static long runQueued(Inventory inventory, int threads, int ops, int items) throws InterruptedException {
+        InventoryCommandQueue queue = inventory.getCommandQueue();
+        try {
+            return runThreads(threads, t -> {
+                CompletableFuture<Void> last = null;
+                for (int i = 0; i < ops; i++) {
+                    last = queue.updateItemQuantity("Item-" + ((t * 31 + i) % items), 100 + (i & 511));
+                }
+                if (last != null) {
+                    last.join();
+                }
+            });
+        } finally {
+            queue.shutdown();
+        }
+    }
+
+    /**
+     * starts the worker threads together and returns the elapsed time in nanoseconds.
+     */
+    private static long runThreads(int threads, Worker worker) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            int id = t;
+            workers[t] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                worker.run(id);
+            });
+            workers[t].start();
+        }
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Thread thread : workers) {
+            thread.join();
+        }
+        return System.nanoTime() - begin;
+    }
+
+    /**
+     * work done by one benchmark thread.
+     */
+    private interface Worker {
+        void run(int threadId);
+    }
+}
@@ -0,0 +1,141 @@
+package test;
+
+import model.CategoryType;
+import model.InventoryItem;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import service.CycleCountReconciler;
+import service.Inventory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * unit Test Class for CycleCountReconciler functionality.
+ *
+ * follows the Given-When-Then testing structure and JUnit 5 framework.
+ *
+ * tests parsing, variance detection and ordering, and applying adjustments alongside live changes.
+ */
+class CycleCountReconcilerTest {
+
+    private Inventory inventory;
+    private CycleCountReconciler reconciler;
+
+    /**
+     * sets up a fresh Inventory with three items before each test.
+     */
+    @BeforeEach
+    void setUp() {
+        inventory = Inventory.getInstance();
+        inventory.getAllItems().clear(); // Reset state before each test
+        reconciler = new CycleCountReconciler(inventory);
+        inventory.addItem(new InventoryItem("Laptop", 50, 5, 1000.00, "TechCorp", CategoryType.ELECTRONICS));
+        inventory.addItem(new InventoryItem("Mouse", 100, 10, 20.00, "TechCorp", CategoryType.ELECTRONICS));
+        inventory.addItem(new InventoryItem("Chair", 30, 5, 50.00, "OfficeMax", CategoryType.FURNITURE));
+    }
+
+    /**
+     * GIVEN a count file with a header, a bin counted twice and an unknown SKU,
+     * WHEN it is reconciled,
+     * THEN variances should be reported largest value impact first and the unknown SKU listed.
+     */
+    @Test
+    void shouldReportVariancesByValueImpact() throws IOException {
+        // Given
+        Path file = Files.createTempFile("count", ".csv");
+        file.toFile().deleteOnExit();
+        Files.write(file, ("sku,countedQty\nMouse,70\nLaptop,49\nChair,20\nChair,10\nGhost,3\n")
+                .getBytes(StandardCharsets.UTF_8));
+
+        // When
+        CycleCountReconciler.VarianceReport report = reconciler.reconcile(file);
+
+        // Then
+        List<CycleCountReconciler.Variance> variances = report.getVariances();
+        assertEquals(2, variances.size());
+        assertEquals("Laptop", variances.get(0).getItemName());   // -1 x 1000.00
+        assertEquals("Mouse", variances.get(1).getItemName());    // -30 x 20.00
+        assertEquals(-30, variances.get(1).getDifference());
+        assertEquals(-1600.00, report.getNetValueImpact(), 0.001);
+        assertEquals(List.of("Ghost"), report.getUnknownItems());
+        assertEquals(4, report.getCountedItems());
+    }
+
+    /**
+     * GIVEN a variance report and sales made after its snapshot,
+     * WHEN the approved variances are applied,
+     * THEN each item should be corrected by its variance while keeping the later sales,
+     * and reorders should be raised once for items now at their threshold.
+     */
+    @Test
+    void shouldApplyApprovedVariancesRelativeToSnapshot() {
+        // Given
+        CycleCountReconciler.VarianceReport report = reconciler.reconcile(
+                new String[]{"Laptop", "Mouse", "Chair"}, new int[]{50, 12, 25});
+        inventory.updateItemQuantity("Mouse", 95);   // live sale after the snapshot
+        int ordersBefore = inventory.getOrderService().getAllOrders().size();
+
+        // When
+        int applied = reconciler.apply(report.getVariances());
+
+        // Then
+        assertEquals(2, applied);
+        assertEquals(7, inventory.findItemByName("Mouse").getQuantity());
+        assertEquals(25, inventory.findItemByName("Chair").getQuantity());
+        assertEquals(50, inventory.findItemByName("Laptop").getQuantity());
+        assertTrue(inventory.findItemByName("Mouse").isPendingOrder());
+        assertEquals(ordersBefore + 1, inventory.getOrderService().getAllOrders().size());
+    }
+
+    /**
+     * GIVEN a count file large enough to be parsed in several chunks, with a negative count,
+     * WHEN it is reconciled,
+     * THEN the bins should be summed across chunks and the negative line skipped.
+     */
+    @Test
+    void shouldSumBinsAcrossChunksAndRejectNegativeCounts() throws IOException {
+        // Given
+        Path file = Files.createTempFile("count", ".csv");
+        file.toFile().deleteOnExit();
+        StringBuilder lines = new StringBuilder("sku,countedQty\n");
+        for (int i = 0; i < 20_000; i++) {
+            lines.append(i % 2 == 0 ? "Mouse" : "Chair").append(",1\r\n");
+        }
+        lines.append("Laptop,-5\n");
+        Files.write(file, lines.toString().getBytes(StandardCharsets.UTF_8));
+
+        // When
+        CycleCountReconciler.VarianceReport report = reconciler.reconcile(file);
+
+        // Then
+        assertEquals(2, report.getCountedItems());
+        assertEquals(10_000, report.getVariances().stream()
+                .filter(v -> v.getItemName().equals("Mouse")).findFirst().orElseThrow().getCountedQuantity());
+        assertEquals(10_000, report.getVariances().stream()
+                .filter(v -> v.getItemName().equals("Chair")).findFirst().orElseThrow().getCountedQuantity());
+    }
+
+    /**
+     * GIVEN bins whose total count exceeds the int range, or a negative counted quantity,
+     * WHEN they are reconciled,
+     * THEN the reconciliation should fail instead of wrapping or accepting the count.
+     */
+    @Test
+    void shouldRejectOverflowingTotalsAndNegativeCounts() throws IOException {
+        // Given
+        Path file = Files.createTempFile("count", ".csv");
+        file.toFile().deleteOnExit();
+        Files.write(file, "Mouse,2000000000\nMouse,2000000000\n".getBytes(StandardCharsets.UTF_8));
+
+        // When / Then
+        assertThrows(IOException.class, () -> reconciler.reconcile(file));
+        assertThrows(IllegalArgumentException.class,
+                () -> reconciler.reconcile(new String[]{"Mouse"}, new int[]{-1}));
+    }
+}
@@ -0,0 +1,168 @@
+package test;
+
+import model.CategoryType;
+import model.InventoryItem;
+import model.PurchaseOrder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import service.DerivedViewCache;
+import service.Inventory;
+import service.OrderService;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * unit Test Class for DerivedViewCache functionality.
+ *
+ * follows the Given-When-Then testing structure and JUnit 5 framework.
+ *
+ * tests that cached views follow inventory and order changes and are served without rebuilding.
+ */
+class DerivedViewCacheTest {
+
+    private Inventory inventory;
+    private DerivedViewCache cache;
+
+    /**
+     * sets up the Inventory and its view cache before each test.
+     */
+    @BeforeEach
+    void setUp() {
+        inventory = Inventory.getInstance();
+        inventory.getAllItems().clear(); // Reset inventory before each test
+        inventory.getOrderService().getAllOrders().clear();
+        cache = inventory.getViewCache();
+    }
+
+    /**
+     * GIVEN items in two categories,
+     * WHEN category totals are read twice and then a quantity changes,
+     * THEN the second read should be a hit and the change should be reflected.
+     */
+    @Test
+    void shouldServeCategoryTotalsFromCacheUntilStockChanges() {
+        // Given
+        inventory.addItem(new InventoryItem("Laptop", 10, 2, 500.00, "TechSupplier", CategoryType.ELECTRONICS));
+        inventory.addItem(new InventoryItem("Mouse", 20, 5, 10.00, "TechSupplier", CategoryType.ELECTRONICS));
+        inventory.addItem(new InventoryItem("Desk", 4, 1, 150.00, "OfficeWorld", CategoryType.FURNITURE));
+
+        // When
+        long hitsBefore = cache.getHitCount(DerivedViewCache.View.CATEGORY_TOTALS);
+        Map<CategoryType, DerivedViewCache.CategoryTotal> first = cache.getCategoryTotals();
+        Map<CategoryType, DerivedViewCache.CategoryTotal> second = cache.getCategoryTotals();
+        inventory.updateItemQuantity("Mouse", 15);
+        Map<CategoryType, DerivedViewCache.CategoryTotal> third = cache.getCategoryTotals();
+
+        // Then
+        assertSame(first, second);
+        assertEquals(hitsBefore + 1, cache.getHitCount(DerivedViewCache.View.CATEGORY_TOTALS));
+        assertEquals(2, first.get(CategoryType.ELECTRONICS).getItemCount());
+        assertEquals(30, first.get(CategoryType.ELECTRONICS).getQuantity());
+        assertEquals(5200.00, first.get(CategoryType.ELECTRONICS).getValue(), 0.001);
+        assertEquals(25, third.get(CategoryType.ELECTRONICS).getQuantity());
+        assertEquals(5150.00, third.get(CategoryType.ELECTRONICS).getValue(), 0.001);
+        assertEquals(600.00, third.get(CategoryType.FURNITURE).getValue(), 0.001);
+    }
+
+    /**
+     * GIVEN an item above its threshold,
+     * WHEN its stock drops below the threshold and is then replenished,
+     * THEN the inventory's low-stock list should gain and then lose the item, served from the cache.
+     */
+    @Test
+    void shouldTrackLowStockMembership() {
+        // Given
+        inventory.addItem(new InventoryItem("Printer", 10, 3, 120.00, "OfficeWorld", CategoryType.OFFICE_SUPPLIES));
+        assertTrue(inventory.getLowStockItems().isEmpty());
+
+        // When
+        inventory.updateItemQuantity("Printer", 2);
+        long hitsBefore = cache.getHitCount(DerivedViewCache.View.LOW_STOCK);
+        List<InventoryItem> low = inventory.getLowStockItems();
+        List<InventoryItem> again = inventory.getLowStockItems();
+        inventory.updateItemQuantity("Printer", 20);
+
+        // Then
+        assertEquals(1, low.size());
+        assertEquals("Printer", low.get(0).getName());
+        assertSame(low, again);
+        assertEquals(hitsBefore + 1, cache.getHitCount(DerivedViewCache.View.LOW_STOCK));
+        assertTrue(inventory.getLowStockItems().isEmpty());
+    }
+
+    /**
+     * GIVEN stock in a category,
+     * WHEN every item is removed,
+     * THEN the category value read by alert rules should drop back to zero.
+     */
+    @Test
+    void shouldResetCategoryValueSharedWithAlertsOnClear() {
+        // Given
+        inventory.addItem(new InventoryItem("Bleach", 10, 2, 5.00, "ChemCo", CategoryType.CHEMICALS));
+        assertEquals(50.00, inventory.getAlertEngine().getCategoryValue(CategoryType.CHEMICALS), 0.001);
+
+        // When
+        inventory.getAllItems().clear();
+
+        // Then
+        assertEquals(0.0, inventory.getAlertEngine().getCategoryValue(CategoryType.CHEMICALS), 0.001);
+        assertEquals(0.0, cache.getCategoryValue(CategoryType.CHEMICALS), 0.001);
+    }
+
+    /**
+     * GIVEN a supplier whose open order quantity is cached,
+     * WHEN a new order is created and another completed,
+     * THEN the cached quantity should be delta-updated without a further miss.
+     */
+    @Test
+    void shouldDeltaUpdateSupplierOpenOrderQuantity() {
+        // Given
+        inventory.addItem(new InventoryItem("Chair", 50, 5, 45.00, "OfficeWorld", CategoryType.FURNITURE));
+        OrderService orderService = inventory.getOrderService();
+        orderService.createOrder("Chair", 10);
+        assertEquals(10, cache.getOpenOrderQuantity("OfficeWorld"));
+        long misses = cache.getMissCount(DerivedViewCache.View.SUPPLIER_OPEN_QUANTITY);
+
+        // When
+        orderService.createOrder("Chair", 6);
+        PurchaseOrder first = orderService.getAllOrders().values().stream()
+                .filter(order -> order.getQuantity() == 10).findFirst().orElseThrow();
+        orderService.updateOrderStatus(first.getOrderID(), "Completed");
+
+        // Then
+        assertEquals(6, cache.getOpenOrderQuantity("OfficeWorld"));
+        assertEquals(misses, cache.getMissCount(DerivedViewCache.View.SUPPLIER_OPEN_QUANTITY));
+    }
+
+    /**
+     * GIVEN a supplier whose cached open order quantity is repeatedly dropped,
+     * WHEN orders are created on another thread while the quantity is recomputed,
+     * THEN the cached quantity should end equal to the pending orders, none missed or counted twice.
+     */
+    @Test
+    void shouldRecomputeOpenOrderQuantityConsistentlyWithConcurrentOrders() throws InterruptedException {
+        // Given
+        inventory.addItem(new InventoryItem("Rivet", 1_000, 0, 0.05, "PartsCo", CategoryType.MACHINERY));
+        OrderService orderService = inventory.getOrderService();
+        int orders = 2_000;
+
+        // When
+        Thread creator = new Thread(() -> {
+            for (int i = 0; i < orders; i++) {
+                orderService.createOrder("Rivet", 10);
+            }
+        });
+        creator.start();
+        while (creator.isAlive()) {
+            cache.invalidateAll();
+            cache.getOpenOrderQuantity("PartsCo");
+        }
+        creator.join();
+
+        // Then
+        assertEquals(10L * orders, cache.getOpenOrderQuantity("PartsCo"));
+    }
+}
@@ -0,0 +1,108 @@
+package test;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import service.AsyncFileEventSink;
+import service.ConsoleEventSink;
+import service.EventLog;
+import service.LogLevel;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * unit Test Class for EventLog and its sinks.
+ *
+ * follows the Given-When-Then testing structure and JUnit 5 framework.
+ *
+ * tests level filtering, repeated warning summaries and the asynchronous file sink.
+ */
+class EventLogTest {
+
+    private final EventLog eventLog = EventLog.getInstance();
+
+    /**
+     * restores the default console sink and level after each test.
+     */
+    @AfterEach
+    void tearDown() {
+        eventLog.setSink(new ConsoleEventSink());
+        eventLog.setLevel(LogLevel.INFO);
+    }
+
+    /**
+     * GIVEN the log level is WARN,
+     * WHEN an INFO message is logged,
+     * THEN the message should never be formatted.
+     */
+    @Test
+    void shouldNotFormatMessageWhenLevelDisabled() {
+        // Given
+        eventLog.setLevel(LogLevel.WARN);
+        boolean[] formatted = {false};
+
+        // When
+        eventLog.info(() -> {
+            formatted[0] = true;
+            return "Item updated";
+        });
+
+        // Then
+        assertFalse(formatted[0]);
+    }
+
+    /**
+     * GIVEN a repeated warning with a long interval,
+     * WHEN it occurs many times and is then flushed,
+     * THEN only the first occurrence and one summary of the rest should be written.
+     */
+    @Test
+    void shouldSummariseRepeatedWarnings() {
+        // Given
+        List<String> lines = new ArrayList<>();
+        eventLog.setSink(lines::add);
+        EventLog.RepeatedWarning warning = eventLog.repeatedWarning("sales rejected", 60_000);
+
+        // When
+        for (int i = 0; i < 1_000; i++) {
+            int sale = i;
+            warning.record(() -> "Sale " + sale + " rejected");
+        }
+        warning.flush();
+
+        // Then
+        assertEquals(List.of("1 sales rejected, latest: Sale 0 rejected", "999 sales rejected"), lines);
+        assertEquals(1_000, warning.getTotal());
+    }
+
+    /**
+     * GIVEN an asynchronous file sink,
+     * WHEN lines are logged and the sink is closed,
+     * THEN every line should be written to the file in order.
+     */
+    @Test
+    void shouldWriteAllLinesToFileWhenSinkClosed() throws Exception {
+        // Given
+        Path file = Files.createTempFile("event-log", ".log");
+        AsyncFileEventSink sink = new AsyncFileEventSink(file, 1024, 256);
+        eventLog.setSink(sink);
+
+        // When
+        for (int i = 0; i < 500; i++) {
+            int line = i;
+            eventLog.info(() -> "Item updated: Line " + line);
+        }
+        sink.close();
+
+        // Then
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(500, lines.size());
+        assertEquals("Item updated: Line 0", lines.get(0));
+        assertEquals("Item updated: Line 499", lines.get(499));
+        Files.deleteIfExists(file);
+    }
+}
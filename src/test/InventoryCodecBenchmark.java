@@ -0,0 +1,112 @@
+package test;
+
+import model.CategoryType;
+import model.InventoryItem;
+import service.InventoryCodec;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * size and speed comparison of InventoryCodec against Java serialization and JSON.
+ * it is not unit testing.
+ *
+ * the model classes are not Serializable, so Java serialization encodes a HashMap
+ * of the item's fields, and JSON is a hand-built string (no JSON library is used).
+ *
+ * usage: InventoryCodecBenchmark [items] [rounds]
+ */
+public class InventoryCodecBenchmark {
+    public static void main(String[] args) throws Exception {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+
+        InventoryItem[] items = new InventoryItem[count];
+        CategoryType[] categories = CategoryType.values();
+        for (int i = 0; i < count; i++) {
+            items[i] = new InventoryItem("Item-" + i, i % 500, 5, 9.99 + i % 100, "Supplier-" + (i % 50), categories[i % categories.length]);
+        }
+
+        System.out.println("===== INVENTORY CODEC BENCHMARK =====");
+        System.out.println("items=" + count);
+
+        ByteBuffer buffer = ByteBuffer.allocateDirect(count * 128);
+        for (int round = 0; round < rounds; round++) {
+            // binary codec
+            buffer.clear();
+            long start = System.nanoTime();
+            for (InventoryItem item : items) {
+                InventoryCodec.writeItem(buffer, item);
+            }
+            long binaryEncode = System.nanoTime() - start;
+            int binaryBytes = buffer.position();
+            buffer.flip();
+            start = System.nanoTime();
+            long checksum = 0;
+            while (buffer.hasRemaining()) {
+                checksum += InventoryCodec.readItem(buffer).getQuantity();
+            }
+            long binaryDecode = System.nanoTime() - start;
+
+            // java serialization of the same fields
+            start = System.nanoTime();
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+                for (InventoryItem item : items) {
+                    out.writeObject(toMap(item));
+                }
+            }
+            long javaEncode = System.nanoTime() - start;
+            int javaBytes = bytes.size();
+            start = System.nanoTime();
+            try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+                for (int i = 0; i < count; i++) {
+                    checksum -= (Integer) ((Map<?, ?>) in.readObject()).get("quantity");
+                }
+            }
+            long javaDecode = System.nanoTime() - start;
+
+            // json text
+            start = System.nanoTime();
+            long jsonBytes = 0;
+            StringBuilder json = new StringBuilder(256);
+            for (InventoryItem item : items) {
+                json.setLength(0);
+                json.append("{\"uniqueID\":\"").append(item.getUniqueID())
+                        .append("\",\"name\":\"").append(item.getName())
+                        .append("\",\"type\":\"").append(item.getType())
+                        .append("\",\"quantity\":").append(item.getQuantity())
+                        .append(",\"reorderThreshold\":").append(item.getReorderThreshold())
+                        .append(",\"unitPrice\":").append(item.getUnitPrice())
+                        .append(",\"supplier\":\"").append(item.getSupplier())
+                        .append("\",\"pendingOrder\":").append(item.isPendingOrder()).append('}');
+                jsonBytes += json.toString().getBytes(StandardCharsets.UTF_8).length;
+            }
+            long jsonEncode = System.nanoTime() - start;
+
+            System.out.println("round " + round + (checksum == 0 ? "" : " (checksum mismatch!)"));
+            System.out.println("  binary: " + binaryBytes / count + " B/item, encode " + binaryEncode / count + " ns/item, decode " + binaryDecode / count + " ns/item");
+            System.out.println("  java:   " + javaBytes / count + " B/item, encode " + javaEncode / count + " ns/item, decode " + javaDecode / count + " ns/item");
+            System.out.println("  json:   " + jsonBytes / count + " B/item, encode " + jsonEncode / count + " ns/item");
+        }
+    }
+
+    /**
+     * copies an item's fields into a serializable map.
+     */
+    private static HashMap<String, Object> toMap(InventoryItem item) {
+        HashMap<String, Object> map = new HashMap<>();
+        map.put("uniqueID", item.getUniqueID());
+        map.put("name", item.getName());
+        map.put("type", item.getType());
+        map.put("quantity", item.getQuantity());
+        map.put("reorderThreshold", item.getReorderThreshold());
+        map.put("unitPrice", item.getUnitPrice());
+        map.put("supplier", item.getSupplier());
+        map.put("pendingOrder", item.isPendingOrder());
+        return map;
+    }
+}
@@ -0,0 +1,219 @@
+package test;
+
+import model.CategoryType;
+import model.InventoryItem;
+import model.PurchaseOrder;
+import model.Supplier;
+import org.junit.jupiter.api.Test;
+import service.InventoryCodec;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * unit Test Class for InventoryCodec functionality.
+ *
+ * follows the Given-When-Then testing structure and JUnit 5 framework.
+ *
+ * tests binary round trips of items, suppliers and purchase orders, lazy field access
+ * and decoding of schema version 1 orders.
+ */
+class InventoryCodecTest {
+
+    /**
+     * GIVEN an inventory item with a pending order,
+     * WHEN it is encoded and decoded,
+     * THEN every field should be restored, including its unique ID.
+     */
+    @Test
+    void shouldRoundTripInventoryItem() {
+        // Given
+        InventoryItem item = new InventoryItem("Café Crème €", -3, 5, 999.99, "TechSupplier", CategoryType.BEVERAGES);
+        item.setPendingOrder(true);
+        ByteBuffer buffer = ByteBuffer.allocate(256);
+
+        // When
+        InventoryCodec.writeItem(buffer, item);
+        buffer.flip();
+        InventoryItem decoded = InventoryCodec.readItem(buffer);
+
+        // Then
+        assertEquals(item.getUniqueID(), decoded.getUniqueID());
+        assertEquals(item.getName(), decoded.getName());
+        assertEquals(CategoryType.BEVERAGES, decoded.getType());
+        assertEquals(-3, decoded.getQuantity());
+        assertEquals(5, decoded.getReorderThreshold());
+        assertEquals(999.99, decoded.getUnitPrice(), 0.0);
+        assertEquals("TechSupplier", decoded.getSupplier());
+        assertTrue(decoded.isPendingOrder());
+        assertFalse(buffer.hasRemaining());
+    }
+
+    /**
+     * GIVEN a purchase order and a supplier written back to back,
+     * WHEN both are decoded in sequence,
+     * THEN both records should be restored exactly.
+     */
+    @Test
+    void shouldRoundTripOrderAndSupplierInSequence() {
+        // Given
+        Supplier supplier = new Supplier("S001", "TechSupplier", "contact@techsupplier.com");
+        PurchaseOrder order = new PurchaseOrder("8f14e45f-ceea-467f-a0e5-1c2b3d4e5f60", "HP Laptop", 10,
+                supplier, new Date(1_700_000_000_123L), "Pending");
+        ByteBuffer buffer = ByteBuffer.allocate(512);
+
+        // When
+        InventoryCodec.writeOrder(buffer, order);
+        InventoryCodec.writeSupplier(buffer, supplier);
+        buffer.flip();
+        PurchaseOrder decodedOrder = InventoryCodec.readOrder(buffer);
+        Supplier decodedSupplier = InventoryCodec.readSupplier(buffer);
+
+        // Then
+        assertEquals(order.toString(), decodedOrder.toString());
+        assertEquals(order.getOrderDate(), decodedOrder.getOrderDate());
+        assertEquals("contact@techsupplier.com", decodedOrder.getSupplier().getContactInfo());
+        assertEquals(supplier.toString(), decodedSupplier.toString());
+    }
+
+    /**
+     * GIVEN an encoded item,
+     * WHEN a single field is read through a lazy view,
+     * THEN the field should be returned without moving the buffer.
+     */
+    @Test
+    void shouldReadSingleFieldLazily() {
+        // Given
+        InventoryItem item = new InventoryItem("HP Laptop", 42, 5, 999.99, "TechSupplier", CategoryType.COMPUTERS);
+        ByteBuffer buffer = ByteBuffer.allocate(128);
+        InventoryCodec.writeItem(buffer, item);
+        buffer.flip();
+
+        // When
+        InventoryCodec.ItemView view = InventoryCodec.viewItem(buffer);
+
+        // Then
+        assertEquals(42, view.getQuantity());
+        assertEquals("TechSupplier", view.getSupplier());
+        assertEquals(0, buffer.position());
+        assertEquals(buffer.limit(), view.end());
+    }
+
+    /**
+     * GIVEN a purchase order without an order date, followed by a supplier,
+     * WHEN both are decoded in sequence,
+     * THEN the order date should decode as null, not the epoch, and the supplier should follow intact.
+     */
+    @Test
+    void shouldRoundTripMissingOrderDate() {
+        // Given
+        Supplier supplier = new Supplier("S001", "TechSupplier", "contact@techsupplier.com");
+        PurchaseOrder order = new PurchaseOrder("42", "HP Laptop", 10, supplier, null, "Pending");
+        ByteBuffer buffer = ByteBuffer.allocate(512);
+        InventoryCodec.writeOrder(buffer, order);
+        InventoryCodec.writeSupplier(buffer, supplier);
+        buffer.flip();
+
+        // When
+        InventoryCodec.OrderView view = InventoryCodec.viewOrder(buffer);
+        PurchaseOrder decodedOrder = InventoryCodec.readOrder(buffer);
+        Supplier decodedSupplier = InventoryCodec.readSupplier(buffer);
+
+        // Then
+        assertFalse(view.hasOrderDate());
+        assertEquals("Pending", view.getStatus());
+        assertNull(decodedOrder.getOrderDate());
+        assertEquals(order.toString(), decodedOrder.toString());
+        assertEquals(supplier.toString(), decodedSupplier.toString());
+    }
+
+    /**
+     * GIVEN a purchase order encoded with schema version 1, whose date has no presence byte,
+     * WHEN it is decoded,
+     * THEN its date and the fields after it should be read with the version 1 layout.
+     */
+    @Test
+    void shouldDecodeVersionOneOrder() {
+        // Given: a version 2 record with the version byte set to 1 and the date's presence byte removed
+        PurchaseOrder order = new PurchaseOrder("7", "Pen", 10,
+                new Supplier("S001", "TechSupplier", "contact@techsupplier.com"), new Date(1_700_000_000_123L), "Pending");
+        byte[] bytes = encodeVersionTwo(order);
+        int presenceByte = 2 + 2 + 4 + 1; // header, number ID "7", name "Pen", quantity 10
+        byte[] v1 = new byte[bytes.length - 1];
+        System.arraycopy(bytes, 0, v1, 0, presenceByte);
+        System.arraycopy(bytes, presenceByte + 1, v1, presenceByte, bytes.length - presenceByte - 1);
+        v1[0] = 1;
+
+        // When
+        PurchaseOrder decoded = InventoryCodec.readOrder(ByteBuffer.wrap(v1));
+
+        // Then
+        assertEquals(order.getOrderDate(), decoded.getOrderDate());
+        assertEquals(order.toString(), decoded.toString());
+    }
+
+    /**
+     * GIVEN a purchase order encoded with schema version 2, which has no delivery fields,
+     * WHEN it is decoded,
+     * THEN it should decode as not yet received, ending where the version 2 record ends.
+     */
+    @Test
+    void shouldDecodeVersionTwoOrder() {
+        // Given
+        PurchaseOrder order = new PurchaseOrder("7", "Pen", 10,
+                new Supplier("S001", "TechSupplier", "contact@techsupplier.com"), new Date(1_700_000_000_123L), "Pending");
+        byte[] v2 = encodeVersionTwo(order);
+
+        // When
+        InventoryCodec.OrderView view = InventoryCodec.viewOrder(ByteBuffer.wrap(v2));
+        PurchaseOrder decoded = InventoryCodec.readOrder(ByteBuffer.wrap(v2));
+
+        // Then
+        assertEquals(v2.length, view.end());
+        assertFalse(view.hasReceivedDate());
+        assertEquals(0, view.getReceivedQuantity());
+        assertNull(decoded.getReceivedDate());
+        assertEquals(order.toString(), decoded.toString());
+    }
+
+    /**
+     * GIVEN a completed purchase order with a received date and a short delivery,
+     * WHEN it is encoded and decoded,
+     * THEN the received date and quantity should survive the round trip.
+     */
+    @Test
+    void shouldRoundTripOrderDelivery() {
+        // Given
+        PurchaseOrder order = new PurchaseOrder("42", "HP Laptop", 10,
+                new Supplier("S001", "TechSupplier", "contact@techsupplier.com"), new Date(1_700_000_000_000L), "Completed");
+        order.markReceived(new Date(1_700_086_400_000L), 8);
+        ByteBuffer buffer = ByteBuffer.allocate(512);
+        InventoryCodec.writeOrder(buffer, order);
+        buffer.flip();
+
+        // When
+        PurchaseOrder decoded = InventoryCodec.readOrder(buffer);
+
+        // Then
+        assertEquals(order.getReceivedDate(), decoded.getReceivedDate());
+        assertEquals(8, decoded.getReceivedQuantity());
+        assertEquals(buffer.limit(), buffer.position());
+    }
+
+    // ======= Helpers =======
+
+    /**
+     * encodes an order that has not been received as schema version 2: the current
+     * record without its trailing delivery fields (an absent date and a zero quantity).
+     */
+    private static byte[] encodeVersionTwo(PurchaseOrder order) {
+        ByteBuffer current = ByteBuffer.allocate(256);
+        InventoryCodec.writeOrder(current, order);
+        byte[] bytes = Arrays.copyOf(current.array(), current.position() - 2);
+        bytes[0] = 2;
+        return bytes;
+    }
+}
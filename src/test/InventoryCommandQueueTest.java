@@ -0,0 +1,152 @@
+package test;
+
+import model.CategoryType;
+import model.InventoryItem;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import service.ExecutionMode;
+import service.Inventory;
+import service.InventoryCommandQueue;
+import service.InventoryFacade;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * unit Test Class for InventoryCommandQueue functionality.
+ *
+ * follows the Given-When-Then testing structure and JUnit 5 framework.
+ *
+ * tests the single writer per inventory, failure handling, re-entrant submissions
+ * and submissions racing shutdown.
+ */
+class InventoryCommandQueueTest {
+
+    private Inventory inventory;
+
+    /**
+     * sets up a fresh Inventory with one item before each test.
+     */
+    @BeforeEach
+    void setUp() {
+        inventory = Inventory.getInstance();
+        inventory.getAllItems().clear(); // Reset state before each test
+        inventory.addItem(new InventoryItem("Stapler", 10, 2, 8.50, "OfficeMax", CategoryType.OFFICE_SUPPLIES));
+    }
+
+    /**
+     * GIVEN two facades in COMMAND_QUEUE mode,
+     * WHEN their command queues are requested,
+     * THEN both should use the inventory's single queue.
+     */
+    @Test
+    void shouldShareOneWriterPerInventory() {
+        // Given
+        InventoryFacade first = new InventoryFacade(ExecutionMode.COMMAND_QUEUE);
+        InventoryFacade second = new InventoryFacade(ExecutionMode.COMMAND_QUEUE);
+
+        // When / Then
+        assertSame(first.getCommandQueue(), second.getCommandQueue());
+        assertSame(inventory.getCommandQueue(), first.getCommandQueue());
+    }
+
+    /**
+     * GIVEN a running command queue,
+     * WHEN a command throws an Error,
+     * THEN its future should fail and the writer should keep applying later commands.
+     */
+    @Test
+    void shouldFailOnlyTheCommandThatThrowsAnError() throws Exception {
+        // Given
+        InventoryCommandQueue queue = inventory.getCommandQueue();
+
+        // When
+        CompletableFuture<Void> failed = queue.submit("Stapler", inv -> {
+            throw new AssertionError("broken command");
+        });
+        CompletableFuture<Void> next = queue.updateItemQuantity("Stapler", 7);
+
+        // Then
+        CompletionException failure = assertThrows(CompletionException.class, failed::join);
+        assertInstanceOf(AssertionError.class, failure.getCause());
+        next.get(5, TimeUnit.SECONDS);
+        assertEquals(7, queue.getItemState("Stapler").getQuantity());
+        assertTrue(queue.isRunning());
+    }
+
+    /**
+     * GIVEN a command running on the writer thread,
+     * WHEN it calls back into a COMMAND_QUEUE facade,
+     * THEN the nested mutation should run inline instead of deadlocking the writer.
+     */
+    @Test
+    void shouldRunNestedFacadeCallsInline() throws Exception {
+        // Given
+        InventoryFacade facade = new InventoryFacade(ExecutionMode.COMMAND_QUEUE);
+        InventoryCommandQueue queue = facade.getCommandQueue();
+
+        // When
+        queue.submit(null, inv -> {
+            facade.updateItemQuantity("Stapler", 4);
+            return null;
+        }).get(5, TimeUnit.SECONDS);
+
+        // Then
+        assertEquals(4, inventory.findItemByName("Stapler").getQuantity());
+        assertEquals(4, queue.getItemState("Stapler").getQuantity());
+    }
+
+    /**
+     * GIVEN threads submitting commands to a running queue,
+     * WHEN the queue is shut down while they are still submitting,
+     * THEN every future should complete, and exactly the successful commands should be applied.
+     */
+    @Test
+    void shouldCompleteEverySubmissionRacingShutdown() throws Exception {
+        // Given
+        InventoryCommandQueue queue = inventory.getCommandQueue();
+        int threads = 4;
+        int perThread = 5_000;
+        List<CompletableFuture<Integer>> futures = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch started = new CountDownLatch(threads);
+        List<Thread> submitters = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Thread submitter = new Thread(() -> {
+                started.countDown();
+                for (int i = 0; i < perThread; i++) {
+                    futures.add(queue.submit("Stapler", inv -> inv.adjustQuantity("Stapler", 1)));
+                }
+            });
+            submitters.add(submitter);
+            submitter.start();
+        }
+
+        // When
+        started.await();
+        queue.shutdown();
+        for (Thread submitter : submitters) {
+            submitter.join();
+        }
+
+        // Then
+        int applied = 0;
+        for (CompletableFuture<Integer> future : futures) {
+            try {
+                future.get(5, TimeUnit.SECONDS);
+                applied++;
+            } catch (ExecutionException e) {
+                assertInstanceOf(IllegalStateException.class, e.getCause());
+            }
+        }
+        assertEquals(threads * perThread, futures.size());
+        assertEquals(10 + applied, inventory.findItemByName("Stapler").getQuantity());
+    }
+}
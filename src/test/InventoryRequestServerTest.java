@@ -0,0 +1,128 @@
+package test;
+
+import model.CategoryType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import service.ExecutionMode;
+import service.Inventory;
+import service.InventoryFacade;
+import service.InventoryRequestServer;
+import service.ItemQuery;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * unit Test Class for InventoryRequestServer functionality.
+ *
+ * follows the Given-When-Then testing structure and JUnit 5 framework.
+ *
+ * tests the in-process API, the loopback line protocol and shutdown of open sessions.
+ */
+class InventoryRequestServerTest {
+
+    private Inventory inventory;
+    private InventoryRequestServer server;
+
+    /**
+     * sets up a fresh Inventory and a server in front of a COMMAND_QUEUE facade.
+     */
+    @BeforeEach
+    void setUp() {
+        inventory = Inventory.getInstance();
+        inventory.getAllItems().clear(); // Reset state before each test
+        server = new InventoryRequestServer(new InventoryFacade(ExecutionMode.COMMAND_QUEUE));
+    }
+
+    /**
+     * closes the server so its sessions and threads do not outlive the test.
+     */
+    @AfterEach
+    void tearDown() {
+        server.close();
+    }
+
+    /**
+     * GIVEN a server in front of the writer queue,
+     * WHEN items are added and updated through the in-process API,
+     * THEN the published quantities should reflect each completed request.
+     */
+    @Test
+    void shouldServeInProcessRequests() throws Exception {
+        // When
+        server.addItem("Scanner", CategoryType.ELECTRONICS, 12, 3, 89.00, "TechCorp").get(5, TimeUnit.SECONDS);
+        server.updateItemQuantity("Scanner", 9).get(5, TimeUnit.SECONDS);
+        int found = server.submit(f -> f.listItems(new ItemQuery(), null).getItems().size()).get(5, TimeUnit.SECONDS);
+
+        // Then
+        assertEquals(Integer.valueOf(9), server.getQuantity("Scanner"));
+        assertEquals(9, inventory.findItemByName("Scanner").getQuantity());
+        assertEquals(1, found);
+        assertNull(server.getQuantity("Unknown"));
+    }
+
+    /**
+     * GIVEN a server listening on a loopback port,
+     * WHEN a client sends protocol commands, including malformed ones,
+     * THEN each should be answered with one OK or ERR line and the session should stay usable.
+     */
+    @Test
+    void shouldAnswerEveryCommandOverLoopbackSocket() throws Exception {
+        // Given
+        int port = server.start(0);
+
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port);
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+             PrintWriter out = new PrintWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8), true)) {
+            // When / Then
+            assertEquals("OK 20", request(in, out, "ADD Desk Lamp|ELECTRONICS|20|5|24.99|LightCo"));
+            assertEquals("OK 15", request(in, out, "UPDATE Desk Lamp|15"));
+            assertEquals("OK 15", request(in, out, "GET Desk Lamp"));
+            assertEquals("OK Desk Lamp=15;", request(in, out, "SEARCH desk lam"));
+            assertTrue(request(in, out, "UPDATE Desk Lamp|many").startsWith("ERR"));
+            assertTrue(request(in, out, "ADD Desk Lamp|NOT_A_CATEGORY|1|1|1.00|LightCo").startsWith("ERR"));
+            assertEquals("ERR not found", request(in, out, "GET Unknown"));
+            assertEquals("ERR not found", request(in, out, "UPDATE Unknown|3"));
+            assertTrue(request(in, out, "DELETE Desk Lamp").startsWith("ERR unknown command"));
+            assertEquals("OK bye", request(in, out, "QUIT"));
+        }
+    }
+
+    /**
+     * GIVEN a client connected to the server,
+     * WHEN the server is closed,
+     * THEN the client's connection should be closed too.
+     */
+    @Test
+    void shouldCloseOpenSessionsOnClose() throws Exception {
+        // Given
+        int port = server.start(0);
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port);
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+             PrintWriter out = new PrintWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8), true)) {
+            assertEquals("ERR not found", request(in, out, "GET Nothing"));
+            assertEquals(1, server.getOpenSessions());
+
+            // When
+            server.close();
+
+            // Then
+            socket.setSoTimeout(5_000);
+            assertNull(in.readLine());
+        }
+    }
+
+    private static String request(BufferedReader in, PrintWriter out, String line) throws Exception {
+        out.println(line);
+        return in.readLine();
+    }
+}
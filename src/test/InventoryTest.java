@@ -5,6 +5,12 @@ import model.InventoryItem;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import service.Inventory;
+import service.ItemQuery;
+import service.Page;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -81,4 +87,168 @@ class InventoryTest {
         // Then
         assertTrue(inventory.findItemByName("HP Laptop").isPendingOrder());
     }
-}
\ No newline at end of file
+
+    /**
+     * GIVEN items above and below their reorder thresholds,
+     * WHEN the inventory is asked for low stock and total value,
+     * THEN only the low item should be listed and the value should cover all items.
+     */
+    @Test
+    void shouldReportLowStockAndTotalValue() {
+        // Given
+        inventory.addItem(new InventoryItem("HP Laptop", 10, 5, 999.99, "TechSupplier", CategoryType.ELECTRONICS));
+        inventory.addItem(new InventoryItem("Dell Laptop", 2, 5, 899.99, "TechSupplier", CategoryType.ELECTRONICS));
+
+        // When
+        List<InventoryItem> lowStock = inventory.getLowStockItems();
+        double totalValue = inventory.getTotalValue();
+
+        // Then
+        assertEquals(1, lowStock.size());
+        assertEquals("Dell Laptop", lowStock.get(0).getName());
+        assertEquals(10 * 999.99 + 2 * 899.99, totalValue, 0.001);
+        assertEquals(2, (int) inventory.getCategoryCounts().get(CategoryType.ELECTRONICS));
+    }
+
+    /**
+     * GIVEN items of two suppliers with varying quantities,
+     * WHEN a filtered query is paged with continuation tokens,
+     * THEN pages should hold only matching items, in insertion order, without gaps or repeats.
+     */
+    @Test
+    void shouldPageFilteredItemsWithContinuationTokens() {
+        // Given
+        for (int i = 0; i < 30; i++) {
+            String supplier = (i % 2 == 0) ? "TechSupplier" : "OfficeWorld";
+            inventory.addItem(new InventoryItem("Item-" + i, i, 0, 1.00, supplier, CategoryType.ELECTRONICS));
+        }
+        ItemQuery query = new ItemQuery().supplier("TechSupplier").quantityBetween(4, 25).pageSize(4);
+
+        // When
+        List<String> names = new ArrayList<>();
+        Page<InventoryItem> page = inventory.findItems(query, null);
+        int pages = 1;
+        names.addAll(page.getItems().stream().map(InventoryItem::getName).toList());
+        while (page.hasMore()) {
+            page = inventory.findItems(query, page.getContinuationToken());
+            names.addAll(page.getItems().stream().map(InventoryItem::getName).toList());
+            pages++;
+        }
+
+        // Then
+        assertEquals(List.of("Item-4", "Item-6", "Item-8", "Item-10", "Item-12", "Item-14",
+                "Item-16", "Item-18", "Item-20", "Item-22", "Item-24"), names);
+        assertEquals(3, pages);
+    }
+
+    /**
+     * GIVEN a paged query holding a continuation token,
+     * WHEN an item is removed, another added, and later the inventory cleared and refilled,
+     * THEN paging should still return every item once, and the stale token should be rejected.
+     */
+    @Test
+    void shouldReuseFreedSlotsAndRejectStaleTokens() {
+        // Given
+        for (int i = 0; i < 6; i++) {
+            inventory.addItem(new InventoryItem("Item-" + i, 10, 0, 1.00, "TechSupplier", CategoryType.ELECTRONICS));
+        }
+        ItemQuery query = new ItemQuery().pageSize(3);
+        Page<InventoryItem> first = inventory.findItems(query, null);
+        InventoryItem removed = inventory.findItemByName("Item-4");
+
+        // When
+        inventory.getAllItems().remove(removed);
+        inventory.addItem(new InventoryItem("Item-6", 10, 0, 1.00, "TechSupplier", CategoryType.ELECTRONICS));
+        removed.setQuantity(99);
+        Page<InventoryItem> second = inventory.findItems(query, first.getContinuationToken());
+
+        // Then
+        assertEquals(List.of("Item-3", "Item-6", "Item-5"),
+                second.getItems().stream().map(InventoryItem::getName).toList()); // Item-6 reuses Item-4's slot
+        assertEquals(10, inventory.findItemByName("Item-6").getQuantity()); // stale view no longer aliases the slot
+
+        inventory.getAllItems().clear();
+        inventory.addItem(new InventoryItem("Fresh", 10, 0, 1.00, "TechSupplier", CategoryType.ELECTRONICS));
+        assertThrows(IllegalArgumentException.class, () -> inventory.findItems(query, first.getContinuationToken()));
+    }
+
+    /**
+     * GIVEN two items of the same supplier,
+     * WHEN one item is removed,
+     * THEN it should no longer be found by search while its supplier still is.
+     */
+    @Test
+    void shouldDropRemovedItemsFromSearch() {
+        // Given
+        inventory.addItem(new InventoryItem("HP Laptop", 10, 2, 999.99, "TechSupplier", CategoryType.ELECTRONICS));
+        inventory.addItem(new InventoryItem("HP Printer", 10, 2, 199.99, "TechSupplier", CategoryType.ELECTRONICS));
+
+        // When
+        inventory.getAllItems().remove(inventory.findItemByName("HP Laptop"));
+
+        // Then
+        assertTrue(inventory.searchItems("laptop", 10).isEmpty());
+        assertEquals(List.of("TechSupplier"), inventory.searchSuppliers("tech", 10));
+        inventory.getAllItems().remove(inventory.findItemByName("HP Printer"));
+        assertTrue(inventory.searchSuppliers("tech", 10).isEmpty());
+    }
+
+    /**
+     * GIVEN a lazy iterator that has returned its first item,
+     * WHEN an item is removed and another added,
+     * THEN iteration should skip the removed item and include the new one.
+     */
+    @Test
+    void shouldIterateLazilyAcrossChanges() {
+        // Given
+        inventory.addItem(new InventoryItem("Chair", 5, 1, 45.00, "OfficeWorld", CategoryType.FURNITURE));
+        inventory.addItem(new InventoryItem("Desk", 5, 1, 150.00, "OfficeWorld", CategoryType.FURNITURE));
+        Iterator<InventoryItem> items = inventory.iterateItems(new ItemQuery().category(CategoryType.FURNITURE).pageSize(1));
+        assertEquals("Chair", items.next().getName());
+
+        // When
+        inventory.getAllItems().removeIf(item -> item.getName().equals("Desk"));
+        inventory.addItem(new InventoryItem("Shelf", 5, 1, 60.00, "OfficeWorld", CategoryType.FURNITURE));
+
+        // Then
+        assertEquals("Shelf", items.next().getName());
+        assertFalse(items.hasNext());
+    }
+
+    /**
+     * GIVEN an item adjusted by one thread,
+     * WHEN another thread keeps adding and removing other items, growing the table and reusing its slots,
+     * THEN no adjustment should be lost or applied to another item.
+     */
+    @Test
+    void shouldNotLoseAdjustmentsWhileItemsAreAddedAndRemoved() throws InterruptedException {
+        // Given
+        inventory.addItem(new InventoryItem("Stapler", 0, 0, 8.00, "OfficeWorld", CategoryType.OFFICE_SUPPLIES));
+        int rounds = 20_000;
+
+        // When
+        Thread churn = new Thread(() -> {
+            for (int i = 0; i < rounds / 10; i++) {
+                String name = "Temp-" + i;
+                inventory.addItem(new InventoryItem(name, 1, 0, 1.00, "OfficeWorld", CategoryType.OFFICE_SUPPLIES));
+                if (i % 2 == 0) {
+                    inventory.getAllItems().removeIf(item -> item.getName().equals(name));
+                }
+            }
+        });
+        churn.start();
+        for (int i = 0; i < rounds; i++) {
+            if (i % 2 == 0) {
+                inventory.adjustQuantity("Stapler", 1);
+            } else {
+                inventory.addItem(new InventoryItem("Stapler", 1, 0, 8.00, "OfficeWorld", CategoryType.OFFICE_SUPPLIES));
+            }
+        }
+        churn.join();
+
+        // Then
+        assertEquals(rounds, inventory.findItemByName("Stapler").getQuantity());
+        assertEquals(1, inventory.findItemByName("Temp-1").getQuantity());
+        assertNull(inventory.findItemByName("Temp-0"));
+    }
+}
@@ -0,0 +1,244 @@
+package test;
+
+import model.CategoryType;
+import model.InventoryItem;
+import model.PurchaseOrder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import service.DerivedViewCache;
+import service.Inventory;
+import service.InventoryTransaction;
+import service.OrderService;
+import service.Page;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * unit Test Class for InventoryTransaction functionality.
+ *
+ * follows the Given-When-Then testing structure and JUnit 5 framework.
+ *
+ * tests all-or-nothing commits, reorders after commit, concurrent transfers and
+ * commits interleaved with the owner's own mutations.
+ */
+class InventoryTransactionTest {
+
+    private Inventory inventory;
+
+    /**
+     * sets up a fresh Inventory before each test.
+     */
+    @BeforeEach
+    void setUp() {
+        inventory = Inventory.getInstance();
+        inventory.getAllItems().clear(); // Reset state before each test
+    }
+
+    /**
+     * GIVEN two items,
+     * WHEN a transaction moves stock between them and another would take one below zero,
+     * THEN the first should apply entirely and the second not at all.
+     */
+    @Test
+    void shouldApplyAllAdjustmentsOrNone() {
+        // Given
+        inventory.addItem(new InventoryItem("Laptop", 50, 5, 999.99, "TechCorp", CategoryType.ELECTRONICS));
+        inventory.addItem(new InventoryItem("Mouse", 40, 5, 19.99, "TechCorp", CategoryType.ELECTRONICS));
+
+        // When
+        boolean transferred = inventory.beginTransaction().adjust("Laptop", -10).adjust("Mouse", 10).commit();
+        InventoryTransaction overdrawn = inventory.beginTransaction().adjust("Mouse", -5).adjust("Laptop", -41);
+        boolean rejected = !overdrawn.commit();
+
+        // Then
+        assertTrue(transferred);
+        assertTrue(rejected);
+        assertTrue(overdrawn.getFailureReason().contains("Laptop"));
+        assertEquals(40, inventory.findItemByName("Laptop").getQuantity());
+        assertEquals(50, inventory.findItemByName("Mouse").getQuantity());
+        assertThrows(IllegalStateException.class, () -> overdrawn.adjust("Mouse", 1));
+    }
+
+    /**
+     * GIVEN an item above its reorder threshold,
+     * WHEN a committed transaction takes it below the threshold,
+     * THEN exactly one purchase order should be created, and none for an aborted transaction.
+     */
+    @Test
+    void shouldReorderOnlyAfterCommit() {
+        // Given
+        inventory.addItem(new InventoryItem("Chair", 20, 5, 45.00, "OfficeMax", CategoryType.FURNITURE));
+        inventory.addItem(new InventoryItem("Desk", 20, 5, 150.00, "OfficeMax", CategoryType.FURNITURE));
+        int ordersBefore = inventory.getOrderService().getAllOrders().size();
+
+        // When
+        try (InventoryTransaction aborted = inventory.beginTransaction()) {
+            aborted.adjust("Desk", -18);
+        }
+        inventory.beginTransaction().adjust("Chair", -8).adjust("Chair", -8).commit();
+
+        // Then
+        assertEquals(4, inventory.findItemByName("Chair").getQuantity());
+        assertEquals(20, inventory.findItemByName("Desk").getQuantity());
+        assertTrue(inventory.findItemByName("Chair").isPendingOrder());
+        assertEquals(ordersBefore + 1, inventory.getOrderService().getAllOrders().size());
+    }
+
+    /**
+     * GIVEN items shared by several threads,
+     * WHEN each thread commits random transfers between them,
+     * THEN total stock should be conserved and no item should go negative.
+     */
+    @Test
+    void shouldConserveStockUnderConcurrentTransfers() throws InterruptedException {
+        // Given
+        int itemCount = 16;
+        for (int i = 0; i < itemCount; i++) {
+            inventory.addItem(new InventoryItem("Part-" + i, 1_000, 0, 1.00, "PartsCo", CategoryType.MACHINERY));
+        }
+
+        // When
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            long seed = t;
+            Thread thread = new Thread(() -> {
+                SplittableRandom random = new SplittableRandom(seed);
+                for (int i = 0; i < 5_000; i++) {
+                    int from = random.nextInt(itemCount);
+                    int to = random.nextInt(itemCount);
+                    int amount = random.nextInt(1, 50);
+                    inventory.beginTransaction().adjust("Part-" + from, -amount).adjust("Part-" + to, amount).commit();
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        // Then
+        int total = 0;
+        for (int i = 0; i < itemCount; i++) {
+            int quantity = inventory.findItemByName("Part-" + i).getQuantity();
+            assertTrue(quantity >= 0);
+            total += quantity;
+        }
+        assertEquals(itemCount * 1_000, total);
+    }
+
+    /**
+     * GIVEN items with different prices in one category,
+     * WHEN transactions and direct quantity changes hit the same items concurrently,
+     * THEN the cached category quantity and value should match the items' final quantities.
+     */
+    @Test
+    void shouldKeepCategoryTotalsExactWhenListenersRunAfterUnlocking() throws InterruptedException {
+        // Given
+        int itemCount = 8;
+        for (int i = 0; i < itemCount; i++) {
+            inventory.addItem(new InventoryItem("Cog-" + i, 10_000, 0, 1.00 + i, "PartsCo", CategoryType.MACHINERY));
+        }
+
+        // When
+        Thread committer = new Thread(() -> {
+            SplittableRandom random = new SplittableRandom(7);
+            for (int i = 0; i < 20_000; i++) {
+                int from = random.nextInt(itemCount);
+                int to = random.nextInt(itemCount);
+                inventory.beginTransaction().adjust("Cog-" + from, -3).adjust("Cog-" + to, 2).commit();
+            }
+        });
+        committer.start();
+        SplittableRandom random = new SplittableRandom(11);
+        for (int i = 0; i < 20_000; i++) {
+            inventory.adjustQuantity("Cog-" + random.nextInt(itemCount), 1);
+        }
+        committer.join();
+
+        // Then
+        int quantity = 0;
+        double value = 0;
+        for (int i = 0; i < itemCount; i++) {
+            InventoryItem item = inventory.findItemByName("Cog-" + i);
+            quantity += item.getQuantity();
+            value += item.getQuantity() * item.getUnitPrice();
+        }
+        DerivedViewCache.CategoryTotal total = inventory.getViewCache().getCategoryTotals().get(CategoryType.MACHINERY);
+        assertEquals((long) quantity, total.getQuantity());
+        assertEquals(value, inventory.getViewCache().getCategoryValue(CategoryType.MACHINERY), 0.001);
+    }
+
+    /**
+     * GIVEN an item receiving lots on the owning thread,
+     * WHEN another thread commits single-unit transactions on the same item at the same time,
+     * THEN no increment from either side should be lost.
+     */
+    @Test
+    void shouldNotLoseOwnerAdjustmentsDuringConcurrentCommits() throws InterruptedException {
+        // Given
+        inventory.addItem(new InventoryItem("Bolt", 1_000, 0, 0.10, "PartsCo", CategoryType.MACHINERY));
+        int rounds = 20_000;
+
+        // When
+        Thread committer = new Thread(() -> {
+            for (int i = 0; i < rounds; i++) {
+                inventory.beginTransaction().adjust("Bolt", 1).commit();
+            }
+        });
+        committer.start();
+        for (int i = 0; i < rounds; i++) {
+            inventory.getLotService().receiveLot("Bolt", 1, LocalDate.of(2030, 1, 1));
+        }
+        committer.join();
+
+        // Then
+        assertEquals(1_000 + 2 * rounds, inventory.findItemByName("Bolt").getQuantity());
+    }
+
+    /**
+     * GIVEN items whose transactions will trigger automatic reorders,
+     * WHEN one thread commits those transactions while the owner places orders directly,
+     * THEN every order should be stored once and listed once in creation order.
+     */
+    @Test
+    void shouldKeepOrdersConsistentWhenCommitsReorderConcurrently() throws InterruptedException {
+        // Given
+        int reorders = 500;
+        int directOrders = 2_000;
+        for (int i = 0; i < reorders; i++) {
+            inventory.addItem(new InventoryItem("Valve-" + i, 10, 5, 3.00, "PartsCo", CategoryType.MACHINERY));
+        }
+        inventory.addItem(new InventoryItem("Gasket", 100, 0, 0.50, "PartsCo", CategoryType.MACHINERY));
+        OrderService orderService = inventory.getOrderService();
+        int ordersBefore = orderService.getAllOrders().size();
+
+        // When
+        Thread committer = new Thread(() -> {
+            for (int i = 0; i < reorders; i++) {
+                inventory.beginTransaction().adjust("Valve-" + i, -6).commit();
+            }
+        });
+        committer.start();
+        for (int i = 0; i < directOrders; i++) {
+            orderService.createOrder("Gasket", 10);
+        }
+        committer.join();
+
+        // Then
+        int listed = 0;
+        String token = null;
+        do {
+            Page<PurchaseOrder> page = orderService.findOrders(null, null, 500, token);
+            listed += page.getItems().size();
+            token = page.getContinuationToken();
+        } while (token != null);
+        assertEquals(ordersBefore + reorders + directOrders, orderService.getAllOrders().size());
+        assertEquals(ordersBefore + reorders + directOrders, listed);
+    }
+}
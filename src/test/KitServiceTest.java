@@ -0,0 +1,130 @@
+package test;
+
+import model.CategoryType;
+import model.InventoryItem;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import service.Inventory;
+import service.KitService;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * unit Test Class for KitService functionality.
+ *
+ * follows the Given-When-Then testing structure and JUnit 5 framework.
+ *
+ * tests buildable quantities, their incremental updates and reorders of limiting components.
+ */
+class KitServiceTest {
+
+    private Inventory inventory;
+    private KitService kitService;
+
+    /**
+     * sets up a fresh Inventory with laptop bundle components and defines the bundle.
+     */
+    @BeforeEach
+    void setUp() {
+        inventory = Inventory.getInstance();
+        inventory.getAllItems().clear(); // Reset state before each test
+        kitService = inventory.getKitService();
+        inventory.addItem(new InventoryItem("Laptop", 30, 2, 999.99, "TechCorp", CategoryType.ELECTRONICS));
+        inventory.addItem(new InventoryItem("Laptop Bag", 50, 2, 29.99, "BagCo", CategoryType.ELECTRONICS));
+        inventory.addItem(new InventoryItem("Mouse", 40, 2, 19.99, "TechCorp", CategoryType.ELECTRONICS));
+
+        Map<String, Integer> components = new LinkedHashMap<>();
+        components.put("Laptop", 1);
+        components.put("Laptop Bag", 1);
+        components.put("Mouse", 2);
+        kitService.defineKit("Laptop Bundle", components, 5);
+    }
+
+    /**
+     * removes the kit so other tests are not affected.
+     */
+    @AfterEach
+    void tearDown() {
+        kitService.removeKit("Laptop Bundle");
+        kitService.removeKit("Desk Setup");
+    }
+
+    /**
+     * GIVEN a bundle needing one laptop, one bag and two mice,
+     * WHEN component quantities change,
+     * THEN the buildable quantity and limiting component should follow the scarcest component.
+     */
+    @Test
+    void shouldTrackBuildableQuantityIncrementally() {
+        // Given / Then
+        assertEquals(20, kitService.getBuildableQuantity("Laptop Bundle"));
+        assertEquals("Mouse", kitService.getLimitingComponent("Laptop Bundle"));
+
+        // When
+        inventory.updateItemQuantity("Mouse", 100);
+
+        // Then
+        assertEquals(30, kitService.getBuildableQuantity("Laptop Bundle"));
+        assertEquals("Laptop", kitService.getLimitingComponent("Laptop Bundle"));
+
+        // When
+        inventory.beginTransaction().adjust("Laptop Bag", -45).adjust("Laptop", -1).commit();
+
+        // Then
+        assertEquals(5, kitService.getBuildableQuantity("Laptop Bundle"));
+        assertEquals("Laptop Bag", kitService.getLimitingComponent("Laptop Bundle"));
+        assertEquals(-1, kitService.getBuildableQuantity("Unknown Kit"));
+    }
+
+    /**
+     * GIVEN a bundle with a reorder threshold of five kits,
+     * WHEN its limiting component falls so only four kits can be built,
+     * THEN that component should be reordered once, although it is above its own threshold.
+     */
+    @Test
+    void shouldReorderLimitingComponentWhenKitIsLow() {
+        // Given
+        int ordersBefore = inventory.getOrderService().getAllOrders().size();
+
+        // When
+        inventory.updateItemQuantity("Mouse", 8);
+        inventory.updateItemQuantity("Mouse", 7);
+
+        // Then
+        assertEquals(3, kitService.getBuildableQuantity("Laptop Bundle"));
+        assertTrue(kitService.getLowKits().contains("Laptop Bundle"));
+        assertEquals(ordersBefore + 1, inventory.getOrderService().getAllOrders().size());
+        assertTrue(inventory.getOrderService().getAllOrders().values().stream()
+                .anyMatch(order -> order.getItemName().equals("Mouse")));
+    }
+
+    /**
+     * GIVEN two low-threshold kits that are both limited by the same component,
+     * WHEN that component falls until both kits are low and then below its own threshold,
+     * THEN it should be reordered only once.
+     */
+    @Test
+    void shouldReorderSharedComponentOnce() {
+        // Given
+        Map<String, Integer> components = new LinkedHashMap<>();
+        components.put("Mouse", 1);
+        components.put("Laptop Bag", 1);
+        kitService.defineKit("Desk Setup", components, 5);
+        int ordersBefore = inventory.getOrderService().getAllOrders().size();
+
+        // When
+        inventory.updateItemQuantity("Mouse", 4);
+        inventory.updateItemQuantity("Mouse", 3);
+        inventory.updateItemQuantity("Mouse", 1);
+
+        // Then
+        assertTrue(kitService.getLowKits().containsAll(List.of("Laptop Bundle", "Desk Setup")));
+        assertTrue(inventory.findItemByName("Mouse").isPendingOrder());
+        assertEquals(ordersBefore + 1, inventory.getOrderService().getAllOrders().size());
+    }
+}
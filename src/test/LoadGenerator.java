@@ -0,0 +1,525 @@
+package test;
+
+import model.CategoryType;
+import model.EventKind;
+import model.InventoryItem;
+import model.PurchaseOrder;
+import model.UserRole;
+import observer.StockObserver;
+import service.*;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.BooleanSupplier;
+
+/**
+ * deterministic load generator and soak harness for the inventory engine.
+ * it is not unit testing; it is run before a release to qualify the engine under load.
+ *
+ * producer threads pick items with Zipfian popularity and issue a configurable mix of
+ * reads, writes (restocks through InventoryFacade, and sales committed as transactions,
+ * which the engine rejects when stock is short) and reorder events (stock drained to
+ * the threshold so OrderService raises an order).
+ *
+ * in queue mode mutations are serialised through the single-writer command queue; each
+ * one runs a DIRECT InventoryFacade on the writer thread and is audited there for
+ * invariant violations: negative stock, and more than one purchase order for one
+ * low-stock event. in direct mode the producers mutate concurrently on their own threads
+ * (the command queue is never started), exercising the striped item locks; stock is
+ * checked for going negative after each mutation, and at the end each item's quantity
+ * must equal its initial quantity plus the changes the producers committed.
+ *
+ * the catalogue and each thread's operation sequence are derived from the seed, so a run
+ * is reproducible apart from the interleaving of threads.
+ *
+ * progress lines and the final report show throughput, latency percentiles per operation
+ * type, heap use and GC activity. the process exits with status 1 if any invariant was violated.
+ *
+ * usage: LoadGenerator [key=value ...]
+ *   threads=4 duration=60 (seconds, 0 = use ops) ops=0 (per thread) skus=10000
+ *   zipf=1.1 mix=80/18/2 (read/write/reorder %) seed=42 report=10 (seconds) mode=queue|direct
+ */
+public class LoadGenerator {
+    private static final int READ = 0;
+    private static final int WRITE = 1;
+    private static final int REORDER = 2;
+    private static final String[] OP_NAMES = {"read", "write", "reorder"};
+
+    private final int threads;
+    private final long durationMillis;
+    private final long opsPerThread;
+    private final int skus;
+    private final double zipfExponent;
+    private final int readPercent;
+    private final int writePercent;
+    private final long seed;
+    private final long reportMillis;
+    private final boolean direct;   // producers mutate on their own threads instead of the command queue
+
+    private final Inventory inventory = Inventory.getInstance();
+    private final InventoryFacade facade = new InventoryFacade();   // DIRECT; in queue mode only run on the writer thread
+    private InventoryCommandQueue queue;                             // null in direct mode
+    private String[] names;
+    private CategoryType[] categories;
+    private int[] thresholds;
+    private int[] initialQuantities;
+    private AtomicLongArray committed;   // direct mode: quantity changes applied per item
+
+    // ======= Invariants (written by the writer thread, or by the producers in direct mode) =======
+    private final AtomicLong negativeStock = new AtomicLong();
+    private final AtomicLong duplicateOrders = new AtomicLong();
+    private final AtomicLong ordersCreated = new AtomicLong();
+    private final List<String> violations = Collections.synchronizedList(new ArrayList<>());
+
+    private final AtomicLong completedOps = new AtomicLong();
+    private final AtomicLong rejectedSales = new AtomicLong();
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq < 0) {
+                throw new IllegalArgumentException("Expected key=value, got: " + arg);
+            }
+            options.put(arg.substring(0, eq), arg.substring(eq + 1));
+        }
+        boolean passed = new LoadGenerator(options).run();
+        System.exit(passed ? 0 : 1);
+    }
+
+    private LoadGenerator(Map<String, String> options) {
+        threads = Integer.parseInt(options.getOrDefault("threads", "4"));
+        durationMillis = Long.parseLong(options.getOrDefault("duration", "60")) * 1_000L;
+        opsPerThread = Long.parseLong(options.getOrDefault("ops", "0"));
+        skus = Integer.parseInt(options.getOrDefault("skus", "10000"));
+        zipfExponent = Double.parseDouble(options.getOrDefault("zipf", "1.1"));
+        String[] mix = options.getOrDefault("mix", "80/18/2").split("/");
+        readPercent = Integer.parseInt(mix[0]);
+        writePercent = Integer.parseInt(mix[1]);
+        if (mix.length != 3 || readPercent + writePercent + Integer.parseInt(mix[2]) != 100) {
+            throw new IllegalArgumentException("mix must be read/write/reorder percentages adding up to 100");
+        }
+        seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        reportMillis = Long.parseLong(options.getOrDefault("report", "10")) * 1_000L;
+        String mode = options.getOrDefault("mode", "queue");
+        if (!mode.equals("queue") && !mode.equals("direct")) {
+            throw new IllegalArgumentException("mode must be queue or direct, got: " + mode);
+        }
+        direct = mode.equals("direct");
+    }
+
+    // ======= Run =======
+
+    private boolean run() throws InterruptedException {
+        EventLog.getInstance().setLevel(LogLevel.WARN);   // keep per-operation logging off the hot path
+        inventory.getAllItems().clear();
+        inventory.getOrderService().getAllOrders().clear();
+        populate();
+        StockObserver orderCounter = null;
+        if (direct) {
+            // orders are raised on the producer threads; count them as they are published
+            orderCounter = new StockObserver() {
+                @Override
+                public void update(String message) {
+                    ordersCreated.incrementAndGet();
+                }
+
+                @Override
+                public UserRole getRole() {
+                    return UserRole.ADMIN;
+                }
+            };
+            NotificationHandler.getInstance().subscribe(orderCounter, new Subscription().kinds(EventKind.ORDER_CREATED));
+        } else {
+            queue = inventory.getCommandQueue();
+        }
+
+        System.out.println("===== LOAD GENERATOR =====");
+        System.out.println("threads=" + threads + " duration=" + (durationMillis / 1_000) + "s ops/thread=" + opsPerThread +
+                " skus=" + skus + " zipf=" + zipfExponent + " mix=" + readPercent + "/" + writePercent + "/" +
+                (100 - readPercent - writePercent) + " seed=" + seed + " mode=" + (direct ? "direct" : "queue"));
+
+        Zipf zipf = new Zipf(skus, zipfExponent);
+        SplittableRandom root = new SplittableRandom(seed);
+        Histogram[][] histograms = new Histogram[threads][OP_NAMES.length];
+        Thread[] producers = new Thread[threads];
+        CountDownLatch start = new CountDownLatch(1);
+        long deadline = System.currentTimeMillis() + durationMillis;
+        for (int t = 0; t < threads; t++) {
+            SplittableRandom random = root.split();   // split in thread order: same seed, same sequences
+            Histogram[] own = histograms[t];
+            for (int op = 0; op < own.length; op++) {
+                own[op] = new Histogram();
+            }
+            producers[t] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                produce(random, zipf, own, deadline);
+            }, "load-producer-" + t);
+            producers[t].start();
+        }
+
+        GcSample begin = GcSample.now();
+        long startNanos = System.nanoTime();
+        start.countDown();
+        report(producers, begin, startNanos);
+        long elapsedNanos = System.nanoTime() - startNanos;
+
+        if (direct) {
+            NotificationHandler.getInstance().unsubscribe(orderCounter);
+            audit(inventory);
+        } else {
+            queue.submit(null, inv -> {
+                audit(inv);
+                return null;
+            }).join();
+            queue.shutdown();
+        }
+
+        printSummary(histograms, begin, elapsedNanos);
+        return violations.isEmpty();
+    }
+
+    /**
+     * builds the catalogue from the seed: every item starts well above its threshold.
+     */
+    private void populate() {
+        SplittableRandom random = new SplittableRandom(seed);
+        CategoryType[] values = CategoryType.values();
+        names = new String[skus];
+        categories = new CategoryType[skus];
+        thresholds = new int[skus];
+        initialQuantities = new int[skus];
+        committed = new AtomicLongArray(skus);
+        for (int i = 0; i < skus; i++) {
+            names[i] = "SKU-" + i;
+            categories[i] = values[random.nextInt(values.length)];
+            thresholds[i] = 5 + random.nextInt(20);
+            initialQuantities[i] = thresholds[i] * 10;
+            double price = 1 + random.nextInt(50_000) / 100.0;
+            inventory.addItem(new InventoryItem(names[i], initialQuantities[i], thresholds[i], price,
+                    "Supplier-" + random.nextInt(200), categories[i]));
+        }
+    }
+
+    /**
+     * producer loop for one thread.
+     */
+    private void produce(SplittableRandom random, Zipf zipf, Histogram[] histograms, long deadline) {
+        long done = 0;
+        while (opsPerThread > 0 ? done < opsPerThread : System.currentTimeMillis() < deadline) {
+            int sku = zipf.next(random);
+            String name = names[sku];
+            int roll = random.nextInt(100);
+            long begin = System.nanoTime();
+            int op;
+            if (roll < readPercent) {
+                op = READ;
+                if (direct) {
+                    inventory.findItemByName(name).getQuantity();
+                } else {
+                    queue.getItemState(name);
+                }
+            } else if (roll < readPercent + writePercent) {
+                op = WRITE;
+                int amount = 1 + random.nextInt(thresholds[sku]);
+                if (random.nextBoolean()) {
+                    // restock: the item exists, so only the quantity is used
+                    mutate(sku, amount, () -> {
+                        facade.addItem(name, categories[sku], amount, thresholds[sku], 0, "");
+                        return true;
+                    });
+                } else {
+                    // sale: the engine rejects it if the stock is short; the generator does not clamp
+                    mutate(sku, -amount, () -> {
+                        if (sell(name, amount)) {
+                            return true;
+                        }
+                        rejectedSales.incrementAndGet();
+                        return false;
+                    });
+                }
+            } else {
+                op = REORDER;
+                int remaining = random.nextInt(thresholds[sku] + 1);
+                if (direct) {
+                    // drain by a delta, so a concurrent change is never overwritten
+                    int delta = remaining - inventory.findItemByName(name).getQuantity();
+                    mutate(sku, delta, () -> sell(name, -delta));
+                } else {
+                    mutate(sku, 0, () -> {
+                        facade.updateItemQuantity(name, remaining);
+                        return true;
+                    });
+                }
+            }
+            histograms[op].record(System.nanoTime() - begin);
+            completedOps.incrementAndGet();
+            done++;
+        }
+    }
+
+    /**
+     * removes stock in a transaction, which fails rather than going below zero.
+     *
+     * @return true if committed.
+     */
+    private boolean sell(String name, int amount) {
+        try (InventoryTransaction tx = inventory.beginTransaction()) {
+            return tx.adjust(name, -amount).commit();
+        }
+    }
+
+    /**
+     * runs a mutation and checks the invariants around it: in queue mode on the writer
+     * thread, in direct mode on the calling thread, recording the change it committed.
+     *
+     * @param sku      item index.
+     * @param delta    quantity change the mutation applies if it commits (direct mode only).
+     * @param mutation returns whether the change was applied.
+     */
+    private void mutate(int sku, int delta, BooleanSupplier mutation) {
+        String name = names[sku];
+        if (direct) {
+            if (mutation.getAsBoolean()) {
+                committed.addAndGet(sku, delta);
+            }
+            int quantity = inventory.findItemByName(name).getQuantity();
+            if (quantity < 0) {
+                negativeStock.incrementAndGet();
+                violation("negative stock: " + name + " qty " + quantity);
+            }
+            return;
+        }
+        queue.submit(name, inv -> {
+            InventoryItem before = inv.findItemByName(name);
+            boolean wasPending = before.isPendingOrder();
+            int ordersBefore = inv.getOrderService().getAllOrders().size();
+
+            mutation.getAsBoolean();
+
+            InventoryItem after = inv.findItemByName(name);
+            int created = inv.getOrderService().getAllOrders().size() - ordersBefore;
+            ordersCreated.addAndGet(created);
+            if (after.getQuantity() < 0) {
+                negativeStock.incrementAndGet();
+                violation("negative stock: " + name + " qty " + after.getQuantity());
+            }
+            if (created > 1 || (created == 1 && wasPending)) {
+                duplicateOrders.incrementAndGet();
+                violation("duplicate order: " + name + " (" + created + " created, pending before: " + wasPending + ")");
+            }
+            return null;
+        }).join();
+    }
+
+    /**
+     * final consistency pass over every item and order, run on the writer thread in queue
+     * mode and after every producer has finished in direct mode.
+     */
+    private void audit(Inventory inv) {
+        for (InventoryItem item : inv.getAllItems()) {
+            if (item.getQuantity() < 0) {
+                negativeStock.incrementAndGet();
+                violation("negative stock at end of run: " + item.getName() + " qty " + item.getQuantity());
+            }
+        }
+        if (direct) {
+            for (int i = 0; i < skus; i++) {
+                long expected = initialQuantities[i] + committed.get(i);
+                int actual = inv.findItemByName(names[i]).getQuantity();
+                if (actual != expected) {
+                    violation("lost update: " + names[i] + " qty " + actual + ", committed changes give " + expected);
+                }
+            }
+        }
+        Set<String> orderIDs = new HashSet<>();
+        for (PurchaseOrder order : inv.getOrderService().getAllOrders().values()) {
+            if (!orderIDs.add(order.getOrderID())) {
+                violation("order ID issued twice: " + order.getOrderID());
+            }
+        }
+    }
+
+    private void violation(String message) {
+        if (violations.size() < 20) {
+            violations.add(message);
+        } else if (violations.size() == 20) {
+            violations.add("... further violations not listed");
+        }
+    }
+
+    // ======= Reporting =======
+
+    /**
+     * prints a progress line every report interval until all producers have finished.
+     */
+    private void report(Thread[] producers, GcSample begin, long startNanos) throws InterruptedException {
+        long lastOps = 0;
+        long lastNanos = startNanos;
+        for (Thread producer : producers) {
+            while (producer.isAlive()) {
+                producer.join(reportMillis);
+                if (!producer.isAlive()) {
+                    break;
+                }
+                long now = System.nanoTime();
+                long ops = completedOps.get();
+                GcSample gc = GcSample.now();
+                System.out.printf("[%6ds] %,10d ops/s | heap %,6d MB | gc %,d (%,d ms) | orders %,d | violations %d%n",
+                        (now - startNanos) / 1_000_000_000L,
+                        (ops - lastOps) * 1_000_000_000L / Math.max(1, now - lastNanos),
+                        gc.heapUsed >> 20, gc.collections - begin.collections, gc.collectionMillis - begin.collectionMillis,
+                        ordersCreated.get(), negativeStock.get() + duplicateOrders.get());
+                lastOps = ops;
+                lastNanos = now;
+            }
+        }
+    }
+
+    private void printSummary(Histogram[][] histograms, GcSample begin, long elapsedNanos) {
+        GcSample end = GcSample.now();
+        long total = completedOps.get();
+        System.out.println("===== SUMMARY =====");
+        System.out.printf("ops %,d in %.1fs = %,d ops/s%n", total, elapsedNanos / 1e9, total * 1_000_000_000L / Math.max(1, elapsedNanos));
+        for (int op = 0; op < OP_NAMES.length; op++) {
+            Histogram merged = new Histogram();
+            for (Histogram[] perThread : histograms) {
+                merged.add(perThread[op]);
+            }
+            if (merged.count == 0) {
+                continue;
+            }
+            System.out.printf("%-8s n=%,d p50=%s p90=%s p99=%s p99.9=%s max=%s%n", OP_NAMES[op], merged.count,
+                    micros(merged.percentile(50)), micros(merged.percentile(90)), micros(merged.percentile(99)),
+                    micros(merged.percentile(99.9)), micros(merged.max));
+        }
+        System.out.printf("heap used %,d MB (committed %,d MB) | gc collections %,d, total pause %,d ms%n",
+                end.heapUsed >> 20, end.heapCommitted >> 20, end.collections - begin.collections,
+                end.collectionMillis - begin.collectionMillis);
+        System.out.printf("orders created %,d | sales rejected for short stock %,d | negative stock %d | duplicate orders %d%n",
+                ordersCreated.get(), rejectedSales.get(), negativeStock.get(), duplicateOrders.get());
+        for (String violation : violations) {
+            System.out.println("VIOLATION " + violation);
+        }
+        System.out.println(violations.isEmpty() ? "RESULT: PASS" : "RESULT: FAIL");
+    }
+
+    private static String micros(long nanos) {
+        return String.format("%.1fus", nanos / 1_000.0);
+    }
+
+    // ======= Helpers =======
+
+    /**
+     * Zipfian sampler over [0, n): item k is picked with probability proportional to 1 / (k + 1)^s.
+     * the cumulative distribution is precomputed and sampled by binary search.
+     */
+    private static final class Zipf {
+        private final double[] cdf;
+
+        private Zipf(int n, double exponent) {
+            cdf = new double[n];
+            double sum = 0;
+            for (int k = 0; k < n; k++) {
+                sum += 1.0 / Math.pow(k + 1, exponent);
+                cdf[k] = sum;
+            }
+            for (int k = 0; k < n; k++) {
+                cdf[k] /= sum;
+            }
+        }
+
+        private int next(SplittableRandom random) {
+            int index = Arrays.binarySearch(cdf, random.nextDouble());
+            return Math.min(index >= 0 ? index : -index - 1, cdf.length - 1);
+        }
+    }
+
+    /**
+     * log-linear latency histogram: 32 linear sub-buckets per power of two, so
+     * percentiles are accurate to about 3%. one per thread and operation type, merged at the end.
+     */
+    private static final class Histogram {
+        private static final int SUB_BITS = 5;
+        private static final int SUB_BUCKETS = 1 << SUB_BITS;
+
+        private final long[] counts = new long[64 * SUB_BUCKETS];
+        private long count;
+        private long max;
+
+        private void record(long nanos) {
+            counts[index(Math.max(0, nanos))]++;
+            count++;
+            max = Math.max(max, nanos);
+        }
+
+        private void add(Histogram other) {
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] += other.counts[i];
+            }
+            count += other.count;
+            max = Math.max(max, other.max);
+        }
+
+        private long percentile(double percentile) {
+            long rank = (long) Math.ceil(count * percentile / 100.0);
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank && counts[i] > 0) {
+                    return Math.min(upperBound(i), max);
+                }
+            }
+            return max;
+        }
+
+        private static int index(long value) {
+            if (value < SUB_BUCKETS) {
+                return (int) value;
+            }
+            int magnitude = 63 - Long.numberOfLeadingZeros(value) - SUB_BITS + 1;
+            int sub = (int) (value >>> (magnitude - 1)) & (SUB_BUCKETS - 1);
+            return magnitude * SUB_BUCKETS + sub;
+        }
+
+        private static long upperBound(int index) {
+            int magnitude = index / SUB_BUCKETS;
+            int sub = index % SUB_BUCKETS;
+            if (magnitude == 0) {
+                return sub;
+            }
+            return ((long) (SUB_BUCKETS + sub + 1) << (magnitude - 1)) - 1;
+        }
+    }
+
+    /**
+     * heap and garbage collector counters at one point in time.
+     */
+    private static final class GcSample {
+        private long heapUsed;
+        private long heapCommitted;
+        private long collections;
+        private long collectionMillis;
+
+        private static GcSample now() {
+            GcSample sample = new GcSample();
+            MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+            sample.heapUsed = memory.getHeapMemoryUsage().getUsed();
+            sample.heapCommitted = memory.getHeapMemoryUsage().getCommitted();
+            for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+                sample.collections += Math.max(0, gc.getCollectionCount());
+                sample.collectionMillis += Math.max(0, gc.getCollectionTime());
+            }
+            return sample;
+        }
+    }
+}
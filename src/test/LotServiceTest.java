@@ -0,0 +1,192 @@
+package test;
+
+import model.CategoryType;
+import model.InventoryItem;
+import model.StockLot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import service.Inventory;
+import service.LotService;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * unit Test Class for LotService functionality.
+ *
+ * follows the Given-When-Then testing structure and JUnit 5 framework.
+ *
+ * tests lot receiving, first-expired-first-out picking, untracked stock, expired lots and the expiry scan.
+ */
+class LotServiceTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 1, 1);
+
+    private Inventory inventory;
+    private LotService lotService;
+
+    /**
+     * sets up the Inventory and LotService before each test.
+     */
+    @BeforeEach
+    void setUp() {
+        inventory = Inventory.getInstance();
+        inventory.getAllItems().clear(); // Reset inventory before each test
+        lotService = inventory.getLotService();
+    }
+
+    /**
+     * GIVEN a perishable item with two lots,
+     * WHEN stock is picked,
+     * THEN the lot expiring first should be consumed first.
+     */
+    @Test
+    void shouldPickFromFirstExpiringLotFirst() {
+        // Given
+        inventory.addItem(new InventoryItem("Milk", 0, 0, 1.20, "DairyFarm", CategoryType.DAIRY_PRODUCTS));
+        lotService.receiveLot("Milk", 10, TODAY.plusDays(7));
+        lotService.receiveLot("Milk", 5, TODAY.plusDays(2));
+
+        // When
+        int picked = lotService.pick("Milk", 8, TODAY);
+
+        // Then
+        assertEquals(8, picked);
+        List<StockLot> lots = lotService.getLots("Milk");
+        assertEquals(1, lots.size());
+        assertEquals(TODAY.plusDays(7), lots.get(0).getExpiryDate());
+        assertEquals(7, lots.get(0).getQuantity());
+        assertEquals(7, inventory.findItemByName("Milk").getQuantity());
+    }
+
+    /**
+     * GIVEN lots expiring at different dates,
+     * WHEN the catalogue is scanned for lots expiring within 3 days,
+     * THEN only the lots inside the window should be returned.
+     */
+    @Test
+    void shouldFindOnlyLotsExpiringWithinWindow() {
+        // Given
+        inventory.addItem(new InventoryItem("Salmon", 0, 0, 8.50, "FishCo", CategoryType.MEAT_SEAFOOD));
+        StockLot soon = lotService.receiveLot("Salmon", 4, TODAY.plusDays(1));
+        lotService.receiveLot("Salmon", 4, TODAY.plusDays(10));
+        StockLot expired = lotService.receiveLot("Salmon", 4, TODAY.minusDays(1));
+
+        // When
+        List<StockLot> expiring = lotService.findLotsExpiringWithin(3, TODAY);
+
+        // Then
+        assertTrue(expiring.contains(soon));
+        assertEquals(1, expiring.stream().filter(l -> l.getItemName().equals("Salmon")).count());
+        assertEquals(List.of(expired), lotService.findExpiredLots(TODAY));
+    }
+
+    /**
+     * GIVEN an item with stock from before lot tracking and one lot,
+     * WHEN more than the lot holds is picked,
+     * THEN the lot should be used first and the rest taken from the untracked stock.
+     */
+    @Test
+    void shouldPickUntrackedStockAfterLots() {
+        // Given
+        inventory.addItem(new InventoryItem("Yogurt", 6, 0, 0.90, "DairyFarm", CategoryType.DAIRY_PRODUCTS));
+        lotService.receiveLot("Yogurt", 4, TODAY.plusDays(5));
+        assertEquals(6, lotService.getUntrackedQuantity("Yogurt"));
+
+        // When
+        int picked = lotService.pick("Yogurt", 7, TODAY);
+
+        // Then
+        assertEquals(7, picked);
+        assertTrue(lotService.getLots("Yogurt").isEmpty());
+        assertEquals(3, lotService.getUntrackedQuantity("Yogurt"));
+        assertEquals(3, inventory.findItemByName("Yogurt").getQuantity());
+    }
+
+    /**
+     * GIVEN an expired lot and an unexpired lot,
+     * WHEN stock is picked,
+     * THEN the expired lot should be skipped and stay quarantined.
+     */
+    @Test
+    void shouldSkipExpiredLotsWhenPicking() {
+        // Given
+        inventory.addItem(new InventoryItem("Cream", 0, 0, 2.10, "DairyFarm", CategoryType.DAIRY_PRODUCTS));
+        StockLot expired = lotService.receiveLot("Cream", 5, TODAY.minusDays(2));
+        StockLot fresh = lotService.receiveLot("Cream", 5, TODAY.plusDays(4));
+
+        // When
+        int picked = lotService.pick("Cream", 8, TODAY);
+
+        // Then
+        assertEquals(5, picked);
+        assertEquals(5, expired.getQuantity());
+        assertEquals(0, fresh.getQuantity());
+        assertEquals(5, inventory.findItemByName("Cream").getQuantity());
+    }
+
+    /**
+     * GIVEN an item whose stock is all in lots,
+     * WHEN its quantity is lowered outside the lot service,
+     * THEN the lots should shrink so they never exceed the quantity.
+     */
+    @Test
+    void shouldKeepLotsWithinQuantity() {
+        // Given
+        inventory.addItem(new InventoryItem("Butter", 0, 0, 3.40, "DairyFarm", CategoryType.DAIRY_PRODUCTS));
+        lotService.receiveLot("Butter", 10, LocalDate.now().plusDays(3));
+        lotService.receiveLot("Butter", 10, LocalDate.now().plusDays(9));
+
+        // When
+        inventory.updateItemQuantity("Butter", 12);
+
+        // Then
+        List<StockLot> lots = lotService.getLots("Butter");
+        assertEquals(12, lots.stream().mapToInt(StockLot::getQuantity).sum());
+        assertEquals(2, lots.get(0).getQuantity()); // the first-expiring lot absorbed the decrease
+        assertEquals(0, lotService.getUntrackedQuantity("Butter"));
+    }
+
+    /**
+     * GIVEN an item with lots,
+     * WHEN all items are cleared and the item is added again,
+     * THEN its old lots should be gone.
+     */
+    @Test
+    void shouldDropLotsWhenItemsAreCleared() {
+        // Given
+        inventory.addItem(new InventoryItem("Cheese", 0, 0, 6.00, "DairyFarm", CategoryType.DAIRY_PRODUCTS));
+        lotService.receiveLot("Cheese", 3, TODAY.plusDays(30));
+
+        // When
+        inventory.getAllItems().clear();
+        inventory.addItem(new InventoryItem("Cheese", 0, 0, 6.00, "DairyFarm", CategoryType.DAIRY_PRODUCTS));
+
+        // Then
+        assertTrue(lotService.getLots("Cheese").isEmpty());
+        assertTrue(lotService.findLotsExpiringWithin(60, TODAY).isEmpty());
+    }
+
+    /**
+     * GIVEN lots of an item, one expiring soon and one already expired,
+     * WHEN the item's quantity is set to zero outside the lot service,
+     * THEN neither expiry scan should report the sold stock.
+     */
+    @Test
+    void shouldReconcileLotsBeforeScanning() {
+        // Given
+        inventory.addItem(new InventoryItem("Milk", 0, 0, 1.20, "DairyFarm", CategoryType.DAIRY_PRODUCTS));
+        lotService.receiveLot("Milk", 10, TODAY.plusDays(2));
+        lotService.receiveLot("Milk", 4, TODAY.minusDays(1));
+
+        // When
+        inventory.updateItemQuantity("Milk", 0);
+
+        // Then
+        assertTrue(lotService.findLotsExpiringWithin(7, TODAY).isEmpty());
+        assertTrue(lotService.findExpiredLots(TODAY).isEmpty());
+        assertTrue(lotService.getLots("Milk").isEmpty());
+    }
+}
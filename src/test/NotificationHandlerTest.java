@@ -0,0 +1,135 @@
+package test;
+
+import model.CategoryType;
+import model.EventKind;
+import model.InventoryItem;
+import model.NotificationEvent;
+import model.UserRole;
+import observer.StockObserver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import service.Inventory;
+import service.NotificationHandler;
+import service.Subscription;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * unit Test Class for the filtered subscriptions of NotificationHandler.
+ *
+ * follows the Given-When-Then testing structure and JUnit 5 framework.
+ *
+ * tests filtering by item, category, supplier and event kind, and unsubscribing.
+ */
+class NotificationHandlerTest {
+
+    private Inventory inventory;
+    private NotificationHandler notificationHandler;
+    private RecordingObserver electronicsLowStock;
+    private RecordingObserver laptopOnly;
+    private RecordingObserver officeMaxOrders;
+
+    /**
+     * observer that records the events it receives.
+     */
+    private static final class RecordingObserver implements StockObserver {
+        private final List<NotificationEvent> events = new ArrayList<>();
+
+        @Override
+        public void update(String message) {
+            // only filtered events are recorded
+        }
+
+        @Override
+        public void onEvent(NotificationEvent event) {
+            events.add(event);
+        }
+
+        @Override
+        public UserRole getRole() {
+            return UserRole.USER;
+        }
+    }
+
+    /**
+     * sets up a fresh Inventory and three filtered subscriptions before each test.
+     */
+    @BeforeEach
+    void setUp() {
+        inventory = Inventory.getInstance();
+        inventory.getAllItems().clear(); // Reset state before each test
+        notificationHandler = NotificationHandler.getInstance();
+        electronicsLowStock = new RecordingObserver();
+        laptopOnly = new RecordingObserver();
+        officeMaxOrders = new RecordingObserver();
+        notificationHandler.subscribe(electronicsLowStock,
+                new Subscription().categories(CategoryType.ELECTRONICS).kinds(EventKind.LOW_STOCK));
+        notificationHandler.subscribe(laptopOnly, new Subscription().items("Laptop"));
+        notificationHandler.subscribe(officeMaxOrders,
+                new Subscription().suppliers("OfficeMax").kinds(EventKind.ORDER_CREATED));
+    }
+
+    /**
+     * removes the subscriptions so other tests are not affected.
+     */
+    @AfterEach
+    void tearDown() {
+        notificationHandler.unsubscribe(electronicsLowStock);
+        notificationHandler.unsubscribe(laptopOnly);
+        notificationHandler.unsubscribe(officeMaxOrders);
+    }
+
+    /**
+     * GIVEN subscriptions filtered by category and kind, by item, and by supplier and kind,
+     * WHEN items in different categories change and fall to their reorder thresholds,
+     * THEN each subscriber should receive only the events matching its filters.
+     */
+    @Test
+    void shouldDeliverOnlyMatchingEvents() {
+        // Given
+        inventory.addItem(new InventoryItem("Laptop", 50, 10, 999.99, "TechCorp", CategoryType.ELECTRONICS));
+        inventory.addItem(new InventoryItem("Mouse", 50, 10, 19.99, "TechCorp", CategoryType.ELECTRONICS));
+        inventory.addItem(new InventoryItem("Chair", 50, 10, 45.00, "OfficeMax", CategoryType.FURNITURE));
+
+        // When
+        inventory.updateItemQuantity("Laptop", 40);
+        inventory.updateItemQuantity("Mouse", 5);
+        inventory.updateItemQuantity("Chair", 5);
+
+        // Then
+        assertEquals(1, electronicsLowStock.events.size());
+        assertEquals("Mouse", electronicsLowStock.events.get(0).getItemName());
+
+        assertEquals(EventKind.ITEM_ADDED, laptopOnly.events.get(0).getKind());
+        assertEquals(EventKind.STOCK_CHANGED, laptopOnly.events.get(1).getKind());
+        assertEquals(2, laptopOnly.events.size());
+
+        assertEquals(1, officeMaxOrders.events.size());
+        assertEquals("Chair", officeMaxOrders.events.get(0).getItemName());
+        assertEquals(CategoryType.FURNITURE, officeMaxOrders.events.get(0).getCategory());
+    }
+
+    /**
+     * GIVEN a subscribed observer,
+     * WHEN it unsubscribes and a matching event occurs,
+     * THEN it should receive nothing further.
+     */
+    @Test
+    void shouldStopDeliveringAfterUnsubscribe() {
+        // Given
+        int subscriptions = notificationHandler.getSubscriptionCount();
+        inventory.addItem(new InventoryItem("Laptop", 50, 10, 999.99, "TechCorp", CategoryType.ELECTRONICS));
+
+        // When
+        notificationHandler.unsubscribe(laptopOnly);
+        inventory.updateItemQuantity("Laptop", 45);
+
+        // Then
+        assertEquals(1, laptopOnly.events.size());
+        assertEquals(subscriptions - 1, notificationHandler.getSubscriptionCount());
+    }
+}
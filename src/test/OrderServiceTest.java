@@ -7,6 +7,13 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import service.Inventory;
 import service.OrderService;
+import service.Page;
+import service.SupplierScorecards;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -15,7 +22,7 @@ import static org.junit.jupiter.api.Assertions.*;
  *
  * follows the Given-When-Then testing structure and JUnit 5 framework.
  *
- * tests the creation and retrieval of purchase orders.
+ * tests the creation, retrieval, completion and receiving of purchase orders.
  */
 class OrderServiceTest {
 
@@ -69,4 +76,117 @@ class OrderServiceTest {
         // Then
         assertEquals(createdOrder, retrievedOrder);
     }
-}
\ No newline at end of file
+
+    /**
+     * GIVEN orders for two suppliers,
+     * WHEN one supplier's orders are paged,
+     * THEN the pages should list that supplier's orders in creation order.
+     */
+    @Test
+    void shouldPageOrdersBySupplierInCreationOrder() {
+        // Given
+        inventory.addItem(new InventoryItem("HP Laptop", 20, 5, 999.99, "TechSupplier", CategoryType.ELECTRONICS));
+        inventory.addItem(new InventoryItem("Desk", 20, 5, 150.00, "OfficeWorld", CategoryType.FURNITURE));
+        for (int i = 1; i <= 5; i++) {
+            orderService.createOrder("HP Laptop", i);
+            orderService.createOrder("Desk", 100 + i);
+        }
+
+        // When
+        Page<PurchaseOrder> first = orderService.findOrders("TechSupplier", null, 3, null);
+        Page<PurchaseOrder> second = orderService.findOrders("TechSupplier", null, 3, first.getContinuationToken());
+
+        // Then
+        assertEquals(3, first.getItems().size());
+        assertEquals(1, first.getItems().get(0).getQuantity());
+        assertEquals(3, first.getItems().get(2).getQuantity());
+        assertEquals(2, second.getItems().size());
+        assertEquals(5, second.getItems().get(1).getQuantity());
+        assertFalse(second.hasMore());
+    }
+
+    /**
+     * GIVEN a continuation token for an order sequence beyond the int range,
+     * WHEN orders are paged from it,
+     * THEN it should be accepted and return an empty last page.
+     */
+    @Test
+    void shouldAcceptOrderTokensBeyondIntRange() {
+        // Given
+        inventory.addItem(new InventoryItem("HP Laptop", 20, 5, 999.99, "TechSupplier", CategoryType.ELECTRONICS));
+        orderService.createOrder("HP Laptop", 1);
+        String token = Long.toString(Integer.MAX_VALUE + 1L, 36);
+
+        // When
+        Page<PurchaseOrder> page = orderService.findOrders(null, null, 3, token);
+
+        // Then
+        assertTrue(page.getItems().isEmpty());
+        assertFalse(page.hasMore());
+    }
+
+    /**
+     * GIVEN a pending order,
+     * WHEN it is marked Completed without being received,
+     * THEN its supplier's scorecard should record a full delivery and no open order.
+     */
+    @Test
+    void shouldScoreOrderCompletedByStatusAsFullDelivery() {
+        // Given
+        inventory.addItem(new InventoryItem("Webcam", 20, 5, 49.99, "CamCo", CategoryType.ELECTRONICS));
+        orderService.createOrder("Webcam", 10);
+        PurchaseOrder order = orderService.getAllOrders().values().iterator().next();
+
+        // When
+        orderService.updateOrderStatus(order.getOrderID(), "Completed");
+
+        // Then
+        SupplierScorecards.SupplierScorecard scorecard = inventory.getSupplierScorecards().getScorecard("CamCo");
+        assertEquals(1, scorecard.getDeliveries());
+        assertEquals(0, scorecard.getOpenOrders());
+        assertEquals(1.0, scorecard.getFillRate(), 1e-9);
+        assertEquals(10, order.getReceivedQuantity());
+    }
+
+    /**
+     * GIVEN a pending order,
+     * WHEN several threads receive it at once,
+     * THEN it should be received once, with its stock added before it is Completed.
+     */
+    @Test
+    void shouldReceiveOrderOnlyOnce() throws InterruptedException {
+        // Given
+        inventory.addItem(new InventoryItem("Headset", 100, 5, 29.99, "AudioCo", CategoryType.ELECTRONICS));
+        orderService.createOrder("Headset", 20);
+        PurchaseOrder order = orderService.getAllOrders().values().iterator().next();
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger received = new AtomicInteger();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                if (orderService.receiveOrder(order.getOrderID(), 20)) {
+                    received.incrementAndGet();
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+
+        // When
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        // Then
+        assertEquals(1, received.get());
+        assertEquals(120, inventory.findItemByName("Headset").getQuantity());
+        assertEquals("Completed", order.getStatus());
+        assertFalse(orderService.receiveOrder(order.getOrderID(), 20));
+    }
+}
@@ -0,0 +1,80 @@
+package test;
+
+import model.CategoryType;
+import model.InventoryItem;
+import service.*;
+
+import java.util.SplittableRandom;
+
+/**
+ * two-process demonstration of primary -> replica replication over loopback.
+ * it is not unit testing.
+ *
+ * start the primary, then one or more replicas, in separate terminals:
+ * <pre>
+ * java test.ReplicationDemo primary 7070 [items] [updatesPerSecond]
+ * java test.ReplicationDemo replica 7070
+ * </pre>
+ * the primary applies random quantity updates through InventoryFacade and prints its
+ * log end and acknowledged offsets; each replica prints the offset it has applied and
+ * its read-only view. stopping and restarting a replica shows it catching up from its
+ * offset, and the last line of both processes converges once updates stop.
+ */
+public class ReplicationDemo {
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            System.out.println("usage: ReplicationDemo primary|replica port [items] [updatesPerSecond]");
+            return;
+        }
+        int port = Integer.parseInt(args[1]);
+        EventLog.getInstance().setLevel(LogLevel.WARN);
+        if (args[0].equalsIgnoreCase("primary")) {
+            int items = args.length > 2 ? Integer.parseInt(args[2]) : 1_000;
+            int rate = args.length > 3 ? Integer.parseInt(args[3]) : 10_000;
+            runPrimary(port, items, rate);
+        } else {
+            runReplica(port);
+        }
+    }
+
+    private static void runPrimary(int port, int items, int updatesPerSecond) throws Exception {
+        Inventory inventory = Inventory.getInstance();
+        ReplicationLog log = new ReplicationLog();
+        inventory.setReplicationLog(log);
+        InventoryFacade facade = new InventoryFacade();
+        for (int i = 0; i < items; i++) {
+            facade.addItem("Item-" + i, CategoryType.OTHER, 100, 10, 2.50, "Supplier-" + (i % 20));
+        }
+
+        try (ReplicationPrimary primary = new ReplicationPrimary(log)) {
+            System.out.println("primary listening on " + primary.start(port));
+            SplittableRandom random = new SplittableRandom(42);
+            long second = System.currentTimeMillis();
+            while (true) {
+                for (int i = 0; i < updatesPerSecond / 100; i++) {
+                    facade.updateItemQuantity("Item-" + random.nextInt(items), random.nextInt(200));
+                }
+                Thread.sleep(10);
+                if (System.currentTimeMillis() - second >= 1_000) {
+                    second = System.currentTimeMillis();
+                    System.out.println("primary end=" + log.getEndOffset() + " acked=" + primary.getAcknowledgedOffset() +
+                            " replicas=" + primary.getReplicaCount() + " value=" + String.format("%.2f", inventory.getTotalValue()) +
+                            " orders=" + inventory.getOrderService().getAllOrders().size());
+                }
+            }
+        }
+    }
+
+    private static void runReplica(int port) throws InterruptedException {
+        try (ReplicaClient replica = new ReplicaClient(port)) {
+            while (true) {
+                Thread.sleep(1_000);
+                InventoryItem sample = replica.findItemByName("Item-0");
+                System.out.println("replica applied=" + replica.getAppliedOffset() + " items=" + replica.getItemCount() +
+                        " value=" + String.format("%.2f", replica.getTotalValue()) + " orders=" + replica.getOrderCount() +
+                        " low=" + replica.getLowStockItems().size() +
+                        (sample != null ? " Item-0 qty=" + sample.getQuantity() : ""));
+            }
+        }
+    }
+}
@@ -0,0 +1,368 @@
+package test;
+
+import model.CategoryType;
+import model.InventoryItem;
+import model.PurchaseOrder;
+import model.Supplier;
+import model.UserRole;
+import observer.StockObserver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import service.Inventory;
+import service.InventoryCodec;
+import service.NotificationHandler;
+import service.Page;
+import service.ReplicaClient;
+import service.ReplicationLog;
+import service.ReplicationPrimary;
+import service.Subscription;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * unit Test Class for ReplicationLog, ReplicationPrimary and ReplicaClient functionality.
+ *
+ * follows the Given-When-Then testing structure and JUnit 5 framework.
+ *
+ * tests appending, reading and waiting on the log, truncation to compacted state,
+ * and replicas applying items, removals and orders, including oversized entries and resyncs.
+ */
+class ReplicationTest {
+
+    private static final int SEGMENT_ENTRIES = 60_000; // enough small item entries to span several 1 MB segments
+
+    private Inventory inventory;
+    private ReplicationLog log;
+    private ReplicationPrimary primary;
+    private ReplicaClient replica;
+
+    /**
+     * sets up an empty Inventory, which the replica applies to, and a standalone log.
+     */
+    @BeforeEach
+    void setUp() {
+        inventory = Inventory.getInstance();
+        inventory.getAllItems().clear(); // Reset state before each test
+        inventory.getOrderService().getAllOrders().clear();
+        log = new ReplicationLog();
+        primary = new ReplicationPrimary(log);
+    }
+
+    /**
+     * disconnects the replica and stops the primary.
+     */
+    @AfterEach
+    void tearDown() {
+        if (replica != null) {
+            replica.close();
+        }
+        primary.close();
+    }
+
+    /**
+     * GIVEN an empty log,
+     * WHEN an item and an order are appended,
+     * THEN they should be read back in offset order and waiters should see new entries.
+     */
+    @Test
+    void shouldAppendReadAndAwaitEntries() throws Exception {
+        // Given
+        assertFalse(log.awaitEntry(0, 10));
+
+        // When
+        long itemOffset = log.append(item("Widget", 12));
+        long orderOffset = log.append(order("PO-1", "Widget", 40));
+
+        // Then
+        assertEquals(0, itemOffset);
+        assertEquals(1, orderOffset);
+        assertEquals(2, log.getEndOffset());
+        ByteBuffer out = ByteBuffer.allocate(4096);
+        assertEquals(2, log.read(0, 10, out));
+        out.flip();
+        out.getInt();
+        assertEquals(12, InventoryCodec.readItem(out).getQuantity());
+        out.getInt();
+        assertEquals("PO-1", InventoryCodec.readOrder(out).getOrderID());
+        assertEquals(0, log.read(0, 10, ByteBuffer.allocate(8))); // first entry does not fit
+        assertThrows(IllegalArgumentException.class, () -> log.read(3, 1, ByteBuffer.allocate(64)));
+
+        Thread appender = new Thread(() -> log.append(item("Widget", 11)));
+        appender.start();
+        assertTrue(log.awaitEntry(2, 5_000));
+        appender.join();
+    }
+
+    /**
+     * GIVEN a log spanning several segments with many states of one item,
+     * WHEN it is truncated to its end,
+     * THEN the dropped entries should be compacted to the latest state of each item.
+     */
+    @Test
+    void shouldCompactTruncatedEntries() {
+        // Given
+        log.append(item("Gadget", 7));
+        for (int i = 1; i <= SEGMENT_ENTRIES; i++) {
+            log.append(item("Widget", i));
+        }
+
+        // When
+        long start = log.truncate(log.getEndOffset());
+
+        // Then
+        assertTrue(start > 0);
+        assertEquals(start, log.getStartOffset());
+        List<byte[]> compacted = new ArrayList<>();
+        assertEquals(start, log.copyCompacted(compacted));
+        assertEquals(2, compacted.size());
+        assertEquals(7, decodeItem(compacted.get(0)).getQuantity());
+        assertEquals(start - 1, decodeItem(compacted.get(1)).getQuantity()); // Widget's last truncated state
+        assertThrows(IllegalArgumentException.class, () -> log.read(start - 1, 1, ByteBuffer.allocate(4096)));
+        assertEquals(start, decodeItem(log.readEntry(start)).getQuantity());
+    }
+
+    /**
+     * GIVEN a log with items, an order and an item larger than a replication frame,
+     * WHEN a replica connects to the primary,
+     * THEN it should apply every entry, and later entries as they are appended.
+     */
+    @Test
+    void shouldApplyReplicatedItemsAndOrders() throws Exception {
+        // Given
+        log.append(item("Widget", 12));
+        log.append(item("Gadget", 3));
+        log.append(order("PO-1", "Gadget", 40));
+        String longName = "Banner ".repeat(60_000); // ~420 KB, larger than one frame
+        log.append(item(longName, 1));
+        int port = primary.start(0);
+
+        // When
+        replica = new ReplicaClient(port);
+
+        // Then
+        assertTrue(primary.awaitAcknowledged(log.getEndOffset(), 5_000));
+        assertEquals(4, replica.getAppliedOffset());
+        assertEquals(12, replica.findItemByName("Widget").getQuantity());
+        assertEquals(1, replica.findItemByName(longName).getQuantity());
+        assertEquals(1, replica.getOrderCount());
+
+        log.append(item("Widget", 9));
+        log.append(order("PO-1", "Gadget", 40));
+        assertTrue(primary.awaitAcknowledged(log.getEndOffset(), 5_000));
+        assertEquals(9, replica.findItemByName("Widget").getQuantity());
+        assertEquals(1, replica.getOrderCount());
+    }
+
+    /**
+     * GIVEN a replica that has applied a log spanning several segments,
+     * WHEN its acknowledgement reaches the primary,
+     * THEN the primary should truncate the acknowledged segments.
+     */
+    @Test
+    void shouldTruncateAcknowledgedSegments() throws Exception {
+        // Given
+        for (int i = 1; i <= SEGMENT_ENTRIES; i++) {
+            log.append(item("Widget", i));
+        }
+        int port = primary.start(0);
+
+        // When
+        replica = new ReplicaClient(port);
+
+        // Then
+        assertTrue(primary.awaitAcknowledged(log.getEndOffset(), 10_000));
+        assertTrue(waitFor(() -> log.getStartOffset() > 0, 5_000));
+        assertEquals(SEGMENT_ENTRIES, replica.findItemByName("Widget").getQuantity());
+    }
+
+    /**
+     * GIVEN a log already truncated past the start,
+     * WHEN a new replica connects from offset 0,
+     * THEN it should be resynced from the compacted state and continue from the log.
+     */
+    @Test
+    void shouldResyncReplicaBehindTruncatedLog() throws Exception {
+        // Given
+        log.append(item("Gadget", 7));
+        log.append(order("PO-1", "Gadget", 40));
+        for (int i = 1; i <= SEGMENT_ENTRIES; i++) {
+            log.append(item("Widget", i));
+        }
+        assertTrue(log.truncate(log.getEndOffset()) > 0);
+        int port = primary.start(0);
+
+        // When
+        replica = new ReplicaClient(port);
+
+        // Then
+        assertTrue(primary.awaitAcknowledged(log.getEndOffset(), 10_000));
+        assertEquals(log.getEndOffset(), replica.getAppliedOffset());
+        assertEquals(7, replica.findItemByName("Gadget").getQuantity());
+        assertEquals(SEGMENT_ENTRIES, replica.findItemByName("Widget").getQuantity());
+        assertEquals(1, replica.getOrderCount());
+    }
+
+    /**
+     * GIVEN an item state followed by its tombstone, both in truncated segments,
+     * WHEN the log is truncated,
+     * THEN the compacted state should no longer hold the removed item.
+     */
+    @Test
+    void shouldDropRemovedItemsFromCompactedState() {
+        // Given
+        log.append(item("Gadget", 7));
+        log.append(item("Sprocket", 2));
+        log.appendRemoval("Gadget");
+        for (int i = 1; i <= SEGMENT_ENTRIES; i++) {
+            log.append(item("Widget", i));
+        }
+
+        // When
+        long start = log.truncate(log.getEndOffset());
+
+        // Then
+        assertTrue(start > 0);
+        List<byte[]> compacted = new ArrayList<>();
+        log.copyCompacted(compacted);
+        assertEquals(2, compacted.size());
+        assertEquals("Sprocket", decodeItem(compacted.get(0)).getName());
+        assertEquals("Widget", decodeItem(compacted.get(1)).getName());
+    }
+
+    /**
+     * GIVEN an inventory replicating to a log,
+     * WHEN one item is removed and then the rest are cleared,
+     * THEN a tombstone should be appended for each removed item.
+     */
+    @Test
+    void shouldAppendTombstonesForRemovedItems() {
+        // Given
+        inventory.addItem(item("Gadget", 3));
+        inventory.addItem(item("Widget", 12));
+        inventory.setReplicationLog(log);
+        long before = log.getEndOffset();
+
+        // When
+        try {
+            inventory.getAllItems().removeIf(item -> item.getName().equals("Gadget"));
+            inventory.getAllItems().clear();
+        } finally {
+            inventory.setReplicationLog(null);
+        }
+
+        // Then
+        assertEquals(before + 2, log.getEndOffset());
+        assertEquals("Gadget", decodeRemoval(log.readEntry(before)));
+        assertEquals("Widget", decodeRemoval(log.readEntry(before + 1)));
+    }
+
+    /**
+     * GIVEN a replica that has applied an item,
+     * WHEN the primary's log records the item's removal,
+     * THEN the replica should remove the item too.
+     */
+    @Test
+    void shouldApplyReplicatedRemovals() throws Exception {
+        // Given
+        log.append(item("Gadget", 3));
+        log.append(item("Widget", 12));
+        int port = primary.start(0);
+        replica = new ReplicaClient(port);
+        assertTrue(primary.awaitAcknowledged(log.getEndOffset(), 5_000));
+        assertEquals(3, replica.findItemByName("Gadget").getQuantity());
+
+        // When
+        log.appendRemoval("Gadget");
+
+        // Then
+        assertTrue(primary.awaitAcknowledged(log.getEndOffset(), 5_000));
+        assertNull(replica.findItemByName("Gadget"));
+        assertEquals(12, replica.findItemByName("Widget").getQuantity());
+        assertEquals(3, replica.getAppliedOffset());
+    }
+
+    /**
+     * GIVEN a replica that has applied a pending order and an item, with a subscriber to that item,
+     * WHEN the order's completion and a stock change are replicated,
+     * THEN the order should be updated in place and still paged, and no event should be published.
+     */
+    @Test
+    void shouldUpdateReplicatedOrdersInPlaceWithoutNotifications() throws Exception {
+        // Given
+        log.append(item("Widget", 12));
+        log.append(order("PO-1", "Widget", 40));
+        int port = primary.start(0);
+        replica = new ReplicaClient(port);
+        assertTrue(primary.awaitAcknowledged(log.getEndOffset(), 5_000));
+        List<String> events = new ArrayList<>();
+        StockObserver observer = new StockObserver() {
+            @Override
+            public void update(String message) {
+                events.add(message);
+            }
+
+            @Override
+            public UserRole getRole() {
+                return UserRole.INVENTORY_MANAGER;
+            }
+        };
+        NotificationHandler.getInstance().subscribe(observer, new Subscription().items("Widget"));
+
+        // When
+        PurchaseOrder completed = order("PO-1", "Widget", 40);
+        completed.setStatus("Completed");
+        completed.markReceived(new Date(), 38);
+        log.append(completed);
+        log.append(item("Widget", 50));
+        try {
+            assertTrue(primary.awaitAcknowledged(log.getEndOffset(), 5_000));
+        } finally {
+            NotificationHandler.getInstance().unsubscribe(observer);
+        }
+
+        // Then
+        Page<PurchaseOrder> page = inventory.getOrderService().findOrders(null, "Completed", 10, null);
+        assertEquals(1, page.getItems().size());
+        assertSame(inventory.getOrderService().getOrder("PO-1"), page.getItems().get(0));
+        assertEquals(38, page.getItems().get(0).getReceivedQuantity());
+        assertEquals(50, replica.findItemByName("Widget").getQuantity());
+        assertTrue(events.isEmpty());
+    }
+
+    // ======= Helpers =======
+
+    private static InventoryItem item(String name, int quantity) {
+        return new InventoryItem(name, quantity, 5, 2.50, "Acme", CategoryType.OFFICE_SUPPLIES);
+    }
+
+    private static PurchaseOrder order(String orderID, String itemName, int quantity) {
+        return new PurchaseOrder(orderID, itemName, quantity,
+                new Supplier("S001", "Acme", "contact@acme.com"), new Date(), "Pending");
+    }
+
+    private static InventoryItem decodeItem(byte[] entry) {
+        return InventoryCodec.readItem(ByteBuffer.wrap(entry, 4, entry.length - 4));
+    }
+
+    private static String decodeRemoval(byte[] entry) {
+        return InventoryCodec.readItemRemoval(ByteBuffer.wrap(entry, 4, entry.length - 4));
+    }
+
+    private static boolean waitFor(BooleanSupplier condition, long timeoutMillis) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                return false;
+            }
+            Thread.sleep(10);
+        }
+        return true;
+    }
+}
@@ -0,0 +1,166 @@
+package test;
+
+import model.CategoryType;
+import model.InventoryItem;
+import model.RequestID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import service.Inventory;
+import service.InventoryFacade;
+import service.RequestDeduplicator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * unit Test Class for RequestDeduplicator functionality.
+ *
+ * follows the Given-When-Then testing structure and JUnit 5 framework.
+ *
+ * tests that retried mutations are dropped, that failed ones can be retried, and that IDs expire with the window.
+ */
+class RequestDeduplicatorTest {
+
+    private Inventory inventory;
+
+    /**
+     * sets up the Inventory before each test.
+     */
+    @BeforeEach
+    void setUp() {
+        inventory = Inventory.getInstance();
+        inventory.getAllItems().clear(); // Reset inventory before each test
+    }
+
+    /**
+     * GIVEN a stock delivery sent twice with the same request ID,
+     * WHEN both deliveries are applied through the facade,
+     * THEN the quantity should only be added once.
+     */
+    @Test
+    void shouldDropRetriedAddWithSameRequestId() {
+        // Given
+        InventoryFacade facade = new InventoryFacade();
+        facade.addItem(RequestID.of("feed-1:item"), "Stapler", CategoryType.OFFICE_SUPPLIES, 10, 2, 4.50, "OfficeWorld");
+
+        // When
+        boolean first = facade.addItem(RequestID.of("feed-1:delivery-7"), "Stapler", CategoryType.OFFICE_SUPPLIES, 5, 2, 4.50, "OfficeWorld");
+        boolean retry = facade.addItem(RequestID.of("feed-1:delivery-7"), "Stapler", CategoryType.OFFICE_SUPPLIES, 5, 2, 4.50, "OfficeWorld");
+
+        // Then
+        assertTrue(first);
+        assertFalse(retry);
+        assertEquals(15, inventory.findItemByName("Stapler").getQuantity());
+    }
+
+    /**
+     * GIVEN a quantity update for an item that does not exist yet,
+     * WHEN it is retried with the same request ID after the item is added,
+     * THEN the first attempt should not count as applied and the retry should apply.
+     */
+    @Test
+    void shouldAcceptRetryOfUpdateThatDidNotApply() {
+        // Given
+        InventoryFacade facade = new InventoryFacade();
+        RequestID requestID = RequestID.of("feed-2:count-3");
+        boolean first = facade.updateItemQuantity(requestID, "Binder", 40);
+
+        // When
+        facade.addItem("Binder", CategoryType.OFFICE_SUPPLIES, 10, 2, 3.20, "OfficeWorld");
+        boolean retry = facade.updateItemQuantity(requestID, "Binder", 40);
+        boolean duplicate = facade.updateItemQuantity(requestID, "Binder", 40);
+
+        // Then
+        assertFalse(first);
+        assertTrue(retry);
+        assertFalse(duplicate);
+        assertEquals(40, inventory.findItemByName("Binder").getQuantity());
+    }
+
+    /**
+     * GIVEN a mutation that throws after its request ID was claimed,
+     * WHEN the same request is retried,
+     * THEN the retry should be accepted.
+     */
+    @Test
+    void shouldReleaseRequestIdWhenMutationThrows() {
+        // Given
+        RequestID requestID = RequestID.of("feed-3:item");
+        assertThrows(RuntimeException.class, () -> inventory.addItem(requestID, null));
+
+        // When
+        boolean retry = inventory.addItem(requestID,
+                new InventoryItem("Folder", 5, 1, 1.10, "OfficeWorld", CategoryType.OFFICE_SUPPLIES));
+
+        // Then
+        assertTrue(retry);
+        assertEquals(5, inventory.findItemByName("Folder").getQuantity());
+    }
+
+    /**
+     * GIVEN IDs sharing probe sequences in a small table,
+     * WHEN one of them is forgotten,
+     * THEN only that ID should be accepted again.
+     */
+    @Test
+    void shouldForgetOnlyTheReleasedId() {
+        // Given
+        RequestDeduplicator deduplicator = new RequestDeduplicator(60_000, 64);
+        for (int i = 0; i < 60; i++) {
+            assertTrue(deduplicator.markSeen("req-" + i, 0));
+        }
+
+        // When
+        deduplicator.forget("req-30");
+
+        // Then
+        assertTrue(deduplicator.markSeen("req-30", 0));
+        for (int i = 0; i < 60; i++) {
+            assertFalse(deduplicator.markSeen("req-" + i, 0));
+        }
+    }
+
+    /**
+     * GIVEN a request ID recorded at time 0 with a one second window,
+     * WHEN the ID is seen again within the window and after two windows,
+     * THEN it should be a duplicate only within the window.
+     */
+    @Test
+    void shouldForgetIdsAfterTheWindow() {
+        // Given
+        RequestDeduplicator deduplicator = new RequestDeduplicator(1_000, 1_000);
+        assertTrue(deduplicator.markSeen("req-1", 0));
+
+        // When
+        boolean withinWindow = deduplicator.markSeen("req-1", 900);
+        boolean afterOneWindow = deduplicator.markSeen("req-1", 1_500);
+        boolean afterTwoWindows = deduplicator.markSeen("req-1", 3_100);
+
+        // Then
+        assertFalse(withinWindow);
+        assertFalse(afterOneWindow);
+        assertTrue(afterTwoWindows);
+    }
+
+    /**
+     * GIVEN a deduplicator with room for 1,000 IDs per generation,
+     * WHEN 100,000 distinct IDs arrive within one window,
+     * THEN every ID should be accepted, generations rotated early, and recent IDs still detected.
+     */
+    @Test
+    void shouldRotateEarlyWhenCapacityIsReached() {
+        // Given
+        RequestDeduplicator deduplicator = new RequestDeduplicator(60_000, 1_000);
+
+        // When
+        int accepted = 0;
+        for (int i = 0; i < 100_000; i++) {
+            accepted += deduplicator.markSeen("req-" + i, 0) ? 1 : 0;
+        }
+
+        // Then
+        assertEquals(100_000, accepted);
+        assertTrue(deduplicator.getEarlyRotationCount() >= 99);
+        assertFalse(deduplicator.markSeen("req-99999", 0));
+        assertFalse(deduplicator.markSeen("req-99500", 0));
+    }
+}
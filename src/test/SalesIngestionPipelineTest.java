@@ -0,0 +1,194 @@
+package test;
+
+import model.CategoryType;
+import model.InventoryItem;
+import model.UserRole;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import service.AlertRule;
+import service.Inventory;
+import service.InventoryCommandQueue;
+import service.SalesIngestionPipeline;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * unit Test Class for SalesIngestionPipeline functionality.
+ *
+ * follows the Given-When-Then testing structure and JUnit 5 framework.
+ *
+ * tests micro-batching, clamping at zero, unknown SKUs, failing item updates, command-queue mode and close().
+ */
+class SalesIngestionPipelineTest {
+
+    private Inventory inventory;
+
+    /**
+     * sets up a fresh Inventory with two items before each test.
+     */
+    @BeforeEach
+    void setUp() {
+        inventory = Inventory.getInstance();
+        inventory.getAllItems().clear(); // Reset state before each test
+        inventory.addItem(new InventoryItem("Coffee", 10_000, 10, 4.50, "BeanCo", CategoryType.BEVERAGES));
+        inventory.addItem(new InventoryItem("Tea", 10_000, 10, 3.00, "LeafCo", CategoryType.BEVERAGES));
+    }
+
+    /**
+     * GIVEN a pipeline closing batches at 100 events,
+     * WHEN 250 sales of two items are accepted,
+     * THEN they should be applied in batches of at most 100 with the quantities summed per item.
+     */
+    @Test
+    void shouldApplySalesInBoundedBatches() {
+        // Given
+        SalesIngestionPipeline pipeline = new SalesIngestionPipeline(inventory, 100, 50);
+
+        // When
+        for (int i = 0; i < 250; i++) {
+            assertTrue(pipeline.accept(i % 2 == 0 ? "Coffee" : "Tea", 2));
+        }
+        pipeline.close();
+
+        // Then
+        assertEquals(250, pipeline.getEventsApplied());
+        assertTrue(pipeline.getBatchesApplied() >= 3);
+        assertTrue(pipeline.getMaxBatchSize() <= 100);
+        assertEquals(10_000 - 250, inventory.findItemByName("Coffee").getQuantity());
+        assertEquals(10_000 - 250, inventory.findItemByName("Tea").getQuantity());
+    }
+
+    /**
+     * GIVEN an item with less stock than is sold,
+     * WHEN the sales are applied,
+     * THEN its quantity should stop at zero and it should be reordered.
+     */
+    @Test
+    void shouldClampOversoldItemsAtZero() {
+        // Given
+        inventory.updateItemQuantity("Tea", 50);
+        SalesIngestionPipeline pipeline = new SalesIngestionPipeline(inventory, 100, 10);
+
+        // When
+        pipeline.accept("Tea", 30);
+        pipeline.accept("Tea", 30);
+        pipeline.close();
+
+        // Then
+        assertEquals(0, inventory.findItemByName("Tea").getQuantity());
+        assertTrue(inventory.findItemByName("Tea").isPendingOrder());
+    }
+
+    /**
+     * GIVEN a sale of an SKU that is not in the inventory,
+     * WHEN it is batched with a known item,
+     * THEN it should be counted as unknown and the known item still updated.
+     */
+    @Test
+    void shouldCountUnknownItems() {
+        // Given
+        SalesIngestionPipeline pipeline = new SalesIngestionPipeline(inventory, 100, 10);
+
+        // When
+        pipeline.accept("Cocoa", 1);
+        pipeline.accept("Coffee", 1);
+        pipeline.close();
+
+        // Then
+        assertEquals(1, pipeline.getUnknownItems());
+        assertEquals(9_999, inventory.findItemByName("Coffee").getQuantity());
+        assertNull(inventory.findItemByName("Cocoa"));
+    }
+
+    /**
+     * GIVEN an alert rule that throws whenever one item's stock changes,
+     * WHEN that item is sold in the same batch as another item,
+     * THEN the other item should still be updated and the failing item's sale lines counted as lost.
+     */
+    @Test
+    void shouldCountSalesLostToAFailingItemUpdate() {
+        // Given
+        AlertRule failing = new AlertRule(AlertRule.Scope.ITEM, "Tea", AlertRule.Input.STOCK, false,
+                context -> { throw new IllegalStateException("rule failure"); }, context -> "", UserRole.ADMIN);
+        inventory.getAlertEngine().addRule(failing);
+        SalesIngestionPipeline pipeline = new SalesIngestionPipeline(inventory, 100, 50);
+
+        // When
+        try {
+            for (int i = 0; i < 10; i++) {
+                pipeline.accept(i % 2 == 0 ? "Coffee" : "Tea", 1);
+            }
+            pipeline.close();
+        } finally {
+            inventory.getAlertEngine().removeRule(failing);
+        }
+
+        // Then
+        assertEquals(5, pipeline.getFailedSales());
+        assertEquals(10, pipeline.getEventsApplied());
+        assertEquals(9_995, inventory.findItemByName("Coffee").getQuantity());
+    }
+
+    /**
+     * GIVEN a pipeline that submits its batches to the command queue,
+     * WHEN sales are applied,
+     * THEN the queue's published item states should reflect them.
+     */
+    @Test
+    void shouldRepublishTouchedItemsInQueueMode() {
+        // Given
+        InventoryCommandQueue queue = inventory.getCommandQueue();
+        queue.submit("Coffee", inv -> null).join(); // publish the items added in setUp
+        SalesIngestionPipeline pipeline = new SalesIngestionPipeline(queue, 100, 10);
+
+        // When
+        for (int i = 0; i < 10; i++) {
+            pipeline.accept("Coffee", 5);
+        }
+        pipeline.close();
+
+        // Then
+        assertEquals(9_950, inventory.findItemByName("Coffee").getQuantity());
+        assertEquals(9_950, queue.getItemState("Coffee").getQuantity());
+    }
+
+    /**
+     * GIVEN threads accepting sales,
+     * WHEN the pipeline is closed while they are still accepting,
+     * THEN every accepted sale should be applied and later ones rejected.
+     */
+    @Test
+    void shouldApplyEveryAcceptedSaleWhenClosedConcurrently() throws InterruptedException {
+        // Given
+        SalesIngestionPipeline pipeline = new SalesIngestionPipeline(inventory, 64, 1);
+        AtomicLong accepted = new AtomicLong();
+        List<Thread> producers = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            Thread producer = new Thread(() -> {
+                for (int i = 0; i < 2_000; i++) {
+                    if (pipeline.accept("Coffee", 1)) {
+                        accepted.incrementAndGet();
+                    }
+                }
+            });
+            producers.add(producer);
+            producer.start();
+        }
+
+        // When
+        Thread.sleep(2);
+        pipeline.close();
+        for (Thread producer : producers) {
+            producer.join();
+        }
+
+        // Then
+        assertEquals(accepted.get(), pipeline.getEventsApplied());
+        assertEquals(10_000 - accepted.get(), inventory.findItemByName("Coffee").getQuantity());
+        assertFalse(pipeline.accept("Coffee", 1));
+    }
+}
@@ -0,0 +1,155 @@
+package test;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import service.SearchIndex;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * unit Test Class for SearchIndex functionality.
+ *
+ * follows the Given-When-Then testing structure and JUnit 5 framework.
+ *
+ * tests case-insensitive exact, prefix and typo-tolerant name lookups, ranking and removal.
+ */
+class SearchIndexTest {
+
+    private SearchIndex index;
+
+    /**
+     * sets up an index with a few item names before each test.
+     */
+    @BeforeEach
+    void setUp() {
+        index = new SearchIndex();
+        index.add("HP Laptop");
+        index.add("Dell Laptop");
+        index.add("HP Printer");
+        index.add("Laptop Bag");
+    }
+
+    /**
+     * GIVEN indexed item names,
+     * WHEN searching with partial lower-case words,
+     * THEN items matching every word by prefix should be returned.
+     */
+    @Test
+    void shouldMatchPartialWordsIgnoringCase() {
+        // When
+        List<String> results = index.search("hp lap", 10);
+
+        // Then
+        assertEquals(List.of("HP Laptop"), results);
+    }
+
+    /**
+     * GIVEN indexed item names,
+     * WHEN searching with a misspelt word,
+     * THEN items within a small edit distance should still be returned.
+     */
+    @Test
+    void shouldTolerateTyposInQuery() {
+        // When
+        List<String> results = index.search("printr", 10);
+
+        // Then
+        assertEquals(List.of("HP Printer"), results);
+    }
+
+    /**
+     * GIVEN several matching names,
+     * WHEN searching with a limit,
+     * THEN exact word matches should rank first and the limit respected.
+     */
+    @Test
+    void shouldRankExactMatchesFirstAndRespectLimit() {
+        // When
+        List<String> results = index.search("laptop", 2);
+
+        // Then
+        assertEquals(2, results.size());
+        assertEquals("HP Laptop", results.get(0));
+    }
+
+    /**
+     * GIVEN more exact than prefix matches for a word,
+     * WHEN searching with a limit the exact matches fill,
+     * THEN the shortest exact matches should be returned, ahead of shorter prefix matches.
+     */
+    @Test
+    void shouldReturnShortestExactMatchesWithinLimit() {
+        // Given
+        index.add("Laptops");
+
+        // When
+        List<String> results = index.search("laptop", 3);
+
+        // Then
+        assertEquals(List.of("HP Laptop", "Laptop Bag", "Dell Laptop"), results);
+    }
+
+    /**
+     * GIVEN a name added twice and another added once,
+     * WHEN each is removed once,
+     * THEN only the name added once should leave the index, along with its unused tokens.
+     */
+    @Test
+    void shouldRemoveNamesOnceNoLongerAdded() {
+        // Given
+        index.add("HP Printer");
+
+        // When
+        index.remove("HP Printer");
+        index.remove("Dell Laptop");
+
+        // Then
+        assertEquals(List.of("HP Printer"), index.search("printer", 10));
+        assertTrue(index.search("dell", 10).isEmpty());
+        assertTrue(index.search("del", 10).isEmpty());
+        assertEquals(2, index.search("laptop", 10).size());
+    }
+
+    /**
+     * GIVEN the indexed names,
+     * WHEN a query word has two adjacent letters swapped,
+     * THEN the names with the intended word should still be found.
+     */
+    @Test
+    void shouldTolerateTransposedLetters() {
+        // When
+        List<String> first = index.search("hp lpatop", 10);
+        List<String> second = index.search("hp lapotp", 10);
+
+        // Then
+        assertEquals(List.of("HP Laptop"), first);
+        assertEquals(List.of("HP Laptop"), second);
+    }
+
+    /**
+     * GIVEN many names sharing a common word and a few with a rarer one,
+     * WHEN both words are searched with a small limit,
+     * THEN the names matching both should be ranked by match quality, then length.
+     */
+    @Test
+    void shouldIntersectMultiWordQueriesFromTheRarestWord() {
+        // Given
+        for (int i = 0; i < 5_000; i++) {
+            index.add("Widget " + i);
+        }
+        index.add("Blue Widget");
+        index.add("Bluebell Widget Deluxe");
+        index.add("Blue Widgets");
+        index.add("Blue Gadget");
+
+        // When
+        List<String> results = index.search("blue widget", 2);
+        List<String> all = index.search("blue widget", 10);
+
+        // Then
+        assertEquals(List.of("Blue Widget", "Blue Widgets"), results);
+        assertEquals(List.of("Blue Widget", "Blue Widgets", "Bluebell Widget Deluxe"), all);
+    }
+}
@@ -0,0 +1,183 @@
+package test;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import service.StockHistory;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * unit Test Class for StockHistory functionality.
+ *
+ * follows the Given-When-Then testing structure and JUnit 5 framework.
+ *
+ * tests point-in-time and range queries, rollups, tiered retention and removal.
+ */
+class StockHistoryTest {
+
+    private static final long START = 1_735_689_600_000L; // 2025-01-01T00:00:00Z
+
+    private StockHistory history;
+
+    /**
+     * sets up a StockHistory keeping raw samples for 1 day, hourly rollups for 3 days
+     * and daily rollups for 30 days.
+     */
+    @BeforeEach
+    void setUp() {
+        history = new StockHistory(StockHistory.DAY, 3 * StockHistory.DAY, 30 * StockHistory.DAY);
+    }
+
+    /**
+     * GIVEN quantity changes at irregular intervals,
+     * WHEN the quantity is queried at points in time and over a range,
+     * THEN the recorded values should be returned exactly.
+     */
+    @Test
+    void shouldAnswerPointInTimeAndRangeQueries() {
+        // Given
+        history.record("Laptop", 50, START);
+        history.record("Laptop", 45, START + 1_000);
+        history.record("Laptop", 60, START + 5_000);
+        history.record("Laptop", 12, START + 5_500);
+
+        // When / Then
+        assertNull(history.quantityAt("Laptop", START - 1));
+        assertEquals(50, (int) history.quantityAt("Laptop", START + 999));
+        assertEquals(45, (int) history.quantityAt("Laptop", START + 1_000));
+        assertEquals(60, (int) history.quantityAt("Laptop", START + 5_499));
+        assertEquals(12, (int) history.quantityAt("Laptop", START + 60_000));
+
+        List<StockHistory.Sample> samples = history.range("Laptop", START + 1_000, START + 5_000);
+        assertEquals(2, samples.size());
+        assertEquals(45, samples.get(0).getQuantity());
+        assertEquals(START + 5_000, samples.get(1).getTimestamp());
+        assertEquals(60, samples.get(1).getQuantity());
+    }
+
+    /**
+     * GIVEN quantity changes spread over two hours,
+     * WHEN the hourly and daily rollups are queried,
+     * THEN each period should summarise its open, min, max and close.
+     */
+    @Test
+    void shouldMaintainHourlyAndDailyRollups() {
+        // Given
+        history.record("Milk", 30, START + 10);
+        history.record("Milk", 5, START + 20_000);
+        history.record("Milk", 40, START + 30_000);
+        history.record("Milk", 35, START + StockHistory.HOUR + 1);
+
+        // When
+        List<StockHistory.Rollup> hours = history.hourly("Milk", START, START + StockHistory.DAY);
+        List<StockHistory.Rollup> days = history.daily("Milk", START, START + StockHistory.DAY);
+
+        // Then
+        assertEquals(2, hours.size());
+        assertEquals(30, hours.get(0).getOpen());
+        assertEquals(5, hours.get(0).getMin());
+        assertEquals(40, hours.get(0).getMax());
+        assertEquals(40, hours.get(0).getClose());
+        assertEquals(3, hours.get(0).getChanges());
+        assertEquals(1, days.size());
+        assertEquals(35, days.get(0).getClose());
+        assertEquals(4, days.get(0).getChanges());
+    }
+
+    /**
+     * GIVEN more samples than fit in one chunk, spread over several days,
+     * WHEN retention is enforced,
+     * THEN old raw samples should be dropped and older points answered from rollups.
+     */
+    @Test
+    void shouldFallBackToRollupsAfterRetention() {
+        // Given: one change a minute for five days
+        long minute = 60_000L;
+        int samples = 5 * 24 * 60;
+        for (int i = 0; i < samples; i++) {
+            history.record("Rice", 1_000 - (i % 500), START + i * minute);
+        }
+        long end = START + (samples - 1) * minute;
+
+        // When
+        history.enforceRetention(end);
+
+        // Then
+        // only the last chunks are kept raw, at a few bytes per sample
+        assertTrue(history.getRawBytes() < samples);
+        assertTrue(history.range("Rice", START, START + StockHistory.DAY).isEmpty());
+        assertEquals(1_000 - (samples - 1) % 500, (int) history.quantityAt("Rice", end));
+        // two days back: raw samples are gone, the last hourly close before that time is used
+        long twoDaysBack = START + 2 * StockHistory.DAY + StockHistory.HOUR + 30 * minute;
+        int closeOfPreviousHour = 1_000 - (2 * 24 * 60 + 59) % 500;
+        assertEquals(closeOfPreviousHour, (int) history.quantityAt("Rice", twoDaysBack));
+        assertTrue(history.hourly("Rice", START, START + StockHistory.DAY).isEmpty());
+        assertFalse(history.daily("Rice", START, end).isEmpty());
+    }
+
+    /**
+     * GIVEN one change a minute for five days, recorded without an explicit retention run,
+     * WHEN the oldest tiers are queried,
+     * THEN recording should already have dropped the data past its retention.
+     */
+    @Test
+    void shouldEnforceRetentionWhileRecording() {
+        // Given
+        long minute = 60_000L;
+        int samples = 5 * 24 * 60;
+
+        // When
+        for (int i = 0; i < samples; i++) {
+            history.record("Rice", 1_000 - (i % 500), START + i * minute);
+        }
+
+        // Then
+        assertTrue(history.getRawBytes() < samples);
+        assertTrue(history.range("Rice", START, START + StockHistory.DAY).isEmpty());
+        assertTrue(history.hourly("Rice", START, START + StockHistory.DAY).isEmpty());
+    }
+
+    /**
+     * GIVEN an item that stops changing while another keeps changing,
+     * WHEN the other item's samples move past the idle item's hourly retention,
+     * THEN the idle item's expired rollups should be dropped without an explicit retention run.
+     */
+    @Test
+    void shouldEnforceRetentionForIdleItems() {
+        // Given
+        history.record("Salt", 40, START);
+        history.record("Salt", 35, START + 60_000L);
+
+        // When: Rice changes once an hour for four days
+        for (int hour = 1; hour <= 4 * 24; hour++) {
+            history.record("Rice", 1_000 - hour, START + hour * StockHistory.HOUR);
+        }
+
+        // Then
+        assertTrue(history.hourly("Salt", START, START + StockHistory.DAY).isEmpty());
+        assertFalse(history.daily("Salt", START, START + StockHistory.DAY).isEmpty());
+        assertEquals(35, (int) history.quantityAt("Salt", START + 4 * StockHistory.DAY));
+    }
+
+    /**
+     * GIVEN the histories of two items,
+     * WHEN one item is removed,
+     * THEN only its history should be dropped.
+     */
+    @Test
+    void shouldDropHistoryOfRemovedItem() {
+        // Given
+        history.record("Laptop", 50, START);
+        history.record("Milk", 30, START);
+
+        // When
+        history.remove("Laptop");
+
+        // Then
+        assertNull(history.quantityAt("Laptop", START));
+        assertTrue(history.daily("Laptop", START, START + StockHistory.DAY).isEmpty());
+        assertEquals(30, (int) history.quantityAt("Milk", START));
+    }
+}
@@ -0,0 +1,101 @@
+package test;
+
+import model.CategoryType;
+import model.InventoryItem;
+import model.PurchaseOrder;
+import model.Supplier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import service.Inventory;
+import service.SupplierScorecards;
+
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * unit Test Class for SupplierScorecards functionality.
+ *
+ * follows the Given-When-Then testing structure and JUnit 5 framework.
+ *
+ * tests lead-time quantiles, fill and on-time rates, and reorder-point adjustment.
+ */
+class SupplierScorecardsTest {
+
+    private static final long DAY = 24L * 60 * 60 * 1000;
+    private static final long START = 1_735_689_600_000L; // 2025-01-01T00:00:00Z
+
+    private Inventory inventory;
+
+    /**
+     * sets up a fresh Inventory before each test.
+     */
+    @BeforeEach
+    void setUp() {
+        inventory = Inventory.getInstance();
+        inventory.getAllItems().clear(); // Reset state before each test
+    }
+
+    /**
+     * GIVEN 100 deliveries taking 1 to 100 days, each 90% filled, against a 30-day promise,
+     * WHEN the supplier's scorecard is queried,
+     * THEN its quantiles should be within the sketch's accuracy and the rates exact.
+     */
+    @Test
+    void shouldComputeLeadTimeQuantilesAndRates() {
+        // Given
+        SupplierScorecards scorecards = new SupplierScorecards();
+        scorecards.setPromisedLeadTime("TechCorp", 30 * DAY);
+        for (int days = 1; days <= 100; days++) {
+            PurchaseOrder order = order("TechCorp", 10);
+            scorecards.onOrderCreated(order);
+            order.markReceived(new Date(START + days * DAY), 9);
+            scorecards.onOrderReceived(order);
+        }
+        scorecards.onOrderCreated(order("TechCorp", 10));
+
+        // When
+        SupplierScorecards.SupplierScorecard scorecard = scorecards.getScorecard("TechCorp");
+
+        // Then
+        assertEquals(100, scorecard.getDeliveries());
+        assertEquals(1, scorecard.getOpenOrders());
+        assertEquals(50 * DAY, scorecard.getMedianLeadTime(), 50 * DAY * 0.03);
+        assertEquals(90 * DAY, scorecard.getP90LeadTime(), 90 * DAY * 0.03);
+        assertEquals(0.9, scorecard.getFillRate(), 1e-9);
+        assertEquals(0.3, scorecard.getOnTimeRate(), 1e-9);
+        assertEquals(3.0 / 0.9, scorecard.getReorderFactor(), 1e-9); // lead factor capped at 3, fill factor 1/0.9
+        assertNull(scorecards.getScorecard("Unknown"));
+    }
+
+    /**
+     * GIVEN a supplier that delivers in 14 days against a 7-day promise,
+     * WHEN an item it supplies falls below twice its reorder threshold,
+     * THEN the item should be reordered, as its reorder point has been doubled.
+     */
+    @Test
+    void shouldRaiseReorderPointForSlowSupplier() {
+        // Given
+        SupplierScorecards scorecards = inventory.getSupplierScorecards();
+        for (int i = 0; i < 5; i++) {
+            PurchaseOrder order = order("SlowCo", 10);
+            scorecards.onOrderCreated(order);
+            order.markReceived(new Date(START + 14 * DAY), 10);
+            scorecards.onOrderReceived(order);
+        }
+        inventory.addItem(new InventoryItem("Toner", 50, 10, 80.00, "SlowCo", CategoryType.OFFICE_SUPPLIES));
+
+        // When
+        inventory.updateItemQuantity("Toner", 18);
+
+        // Then
+        assertEquals(20, scorecards.reorderPoint("SlowCo", 10));
+        assertEquals(10, scorecards.reorderPoint("OnTimeCo", 10));
+        assertTrue(inventory.findItemByName("Toner").isPendingOrder());
+    }
+
+    private static PurchaseOrder order(String supplier, int quantity) {
+        return new PurchaseOrder(String.valueOf(System.nanoTime()), "Item", quantity,
+                new Supplier("S001", supplier, "contact@" + supplier.toLowerCase() + ".com"), new Date(START), "Pending");
+    }
+}
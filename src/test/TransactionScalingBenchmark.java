@@ -0,0 +1,104 @@
+package test;
+
+import model.CategoryType;
+import model.InventoryItem;
+import service.Inventory;
+
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * micro benchmark measuring how transaction commits on disjoint items scale
+ * with the number of committing threads.
+ * it is not unit testing.
+ *
+ * every thread moves stock between two items of its own, so no two threads ever
+ * contend for an item; throughput should grow with the thread count until the
+ * listeners' own locks become the limit.
+ *
+ * usage: TransactionScalingBenchmark [maxThreads] [commitsPerThread] [itemsPerThread]
+ */
+public class TransactionScalingBenchmark {
+    public static void main(String[] args) throws Exception {
+        int maxThreads = args.length > 0 ? Integer.parseInt(args[0]) : 8;
+        int commitsPerThread = args.length > 1 ? Integer.parseInt(args[1]) : 200_000;
+        int itemsPerThread = args.length > 2 ? Integer.parseInt(args[2]) : 64;
+
+        Inventory inventory = Inventory.getInstance();
+        inventory.getAllItems().clear();
+        for (int i = 0; i < maxThreads * itemsPerThread; i++) {
+            // quantities stay well above the threshold so no reorders are triggered
+            inventory.addItem(new InventoryItem("Item-" + i, 1_000_000, 5, 1.0, "BenchSupplier", CategoryType.OTHER));
+        }
+
+        System.out.println("===== TRANSACTION SCALING BENCHMARK =====");
+        System.out.println("maxThreads=" + maxThreads + " commitsPerThread=" + commitsPerThread +
+                " itemsPerThread=" + itemsPerThread);
+
+        for (int round = 0; round < 3; round++) {
+            long single = 0;
+            StringBuilder line = new StringBuilder("round " + round);
+            for (int threads = 1; threads <= maxThreads; threads *= 2) {
+                long elapsed = runCommits(inventory, threads, commitsPerThread, itemsPerThread);
+                long rate = (long) threads * commitsPerThread * 1_000_000_000L / elapsed;
+                if (threads == 1) {
+                    single = rate;
+                }
+                line.append(" | ").append(threads).append(" threads: ").append(rate).append(" commits/s (x")
+                        .append(String.format("%.2f", (double) rate / single)).append(')');
+            }
+            System.out.println(line);
+        }
+    }
+
+    /**
+     * every thread commits two-item transfers within its own range of items.
+     */
+    private static long runCommits(Inventory inventory, int threads, int commits, int itemsPerThread)
+            throws InterruptedException {
+        return runThreads(threads, t -> {
+            int base = t * itemsPerThread;
+            for (int i = 0; i < commits; i++) {
+                int from = base + (i % itemsPerThread);
+                int to = base + ((i + 1) % itemsPerThread);
+                int amount = (i & 1) == 0 ? 1 : -1; // alternate direction so quantities stay put
+                inventory.beginTransaction()
+                        .adjust("Item-" + from, -amount)
+                        .adjust("Item-" + to, amount)
+                        .commit();
+            }
+        });
+    }
+
+    /**
+     * starts the worker threads together and returns the elapsed time in nanoseconds.
+     */
+    private static long runThreads(int threads, Worker worker) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            int id = t;
+            workers[t] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                worker.run(id);
+            });
+            workers[t].start();
+        }
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Thread thread : workers) {
+            thread.join();
+        }
+        return System.nanoTime() - begin;
+    }
+
+    /**
+     * work done by one benchmark thread.
+     */
+    private interface Worker {
+        void run(int threadId);
+    }
+}